@@ -0,0 +1,10 @@
+package com.furkanerd.hr_management_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Spring Boot's applicationTaskExecutor, sized by spring.task.execution
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
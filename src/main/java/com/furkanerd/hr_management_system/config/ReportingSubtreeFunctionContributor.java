@@ -0,0 +1,34 @@
+package com.furkanerd.hr_management_system.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code in_reporting_subtree(employeeId, managerId)}, which is true when the
+ * employee reports to the manager directly or through any number of levels. The subtree
+ * is expanded by a recursive CTE inside the same statement, so Specifications can scope
+ * paging and counting queries to a team without loading the reporting line first.
+ * {@code union} rather than {@code union all} drops ids already reached, so a cycle in
+ * the reporting line ends the recursion instead of running it forever.
+ * Registered through META-INF/services so Hibernate picks it up at bootstrap.
+ */
+public class ReportingSubtreeFunctionContributor implements FunctionContributor {
+
+    public static final String IN_REPORTING_SUBTREE = "in_reporting_subtree";
+
+    private static final String PATTERN = "(?1 in (with recursive subtree(id) as ("
+            + "select e.id from employee e where e.manager_id = ?2 "
+            + "union "
+            + "select c.id from employee c join subtree s on c.manager_id = s.id"
+            + ") select id from subtree))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                IN_REPORTING_SUBTREE,
+                PATTERN,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN)
+        );
+    }
+}
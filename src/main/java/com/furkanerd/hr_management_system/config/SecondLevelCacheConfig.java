@@ -0,0 +1,121 @@
+package com.furkanerd.hr_management_system.config;
+
+import com.furkanerd.hr_management_system.constants.CacheRegionConstants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level and query cache for reference data, backed by Caffeine through JCache.
+ * Only entities and queries naming one of the {@link CacheRegionConstants} regions are
+ * cached. Hibernate keeps the regions consistent with writes made through the entity
+ * manager: READ_WRITE entries are replaced on update and dropped on delete, and cached
+ * query results are ignored once a statement touches one of the tables they read. The
+ * TTL only bounds how long a change made outside the application stays invisible.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            CacheRegionConstants.DEPARTMENT, CacheRegionConstants.POSITION, CacheRegionConstants.REFERENCE_QUERIES);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager(@Value("${reference-cache.max-entries:10000}") long maxEntries,
+                                              @Value("${reference-cache.time-to-live:3600000}") long timeToLiveMillis) {
+        CacheManager cacheManager = Caching.getCachingProvider().getCacheManager();
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxEntries))
+                .setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis)));
+        for (String region : REGIONS) {
+            createIfAbsent(cacheManager, region, bounded);
+        }
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded);
+        // Must never expire or evict on its own, or stale query results could be served
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager referenceCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /**
+     * Per region hit and miss counters plus {@code hibernate.cache.hit.ratio}, the share of
+     * lookups answered from memory since startup.
+     */
+    @Bean
+    public MeterBinder referenceCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                FunctionCounter.builder("hibernate.cache.requests", statistics, s -> hits(s, region))
+                        .tags("region", region, "result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.requests", statistics, s -> misses(s, region))
+                        .tags("region", region, "result", "miss")
+                        .register(registry);
+                Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(hits(s, region), misses(s, region)))
+                        .description("Second-level cache hits over lookups for the region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void createIfAbsent(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+        // The provider hands every context in the JVM the same manager, as happens in tests
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    private static long hits(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = regionStatistics(statistics, region);
+        return regionStatistics != null ? regionStatistics.getHitCount() : 0;
+    }
+
+    private static long misses(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = regionStatistics(statistics, region);
+        return regionStatistics != null ? regionStatistics.getMissCount() : 0;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private static CacheRegionStatistics regionStatistics(Statistics statistics, String region) {
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Query regions only exist once a query using them has run
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.constants;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+public class AttendanceConstants {
+
+    public static final LocalTime CHECK_IN_START_TIME = LocalTime.of(6, 0);
+    public static final LocalTime CHECK_IN_END_TIME = LocalTime.of(10, 0);
+    public static final Duration MIN_WORK_DURATION = Duration.ofHours(8);
+
+    private AttendanceConstants() {}
+}
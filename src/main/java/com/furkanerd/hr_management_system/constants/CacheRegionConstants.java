@@ -0,0 +1,9 @@
+package com.furkanerd.hr_management_system.constants;
+
+public class CacheRegionConstants {
+    public static final String DEPARTMENT = "reference.department";
+    public static final String POSITION = "reference.position";
+    public static final String REFERENCE_QUERIES = "reference.queries";
+
+    private CacheRegionConstants(){}
+}
@@ -8,6 +8,7 @@ public class SortFieldConstants {
     public static final String LEAVE_REQUEST_SORT_FIELD = "leaveRequest";
     public static final String PERFORMANCE_REVIEW_SORT_FIELD = "performanceReview";
     public static final String POSITION_SORT_FIELD = "position";
+    public static final String NOTIFICATION_SORT_FIELD = "notification";
 
     private SortFieldConstants() {}
 }
@@ -4,23 +4,41 @@ import com.furkanerd.hr_management_system.model.dto.request.attendance.Attendanc
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceUpdateRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceDetailResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceTotalsResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.ListAttendanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceSummaryResponse;
+import com.furkanerd.hr_management_system.model.enums.AttendanceImportFormatEnum;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import com.furkanerd.hr_management_system.service.attendance.AttendanceImportService;
 import com.furkanerd.hr_management_system.service.attendance.AttendanceManagementService;
+import com.furkanerd.hr_management_system.service.attendance.AttendancePresenceService;
 import com.furkanerd.hr_management_system.service.attendance.AttendanceQueryService;
+import com.furkanerd.hr_management_system.service.attendance.AttendanceSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static com.furkanerd.hr_management_system.constants.ApiPaths.ATTENDANCE;
@@ -32,15 +50,21 @@ public class AttendanceController {
 
     private final AttendanceQueryService attendanceQueryService;
     private final AttendanceManagementService attendanceManagementService;
+    private final AttendancePresenceService attendancePresenceService;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final AttendanceImportService attendanceImportService;
 
-    public AttendanceController(AttendanceQueryService attendanceQueryService, AttendanceManagementService attendanceManagementService) {
+    public AttendanceController(AttendanceQueryService attendanceQueryService, AttendanceManagementService attendanceManagementService, AttendancePresenceService attendancePresenceService, AttendanceSummaryService attendanceSummaryService, AttendanceImportService attendanceImportService) {
         this.attendanceQueryService = attendanceQueryService;
         this.attendanceManagementService = attendanceManagementService;
+        this.attendancePresenceService = attendancePresenceService;
+        this.attendanceSummaryService = attendanceSummaryService;
+        this.attendanceImportService = attendanceImportService;
     }
 
     @Operation(
             summary = "List all attendances",
-            description = "Returns a list of all attendance records."
+            description = "Returns a list of all attendance records. countStrategy selects how the total is computed: EXACT counts, NONE skips the count, ESTIMATED uses table statistics or a cached count."
     )
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
@@ -49,9 +73,27 @@ public class AttendanceController {
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
             @RequestParam(defaultValue = "date") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(defaultValue = "EXACT") CountStrategyEnum countStrategy,
             AttendanceFilterRequest filterRequest
     ) {
-        PaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.listAllAttendance(page, size, sortBy, sortDirection, filterRequest);
+        PaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.listAllAttendance(page, size, sortBy, sortDirection, filterRequest, countStrategy);
+        return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "List all attendances by cursor",
+            description = "Returns attendance records using keyset pagination. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListAttendanceResponse>>> getAllAttendancesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            AttendanceFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.listAllAttendanceByCursor(cursor, size, sortBy, sortDirection, filterRequest);
         return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", responseList));
     }
 
@@ -78,6 +120,23 @@ public class AttendanceController {
                 .body(ApiResponse.success("Attendance record created successfully", created));
     }
 
+    @Operation(
+            summary = "Import attendance records",
+            description = "Loads a badge-reader export sent as the raw request body: text/csv with a header naming email, date, check_in_time and check_out_time, or application/x-ndjson with one object per line. Existing records for the same employee and date take the imported times, keeping their check-out when the imported row has none. Returns the number of imported rows and an error per rejected line. Restricted to HR and Manager roles."
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<AttendanceImportResponse>> importAttendance(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        AttendanceImportFormatEnum format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? AttendanceImportFormatEnum.NDJSON
+                : AttendanceImportFormatEnum.CSV;
+        AttendanceImportResponse report = attendanceImportService.importAttendance(body, format);
+        return ResponseEntity.ok(ApiResponse.success("Attendance import finished", report));
+    }
+
     @Operation(
             summary = "Check-in for today",
             description = "Automatically registers check-in for the employee. Restricted to the employee themselves."
@@ -121,7 +180,7 @@ public class AttendanceController {
 
     @Operation(
             summary = "Get my attendance records",
-            description = "Returns attendance records for the authenticated employee."
+            description = "Returns attendance records for the authenticated employee. countStrategy selects how the total is computed: EXACT counts, NONE skips the count, ESTIMATED uses a cached count."
     )
     @GetMapping("/my-attendance")
     @PreAuthorize("isAuthenticated()")
@@ -131,13 +190,151 @@ public class AttendanceController {
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
             @RequestParam(defaultValue = "date") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(defaultValue = "EXACT") CountStrategyEnum countStrategy,
             AttendanceFilterRequest filterRequest
     ) {
         String employeeEmail = currentUser.getUsername();
-        PaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.getAttendanceByEmployee(employeeEmail, page, size, sortBy, sortDirection, filterRequest);
+        PaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.getAttendanceByEmployee(employeeEmail, page, size, sortBy, sortDirection, filterRequest, countStrategy);
+        return ResponseEntity.ok(ApiResponse.success("My attendance records retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "Get my attendance records by cursor",
+            description = "Returns attendance records for the authenticated employee using keyset pagination. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/my-attendance/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListAttendanceResponse>>> getMyAttendancesByCursor(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            AttendanceFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.getAttendanceByEmployeeByCursor(currentUser.getUsername(), cursor, size, sortBy, sortDirection, filterRequest);
         return ResponseEntity.ok(ApiResponse.success("My attendance records retrieved successfully", responseList));
     }
 
+    @Operation(
+            summary = "Get my team's attendance records",
+            description = "Returns attendance records of everyone reporting to the authenticated manager, directly or indirectly. Restricted to HR and Manager roles."
+    )
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PaginatedResponse<ListAttendanceResponse>>> getMyTeamAttendances(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            AttendanceFilterRequest filterRequest
+    ) {
+        PaginatedResponse<ListAttendanceResponse> responseList = attendanceQueryService.getMyTeamAttendance(currentUser.getUsername(), page, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Team attendance records retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "Who is in today",
+            description = "Returns today's check-in and check-out counts and the employees who checked in, optionally limited to a department or to everyone reporting to a manager. Answered from memory."
+    )
+    @GetMapping("/presence")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PresenceSummaryResponse>> getPresence(
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) UUID managerId
+    ) {
+        PresenceSummaryResponse presence = attendancePresenceService.getPresence(departmentId, managerId);
+        return ResponseEntity.ok(ApiResponse.success("Presence retrieved successfully", presence));
+    }
+
+    @Operation(
+            summary = "Who is in today on my team",
+            description = "Returns today's presence for everyone reporting to the authenticated manager, directly or indirectly. Restricted to HR and Manager roles."
+    )
+    @GetMapping("/presence/team")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PresenceSummaryResponse>> getMyTeamPresence(@AuthenticationPrincipal UserDetails currentUser) {
+        PresenceSummaryResponse presence = attendancePresenceService.getMyTeamPresence(currentUser.getUsername());
+        return ResponseEntity.ok(ApiResponse.success("Team presence retrieved successfully", presence));
+    }
+
+    @Operation(
+            summary = "Stream who is in today",
+            description = "Server-sent events: a 'snapshot' event with the same body as /presence, then a 'diff' event listing the employees who checked in, checked out or were cleared since the last one. Takes the same filters as /presence."
+    )
+    @GetMapping(value = "/presence/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public SseEmitter streamPresence(
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) UUID managerId
+    ) {
+        return attendancePresenceService.streamPresence(departmentId, managerId);
+    }
+
+    @Operation(
+            summary = "List attendance summaries",
+            description = "Returns per-employee days present, minutes worked, late arrivals and overtime for the DAY, WEEK or MONTH containing date, optionally limited to a department. Served from rollups that trail attendance writes by a few seconds."
+    )
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PaginatedResponse<AttendanceSummaryResponse>>> getSummaries(
+            @RequestParam(defaultValue = "MONTH") RollupPeriodEnum period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size
+    ) {
+        PaginatedResponse<AttendanceSummaryResponse> responseList = attendanceSummaryService.listSummaries(period, date, departmentId, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Attendance summaries retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "Get attendance totals",
+            description = "Returns company-wide or department-wide totals for the DAY, WEEK or MONTH containing date. Restricted to HR and Manager roles."
+    )
+    @GetMapping("/summary/totals")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<AttendanceTotalsResponse>> getTotals(
+            @RequestParam(defaultValue = "MONTH") RollupPeriodEnum period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) UUID departmentId
+    ) {
+        AttendanceTotalsResponse totals = attendanceSummaryService.getTotals(period, date, departmentId);
+        return ResponseEntity.ok(ApiResponse.success("Attendance totals retrieved successfully", totals));
+    }
+
+    @Operation(
+            summary = "Get my attendance summaries",
+            description = "Returns the authenticated employee's DAY, WEEK or MONTH summaries for the periods between from and to."
+    )
+    @GetMapping("/my-summary")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<AttendanceSummaryResponse>>> getMySummaries(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(defaultValue = "MONTH") RollupPeriodEnum period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<AttendanceSummaryResponse> summaries = attendanceSummaryService.getMySummaries(currentUser.getUsername(), period, from, to);
+        return ResponseEntity.ok(ApiResponse.success("My attendance summaries retrieved successfully", summaries));
+    }
+
+    @Operation(
+            summary = "Rebuild attendance summaries",
+            description = "Recomputes the rollups behind the summary endpoints for attendance dated between from and to, in the background. Use after attendance was changed outside the application. Restricted to HR."
+    )
+    @PostMapping("/summary/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_HR')")
+    public ResponseEntity<ApiResponse<Void>> rebuildSummaries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        attendanceSummaryService.rebuildRollups(from, to);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Attendance summary rebuild started"));
+    }
+
     @Operation(
             summary = "Get employee attendance history",
             description = "Retrieves the attendance history for a specific employee by ID. Accessible only to HR and Manager roles."
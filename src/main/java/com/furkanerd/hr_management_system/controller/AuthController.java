@@ -2,6 +2,7 @@ package com.furkanerd.hr_management_system.controller;
 
 import com.furkanerd.hr_management_system.model.dto.request.ChangePasswordRequest;
 import com.furkanerd.hr_management_system.model.dto.request.LoginRequest;
+import com.furkanerd.hr_management_system.model.dto.request.RefreshTokenRequest;
 import com.furkanerd.hr_management_system.model.dto.request.RegisterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
 import com.furkanerd.hr_management_system.model.dto.response.auth.LoginResponse;
@@ -10,11 +11,13 @@ import com.furkanerd.hr_management_system.service.auth.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
 
 import static com.furkanerd.hr_management_system.constants.ApiPaths.*;
 
@@ -23,6 +26,8 @@ import static com.furkanerd.hr_management_system.constants.ApiPaths.*;
 @Tag(name = "Auth Management", description = "Authentication and authorization operations")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
     public AuthController(AuthService authService) {
@@ -32,11 +37,22 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(
             summary = "Login an existing user",
-            description = "Authenticates a user and returns a JWT token for subsequent requests."
+            description = "Authenticates a user and returns a JWT token for subsequent requests. Answers 429 with a Retry-After header when too many logins are already waiting."
+    )
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(@Valid @RequestBody LoginRequest loginRequest)  {
+        // The request thread is released while the password is checked
+        return authService.login(loginRequest)
+                .thenApply(loginResponse -> ResponseEntity.ok(ApiResponse.success("Login successful!", loginResponse)));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh the access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. The presented refresh token can not be used again."
     )
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest)  {
-        LoginResponse loginResponse = authService.login(loginRequest);
-        return ResponseEntity.ok(ApiResponse.success("Login successful!", loginResponse));
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        LoginResponse loginResponse = authService.refresh(refreshTokenRequest);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed!", loginResponse));
     }
 
     @PostMapping("/register")
@@ -65,9 +81,11 @@ public class AuthController {
     @PostMapping("/logout")
     @Operation(
             summary = "Logout the current user",
-            description = "Invalidates the current session token."
+            description = "Invalidates the current session token. When the session's refresh token is sent as well, it and every token rotated from it are revoked too."
     )
-    public ResponseEntity<ApiResponse<Void>> logout(){
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader,
+                                                    @Valid @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest){
+        authService.logout(authorizationHeader.substring(BEARER_PREFIX.length()), refreshTokenRequest);
         return ResponseEntity.ok(ApiResponse.success("Logout successful!"));
     }
 }
@@ -4,6 +4,7 @@ package com.furkanerd.hr_management_system.controller;
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeUpdateRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
@@ -72,6 +73,43 @@ public class EmployeeController {
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", result));
     }
 
+    @Operation(
+            summary = "Get all employees by cursor",
+            description = "Retrieves employees using keyset pagination with optional filtering. Results follow sortBy even when searchTerm is set. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListEmployeeResponse>>> getAllEmployeesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "firstName") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            EmployeeFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListEmployeeResponse> responseList = employeeQueryService.listAllEmployeesByCursor(cursor, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "Get my team",
+            description = "Retrieves everyone reporting to the authenticated manager, directly or through other managers. Restricted to HR and Manager roles."
+    )
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PaginatedResponse<ListEmployeeResponse>>> getMyTeam(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "firstName") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            EmployeeFilterRequest filterRequest
+    ) {
+        PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.getMyTeam(
+                currentUser.getUsername(), page, size, sortBy, sortDirection, filterRequest);
+
+        return ResponseEntity.ok(ApiResponse.success("Team members retrieved successfully", result));
+    }
+
 
     @Operation(
             summary = "Get an employee by ID",
@@ -1,11 +1,16 @@
 package com.furkanerd.hr_management_system.controller;
 
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveAccrualRequest;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveBatchDecisionRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestEditRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeLeaveBalanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveBatchDecisionResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveCalendarResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
 import com.furkanerd.hr_management_system.service.leaverequest.LeaveRequestManagementService;
@@ -15,6 +20,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +28,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 import static com.furkanerd.hr_management_system.constants.ApiPaths.*;
@@ -58,6 +65,23 @@ public class LeaveRequestController {
         return ResponseEntity.ok(ApiResponse.success("Leave requests retrieved successfully", responseList));
     }
 
+    @Operation(
+            summary = "Get all leave requests by cursor",
+            description = "Retrieves leave requests using keyset pagination. Restricted to HR and Manager roles. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListLeaveRequestResponse>>> getAllLeaveRequestsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            LeaveRequestFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListLeaveRequestResponse> responseList = leaveRequestQueryService.listAllLeaveRequestsByCursor(cursor, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Leave requests retrieved successfully", responseList));
+    }
+
     @Operation(
             summary = "Get a single leave request by ID",
             description = "Retrieves a single leave request by its unique ID. Restricted to HR and Manager roles."
@@ -90,6 +114,41 @@ public class LeaveRequestController {
         return ResponseEntity.ok(ApiResponse.success("My leave requests retrieved successfully", responseList));
     }
 
+    @Operation(
+            summary = "Get my team's leave requests",
+            description = "Retrieves leave requests of everyone reporting to the authenticated manager, directly or indirectly. Restricted to HR and Manager roles."
+    )
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PaginatedResponse<ListLeaveRequestResponse>>> getMyTeamLeaveRequests(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            LeaveRequestFilterRequest filterRequest
+    ) {
+        PaginatedResponse<ListLeaveRequestResponse> responseList = leaveRequestQueryService
+                .getMyTeamLeaveRequests(currentUser.getUsername(), page, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Team leave requests retrieved successfully", responseList));
+    }
+
+    @Operation(
+            summary = "Get a department's leave calendar",
+            description = "Lists pending and approved leave overlapping the days from to to, at most 366 days, for the given department or the authenticated user's own. Employees may only view their own department."
+    )
+    @GetMapping("/calendar")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<LeaveCalendarResponse>> getLeaveCalendar(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LeaveCalendarResponse calendar = leaveRequestQueryService.getLeaveCalendar(currentUser.getUsername(), departmentId, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Leave calendar retrieved successfully", calendar));
+    }
+
     @Operation(
             summary = "Get authenticated user's leave balance",
             description = "Retrieves the leave balance for the authenticated user."
@@ -114,6 +173,22 @@ public class LeaveRequestController {
     }
 
 
+    @Operation(
+            summary = "Accrue leave days to an employee",
+            description = "Adds days to an employee's vacation or maternity balance. Restricted to HR."
+    )
+    @PostMapping("/balance/{employeeId}/accruals")
+    @PreAuthorize("hasAuthority('ROLE_HR')")
+    public ResponseEntity<ApiResponse<Void>> accrueLeave(
+            @PathVariable UUID employeeId,
+            @Valid @RequestBody LeaveAccrualRequest accrualRequest
+    ) {
+        leaveRequestManagementService.accrueLeave(employeeId, accrualRequest);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Leave accrued successfully"));
+    }
+
+
     @Operation(
             summary = "Create a new leave request",
             description = "Creates a new leave request for the authenticated employee. Accessible to all employees."
@@ -176,6 +251,20 @@ public class LeaveRequestController {
         return ResponseEntity.ok(ApiResponse.success("Leave request rejected successfully", rejected));
     }
 
+    @Operation(
+            summary = "Approve or reject leave requests in bulk",
+            description = "Applies up to 200 approve or reject decisions at once and reports the outcome of each. A decision that cannot apply does not stop the others. Restricted to HR and Manager roles."
+    )
+    @PatchMapping("/batch")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<LeaveBatchDecisionResponse>> decideLeaveRequests(
+            @Valid @RequestBody LeaveBatchDecisionRequest batchRequest,
+            @AuthenticationPrincipal UserDetails currentUser
+    ) {
+        LeaveBatchDecisionResponse response = leaveRequestManagementService.decideLeaveRequests(batchRequest.decisions(), currentUser.getUsername());
+        return ResponseEntity.ok(ApiResponse.success("Leave request decisions processed", response));
+    }
+
     @Operation(
             summary = "Cancel a leave request",
             description = "Cancels an existing leave request. Only the requester can cancel their unapproved request."
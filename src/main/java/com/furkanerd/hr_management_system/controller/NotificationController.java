@@ -2,8 +2,10 @@ package com.furkanerd.hr_management_system.controller;
 
 import com.furkanerd.hr_management_system.constants.ApiPaths;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.notification.NotificationResponse;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,7 +32,7 @@ public class NotificationController {
 
     @Operation(
             summary = "Get authenticated user's notifications",
-            description = "Retrieves a list of all notifications for the authenticated user. Accessible to all employees."
+            description = "Retrieves a list of all notifications for the authenticated user. Accessible to all employees. countStrategy selects how the total is computed: EXACT counts, NONE skips the count, ESTIMATED uses a cached count."
     )
     @GetMapping("/my-notifications")
     @PreAuthorize("isAuthenticated()")
@@ -39,13 +41,32 @@ public class NotificationController {
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(defaultValue = "EXACT") CountStrategyEnum countStrategy
     ) {
         PaginatedResponse<NotificationResponse> notifications = notificationService
-                .getMyNotifications(currentUser.getUsername(), page, size, sortBy, sortDirection);
+                .getMyNotifications(currentUser.getUsername(), page, size, sortBy, sortDirection, countStrategy);
         return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", notifications));
     }
 
+    @Operation(
+            summary = "Get authenticated user's notifications by cursor",
+            description = "Retrieves notifications for the authenticated user using keyset pagination. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/my-notifications/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<NotificationResponse>>> getMyNotificationsByCursor(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection
+    ) {
+        CursorPaginatedResponse<NotificationResponse> responseList = notificationService
+                .getMyNotificationsByCursor(currentUser.getUsername(), cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", responseList));
+    }
+
     @Operation(
             summary = "Mark notification as read",
             description = "Marks a specific notification as read for the authenticated user."
@@ -4,6 +4,7 @@ import com.furkanerd.hr_management_system.model.dto.request.performancereview.Pe
 import com.furkanerd.hr_management_system.model.dto.request.performancereview.PerformanceReviewFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.request.performancereview.PerformanceReviewUpdateRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.ListPerformanceReviewResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.PerformanceReviewDetailResponse;
@@ -57,6 +58,23 @@ public class PerformanceReviewController {
         return ResponseEntity.ok(ApiResponse.success("Performance reviews retrieved successfully", responseList));
     }
 
+    @Operation(
+            summary = "Get all performance reviews by cursor",
+            description = "Retrieves performance review records using keyset pagination. Restricted to HR and Manager roles. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListPerformanceReviewResponse>>> getAllReviewsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "reviewDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            PerformanceReviewFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListPerformanceReviewResponse> responseList = performanceReviewQueryService.listAllPerformanceReviewsByCursor(cursor, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Performance reviews retrieved successfully", responseList));
+    }
+
     @Operation(
             summary = "Get a performance review by ID",
             description = "Retrieves a specific performance review record using its unique ID. Restricted to HR and Manager roles."
@@ -87,6 +105,25 @@ public class PerformanceReviewController {
         return ResponseEntity.ok(ApiResponse.success("My performance reviews retrieved successfully", responseList));
     }
 
+    @Operation(
+            summary = "Get my team's performance reviews",
+            description = "Retrieves performance reviews of everyone reporting to the authenticated manager, directly or indirectly. Restricted to HR and Manager roles.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyAuthority('ROLE_HR', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<PaginatedResponse<ListPerformanceReviewResponse>>> getMyTeamReviews(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "reviewDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            PerformanceReviewFilterRequest filterRequest
+    ) {
+        PaginatedResponse<ListPerformanceReviewResponse> responseList = performanceReviewQueryService.getMyTeamPerformanceReviews(currentUser.getUsername(), page, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success("Team performance reviews retrieved successfully", responseList));
+    }
+
 
     @Operation(
             summary = "Get performance history for a specific employee",
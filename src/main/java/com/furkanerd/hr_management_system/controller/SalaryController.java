@@ -3,6 +3,7 @@ package com.furkanerd.hr_management_system.controller;
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.ApiResponse;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.ListSalaryResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.SalaryDetailResponse;
@@ -52,6 +53,23 @@ public class SalaryController {
         return ResponseEntity.ok(ApiResponse.success(responseList));
     }
 
+    @Operation(
+            summary = "Get all salaries by cursor",
+            description = "Retrieves employee salaries using keyset pagination. Restricted to users with the HR role. Pass the nextCursor of the previous response to continue; every page costs the same as the first."
+    )
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAuthority('ROLE_HR')")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<ListSalaryResponse>>> getSalariesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "effectiveDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            SalaryFilterRequest filterRequest
+    ) {
+        CursorPaginatedResponse<ListSalaryResponse> responseList = salaryService.listAllSalariesByCursor(cursor, size, sortBy, sortDirection, filterRequest);
+        return ResponseEntity.ok(ApiResponse.success(responseList));
+    }
+
 
     @Operation(
             summary = "Get a single salary record by ID",
@@ -0,0 +1,16 @@
+package com.furkanerd.hr_management_system.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published whenever an employee's attendance for a day is created, changed or deleted.
+ * Carries the state after the write; a deleted record is neither checked in nor out.
+ */
+public record AttendanceChangedEvent(
+        UUID employeeId,
+        LocalDate date,
+        boolean checkedIn,
+        boolean checkedOut
+) {
+}
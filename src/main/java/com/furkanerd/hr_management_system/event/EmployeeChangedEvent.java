@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever an employee row is written, whatever fields changed.
+ * In-memory views of employee data listen to it to drop stale entries.
+ */
+public record EmployeeChangedEvent(
+        UUID employeeId,
+        String email
+) {
+}
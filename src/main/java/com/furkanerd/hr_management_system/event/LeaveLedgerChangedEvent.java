@@ -0,0 +1,18 @@
+package com.furkanerd.hr_management_system.event;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+
+import java.util.UUID;
+
+/**
+ * Published for every leave ledger entry written.
+ */
+public record LeaveLedgerChangedEvent(
+        long entryId,
+        UUID employeeId,
+        LeaveTypeEnum leaveType,
+        LeaveLedgerEntryTypeEnum entryType,
+        int days
+) {
+}
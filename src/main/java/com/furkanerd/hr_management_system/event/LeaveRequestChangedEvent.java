@@ -0,0 +1,21 @@
+package com.furkanerd.hr_management_system.event;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published whenever a leave request is created, edited, decided or cancelled.
+ * {@code status} is null once the request has been deleted.
+ */
+public record LeaveRequestChangedEvent(
+        UUID leaveRequestId,
+        UUID employeeId,
+        LeaveTypeEnum leaveType,
+        LeaveStatusEnum status,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.event;
+
+import java.util.List;
+
+/**
+ * Mails for notifications that were just stored, to be sent once they are committed.
+ */
+public record NotificationMailRequestedEvent(
+        List<Mail> mails
+) {
+    public record Mail(String to, String subject, String text) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an employee is created or gets a different manager.
+ * {@code managerId} is null for employees at the top of the org chart.
+ */
+public record ReportingLineChangedEvent(
+        UUID employeeId,
+        UUID managerId
+) {
+}
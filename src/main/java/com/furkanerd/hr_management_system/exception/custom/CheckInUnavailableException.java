@@ -0,0 +1,25 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrManagementException;
+import org.springframework.http.HttpStatus;
+
+public class CheckInUnavailableException extends HrManagementException {
+
+    public CheckInUnavailableException(String message) {
+        super(message);
+    }
+
+    public CheckInUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "CHECK_IN_UNAVAILABLE";
+    }
+}
@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrValidationException;
+
+public class InvalidCursorException extends HrValidationException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "INVALID_CURSOR";
+    }
+}
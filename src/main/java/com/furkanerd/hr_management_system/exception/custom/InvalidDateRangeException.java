@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrValidationException;
+
+public class InvalidDateRangeException extends HrValidationException {
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "INVALID_DATE_RANGE";
+    }
+}
@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrValidationException;
+
+public class InvalidLeaveAccrualException extends HrValidationException {
+
+    public InvalidLeaveAccrualException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "INVALID_LEAVE_ACCRUAL";
+    }
+}
@@ -0,0 +1,21 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrManagementException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidRefreshTokenException extends HrManagementException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "INVALID_REFRESH_TOKEN";
+    }
+}
@@ -0,0 +1,17 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrConflictException;
+
+import java.time.LocalDate;
+
+public class LeaveRequestOverlapException extends HrConflictException {
+
+    public LeaveRequestOverlapException(LocalDate startDate, LocalDate endDate) {
+        super(String.format("You already have a pending or approved leave request overlapping %s to %s", startDate, endDate != null ? endDate : startDate));
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "LEAVE_REQUEST_OVERLAP";
+    }
+}
@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.exception.custom;
+
+import com.furkanerd.hr_management_system.exception.base.HrConflictException;
+
+public class RollupBackfillInProgressException extends HrConflictException {
+
+    public RollupBackfillInProgressException() {
+        super("An attendance rollup backfill is already running");
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "ROLLUP_BACKFILL_IN_PROGRESS";
+    }
+}
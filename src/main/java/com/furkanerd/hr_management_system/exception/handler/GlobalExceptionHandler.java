@@ -1,10 +1,12 @@
 package com.furkanerd.hr_management_system.exception.handler;
 
 import com.furkanerd.hr_management_system.exception.base.HrManagementException;
+import com.furkanerd.hr_management_system.exception.custom.LoginThrottledException;
 import com.furkanerd.hr_management_system.model.dto.response.ErrorResponseDto;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -42,6 +44,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(e.getHttpStatus()).body(error);
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ErrorResponseDto> handleLoginThrottled(LoginThrottledException e, HttpServletRequest request) {
+        log.warn("Login throttled, retry after {}s", e.getRetryAfterSeconds());
+
+        ErrorResponseDto error = responseBuilder.buildErrorResponse(
+                e.getHttpStatus(),
+                e.getErrorCode(),
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(e.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     // Spring Security Exceptions
 
     @ExceptionHandler(BadCredentialsException.class)
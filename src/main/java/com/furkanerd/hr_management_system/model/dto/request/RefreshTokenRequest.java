@@ -0,0 +1,11 @@
+package com.furkanerd.hr_management_system.model.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+
+     @NotBlank(message = "Refresh token cannot be blank")
+     @Schema(description = "Refresh token returned by login or a previous refresh")
+     String refreshToken
+){}
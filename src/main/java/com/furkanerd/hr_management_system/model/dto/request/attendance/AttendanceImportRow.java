@@ -0,0 +1,9 @@
+package com.furkanerd.hr_management_system.model.dto.request.attendance;
+
+public record AttendanceImportRow(
+        String email,
+        String date,
+        String checkInTime,
+        String checkOutTime
+) {
+}
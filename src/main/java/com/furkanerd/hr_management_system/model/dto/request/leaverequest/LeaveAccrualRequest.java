@@ -0,0 +1,14 @@
+package com.furkanerd.hr_management_system.model.dto.request.leaverequest;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record LeaveAccrualRequest(
+
+        @NotNull(message = "Leave type cannot be null")
+        LeaveTypeEnum leaveType,
+
+        @Min(value = 1, message = "Accrued days must be at least 1")
+        int days
+){}
@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.model.dto.request.leaverequest;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record LeaveBatchDecisionRequest(
+
+        @NotEmpty(message = "Decisions cannot be empty")
+        @Size(max = 200, message = "At most 200 decisions can be sent at once")
+        List<@Valid @NotNull LeaveDecisionItemRequest> decisions
+){}
@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.model.dto.request.leaverequest;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveDecisionEnum;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record LeaveDecisionItemRequest(
+
+        @NotNull(message = "Leave request id cannot be null")
+        UUID leaveRequestId,
+
+        @NotNull(message = "Decision cannot be null")
+        LeaveDecisionEnum decision
+){}
@@ -0,0 +1,19 @@
+package com.furkanerd.hr_management_system.model.dto.response;
+
+import java.util.List;
+
+public record CursorPaginatedResponse<T>(
+        List<T> data,
+        int size,           // Requested page size
+        boolean hasNext,    // Has next page
+        String nextCursor   // Opaque cursor for the next page, null on the last page
+) {
+    public static <T> CursorPaginatedResponse<T> of(List<T> data, int size, String nextCursor) {
+        return new CursorPaginatedResponse<>(
+                data,
+                size,
+                nextCursor != null,
+                nextCursor
+        );
+    }
+}
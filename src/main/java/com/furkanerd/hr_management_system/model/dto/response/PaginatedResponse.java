@@ -1,15 +1,18 @@
 package com.furkanerd.hr_management_system.model.dto.response;
 
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
+
 import java.util.List;
 
 public record PaginatedResponse<T>(
         List<T> data,
-        long total,         // total element
+        long total,         // total element, -1 when not counted
         int page,           // Current page (0-based)
         int size,           // Page size
-        int totalPages,     // Total number of pages
+        int totalPages,     // Total number of pages, -1 when not counted
         boolean hasNext,    // Has next page
-        boolean hasPrevious
+        boolean hasPrevious,
+        CountStrategyEnum countStrategy // How total was computed
 ) {
     public static <T> PaginatedResponse<T> of(List<T> data, long total, int page, int size) {
         int totalPages = (int) Math.ceil((double) total / size);
@@ -23,9 +26,27 @@ public record PaginatedResponse<T>(
                 size,
                 totalPages,
                 hasNext,
-                hasPrevious
+                hasPrevious,
+                CountStrategyEnum.EXACT
         );
     }
-}
 
+    /**
+     * For pages read without an exact count: hasNext comes from the look-ahead row,
+     * total is an estimate or null when it was not computed at all.
+     */
+    public static <T> PaginatedResponse<T> of(List<T> data, Long total, int page, int size, boolean hasNext, CountStrategyEnum countStrategy) {
+        int totalPages = total != null ? (int) Math.ceil((double) total / size) : -1;
 
+        return new PaginatedResponse<>(
+                data,
+                total != null ? total : -1,
+                page,
+                size,
+                totalPages,
+                hasNext,
+                page > 0,
+                countStrategy
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+public record AttendanceImportErrorResponse(
+        long line,
+        String message
+) {
+}
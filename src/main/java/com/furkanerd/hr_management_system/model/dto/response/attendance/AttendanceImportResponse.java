@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record AttendanceImportResponse(
+        long rows,
+        long imported,
+        long failed,
+        List<AttendanceImportErrorResponse> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,18 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AttendanceSummaryResponse(
+        UUID employeeId,
+        String employeeFullName,
+        RollupPeriodEnum period,
+        LocalDate periodStart,
+        int daysPresent,
+        int workedMinutes,
+        int lateArrivals,
+        int overtimeMinutes
+) {
+}
@@ -0,0 +1,20 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+
+import java.time.LocalDate;
+
+/**
+ * Company or department totals for one period; {@code employees} counts those with at
+ * least one attendance day in it.
+ */
+public record AttendanceTotalsResponse(
+        RollupPeriodEnum period,
+        LocalDate periodStart,
+        long employees,
+        long daysPresent,
+        long workedMinutes,
+        long lateArrivals,
+        long overtimeMinutes
+) {
+}
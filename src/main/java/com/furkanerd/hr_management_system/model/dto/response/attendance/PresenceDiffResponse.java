@@ -0,0 +1,22 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes since the previous event of a presence stream. {@code cleared} lists employees
+ * whose attendance for the day was deleted; the counts are the totals after the change.
+ */
+@Builder
+public record PresenceDiffResponse(
+        LocalDate date,
+        List<UUID> checkedIn,
+        List<UUID> checkedOut,
+        List<UUID> cleared,
+        int checkedInCount,
+        int checkedOutCount
+) {
+}
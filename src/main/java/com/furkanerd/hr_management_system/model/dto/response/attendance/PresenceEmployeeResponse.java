@@ -0,0 +1,10 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import java.util.UUID;
+
+public record PresenceEmployeeResponse(
+        UUID employeeId,
+        String employeeFullName,
+        boolean checkedOut
+) {
+}
@@ -0,0 +1,16 @@
+package com.furkanerd.hr_management_system.model.dto.response.attendance;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record PresenceSummaryResponse(
+        LocalDate date,
+        int checkedIn,
+        int checkedOut,
+        int onSite,
+        List<PresenceEmployeeResponse> employees
+) {
+}
@@ -9,6 +9,7 @@ import java.util.UUID;
 @Builder
 public record LoginResponse(
          String token,
+         String refreshToken,
          UUID employeeId,
          String email,
          String firstName,
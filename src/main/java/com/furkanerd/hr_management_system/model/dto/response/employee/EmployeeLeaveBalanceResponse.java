@@ -1,9 +1,16 @@
 package com.furkanerd.hr_management_system.model.dto.response.employee;
 
+import lombok.Builder;
+
 import java.util.UUID;
 
+@Builder
 public record EmployeeLeaveBalanceResponse(
          UUID employeeId,
          int vacationBalance,
-         int maternityBalance
+         int vacationReserved,
+         int vacationAvailable,
+         int maternityBalance,
+         int maternityReserved,
+         int maternityAvailable
 ){}
@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.model.dto.response.leaverequest;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record LeaveBatchDecisionResponse(
+        int processed,
+        int failed,
+        List<LeaveDecisionResultResponse> results
+) {
+}
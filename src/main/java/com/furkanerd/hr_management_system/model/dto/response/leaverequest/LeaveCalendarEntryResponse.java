@@ -0,0 +1,18 @@
+package com.furkanerd.hr_management_system.model.dto.response.leaverequest;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record LeaveCalendarEntryResponse(
+        UUID leaveRequestId,
+        UUID employeeId,
+        String employeeFullName,
+        LeaveTypeEnum leaveType,
+        LeaveStatusEnum status,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,16 @@
+package com.furkanerd.hr_management_system.model.dto.response.leaverequest;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+public record LeaveCalendarResponse(
+        UUID departmentId,
+        LocalDate from,
+        LocalDate to,
+        List<LeaveCalendarEntryResponse> leaves
+) {
+}
@@ -0,0 +1,20 @@
+package com.furkanerd.hr_management_system.model.dto.response.leaverequest;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveDecisionEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one decision in a batch. {@code status} is the request's new status, or null
+ * when the decision failed; an approval can still end in REJECTED when the balance no
+ * longer covers the request.
+ */
+public record LeaveDecisionResultResponse(
+        UUID leaveRequestId,
+        LeaveDecisionEnum decision,
+        LeaveStatusEnum status,
+        String errorCode,
+        String message
+) {
+}
@@ -0,0 +1,53 @@
+package com.furkanerd.hr_management_system.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Attendance totals of one employee for one day, week or month. Written only by
+ * AttendanceRollupBatchRepository; the entity exists for reads and for the schema.
+ */
+@Entity
+@Table(name = "attendance_rollup", indexes = @Index(name = "idx_attendance_rollup_period", columnList = "period_type, period_start"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AttendanceRollup {
+
+    @EmbeddedId
+    private AttendanceRollupId id;
+
+    @Column(name = "days_present", nullable = false)
+    private int daysPresent;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private int workedMinutes;
+
+    // Check-ins after attendance.rollup.late-after
+    @Column(name = "late_arrivals", nullable = false)
+    private int lateArrivals;
+
+    // Minutes worked beyond the minimum work duration, summed per day
+    @Column(name = "overtime_minutes", nullable = false)
+    private int overtimeMinutes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        AttendanceRollup that = (AttendanceRollup) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,31 @@
+package com.furkanerd.hr_management_system.model.entity;
+
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class AttendanceRollupId implements Serializable {
+
+    @Column(name = "employee_id", nullable = false)
+    private UUID employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private RollupPeriodEnum periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+}
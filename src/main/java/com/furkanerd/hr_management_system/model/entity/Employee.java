@@ -4,6 +4,7 @@ import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
 import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -72,6 +73,12 @@ public class Employee {
     @Column(name = "must_change_password", nullable = false)
     private boolean mustChangePassword = true;
 
+    // Incremented whenever credentials, role or status change; tokens carrying an older value are rejected
+    @ColumnDefault("0")
+    @Column(name = "credential_epoch", nullable = false)
+    private int credentialEpoch;
+
+    // Opening balances; changes after hire go to the leave ledger, never to these columns
     @Column(name = "vacation_balance", nullable = false)
     private Integer vacationBalance = 20;
 
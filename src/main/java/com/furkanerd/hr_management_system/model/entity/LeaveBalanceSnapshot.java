@@ -0,0 +1,52 @@
+package com.furkanerd.hr_management_system.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Leave ledger entries of one employee and leave type folded up to lastEntryId, so a
+ * balance is read from this row plus the entries after it instead of the whole history.
+ * Written only by LeaveLedgerCompactionRepository; the entity exists for reads and for
+ * the schema.
+ */
+@Entity
+@Table(name = "leave_balance_snapshot")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaveBalanceSnapshot {
+
+    @EmbeddedId
+    private LeaveBalanceSnapshotId id;
+
+    // Accruals minus debits, on top of the employee's opening balance
+    @Column(name = "net_days", nullable = false)
+    private int netDays;
+
+    // Reservations minus releases
+    @Column(name = "reserved_days", nullable = false)
+    private int reservedDays;
+
+    @Column(name = "last_entry_id", nullable = false)
+    private long lastEntryId;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        LeaveBalanceSnapshot that = (LeaveBalanceSnapshot) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,69 @@
+package com.furkanerd.hr_management_system.model.entity;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One change to an employee's vacation or maternity balance. Entries are only ever
+ * inserted, so writers for the same employee never update a shared row; a balance is the
+ * employee's opening balance plus the sum of their entries.
+ */
+@Entity
+@Immutable
+@Table(name = "leave_ledger", indexes = {
+        @Index(name = "idx_leave_ledger_employee", columnList = "employee_id, id"),
+        @Index(name = "idx_leave_ledger_leave_request", columnList = "leave_request_id")
+})
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private UUID employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 20)
+    private LeaveTypeEnum leaveType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LeaveLedgerEntryTypeEnum entryType;
+
+    // Always positive; entryType decides the direction
+    @Column(nullable = false)
+    private int days;
+
+    // Kept when the request is cancelled and deleted, so no foreign key
+    @Column(name = "leave_request_id")
+    private UUID leaveRequestId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        LeaveLedgerEntry that = (LeaveLedgerEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
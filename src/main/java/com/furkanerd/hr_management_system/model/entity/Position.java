@@ -1,7 +1,10 @@
 package com.furkanerd.hr_management_system.model.entity;
 
+import com.furkanerd.hr_management_system.constants.CacheRegionConstants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +13,8 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegionConstants.POSITION)
 @Table(name = "position")
 @Getter
 @Setter
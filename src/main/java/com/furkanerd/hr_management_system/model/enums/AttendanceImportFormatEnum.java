@@ -0,0 +1,11 @@
+package com.furkanerd.hr_management_system.model.enums;
+
+/**
+ * Layout of a bulk attendance import.
+ * CSV has a header row naming the email, date, check_in_time and check_out_time columns,
+ * NDJSON has one object per line with email, date, checkInTime and checkOutTime.
+ */
+public enum AttendanceImportFormatEnum {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,12 @@
+package com.furkanerd.hr_management_system.model.enums;
+
+/**
+ * How a paginated list computes its total.
+ * EXACT runs a count query, NONE skips it and only reports whether another page exists,
+ * ESTIMATED reports the planner's row estimate or a recently cached count.
+ */
+public enum CountStrategyEnum {
+    EXACT,
+    NONE,
+    ESTIMATED
+}
@@ -0,0 +1,6 @@
+package com.furkanerd.hr_management_system.model.enums;
+
+public enum LeaveDecisionEnum {
+    APPROVE,
+    REJECT
+}
@@ -0,0 +1,13 @@
+package com.furkanerd.hr_management_system.model.enums;
+
+/**
+ * Kind of a leave ledger entry. ACCRUAL adds days to a balance and DEBIT takes approved
+ * leave out of it; RESERVATION sets days aside for a pending request and RELEASE gives
+ * them back once the request is approved, rejected, edited or cancelled.
+ */
+public enum LeaveLedgerEntryTypeEnum {
+    ACCRUAL,
+    DEBIT,
+    RESERVATION,
+    RELEASE
+}
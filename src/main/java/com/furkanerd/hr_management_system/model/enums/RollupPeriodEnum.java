@@ -0,0 +1,32 @@
+package com.furkanerd.hr_management_system.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Granularity of an attendance rollup. Weeks start on Monday, months on the first.
+ */
+public enum RollupPeriodEnum {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * First day after the period starting at {@code start}.
+     */
+    public LocalDate endAfter(LocalDate start) {
+        return switch (this) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+public record AttendancePresenceView(
+        UUID employeeId,
+        LocalTime checkOutTime
+) {
+}
@@ -0,0 +1,10 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+public record AttendanceTotalsView(
+        long employees,
+        long daysPresent,
+        long workedMinutes,
+        long lateArrivals,
+        long overtimeMinutes
+) {
+}
@@ -0,0 +1,11 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CredentialEpochView(
+        UUID employeeId,
+        int credentialEpoch,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+
+import java.util.UUID;
+
+public record EmployeeDirectoryView(
+        UUID id,
+        String email,
+        String firstName,
+        String lastName,
+        EmployeeRoleEnum role,
+        EmployeeStatusEnum status,
+        UUID departmentId,
+        UUID positionId,
+        UUID managerId
+) {
+}
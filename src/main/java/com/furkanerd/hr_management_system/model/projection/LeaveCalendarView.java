@@ -0,0 +1,23 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record LeaveCalendarView(
+        UUID leaveRequestId,
+        UUID employeeId,
+        UUID departmentId,
+        LeaveTypeEnum leaveType,
+        LeaveStatusEnum status,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+
+    // A request without an end date covers its start date only
+    public LocalDate lastDay() {
+        return endDate != null ? endDate : startDate;
+    }
+}
@@ -0,0 +1,10 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import java.util.UUID;
+
+public record LeaveOpeningBalanceView(
+        UUID employeeId,
+        int vacationBalance,
+        int maternityBalance
+) {
+}
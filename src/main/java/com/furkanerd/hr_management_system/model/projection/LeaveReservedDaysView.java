@@ -0,0 +1,9 @@
+package com.furkanerd.hr_management_system.model.projection;
+
+import java.util.UUID;
+
+public record LeaveReservedDaysView(
+        UUID leaveRequestId,
+        long reservedDays
+) {
+}
@@ -0,0 +1,71 @@
+package com.furkanerd.hr_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes imported attendance as one multi-row upsert per batch. A row for an employee
+ * day that already has attendance replaces its check-in time, and its check-out time
+ * unless the row has none, so importing a morning export does not erase check-outs
+ * recorded since, and importing the same export twice leaves the table as it was after
+ * the first run.
+ */
+@Repository
+public class AttendanceImportBatchRepository {
+
+    private static final String INSERT = "insert into attendance (id, employee_id, date, check_in_time, check_out_time, created_at, updated_at) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = " on conflict (employee_id, date) do update set"
+            + " check_in_time = excluded.check_in_time, check_out_time = coalesce(excluded.check_out_time, attendance.check_out_time), updated_at = excluded.updated_at"
+            + " returning employee_id, date, check_out_time is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceImportBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rows must not repeat an (employee, date) pair; an upsert cannot touch the same row twice.
+     *
+     * @return the rows inserted or updated, as stored
+     */
+    public List<UpsertedAttendance> upsert(List<ImportedAttendance> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows.size() * (ROW.length() + 2) + ON_CONFLICT.length());
+        Object[] args = new Object[rows.size() * 7];
+        sql.append(INSERT);
+        for (int i = 0; i < rows.size(); i++) {
+            ImportedAttendance row = rows.get(i);
+            sql.append(i == 0 ? ROW : ", " + ROW);
+            int offset = i * 7;
+            args[offset] = row.id();
+            args[offset + 1] = row.employeeId();
+            args[offset + 2] = row.date();
+            args[offset + 3] = row.checkInTime();
+            args[offset + 4] = row.checkOutTime();
+            args[offset + 5] = row.importedAt();
+            args[offset + 6] = row.importedAt();
+        }
+        sql.append(ON_CONFLICT);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new UpsertedAttendance(rs.getObject(1, UUID.class), rs.getObject(2, LocalDate.class), rs.getBoolean(3)),
+                args);
+    }
+
+    public record ImportedAttendance(UUID id, UUID employeeId, LocalDate date, LocalTime checkInTime, LocalTime checkOutTime,
+                                     LocalDateTime importedAt) {
+    }
+
+    // checkedOut may come from the stored row when the imported one had no check-out
+    public record UpsertedAttendance(UUID employeeId, LocalDate date, boolean checkedOut) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.furkanerd.hr_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the monthly partitions of the attendance table. Partitions are named
+ * {@code attendance_yYYYYmMM} and cover [first day of the month, first day of the next);
+ * anything outside them lands in {@code attendance_default}, which is normally empty.
+ */
+@Repository
+public class AttendancePartitionRepository {
+
+    private static final String PARENT = "attendance";
+    private static final String DEFAULT_PARTITION = "attendance_default";
+    private static final Pattern MONTH_PARTITION = Pattern.compile("attendance_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendancePartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                select exists (select 1 from pg_partitioned_table p
+                               join pg_class c on c.oid = p.partrelid
+                               where c.oid = to_regclass(?))""", Boolean.class, PARENT);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Months that currently have an attached partition.
+     */
+    public List<YearMonth> findMonths() {
+        List<String> names = jdbcTemplate.queryForList("""
+                select c.relname from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass(?)""", String.class, PARENT);
+        List<YearMonth> months = new ArrayList<>(names.size());
+        for (String name : names) {
+            Matcher matcher = MONTH_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Creates the partition for {@code month}. Rows that were already written to the
+     * default partition for that month are moved into it first, since Postgres refuses to
+     * attach a range the default partition still holds rows for.
+     */
+    @Transactional
+    public void createMonth(YearMonth month) {
+        String name = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        Integer stray = jdbcTemplate.queryForObject(
+                "select count(*) from " + DEFAULT_PARTITION + " where date >= ?::date and date < ?::date", Integer.class, from, to);
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute("create table if not exists " + name + " partition of " + PARENT
+                    + " for values from ('" + from + "') to ('" + to + "')");
+            return;
+        }
+        jdbcTemplate.execute("create table " + name + " (like " + PARENT + " including defaults including constraints)");
+        jdbcTemplate.update("with moved as (delete from " + DEFAULT_PARTITION + " where date >= ?::date and date < ?::date returning *) "
+                + "insert into " + name + " select * from moved", from, to);
+        jdbcTemplate.execute("alter table " + PARENT + " attach partition " + name
+                + " for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    /**
+     * Detaches the partition for {@code month}, leaving its rows in a standalone table of
+     * the same name for archiving. Only catalog entries change; no row is read or deleted.
+     */
+    @Transactional
+    public void detachMonth(YearMonth month, long lockTimeoutMillis) {
+        // Waiting behind a long query would block every attendance statement queued after us
+        jdbcTemplate.execute("set local lock_timeout = " + lockTimeoutMillis);
+        jdbcTemplate.execute("alter table " + PARENT + " detach partition " + partitionName(month));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("attendance_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,11 +1,15 @@
 package com.furkanerd.hr_management_system.repository;
 
 import com.furkanerd.hr_management_system.model.entity.Attendance;
+import com.furkanerd.hr_management_system.model.projection.AttendancePresenceView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +19,10 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID>, J
     boolean existsByEmployeeIdAndDate(UUID employeeId, LocalDate date);
 
     Optional<Attendance> findByEmployeeIdAndDate(UUID employeeId, LocalDate date);
+
+    @Query("select a.employee.id from Attendance a where a.date = :date")
+    List<UUID> findEmployeeIdsByDate(@Param("date") LocalDate date);
+
+    @Query("select new com.furkanerd.hr_management_system.model.projection.AttendancePresenceView(a.employee.id, a.checkOutTime) from Attendance a where a.date = :date")
+    List<AttendancePresenceView> findPresenceByDate(@Param("date") LocalDate date);
 }
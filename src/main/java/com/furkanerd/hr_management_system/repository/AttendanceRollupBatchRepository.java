@@ -0,0 +1,192 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recomputes attendance rollups for a set of employee days in a few set-based statements.
+ * Day rows are rebuilt from the attendance rows themselves and week and month rows are
+ * re-summed from the day rows, so a refresh is idempotent and can be repeated for the
+ * same day without drifting, whatever happened to the attendance row in between.
+ * <p>
+ * Each refresh first takes a transaction-scoped advisory lock per employee. Under READ
+ * COMMITTED, two refreshes of the same week could otherwise each re-sum day rows without
+ * seeing the other's uncommitted day, and the later commit would overwrite the week with
+ * a stale total.
+ */
+@Repository
+public class AttendanceRollupBatchRepository {
+
+    private static final String UPSERT = " on conflict (employee_id, period_type, period_start) do update set"
+            + " days_present = excluded.days_present, worked_minutes = excluded.worked_minutes,"
+            + " late_arrivals = excluded.late_arrivals, overtime_minutes = excluded.overtime_minutes,"
+            + " updated_at = excluded.updated_at";
+
+    // First half of the two-key advisory lock, keeping these locks apart from other features' keys
+    private static final int LOCK_NAMESPACE = 0x726f6c6c;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceRollupBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuilds the day, week and month rows touched by {@code days} in one transaction.
+     *
+     * @param lateAfter      check-ins after this time count as late arrivals
+     * @param minWorkMinutes minutes of a day beyond this count as overtime
+     */
+    @Transactional
+    public void refresh(Collection<EmployeeDay> days, LocalTime lateAfter, int minWorkMinutes) {
+        if (days.isEmpty()) {
+            return;
+        }
+        // An upsert may not touch the same row twice
+        Set<EmployeeDay> unique = new LinkedHashSet<>(days);
+        lockEmployees(unique);
+        refreshDays(unique, lateAfter, minWorkMinutes);
+        refreshPeriods(RollupPeriodEnum.WEEK, unique);
+        refreshPeriods(RollupPeriodEnum.MONTH, unique);
+    }
+
+    /**
+     * Deletes the day rows of [{@code from}, {@code to}] and returns their keys, so a
+     * backfill also drops days whose attendance row is gone and can re-sum their weeks and
+     * months afterwards.
+     */
+    @Transactional
+    public List<EmployeeDay> deleteDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        delete from attendance_rollup
+                        where period_type = 'DAY' and period_start between ? and ?
+                        returning employee_id, period_start""",
+                (rs, rowNum) -> new EmployeeDay(rs.getObject("employee_id", UUID.class), rs.getObject("period_start", LocalDate.class)),
+                from, to);
+    }
+
+    /**
+     * Employee days of attendance rows after ({@code afterDate}, {@code afterId}) in
+     * (date, id) order, for walking the table in chunks along idx_attendance_date_id.
+     */
+    public List<AttendanceKey> findKeysAfter(LocalDate afterDate, UUID afterId, LocalDate to, int limit) {
+        return jdbcTemplate.query("""
+                        select id, employee_id, date from attendance
+                        where (date, id) > (?, ?) and date <= ?
+                        order by date, id
+                        limit ?""",
+                (rs, rowNum) -> new AttendanceKey(rs.getObject("id", UUID.class), rs.getObject("employee_id", UUID.class),
+                        rs.getObject("date", LocalDate.class)),
+                afterDate, afterId, to, limit);
+    }
+
+    /**
+     * Employee days whose attendance was written after the newest rollup refresh, less
+     * {@code lagMillis} for writes that were stamped before that refresh but committed
+     * after it. Empty while the rollup table is.
+     */
+    public List<EmployeeDay> findDaysWrittenSinceLastRefresh(long lagMillis) {
+        return jdbcTemplate.query("""
+                        select distinct a.employee_id, a.date from attendance a
+                        where a.updated_at > (select max(r.updated_at) from attendance_rollup r) - ? * interval '1 millisecond'""",
+                (rs, rowNum) -> new EmployeeDay(rs.getObject("employee_id", UUID.class), rs.getObject("date", LocalDate.class)),
+                lagMillis);
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 from attendance_rollup)", Boolean.class));
+    }
+
+    // Held until commit; taken in key order so two refreshes sharing employees cannot deadlock
+    private void lockEmployees(Collection<EmployeeDay> days) {
+        Set<UUID> employeeIds = new LinkedHashSet<>();
+        for (EmployeeDay day : days) {
+            employeeIds.add(day.employeeId());
+        }
+        List<Object> args = new ArrayList<>(employeeIds.size() + 1);
+        args.add(LOCK_NAMESPACE);
+        args.addAll(employeeIds);
+        jdbcTemplate.query("select count(pg_advisory_xact_lock(?, k.lock_key)) from ("
+                        + "select distinct hashtext(id::text) as lock_key from (values "
+                        + values(employeeIds.size(), "(?::uuid)") + ") e (id) order by 1) k",
+                rs -> null, args.toArray());
+    }
+
+    private void refreshDays(Collection<EmployeeDay> days, LocalTime lateAfter, int minWorkMinutes) {
+        List<Object> args = new ArrayList<>(days.size() * 2 + 2);
+        String keys = values(days.size(), "(?::uuid, ?::date)");
+        for (EmployeeDay day : days) {
+            args.add(day.employeeId());
+            args.add(day.date());
+        }
+        // Days whose attendance row was deleted lose their rollup row
+        jdbcTemplate.update("with keys (employee_id, day) as (values " + keys + ") "
+                + "delete from attendance_rollup r using keys k "
+                + "where r.employee_id = k.employee_id and r.period_type = 'DAY' and r.period_start = k.day "
+                + "and not exists (select 1 from attendance a where a.employee_id = k.employee_id and a.date = k.day)",
+                args.toArray());
+
+        args.add(lateAfter);
+        args.add(minWorkMinutes);
+        jdbcTemplate.update("with keys (employee_id, day) as (values " + keys + ") "
+                + "insert into attendance_rollup (employee_id, period_type, period_start, days_present, worked_minutes, "
+                + "late_arrivals, overtime_minutes, updated_at) "
+                + "select a.employee_id, 'DAY', a.date, 1, w.minutes, "
+                + "case when a.check_in_time > ?::time then 1 else 0 end, greatest(w.minutes - ?, 0), now() "
+                + "from keys k join attendance a on a.employee_id = k.employee_id and a.date = k.day "
+                // Days without a check-out count as present with nothing worked yet
+                + "cross join lateral (select coalesce(extract(epoch from a.check_out_time - a.check_in_time)::int / 60, 0) as minutes) w"
+                + UPSERT,
+                args.toArray());
+    }
+
+    private void refreshPeriods(RollupPeriodEnum period, Collection<EmployeeDay> days) {
+        Set<EmployeeDay> periods = new LinkedHashSet<>();
+        for (EmployeeDay day : days) {
+            periods.add(new EmployeeDay(day.employeeId(), period.startOf(day.date())));
+        }
+        List<Object> args = new ArrayList<>(periods.size() * 3 + 1);
+        for (EmployeeDay start : periods) {
+            args.add(start.employeeId());
+            args.add(start.date());
+            args.add(period.endAfter(start.date()));
+        }
+        args.add(period.name());
+        jdbcTemplate.update("with keys (employee_id, period_start, period_end) as (values "
+                + values(periods.size(), "(?::uuid, ?::date, ?::date)") + ") "
+                + "insert into attendance_rollup (employee_id, period_type, period_start, days_present, worked_minutes, "
+                + "late_arrivals, overtime_minutes, updated_at) "
+                + "select k.employee_id, ?, k.period_start, coalesce(sum(d.days_present), 0), coalesce(sum(d.worked_minutes), 0), "
+                + "coalesce(sum(d.late_arrivals), 0), coalesce(sum(d.overtime_minutes), 0), now() "
+                + "from keys k left join attendance_rollup d on d.employee_id = k.employee_id and d.period_type = 'DAY' "
+                + "and d.period_start >= k.period_start and d.period_start < k.period_end "
+                + "group by k.employee_id, k.period_start"
+                + UPSERT,
+                args.toArray());
+    }
+
+    private static String values(int count, String row) {
+        StringBuilder sql = new StringBuilder(count * (row.length() + 2));
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? row : ", " + row);
+        }
+        return sql.toString();
+    }
+
+    public record EmployeeDay(UUID employeeId, LocalDate date) {
+    }
+
+    public record AttendanceKey(UUID id, UUID employeeId, LocalDate date) {
+    }
+}
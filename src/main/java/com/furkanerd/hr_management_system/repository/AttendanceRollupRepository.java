@@ -0,0 +1,62 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse;
+import com.furkanerd.hr_management_system.model.entity.AttendanceRollup;
+import com.furkanerd.hr_management_system.model.entity.AttendanceRollupId;
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import com.furkanerd.hr_management_system.model.projection.AttendanceTotalsView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AttendanceRollupRepository extends JpaRepository<AttendanceRollup, AttendanceRollupId> {
+
+    @Query(value = """
+            select new com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse(
+                r.id.employeeId, concat(e.firstName, ' ', e.lastName), r.id.periodType, r.id.periodStart,
+                r.daysPresent, r.workedMinutes, r.lateArrivals, r.overtimeMinutes)
+            from AttendanceRollup r join Employee e on e.id = r.id.employeeId
+            where r.id.periodType = :period and r.id.periodStart = :periodStart and r.daysPresent > 0
+              and (:departmentId is null or e.department.id = :departmentId)
+            order by e.lastName, e.firstName, e.id""",
+            countQuery = """
+            select count(r) from AttendanceRollup r join Employee e on e.id = r.id.employeeId
+            where r.id.periodType = :period and r.id.periodStart = :periodStart and r.daysPresent > 0
+              and (:departmentId is null or e.department.id = :departmentId)""")
+    Page<AttendanceSummaryResponse> findSummaries(@Param("period") RollupPeriodEnum period,
+                                                  @Param("periodStart") LocalDate periodStart,
+                                                  @Param("departmentId") UUID departmentId,
+                                                  Pageable pageable);
+
+    @Query("""
+            select new com.furkanerd.hr_management_system.model.projection.AttendanceTotalsView(
+                count(r), coalesce(sum(r.daysPresent), 0L), coalesce(sum(r.workedMinutes), 0L),
+                coalesce(sum(r.lateArrivals), 0L), coalesce(sum(r.overtimeMinutes), 0L))
+            from AttendanceRollup r join Employee e on e.id = r.id.employeeId
+            where r.id.periodType = :period and r.id.periodStart = :periodStart and r.daysPresent > 0
+              and (:departmentId is null or e.department.id = :departmentId)""")
+    AttendanceTotalsView findTotals(@Param("period") RollupPeriodEnum period,
+                                    @Param("periodStart") LocalDate periodStart,
+                                    @Param("departmentId") UUID departmentId);
+
+    @Query("""
+            select new com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse(
+                r.id.employeeId, concat(e.firstName, ' ', e.lastName), r.id.periodType, r.id.periodStart,
+                r.daysPresent, r.workedMinutes, r.lateArrivals, r.overtimeMinutes)
+            from AttendanceRollup r join Employee e on e.id = r.id.employeeId
+            where r.id.employeeId = :employeeId and r.id.periodType = :period
+              and r.id.periodStart between :from and :to
+            order by r.id.periodStart""")
+    List<AttendanceSummaryResponse> findByEmployee(@Param("employeeId") UUID employeeId,
+                                                   @Param("period") RollupPeriodEnum period,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+}
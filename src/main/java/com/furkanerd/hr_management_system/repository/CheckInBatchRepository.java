@@ -0,0 +1,59 @@
+package com.furkanerd.hr_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes self-service check-ins as one multi-row insert per batch. Rows whose employee
+ * already has attendance for the date are skipped by the unique (employee_id, date)
+ * constraint instead of failing the whole statement.
+ */
+@Repository
+public class CheckInBatchRepository {
+
+    private static final String INSERT = "insert into attendance (id, employee_id, date, check_in_time, created_at, updated_at) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = " on conflict (employee_id, date) do nothing returning id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CheckInBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return ids of the rows that were inserted; the others already existed
+     */
+    public Set<UUID> insertIgnoringExisting(List<NewCheckIn> checkIns) {
+        if (checkIns.isEmpty()) {
+            return Set.of();
+        }
+        StringBuilder sql = new StringBuilder(INSERT.length() + checkIns.size() * (ROW.length() + 2) + ON_CONFLICT.length());
+        Object[] args = new Object[checkIns.size() * 6];
+        sql.append(INSERT);
+        for (int i = 0; i < checkIns.size(); i++) {
+            NewCheckIn checkIn = checkIns.get(i);
+            sql.append(i == 0 ? ROW : ", " + ROW);
+            int offset = i * 6;
+            args[offset] = checkIn.id();
+            args[offset + 1] = checkIn.employeeId();
+            args[offset + 2] = checkIn.date();
+            args[offset + 3] = checkIn.checkInTime();
+            args[offset + 4] = checkIn.createdAt();
+            args[offset + 5] = checkIn.createdAt();
+        }
+        sql.append(ON_CONFLICT);
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), UUID.class, args));
+    }
+
+    public record NewCheckIn(UUID id, UUID employeeId, LocalDate date, LocalTime checkInTime, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.furkanerd.hr_management_system.repository;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Tells whether optional Postgres extensions are installed, for features that need one
+ * and have a plainer fallback.
+ */
+@Repository
+public class DatabaseExtensionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseExtensionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return false as well on a database without {@code pg_extension}, such as H2
+     */
+    public boolean isInstalled(String extension) {
+        try {
+            Boolean installed = jdbcTemplate.queryForObject(
+                    "select exists (select 1 from pg_extension where extname = ?)", Boolean.class, extension);
+            return Boolean.TRUE.equals(installed);
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
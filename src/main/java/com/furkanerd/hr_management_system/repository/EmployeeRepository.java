@@ -1,19 +1,102 @@
 package com.furkanerd.hr_management_system.repository;
 
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.projection.CredentialEpochView;
+import com.furkanerd.hr_management_system.model.projection.EmployeeDirectoryView;
+import com.furkanerd.hr_management_system.model.projection.EmployeeEmailIdView;
+import com.furkanerd.hr_management_system.model.projection.LeaveOpeningBalanceView;
+import com.furkanerd.hr_management_system.model.projection.ReportingLineView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSpecificationExecutor<Employee> {
-    
+
+    String DIRECTORY_VIEW_SELECT = "select new com.furkanerd.hr_management_system.model.projection.EmployeeDirectoryView("
+            + "e.id, e.email, e.firstName, e.lastName, e.role, e.status, d.id, p.id, m.id) "
+            + "from Employee e left join e.department d left join e.position p left join e.manager m";
+
     Optional<Employee> findByEmail(String email);
 
+    // Conditional so a password changed since the login read it is never overwritten; 0 means it was
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.password = :newPassword where e.id = :id and e.password = :oldPassword")
+    int replacePasswordHash(@Param("id") UUID id,
+                            @Param("oldPassword") String oldPassword,
+                            @Param("newPassword") String newPassword);
+
     boolean existsByEmail(String email);
 
     boolean existsByPhone(String phone);
+
+    @Query("select new com.furkanerd.hr_management_system.model.projection.CredentialEpochView(e.id, e.credentialEpoch, e.updatedAt) from Employee e")
+    List<CredentialEpochView> findAllCredentialEpochs();
+
+    @Query("select new com.furkanerd.hr_management_system.model.projection.CredentialEpochView(e.id, e.credentialEpoch, e.updatedAt) from Employee e where e.updatedAt >= :since")
+    List<CredentialEpochView> findCredentialEpochsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("select e.credentialEpoch from Employee e where e.id = :id")
+    Optional<Integer> findCredentialEpochById(@Param("id") UUID id);
+
+    @Query("select new com.furkanerd.hr_management_system.model.projection.ReportingLineView(e.id, m.id) from Employee e left join e.manager m")
+    List<ReportingLineView> findAllReportingLines();
+
+    String OPENING_LEAVE_BALANCE_SELECT = "select new com.furkanerd.hr_management_system.model.projection.LeaveOpeningBalanceView("
+            + "e.id, e.vacationBalance, e.maternityBalance) from Employee e";
+
+    @Query(OPENING_LEAVE_BALANCE_SELECT)
+    List<LeaveOpeningBalanceView> findAllOpeningLeaveBalances();
+
+    @Query(OPENING_LEAVE_BALANCE_SELECT + " where e.id = :id")
+    Optional<LeaveOpeningBalanceView> findOpeningLeaveBalanceById(@Param("id") UUID id);
+
+    @Query("select new com.furkanerd.hr_management_system.model.projection.EmployeeEmailIdView(e.email, e.id) from Employee e")
+    List<EmployeeEmailIdView> findAllEmailIds();
+
+    @Query("select e.id from Employee e where e.email = :email")
+    Optional<UUID> findIdByEmail(@Param("email") String email);
+
+    @Query(DIRECTORY_VIEW_SELECT)
+    List<EmployeeDirectoryView> findAllDirectoryViews();
+
+    @Query(DIRECTORY_VIEW_SELECT + " where e.email = :email")
+    Optional<EmployeeDirectoryView> findDirectoryViewByEmail(@Param("email") String email);
+
+    @Query(DIRECTORY_VIEW_SELECT + " where e.id = :id")
+    Optional<EmployeeDirectoryView> findDirectoryViewById(@Param("id") UUID id);
+
+    // Direct and indirect reports of a manager, expanded by the database in one statement;
+    // union skips ids already reached, so a reporting cycle cannot recurse forever
+    @Query(value = """
+            with recursive subtree(id) as (
+                select e.id from employee e where e.manager_id = :managerId
+                union
+                select c.id from employee c join subtree s on c.manager_id = s.id
+            )
+            select id from subtree
+            """, nativeQuery = true)
+    List<UUID> findReportingSubtreeIds(@Param("managerId") UUID managerId);
+
+    // Whether ancestorId is employeeId itself or anyone above it, walking up the management chain;
+    // union stops at a repeated id, so an existing cycle cannot recurse forever
+    @Query(value = """
+            with recursive chain(id) as (
+                select cast(:employeeId as uuid)
+                union
+                select e.manager_id from employee e join chain c on e.id = c.id where e.manager_id is not null
+            )
+            select exists (select 1 from chain where id = :ancestorId)
+            """, nativeQuery = true)
+    boolean existsInManagementChain(@Param("employeeId") UUID employeeId, @Param("ancestorId") UUID ancestorId);
 }
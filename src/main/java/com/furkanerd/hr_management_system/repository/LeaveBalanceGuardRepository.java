@@ -0,0 +1,61 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Balance checks for writers that take days out of a leave balance. A writer locks the
+ * employee's balance of one leave type with a transaction-scoped advisory lock, then reads
+ * what is available straight from the database. Under READ COMMITTED that read already
+ * sees every entry committed by earlier holders of the lock, so the check holds across
+ * instances while the ledger stays insert-only and readers never wait.
+ * <p>
+ * Both methods must run inside the writing transaction.
+ */
+@Repository
+public class LeaveBalanceGuardRepository {
+
+    // First half of the two-key advisory lock, keeping these locks apart from other features' keys
+    private static final int LOCK_NAMESPACE = 0x6c656176;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveBalanceGuardRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Waits until no other transaction holds the balance, and holds it until this one ends.
+     */
+    public void lock(UUID employeeId, LeaveTypeEnum leaveType) {
+        // String.hashCode is fixed by the language spec, so every instance derives the same key
+        int key = (employeeId + ":" + leaveType.name()).hashCode();
+        jdbcTemplate.query("select pg_advisory_xact_lock(?, ?)", rs -> null, LOCK_NAMESPACE, key);
+    }
+
+    /**
+     * Opening balance plus the snapshot and the ledger tail, less reserved days, including
+     * entries this transaction has written but not committed. Read in one statement so a
+     * compaction committing meanwhile is seen either entirely or not at all.
+     *
+     * @return 0 when the employee does not exist
+     */
+    public int findAvailableDays(UUID employeeId, LeaveTypeEnum leaveType) {
+        String opening = leaveType == LeaveTypeEnum.MATERNITY ? "e.maternity_balance" : "e.vacation_balance";
+        Integer available = jdbcTemplate.query("""
+                        select %s + coalesce(s.net_days, 0) - coalesce(s.reserved_days, 0)
+                               + coalesce((select sum(case l.entry_type when 'ACCRUAL' then l.days when 'DEBIT' then -l.days
+                                                                        when 'RESERVATION' then -l.days when 'RELEASE' then l.days else 0 end)
+                                           from leave_ledger l
+                                           where l.employee_id = e.id and l.leave_type = ? and l.id > coalesce(s.last_entry_id, 0)), 0)
+                        from employee e
+                        left join leave_balance_snapshot s on s.employee_id = e.id and s.leave_type = ?
+                        where e.id = ?""".formatted(opening),
+                rs -> rs.next() ? rs.getInt(1) : null,
+                leaveType.name(), leaveType.name(), employeeId);
+        return available != null ? available : 0;
+    }
+}
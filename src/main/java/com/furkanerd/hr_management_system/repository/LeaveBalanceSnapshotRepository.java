@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.entity.LeaveBalanceSnapshot;
+import com.furkanerd.hr_management_system.model.entity.LeaveBalanceSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LeaveBalanceSnapshotRepository extends JpaRepository<LeaveBalanceSnapshot, LeaveBalanceSnapshotId> {
+
+    List<LeaveBalanceSnapshot> findByIdEmployeeId(UUID employeeId);
+}
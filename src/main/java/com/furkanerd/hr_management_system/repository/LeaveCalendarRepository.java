@@ -0,0 +1,50 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveCalendarView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Overlap queries on the generated {@code period} daterange of leave requests, which the
+ * GiST index idx_leaverequest_period answers without scanning past requests. JPA has no
+ * notion of range types, hence plain SQL.
+ */
+@Repository
+public class LeaveCalendarRepository {
+
+    private static final String FIND_OVERLAPPING = """
+            select l.id, l.employee_id, e.department_id, l.leave_type, l.status, l.start_date, l.end_date
+            from leaverequest l
+            join employee e on e.id = l.employee_id
+            where l.period && daterange(?, ?, '[]')
+              and l.status in ('PENDING', 'APPROVED')
+              and e.department_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveCalendarRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Pending and approved leave of the department's employees sharing at least one day
+     * with {@code [from, to]}.
+     */
+    public List<LeaveCalendarView> findOverlapping(UUID departmentId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_OVERLAPPING, (rs, rowNum) -> new LeaveCalendarView(
+                rs.getObject("id", UUID.class),
+                rs.getObject("employee_id", UUID.class),
+                rs.getObject("department_id", UUID.class),
+                LeaveTypeEnum.valueOf(rs.getString("leave_type")),
+                LeaveStatusEnum.valueOf(rs.getString("status")),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class)), from, to, departmentId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends many leave ledger entries in one multi-row insert. JPA cannot batch them, as
+ * their identity ids are only known once each row has been inserted.
+ */
+@Repository
+public class LeaveLedgerBatchRepository {
+
+    private static final String INSERT = "insert into leave_ledger (employee_id, leave_type, entry_type, days, leave_request_id, created_at) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final String RETURNING = " returning id, employee_id, leave_type, entry_type, days, leave_request_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveLedgerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the inserted entries with their ids, in no particular order
+     */
+    public List<InsertedEntry> insertAll(List<NewEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        StringBuilder sql = new StringBuilder(INSERT.length() + entries.size() * (ROW.length() + 2) + RETURNING.length());
+        Object[] args = new Object[entries.size() * 6];
+        sql.append(INSERT);
+        for (int i = 0; i < entries.size(); i++) {
+            NewEntry entry = entries.get(i);
+            sql.append(i == 0 ? ROW : ", " + ROW);
+            int offset = i * 6;
+            args[offset] = entry.employeeId();
+            args[offset + 1] = entry.leaveType().name();
+            args[offset + 2] = entry.entryType().name();
+            args[offset + 3] = entry.days();
+            args[offset + 4] = entry.leaveRequestId();
+            args[offset + 5] = createdAt;
+        }
+        sql.append(RETURNING);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new InsertedEntry(
+                rs.getLong("id"),
+                rs.getObject("employee_id", UUID.class),
+                LeaveTypeEnum.valueOf(rs.getString("leave_type")),
+                LeaveLedgerEntryTypeEnum.valueOf(rs.getString("entry_type")),
+                rs.getInt("days"),
+                rs.getObject("leave_request_id", UUID.class)), args);
+    }
+
+    public record NewEntry(UUID employeeId, LeaveTypeEnum leaveType, LeaveLedgerEntryTypeEnum entryType, int days, UUID leaveRequestId) {
+    }
+
+    public record InsertedEntry(long id, UUID employeeId, LeaveTypeEnum leaveType, LeaveLedgerEntryTypeEnum entryType, int days, UUID leaveRequestId) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.furkanerd.hr_management_system.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Folds leave ledger entries into leave_balance_snapshot so balances are read from one
+ * row per employee and leave type plus a short tail of recent entries. Entries are never
+ * deleted; the snapshot only records how far they have been summed.
+ */
+@Repository
+public class LeaveLedgerCompactionRepository {
+
+    // Arbitrary application-wide key, so two instances never fold the same entries twice
+    private static final long LOCK_KEY = 0x6c65646765724cL;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaveLedgerCompactionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds every entry older than {@code lagMillis} and not yet folded to its snapshot row.
+     * Identity values are handed out at insert but become visible at commit, so a younger
+     * entry may still hide a smaller, uncommitted id; the lag keeps the watermark behind
+     * every transaction that could still be open.
+     *
+     * @return snapshot rows written, or -1 when another compaction holds the lock
+     */
+    @Transactional
+    public int compact(long lagMillis) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY))) {
+            return -1;
+        }
+        Long watermark = jdbcTemplate.queryForObject(
+                "select max(id) from leave_ledger where created_at < now() - ? * interval '1 millisecond'", Long.class, lagMillis);
+        if (watermark == null) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                insert into leave_balance_snapshot (employee_id, leave_type, net_days, reserved_days, last_entry_id, compacted_at)
+                select l.employee_id, l.leave_type,
+                       sum(case l.entry_type when 'ACCRUAL' then l.days when 'DEBIT' then -l.days else 0 end),
+                       sum(case l.entry_type when 'RESERVATION' then l.days when 'RELEASE' then -l.days else 0 end),
+                       max(l.id), now()
+                from leave_ledger l
+                left join leave_balance_snapshot s on s.employee_id = l.employee_id and s.leave_type = l.leave_type
+                where l.id > coalesce(s.last_entry_id, 0) and l.id <= ?
+                group by l.employee_id, l.leave_type
+                on conflict (employee_id, leave_type) do update set
+                    net_days = leave_balance_snapshot.net_days + excluded.net_days,
+                    reserved_days = leave_balance_snapshot.reserved_days + excluded.reserved_days,
+                    last_entry_id = excluded.last_entry_id,
+                    compacted_at = excluded.compacted_at""", watermark);
+    }
+}
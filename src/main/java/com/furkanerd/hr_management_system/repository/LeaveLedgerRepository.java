@@ -0,0 +1,56 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.entity.LeaveLedgerEntry;
+import com.furkanerd.hr_management_system.model.projection.LeaveReservedDaysView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    // Entries not yet folded into their employee's snapshot
+    String TAIL_SELECT = """
+            select l from LeaveLedgerEntry l
+            where l.id > coalesce((select s.lastEntryId from LeaveBalanceSnapshot s
+                                   where s.id.employeeId = l.employeeId and s.id.leaveType = l.leaveType), 0)""";
+
+    @Query(TAIL_SELECT)
+    List<LeaveLedgerEntry> findAllTail();
+
+    @Query(TAIL_SELECT + " and l.employeeId = :employeeId")
+    List<LeaveLedgerEntry> findTailByEmployeeId(@Param("employeeId") UUID employeeId);
+
+    /**
+     * Highest id written before the given time; ids are handed out before commit, so only
+     * entries older than the longest writing transaction are sure to leave no gap below it.
+     */
+    @Query("select max(l.id) from LeaveLedgerEntry l where l.createdAt < :before")
+    Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    List<LeaveLedgerEntry> findByIdGreaterThanOrderByIdAsc(long id);
+
+    /**
+     * Days still set aside for a leave request: its reservations minus its releases.
+     */
+    @Query("""
+            select coalesce(sum(case when l.entryType = com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum.RESERVATION then l.days
+                                     when l.entryType = com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum.RELEASE then -l.days
+                                     else 0 end), 0)
+            from LeaveLedgerEntry l where l.leaveRequestId = :leaveRequestId""")
+    int sumReservedDaysByLeaveRequestId(@Param("leaveRequestId") UUID leaveRequestId);
+
+    @Query("""
+            select new com.furkanerd.hr_management_system.model.projection.LeaveReservedDaysView(l.leaveRequestId,
+                coalesce(sum(case when l.entryType = com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum.RESERVATION then l.days
+                                  when l.entryType = com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum.RELEASE then -l.days
+                                  else 0 end), 0L))
+            from LeaveLedgerEntry l where l.leaveRequestId in :leaveRequestIds group by l.leaveRequestId""")
+    List<LeaveReservedDaysView> sumReservedDaysByLeaveRequestIdIn(@Param("leaveRequestIds") Collection<UUID> leaveRequestIds);
+}
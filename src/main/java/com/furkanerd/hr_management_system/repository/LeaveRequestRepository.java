@@ -1,13 +1,74 @@
 package com.furkanerd.hr_management_system.repository;
 
+import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveCalendarView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, UUID>, JpaSpecificationExecutor<LeaveRequest> {
+
+    String CALENDAR_VIEW_SELECT = "select new com.furkanerd.hr_management_system.model.projection.LeaveCalendarView("
+            + "lr.id, e.id, e.department.id, lr.leaveType, lr.status, lr.startDate, lr.endDate) "
+            + "from LeaveRequest lr join lr.employee e "
+            + "where lr.status in (com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum.PENDING, "
+            + "com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum.APPROVED) "
+            + "and coalesce(lr.endDate, lr.startDate) >= :from";
+
+    // Conditional so a request is approved or rejected exactly once; 0 means someone else processed it first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update LeaveRequest lr set lr.status = :status, lr.approver = :approver,
+                lr.approvedAt = :processedAt, lr.updatedAt = :processedAt
+            where lr.id = :id and lr.status = com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum.PENDING""")
+    int completePending(@Param("id") UUID id,
+                        @Param("status") LeaveStatusEnum status,
+                        @Param("approver") Employee approver,
+                        @Param("processedAt") LocalDateTime processedAt);
+
+    @Query("select lr from LeaveRequest lr join fetch lr.employee where lr.id in :ids")
+    List<LeaveRequest> findAllWithEmployeeByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // completePending for many requests; the caller's entities are left as loaded
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update LeaveRequest lr set lr.status = :status, lr.approver = :approver,
+                lr.approvedAt = :processedAt, lr.updatedAt = :processedAt
+            where lr.id in :ids and lr.status = com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum.PENDING""")
+    int completeAllPending(@Param("ids") Collection<UUID> ids,
+                           @Param("status") LeaveStatusEnum status,
+                           @Param("approver") Employee approver,
+                           @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Which of {@code ids} a completeAllPending call with the same approver and timestamp
+     * completed, for when it completed fewer than it was given.
+     */
+    @Query("select lr.id from LeaveRequest lr where lr.id in :ids and lr.approver = :approver and lr.approvedAt = :processedAt")
+    List<UUID> findIdsCompletedBy(@Param("ids") Collection<UUID> ids,
+                                  @Param("approver") Employee approver,
+                                  @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update LeaveRequest lr set lr.status = :status where lr.id in :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") LeaveStatusEnum status);
+
+    // Pending and approved requests not over before from
+    @Query(CALENDAR_VIEW_SELECT)
+    List<LeaveCalendarView> findCalendarViewsEndingFrom(@Param("from") LocalDate from);
+
+    @Query(CALENDAR_VIEW_SELECT + " and e.id = :employeeId")
+    List<LeaveCalendarView> findCalendarViewsByEmployeeIdEndingFrom(@Param("employeeId") UUID employeeId, @Param("from") LocalDate from);
 }
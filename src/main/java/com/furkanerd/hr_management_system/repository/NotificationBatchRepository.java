@@ -0,0 +1,49 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stores many notifications in one multi-row insert instead of one statement each.
+ */
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT = "insert into notification (id, employee_id, message, type, is_read, created_at) values ";
+    private static final String ROW = "(?, ?, ?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<NewNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        StringBuilder sql = new StringBuilder(INSERT.length() + notifications.size() * (ROW.length() + 2));
+        Object[] args = new Object[notifications.size() * 5];
+        sql.append(INSERT);
+        for (int i = 0; i < notifications.size(); i++) {
+            NewNotification notification = notifications.get(i);
+            sql.append(i == 0 ? ROW : ", " + ROW);
+            int offset = i * 5;
+            args[offset] = UUID.randomUUID();
+            args[offset + 1] = notification.employeeId();
+            args[offset + 2] = notification.message();
+            args[offset + 3] = notification.type().name();
+            args[offset + 4] = createdAt;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    public record NewNotification(UUID employeeId, String message, NotificationTypeEnum type) {
+    }
+}
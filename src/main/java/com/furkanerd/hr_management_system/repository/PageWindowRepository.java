@@ -0,0 +1,217 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
+import com.furkanerd.hr_management_system.specification.ListProjection;
+import com.furkanerd.hr_management_system.util.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads offset pages through a {@link ListProjection}, so list endpoints get their rows in
+ * one joined select instead of loading entities and letting the mappers fault in lazy
+ * associations row by row. {@link #findPage} counts exactly, like a Spring Data
+ * {@code Page}; {@link #findWindow} skips the exact {@code count(*)}: one extra row is
+ * fetched to tell whether a next page exists and, for {@link CountStrategyEnum#ESTIMATED},
+ * the total comes from pg_class statistics when the query is unfiltered, otherwise from a
+ * count cached per filter for a short TTL. {@link #findSeekWindow} reads keyset pages
+ * through the same projections.
+ */
+@Slf4j
+@Repository
+public class PageWindowRepository {
+
+    private static final int MAX_CACHED_COUNTS = 10_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final long countCacheTtlMillis;
+    private final Map<CountKey, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    public PageWindowRepository(@Value("${pagination.count-cache-ttl:60000}") long countCacheTtlMillis) {
+        this.countCacheTtlMillis = countCacheTtlMillis;
+    }
+
+    /**
+     * Reads one page of {@code projection} rows plus the exact total; the count query is
+     * skipped when the page itself shows where the result ends.
+     */
+    public <E, R> Page<R> findPage(ListProjection<E, R> projection, Specification<E> specification, Pageable pageable) {
+        List<R> content = fetch(projection, specification, pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(projection.entityType(), specification));
+    }
+
+    public <E> Window<E> findWindow(Class<E> entityClass, Specification<E> specification, Pageable pageable,
+                                    CountStrategyEnum countStrategy, Object countKey) {
+        return findWindow(ListProjection.entity(entityClass), specification, pageable, countStrategy, countKey);
+    }
+
+    /**
+     * @param countKey identifies the filter behind {@code specification} for the count cache,
+     *                 typically the filter request record plus any scoping id
+     */
+    public <E, R> Window<R> findWindow(ListProjection<E, R> projection, Specification<E> specification, Pageable pageable,
+                                       CountStrategyEnum countStrategy, Object countKey) {
+        Class<E> entityClass = projection.entityType();
+        List<R> rows = fetch(projection, specification, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<R> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        if (countStrategy != CountStrategyEnum.ESTIMATED) {
+            return new Window<>(content, hasNext, null);
+        }
+        long estimate = specification == null
+                ? tableEstimate(entityClass).orElseGet(() -> cachedCount(entityClass, null, countKey))
+                : cachedCount(entityClass, specification, countKey);
+        // Never report fewer rows than the page just proved to exist
+        long seen = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+        return new Window<>(content, hasNext, Math.max(estimate, seen));
+    }
+
+    /**
+     * Reads up to {@code size} projection rows in {@code sort} order; the seek predicate
+     * that starts the page after the previous cursor is part of {@code specification}.
+     * The sort value and id of the last row are selected alongside, since the record does
+     * not carry every sortable field, and one extra row tells whether a next page exists.
+     *
+     * @param sort the cursor sort field first, the id last as tie breaker
+     */
+    public <E, R> SeekWindow<R> findSeekWindow(ListProjection<E, R> projection, Specification<E> specification, Sort sort, int size) {
+        Sort.Order order = sort.iterator().next();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(projection.entityType());
+        // Key columns first: Hibernate orders by select item ordinals, which it miscounts after a constructor selection
+        query.multiselect(root.get(order.getProperty()), root.get("id"), projection.selector().apply(root, cb));
+        applySpecification(specification, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > size;
+        List<Object[]> pageRows = hasNext ? rows.subList(0, size) : rows;
+        List<R> content = pageRows.stream()
+                .map(row -> projection.resultType().cast(row[2]))
+                .toList();
+        PageCursor next = null;
+        if (hasNext) {
+            Object[] last = pageRows.getLast();
+            next = new PageCursor(order.getProperty(), order.getDirection(), last[0] != null ? last[0].toString() : null, (UUID) last[1]);
+        }
+        return new SeekWindow<>(content, next);
+    }
+
+    private <E, R> List<R> fetch(ListProjection<E, R> projection, Specification<E> specification, Pageable pageable, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projection.resultType());
+        Root<E> root = query.from(projection.entityType());
+        query.select(projection.selector().apply(root, cb));
+        applySpecification(specification, root, query, cb);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <E> long count(Class<E> entityClass, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityClass);
+        applySpecification(specification, root, query, cb);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <E> Optional<Long> tableEstimate(Class<E> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table == null || table.name().isEmpty()) {
+            return Optional.empty();
+        }
+        Number reltuples = (Number) entityManager
+                .createNativeQuery("select reltuples::bigint from pg_class where oid = to_regclass(:table)")
+                .setParameter("table", table.name())
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElse(null);
+        // reltuples is -1 (or 0 on older servers) until the table has been analyzed
+        return reltuples != null && reltuples.longValue() > 0
+                ? Optional.of(reltuples.longValue())
+                : Optional.empty();
+    }
+
+    private <E> long cachedCount(Class<E> entityClass, Specification<E> specification, Object countKey) {
+        CountKey key = new CountKey(entityClass, countKey);
+        long now = System.currentTimeMillis();
+        CachedCount cached = countCache.get(key);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.value();
+        }
+        long value = count(entityClass, specification);
+        if (countCache.size() >= MAX_CACHED_COUNTS) {
+            countCache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (countCache.size() >= MAX_CACHED_COUNTS) {
+                log.debug("Count cache full, clearing {} entries", countCache.size());
+                countCache.clear();
+            }
+        }
+        countCache.put(key, new CachedCount(value, now + countCacheTtlMillis));
+        return value;
+    }
+
+    private static <E> void applySpecification(Specification<E> specification, Root<E> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    /**
+     * @param total estimated total, null when the page was read without counting
+     */
+    public record Window<E>(List<E> content, boolean hasNext, Long total) {
+    }
+
+    /**
+     * @param next where the following page starts, null on the last page
+     */
+    public record SeekWindow<E>(List<E> content, PageCursor next) {
+
+        public String nextCursor() {
+            return next != null ? next.encode() : null;
+        }
+    }
+
+    private record CountKey(Class<?> entityClass, Object filter) {
+    }
+
+    private record CachedCount(long value, long expiresAtMillis) {
+    }
+}
@@ -1,8 +1,12 @@
 package com.furkanerd.hr_management_system.repository;
 
+import com.furkanerd.hr_management_system.constants.CacheRegionConstants;
 import com.furkanerd.hr_management_system.model.entity.Position;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,5 +15,9 @@ import java.util.UUID;
 @Repository
 public interface PositionRepository extends JpaRepository<Position, UUID>, JpaSpecificationExecutor<Position> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegionConstants.REFERENCE_QUERIES)
+    })
     Optional<Position> findByTitle(String title);
 }
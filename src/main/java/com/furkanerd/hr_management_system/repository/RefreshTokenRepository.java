@@ -0,0 +1,36 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.model.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    @Query("select rt from RefreshToken rt join fetch rt.employee where rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithEmployee(@Param("tokenHash") String tokenHash);
+
+    // Conditional so two concurrent refreshes with the same token cannot both succeed
+    @Modifying
+    @Query("update RefreshToken rt set rt.usedAt = :usedAt where rt.id = :id and rt.usedAt is null")
+    int markUsed(@Param("id") UUID id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("delete from RefreshToken rt where rt.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken rt where rt.employee.id = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") UUID employeeId);
+
+    @Modifying
+    @Query("delete from RefreshToken rt where rt.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,51 @@
+package com.furkanerd.hr_management_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt work factor for this host. The hash is timed at the minimum cost
+ * and, since every extra cost step doubles the work, the highest cost whose projected
+ * time still fits the latency budget is chosen.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+
+    private static final int SAMPLES = 5;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis) {
+        String salt = BCrypt.gensalt(MIN_COST);
+        // First round warms up the JIT and is discarded
+        BCrypt.hashpw("calibration", salt);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double medianMillis = samples[SAMPLES / 2] / 1_000_000.0;
+
+        int cost = costFor(medianMillis, targetMillis);
+        log.info("BCrypt calibration: {} ms at cost {}, using cost {} for a {} ms budget",
+                String.format("%.1f", medianMillis), MIN_COST, cost, targetMillis);
+        return cost;
+    }
+
+    static int costFor(double millisAtMinCost, long targetMillis) {
+        if (millisAtMinCost <= 0 || targetMillis <= millisAtMinCost) {
+            return MIN_COST;
+        }
+        int extraSteps = (int) Math.floor(Math.log(targetMillis / millisAtMinCost) / Math.log(2));
+        return Math.min(MAX_COST, MIN_COST + extraSteps);
+    }
+}
@@ -0,0 +1,110 @@
+package com.furkanerd.hr_management_system.security;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.model.projection.CredentialEpochView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory table of the current credential epoch per employee, used by the
+ * stateless authentication mode to reject tokens issued before a password,
+ * role or status change without reading the employee row on every request.
+ * <p>
+ * {@code updatedAt} is stamped when a transaction flushes, not when it commits, so a
+ * row can become visible with a stamp older than the newest one already seen. Each
+ * refresh therefore re-reads from {@code epoch-refresh-lag-ms} before the watermark,
+ * which should exceed the longest transaction that writes employees.
+ */
+@Slf4j
+@Component
+public class CredentialEpochRegistry {
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final Duration refreshLag;
+    private final ConcurrentMap<UUID, Integer> epochs = new ConcurrentHashMap<>();
+    private volatile LocalDateTime watermark;
+
+    public CredentialEpochRegistry(EmployeeRepository employeeRepository,
+                                   @Value("${jwt.stateless.enabled:false}") boolean enabled,
+                                   @Value("${jwt.stateless.epoch-refresh-lag-ms:60000}") long refreshLagMillis) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.refreshLag = Duration.ofMillis(refreshLagMillis);
+    }
+
+    /**
+     * Checks whether the epoch carried by a token is still the current one.
+     * Employees created after the last refresh are loaded once on first use. A token
+     * newer than the cached epoch was issued after a change made on another instance,
+     * so the epoch is re-read before deciding; older ones are rejected outright.
+     */
+    public boolean isCurrent(UUID employeeId, Integer tokenEpoch) {
+        if (employeeId == null || tokenEpoch == null) {
+            return false;
+        }
+        Integer current = epochs.get(employeeId);
+        if (current == null || tokenEpoch > current) {
+            Integer stored = employeeRepository.findCredentialEpochById(employeeId).orElse(null);
+            if (stored == null) {
+                return false;
+            }
+            current = epochs.merge(employeeId, stored, Math::max);
+        }
+        return current == tokenEpoch.intValue();
+    }
+
+    public void record(UUID employeeId, int epoch) {
+        epochs.merge(employeeId, epoch, Math::max);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadAll() {
+        if (!enabled) {
+            return;
+        }
+        apply(employeeRepository.findAllCredentialEpochs());
+        log.info("Loaded credential epochs for {} employees", epochs.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.stateless.epoch-refresh-interval:30000}")
+    void refresh() {
+        if (!enabled || watermark == null) {
+            return;
+        }
+        apply(employeeRepository.findCredentialEpochsUpdatedSince(watermark.minus(refreshLag)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (enabled) {
+            employeeRepository.findCredentialEpochById(event.employeeId())
+                    .ifPresent(epoch -> record(event.employeeId(), epoch));
+        }
+    }
+
+    private void apply(List<CredentialEpochView> views) {
+        LocalDateTime latest = watermark;
+        for (CredentialEpochView view : views) {
+            // Epochs only grow, so re-reading rows inside the lag window is harmless
+            record(view.employeeId(), view.credentialEpoch());
+            if (latest == null || view.updatedAt().isAfter(latest)) {
+                latest = view.updatedAt();
+            }
+        }
+        watermark = latest != null ? latest : LocalDateTime.now();
+    }
+}
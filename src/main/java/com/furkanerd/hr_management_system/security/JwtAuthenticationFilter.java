@@ -2,13 +2,16 @@ package com.furkanerd.hr_management_system.security;
 
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.service.employee.EmployeeService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,11 +27,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final EmployeeService employeeService;
+    private final JwtPrincipalCache principalCache;
+    private final CredentialEpochRegistry credentialEpochRegistry;
+    private final TokenRevocationStore revocationStore;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,EmployeeService employeeService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, EmployeeService employeeService, JwtPrincipalCache principalCache,
+                                   CredentialEpochRegistry credentialEpochRegistry, TokenRevocationStore revocationStore, @Value("${jwt.stateless.enabled:false}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.employeeService = employeeService;
+        this.principalCache = principalCache;
+        this.credentialEpochRegistry = credentialEpochRegistry;
+        this.revocationStore = revocationStore;
+        this.stateless = stateless;
     }
 
     @Override
@@ -38,51 +51,97 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     {
         String authorizationHeader = request.getHeader("Authorization");
 
-        String token=null;
-        String username=null;
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String token = authorizationHeader.substring(7);
+        JwtPrincipalCache.CachedPrincipal principal = stateless ? resolveFromClaims(token) : principalCache.get(token);
 
-        if(authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            token=authorizationHeader.substring(7);
+        if (stateless && principal == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        } else if (principal == null) {
+            Claims claims;
             try {
-                username = jwtUtil.extractUsername(token);
-            }catch(Exception e) {
+                // Parsing verifies both the signature and the expiration
+                claims = jwtUtil.extractAllClaims(token);
+            } catch (Exception e) {
                 logger.error("Jwt token parsing error : " + e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
             }
-        }
 
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims.getSubject();
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-            if(jwtUtil.validateToken(token,userDetails)) {
-
-                try {
-                    Employee employee = employeeService.getEmployeeEntityByEmail(username);
-
-                    if (employee.isMustChangePassword()) {
-                        String requestURI = request.getRequestURI();
-                        if (!requestURI.equals("/api/v1/auth/change-password")) {
-                            response.setStatus(HttpStatus.FORBIDDEN.value());
-                            response.setContentType("application/json");
-                            response.getWriter().write("{\"error\":\"Password change required\",\"message\":\"You must change your password before accessing other endpoints\"}");
-                            return;
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.error("Error checking password change requirement: " + e.getMessage());
-                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                    return;
-                }
-
-
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken
-                        = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+            try {
+                Employee employee = employeeService.getEmployeeEntityByEmail(username);
+                principal = principalCache.put(token, claims.getId(), userDetails, employee.isMustChangePassword(), claims.getExpiration().getTime());
+            } catch (Exception e) {
+                logger.error("Error checking password change requirement: " + e.getMessage());
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return;
+            }
+        }
+
+        if (revocationStore.isRevoked(principal.tokenId())) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        if (principal.mustChangePassword()) {
+            String requestURI = request.getRequestURI();
+            if (!requestURI.equals("/api/v1/auth/change-password")) {
+                response.setStatus(HttpStatus.FORBIDDEN.value());
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\":\"Password change required\",\"message\":\"You must change your password before accessing other endpoints\"}");
+                return;
             }
         }
 
+        UserDetails userDetails = principal.userDetails();
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken
+                = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from the token claims alone. The only check besides the
+     * signature is the credential epoch, which is answered from memory.
+     */
+    private JwtPrincipalCache.CachedPrincipal resolveFromClaims(String token) {
+        Claims claims;
+        UUID employeeId;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+            String employeeIdClaim = claims.get(JwtUtil.CLAIM_EMPLOYEE_ID, String.class);
+            employeeId = employeeIdClaim != null ? UUID.fromString(employeeIdClaim) : null;
+        } catch (Exception e) {
+            logger.error("Jwt token parsing error : " + e.getMessage());
+            return null;
+        }
+
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (role == null || !credentialEpochRegistry.isCurrent(employeeId, claims.get(JwtUtil.CLAIM_CREDENTIAL_EPOCH, Integer.class))) {
+            return null;
+        }
+
+        UserDetails userDetails = User.builder()
+                .username(claims.getSubject())
+                .password("")
+                .authorities("ROLE_" + role)
+                .build();
+        return new JwtPrincipalCache.CachedPrincipal(
+                null,
+                claims.getId(),
+                userDetails,
+                Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_MUST_CHANGE_PASSWORD, Boolean.class)),
+                claims.getExpiration().getTime());
+    }
 }
@@ -0,0 +1,75 @@
+package com.furkanerd.hr_management_system.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC signing keys addressed by {@code kid}. New tokens are signed
+ * with the active key, while any key still listed here keeps verifying, so a secret
+ * can be rotated without invalidating sessions issued with the previous one.
+ */
+public final class JwtKeyRing extends LocatorAdapter<Key> {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final Map<String, SecretKey> keys;
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+
+    /**
+     * @param defaultSecret secret registered under {@link #DEFAULT_KEY_ID}, also used for tokens without a kid
+     * @param additionalKeys comma separated {@code kid:secret} pairs, may be empty
+     * @param activeKeyId id of the key used to sign new tokens
+     */
+    public JwtKeyRing(String defaultSecret, String additionalKeys, String activeKeyId) {
+        Map<String, SecretKey> parsed = new HashMap<>();
+        parsed.put(DEFAULT_KEY_ID, hmacKey(defaultSecret));
+        if (additionalKeys != null && !additionalKeys.isBlank()) {
+            for (String entry : additionalKeys.split(",")) {
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("jwt.keys entries must be in kid:secret format");
+                }
+                parsed.put(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+            }
+        }
+
+        this.activeKey = parsed.get(activeKeyId);
+        if (activeKey == null) {
+            throw new IllegalArgumentException("Active jwt key id is not configured: " + activeKeyId);
+        }
+        this.keys = Map.copyOf(parsed);
+        this.activeKeyId = activeKeyId;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        // Tokens issued before key ids were introduced carry no kid
+        SecretKey key = keys.get(keyId != null ? keyId : DEFAULT_KEY_ID);
+        if (key == null) {
+            throw new SignatureException("Unknown jwt key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.furkanerd.hr_management_system.security;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache of principals resolved from already verified JWTs.
+ * Entries are keyed by the token signature and live until the token expires,
+ * so repeated requests with the same token skip parsing and the employee lookups.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final ConcurrentMap<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public JwtPrincipalCache(@Value("${jwt.principal-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached principal for the given token, or null when the token
+     * has not been verified yet or has expired since.
+     */
+    public CachedPrincipal get(String token) {
+        CachedPrincipal cached = entries.get(signatureOf(token));
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(signatureOf(token), cached);
+            return null;
+        }
+        // The signature alone is not enough; the signed content must match as well
+        return cached.signingInput().equals(signingInputOf(token)) ? cached : null;
+    }
+
+    /**
+     * Caches the principal of a verified token. When the cache is full and no entry
+     * has expired yet, the principal is returned without being stored.
+     */
+    public CachedPrincipal put(String token, String tokenId, UserDetails userDetails, boolean mustChangePassword, long expiresAtMillis) {
+        CachedPrincipal principal = new CachedPrincipal(signingInputOf(token), tokenId, userDetails, mustChangePassword, expiresAtMillis);
+        if (entries.size() >= maxEntries) {
+            removeExpired();
+            if (entries.size() >= maxEntries) {
+                return principal;
+            }
+        }
+        entries.put(signatureOf(token), principal);
+        return principal;
+    }
+
+    public void evictUser(String username) {
+        entries.values().removeIf(cached -> cached.userDetails().getUsername().equals(username));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event) {
+        evictUser(event.email());
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private static String signingInputOf(String token) {
+        return token.substring(0, token.lastIndexOf('.'));
+    }
+
+    public record CachedPrincipal(
+            String signingInput,
+            String tokenId,
+            UserDetails userDetails,
+            boolean mustChangePassword,
+            long expiresAtMillis
+    ) {
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+}
@@ -1,42 +1,49 @@
 package com.furkanerd.hr_management_system.security;
 
+import com.furkanerd.hr_management_system.model.entity.Employee;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import jakarta.xml.bind.DatatypeConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_EMPLOYEE_ID = "employeeId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_MUST_CHANGE_PASSWORD = "mustChangePassword";
+    public static final String CLAIM_CREDENTIAL_EPOCH = "epoch";
 
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.expiration}") long jwtExpiration,
+                   @Value("${jwt.keys:}") String additionalKeys,
+                   @Value("${jwt.active-key-id:" + JwtKeyRing.DEFAULT_KEY_ID + "}") String activeKeyId) {
+        this.keyRing = new JwtKeyRing(jwtSecret, additionalKeys, activeKeyId);
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+        this.jwtExpiration = jwtExpiration;
     }
 
-   private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+   public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
    }
 
    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -57,22 +64,42 @@ public class JwtUtil {
    }
 
    public String generateToken(UserDetails userDetails) {
+        return createToken(roleClaims(userDetails), userDetails.getUsername());
+   }
+
+   /**
+    * Generates a token that also carries everything the stateless mode needs
+    * to authorize a request without loading the employee.
+    */
+   public String generateToken(UserDetails userDetails, Employee employee) {
+        Map<String, Object> claims = roleClaims(userDetails);
+        claims.put(CLAIM_EMPLOYEE_ID, employee.getId().toString());
+        claims.put(CLAIM_ROLE, employee.getRole().name());
+        claims.put(CLAIM_MUST_CHANGE_PASSWORD, employee.isMustChangePassword());
+        claims.put(CLAIM_CREDENTIAL_EPOCH, employee.getCredentialEpoch());
+        return createToken(claims, userDetails.getUsername());
+   }
+
+   private Map<String, Object> roleClaims(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
-        claims.put("roles",authorities.stream()
+        claims.put(CLAIM_ROLES,authorities.stream()
         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList())
         );
-        return createToken(claims, userDetails.getUsername());
+        return claims;
    }
 
    private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .header().keyId(keyRing.getActiveKeyId()).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(),Jwts.SIG.HS512)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(keyRing.getActiveKey(), Jwts.SIG.HS512)
                 .compact();
    }
 
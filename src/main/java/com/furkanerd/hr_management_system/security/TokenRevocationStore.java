@@ -0,0 +1,69 @@
+package com.furkanerd.hr_management_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token ids (jti) revoked before their expiry, for example on logout. The Bloom filter
+ * answers the common "not revoked" case from a few bit reads; only possible hits
+ * consult the map. Entries are dropped once the token would have expired anyway, and
+ * the filter is rebuilt from the remaining entries so it does not fill up over time.
+ * The store is local to the instance.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+
+    public TokenRevocationStore(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAtMillis = revoked.get(tokenId);
+        return expiresAtMillis != null && expiresAtMillis > System.currentTimeMillis();
+    }
+
+    // Synchronized with prune so a revocation can never land only in a filter that is being replaced
+    public synchronized void revoke(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, expiresAtMillis);
+        filter.add(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:60000}")
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+        if (revoked.size() == before) {
+            return;
+        }
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        log.debug("Pruned {} expired token revocations, {} remaining", before - revoked.size(), revoked.size());
+    }
+}
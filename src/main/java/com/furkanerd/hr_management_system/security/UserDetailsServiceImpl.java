@@ -23,6 +23,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Employee employee = employeeRepository.findByEmail(email)
                 .orElseThrow(()-> new UsernameNotFoundException("Employee with email " + email + " not found"));
+        return toUserDetails(employee);
+    }
+
+    public static UserDetails toUserDetails(Employee employee) {
         return User.builder()
                 .username(employee.getEmail())
                 .password(employee.getPassword())
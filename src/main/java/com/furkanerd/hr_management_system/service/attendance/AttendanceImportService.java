@@ -0,0 +1,11 @@
+package com.furkanerd.hr_management_system.service.attendance;
+
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportResponse;
+import com.furkanerd.hr_management_system.model.enums.AttendanceImportFormatEnum;
+
+import java.io.InputStream;
+
+public interface AttendanceImportService {
+
+    AttendanceImportResponse importAttendance(InputStream input, AttendanceImportFormatEnum format);
+}
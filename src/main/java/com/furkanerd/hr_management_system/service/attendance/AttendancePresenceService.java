@@ -0,0 +1,15 @@
+package com.furkanerd.hr_management_system.service.attendance;
+
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceSummaryResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface AttendancePresenceService {
+
+    PresenceSummaryResponse getPresence(UUID departmentId, UUID managerId);
+
+    PresenceSummaryResponse getMyTeamPresence(String managerEmail);
+
+    SseEmitter streamPresence(UUID departmentId, UUID managerId);
+}
@@ -0,0 +1,21 @@
+package com.furkanerd.hr_management_system.service.attendance;
+
+import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceTotalsResponse;
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface AttendanceSummaryService {
+
+    PaginatedResponse<AttendanceSummaryResponse> listSummaries(RollupPeriodEnum period, LocalDate date, UUID departmentId, int page, int size);
+
+    AttendanceTotalsResponse getTotals(RollupPeriodEnum period, LocalDate date, UUID departmentId);
+
+    List<AttendanceSummaryResponse> getMySummaries(String employeeEmail, RollupPeriodEnum period, LocalDate from, LocalDate to);
+
+    void rebuildRollups(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,298 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.exception.custom.InvalidAttendanceTimeException;
+import com.furkanerd.hr_management_system.exception.custom.InvalidImportFileException;
+import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceImportRow;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportErrorResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportResponse;
+import com.furkanerd.hr_management_system.model.enums.AttendanceImportFormatEnum;
+import com.furkanerd.hr_management_system.model.projection.EmployeeEmailIdView;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository.ImportedAttendance;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository.UpsertedAttendance;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.service.attendance.AttendanceImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.furkanerd.hr_management_system.service.attendance.impl.AttendanceTimeRules.validateCheckInTime;
+import static com.furkanerd.hr_management_system.service.attendance.impl.AttendanceTimeRules.validateCheckOutTime;
+
+/**
+ * Loads badge-reader exports a line at a time: only the current batch and the
+ * (employee, date) pairs already seen are held in memory, never the file. Employees are
+ * resolved through an email to id map read once per import, rows get the same checks as
+ * a manual record, and valid rows are written by a multi-row upsert per batch. Every batch
+ * commits on its own, so a file that fails halfway keeps the batches before the failure.
+ */
+@Slf4j
+@Service
+class AttendanceImportServiceImpl implements AttendanceImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "date", "check_in_time", "check_out_time");
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceImportBatchRepository importBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    AttendanceImportServiceImpl(EmployeeRepository employeeRepository,
+                                AttendanceImportBatchRepository importBatchRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${attendance.import.batch-size:500}") int batchSize,
+                                @Value("${attendance.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.employeeRepository = employeeRepository;
+        this.importBatchRepository = importBatchRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public AttendanceImportResponse importAttendance(InputStream input, AttendanceImportFormatEnum format) {
+        long started = System.currentTimeMillis();
+        ImportRun run = new ImportRun(loadEmployeeIds());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        try {
+            int[] csvColumns = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == AttendanceImportFormatEnum.CSV && csvColumns == null) {
+                    csvColumns = readCsvHeader(line);
+                    continue;
+                }
+                run.rows++;
+                try {
+                    AttendanceImportRow row = format == AttendanceImportFormatEnum.CSV
+                            ? parseCsvLine(line, csvColumns)
+                            : parseJsonLine(line);
+                    run.add(lineNumber, resolve(row, lineNumber, run));
+                } catch (RejectedLineException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+                if (run.batch.size() >= batchSize) {
+                    flush(run);
+                }
+            }
+        } catch (IOException e) {
+            flush(run);
+            throw new InvalidImportFileException("Could not read the import after line " + lineNumber
+                    + ", rows before it were imported: " + e.getMessage());
+        }
+        flush(run);
+
+        log.info("Imported {} of {} attendance rows in {} ms, {} rejected",
+                run.imported, run.rows, System.currentTimeMillis() - started, run.failed);
+        return AttendanceImportResponse.builder()
+                .rows(run.rows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    private Map<String, UUID> loadEmployeeIds() {
+        List<EmployeeEmailIdView> views = employeeRepository.findAllEmailIds();
+        Map<String, UUID> employeeIds = HashMap.newHashMap(views.size());
+        for (EmployeeEmailIdView view : views) {
+            employeeIds.put(view.email(), view.id());
+        }
+        return employeeIds;
+    }
+
+    private int[] readCsvHeader(String line) {
+        String[] header = splitCsv(line);
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < header.length; j++) {
+                if (header[j] != null && CSV_COLUMNS.get(i).equals(header[j].toLowerCase(Locale.ROOT))) {
+                    columns[i] = j;
+                }
+            }
+            // check_out_time is optional, the others are not
+            if (columns[i] < 0 && i < CSV_COLUMNS.size() - 1) {
+                throw new InvalidImportFileException("CSV header must name the columns " + String.join(", ", CSV_COLUMNS)
+                        + "; missing " + CSV_COLUMNS.get(i));
+            }
+        }
+        return columns;
+    }
+
+    private AttendanceImportRow parseCsvLine(String line, int[] columns) {
+        String[] fields = splitCsv(line);
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i] >= 0 && columns[i] < fields.length ? fields[columns[i]] : null;
+        }
+        return new AttendanceImportRow(values[0], values[1], values[2], values[3]);
+    }
+
+    private AttendanceImportRow parseJsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, AttendanceImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new RejectedLineException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportedAttendance resolve(AttendanceImportRow row, long lineNumber, ImportRun run) {
+        if (row.email() == null || row.email().isBlank()) {
+            throw new RejectedLineException("Email cannot be empty");
+        }
+        UUID employeeId = run.employeeIds.get(row.email().trim());
+        if (employeeId == null) {
+            throw new RejectedLineException("No employee with email " + row.email().trim());
+        }
+        LocalDate date = parse(row.date(), "date", "yyyy-MM-dd", LocalDate::parse);
+        if (date == null) {
+            throw new RejectedLineException("Date cannot be empty");
+        }
+        LocalTime checkInTime = parse(row.checkInTime(), "check-in time", "HH:mm", LocalTime::parse);
+        LocalTime checkOutTime = parse(row.checkOutTime(), "check-out time", "HH:mm", LocalTime::parse);
+        try {
+            validateCheckInTime(checkInTime);
+            if (checkOutTime != null) {
+                validateCheckOutTime(checkInTime, checkOutTime);
+            }
+        } catch (InvalidAttendanceTimeException e) {
+            throw new RejectedLineException(e.getMessage());
+        }
+
+        Long firstLine = run.seen.putIfAbsent(new EmployeeDay(employeeId, date), lineNumber);
+        if (firstLine != null) {
+            throw new RejectedLineException("Duplicate of line " + firstLine + " for the same employee and date");
+        }
+        return new ImportedAttendance(UUID.randomUUID(), employeeId, date, checkInTime, checkOutTime, run.importedAt);
+    }
+
+    private void flush(ImportRun run) {
+        if (run.batch.isEmpty()) {
+            return;
+        }
+        List<ImportedAttendance> rows = run.batch;
+        List<Long> lines = run.batchLines;
+        run.batch = new ArrayList<>(batchSize);
+        run.batchLines = new ArrayList<>(batchSize);
+        try {
+            importBatchRepository.upsert(rows).forEach(this::recordImported);
+            run.imported += rows.size();
+        } catch (DataAccessException e) {
+            // Retry row by row so one bad row, e.g. an employee deleted mid-import, does not sink its batch
+            log.warn("Attendance import batch of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                ImportedAttendance row = rows.get(i);
+                try {
+                    importBatchRepository.upsert(List.of(row)).forEach(this::recordImported);
+                    run.imported++;
+                } catch (DataAccessException rowFailure) {
+                    run.reject(lines.get(i), "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private void recordImported(UpsertedAttendance row) {
+        eventPublisher.publishEvent(new AttendanceChangedEvent(row.employeeId(), row.date(), true, row.checkedOut()));
+    }
+
+    private static <T> T parse(String value, String field, String expected, Function<String, T> parser) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new RejectedLineException("Invalid " + field + " '" + value.trim() + "', expected " + expected);
+        }
+    }
+
+    /**
+     * Splits one CSV line on commas, dropping surrounding quotes and whitespace. Badge
+     * exports carry emails, dates and times only, so quoted commas are not supported.
+     */
+    private static String[] splitCsv(String line) {
+        String[] fields = line.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i].strip();
+            if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+                field = field.substring(1, field.length() - 1).strip();
+            }
+            fields[i] = field.isEmpty() ? null : field;
+        }
+        return fields;
+    }
+
+    private final class ImportRun {
+
+        private final Map<String, UUID> employeeIds;
+        private final Map<EmployeeDay, Long> seen = new HashMap<>();
+        private List<ImportedAttendance> batch = new ArrayList<>(batchSize);
+        private List<Long> batchLines = new ArrayList<>(batchSize);
+        private final List<AttendanceImportErrorResponse> errors = new ArrayList<>();
+        private final LocalDateTime importedAt = LocalDateTime.now();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Map<String, UUID> employeeIds) {
+            this.employeeIds = employeeIds;
+        }
+
+        private void add(long lineNumber, ImportedAttendance row) {
+            batch.add(row);
+            batchLines.add(lineNumber);
+        }
+
+        private void reject(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new AttendanceImportErrorResponse(lineNumber, message));
+            }
+        }
+    }
+
+    private record EmployeeDay(UUID employeeId, LocalDate date) {
+    }
+
+    private static final class RejectedLineException extends RuntimeException {
+
+        private RejectedLineException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
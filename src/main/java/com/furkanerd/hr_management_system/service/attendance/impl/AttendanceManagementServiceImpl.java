@@ -1,23 +1,35 @@
 package com.furkanerd.hr_management_system.service.attendance.impl;
 
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.mapper.AttendanceMapper;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceUpdateRequest;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.Attendance;
+import com.furkanerd.hr_management_system.model.entity.Department;
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.entity.Position;
 import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import com.furkanerd.hr_management_system.repository.DepartmentRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PositionRepository;
 import com.furkanerd.hr_management_system.service.attendance.AttendanceManagementService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.UUID;
 
+import static com.furkanerd.hr_management_system.service.attendance.impl.AttendanceTimeRules.isValidCheckInTime;
+import static com.furkanerd.hr_management_system.service.attendance.impl.AttendanceTimeRules.validateCheckInTime;
+import static com.furkanerd.hr_management_system.service.attendance.impl.AttendanceTimeRules.validateCheckOutTime;
+
 
 @Service
 @Transactional
@@ -26,16 +38,24 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
     private final AttendanceMapper attendanceMapper;
-
-    private static final Duration MIN_WORK_DURATION = Duration.ofHours(8);
-    private static final LocalTime CHECK_IN_START_TIME = LocalTime.of(6, 0);
-    private static final LocalTime CHECK_IN_END_TIME = LocalTime.of(10, 0);
+    private final EmployeeDirectory employeeDirectory;
+    private final CheckInPipeline checkInPipeline;
+    private final DepartmentRepository departmentRepository;
+    private final PositionRepository positionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public AttendanceManagementServiceImpl(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository, AttendanceMapper attendanceMapper) {
+    public AttendanceManagementServiceImpl(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository, AttendanceMapper attendanceMapper,
+                                           EmployeeDirectory employeeDirectory, CheckInPipeline checkInPipeline, DepartmentRepository departmentRepository, PositionRepository positionRepository,
+                                           ApplicationEventPublisher eventPublisher) {
         this.attendanceRepository = attendanceRepository;
         this.employeeRepository = employeeRepository;
         this.attendanceMapper = attendanceMapper;
+        this.employeeDirectory = employeeDirectory;
+        this.checkInPipeline = checkInPipeline;
+        this.departmentRepository = departmentRepository;
+        this.positionRepository = positionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,12 +80,20 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
                 .checkOutTime(createRequest.checkOutTime())
                 .build();
 
-        return attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(attendance));
+        AttendanceDetailResponse response = attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(attendance));
+        eventPublisher.publishEvent(new AttendanceChangedEvent(employee.getId(), createRequest.date(), true, createRequest.checkOutTime() != null));
+        return response;
     }
 
+    /**
+     * Runs outside a transaction so no connection is held while the check-in waits for its
+     * batch; the employee comes from the directory and department and position names from
+     * the second-level cache.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AttendanceDetailResponse autoCheckIn(String employeeEmail) {
-        Employee employee = employeeRepository.findByEmail(employeeEmail)
+        EmployeeDirectory.Entry employee = employeeDirectory.findByEmail(employeeEmail)
                 .orElseThrow(() -> new EmployeeNotFoundException(employeeEmail));
 
         LocalDate today = LocalDate.now();
@@ -75,17 +103,26 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
             throw new InvalidAttendanceTimeException("Check-in time must be between 06:00 and 10:00");
         }
 
-        if (attendanceRepository.existsByEmployeeIdAndDate(employee.getId(), today)) {
-            throw new AttendanceAlreadyExistsException(employee.getId(), today);
-        }
-
-        Attendance attendance = Attendance.builder()
-                .employee(employee)
+        UUID attendanceId = checkInPipeline.checkIn(employee.id(), today, now);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(employee.id(), today, true, false));
+
+        LocalDateTime createdAt = LocalDateTime.of(today, now);
+        return AttendanceDetailResponse.builder()
+                .id(attendanceId)
+                .employeeId(employee.id())
+                .employeeFullName(employee.fullName())
+                .email(employee.email())
+                .departmentName(employee.departmentId() != null
+                        ? departmentRepository.findById(employee.departmentId()).map(Department::getName).orElse(null)
+                        : null)
+                .positionName(employee.positionId() != null
+                        ? positionRepository.findById(employee.positionId()).map(Position::getTitle).orElse(null)
+                        : null)
                 .date(today)
                 .checkInTime(now)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
                 .build();
-
-        return attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(attendance));
     }
 
     @Override
@@ -105,7 +142,9 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
         validateCheckOutTime(attendance.getCheckInTime(), now);
 
         attendance.setCheckOutTime(now);
-        return attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(attendance));
+        AttendanceDetailResponse response = attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(attendance));
+        eventPublisher.publishEvent(new AttendanceChangedEvent(employee.getId(), today, true, true));
+        return response;
     }
 
     @Override
@@ -125,7 +164,10 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
             toUpdateAttendance.setCheckOutTime(updateRequest.checkOutTime());
         }
 
-        return attendanceMapper.attendanceToAttendanceDetailResponse(attendanceRepository.save(toUpdateAttendance));
+        Attendance saved = attendanceRepository.save(toUpdateAttendance);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(saved.getEmployee().getId(), saved.getDate(),
+                saved.getCheckInTime() != null, saved.getCheckOutTime() != null));
+        return attendanceMapper.attendanceToAttendanceDetailResponse(saved);
     }
 
 
@@ -134,63 +176,6 @@ class AttendanceManagementServiceImpl implements AttendanceManagementService {
         Attendance attendance = attendanceRepository.findById(id)
                 .orElseThrow(() -> new AttendanceNotFoundException("No attendance found for id " + id));
         attendanceRepository.delete(attendance);
-    }
-
-    /**
-     * Checks if check-in time is within valid range
-     *
-     * @param time time to check
-     * @return true if valid, false otherwise
-     */
-    private boolean isValidCheckInTime(LocalTime time) {
-        if (time == null) {
-            return false;
-        }
-        return !time.isBefore(CHECK_IN_START_TIME) && !time.isAfter(CHECK_IN_END_TIME);
-    }
-
-    /**
-     * Checks if the check-in time is valid (between 06:00-10:00)
-     *
-     * @param time time to check
-     */
-    private void validateCheckInTime(LocalTime time) {
-        if (!isValidCheckInTime(time)) {
-            throw new InvalidAttendanceTimeException("Check-in time must be between 06:00 and 10:00");
-        }
-    }
-
-
-    /**
-     * Checks if the check-out time is valid
-     *
-     * @param checkInTime  Check-in time
-     * @param checkOutTime Check-out time
-     */
-    private void validateCheckOutTime(LocalTime checkInTime, LocalTime checkOutTime) {
-        if (checkInTime == null) {
-            throw new InvalidAttendanceTimeException("Check-in time cannot be null");
-        }
-        if (checkOutTime == null) {
-            throw new InvalidAttendanceTimeException("Check-out time cannot be null");
-        }
-        if (!checkOutTime.isAfter(checkInTime)) {
-            throw new InvalidAttendanceTimeException("Check-out time must be after check-in time");
-        }
-        if (!isMinimumWorkDurationMet(checkInTime, checkOutTime)) {
-            throw new InvalidAttendanceTimeException("Check-out time must be at least 8 hours after check-in time");
-        }
-    }
-
-    /**
-     * Checks: Has at least the minimum working time passed between check-in and check-out times?
-     *
-     * @param checkInTime  Check-in time
-     * @param checkOutTime Check-out time
-     * @return True if the minimum working time has passed, false otherwise
-     */
-    private boolean isMinimumWorkDurationMet(LocalTime checkInTime, LocalTime checkOutTime) {
-        Duration duration = Duration.between(checkInTime, checkOutTime);
-        return duration.compareTo(MIN_WORK_DURATION) >= 0;
+        eventPublisher.publishEvent(new AttendanceChangedEvent(attendance.getEmployee().getId(), attendance.getDate(), false, false));
     }
 }
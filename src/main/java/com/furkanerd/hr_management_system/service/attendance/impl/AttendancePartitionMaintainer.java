@@ -0,0 +1,80 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.repository.AttendancePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the monthly attendance partitions ahead of the calendar: the current month and
+ * the next {@code months-ahead} always exist, so inserts never fall through to the
+ * default partition. With {@code retention-months} set, partitions older than that are
+ * detached into standalone tables that can be archived and dropped without a DELETE.
+ * <p>
+ * Does nothing on a database whose attendance table is not partitioned; see
+ * db/partition_attendance.sql for converting one.
+ */
+@Slf4j
+@Component
+class AttendancePartitionMaintainer {
+
+    private final AttendancePartitionRepository partitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long detachLockTimeoutMillis;
+
+    AttendancePartitionMaintainer(AttendancePartitionRepository partitionRepository,
+                                  @Value("${attendance.partitions.months-ahead:3}") int monthsAhead,
+                                  @Value("${attendance.partitions.retention-months:0}") int retentionMonths,
+                                  @Value("${attendance.partitions.detach-lock-timeout-ms:5000}") long detachLockTimeoutMillis) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.detachLockTimeoutMillis = detachLockTimeoutMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${attendance.partitions.maintenance-cron:0 15 2 * * *}")
+    void maintain() {
+        try {
+            maintain(YearMonth.now());
+        } catch (RuntimeException e) {
+            // The next run retries; months ahead leave plenty of slack
+            log.error("Attendance partition maintenance failed", e);
+        }
+    }
+
+    void maintain(YearMonth current) {
+        if (!partitionRepository.isPartitioned()) {
+            log.debug("Attendance table is not partitioned, skipping maintenance");
+            return;
+        }
+        Set<YearMonth> existing = new HashSet<>(partitionRepository.findMonths());
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                partitionRepository.createMonth(month);
+                log.info("Created attendance partition {}", AttendancePartitionRepository.partitionName(month));
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (YearMonth month : existing) {
+            if (month.isBefore(oldestKept)) {
+                partitionRepository.detachMonth(month, detachLockTimeoutMillis);
+                log.info("Detached attendance partition {} for archiving", AttendancePartitionRepository.partitionName(month));
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceDiffResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceEmployeeResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceSummaryResponse;
+import com.furkanerd.hr_management_system.service.attendance.AttendancePresenceService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.service.employee.OrgHierarchyIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Presence counts and lists answered from the {@link PresenceBoard} bitmaps. Scoping
+ * to a department or a manager's reporting subtree filters the checked-in bits through
+ * the employee directory and the org hierarchy index, so no request touches the database
+ * once both are warm.
+ * <p>
+ * Streams get one "snapshot" event on subscribe and then a "diff" event per push
+ * interval in which something in their scope changed. Diffs are set operations, so a
+ * change that is both in the snapshot and in the first diff is harmless.
+ */
+@Slf4j
+@Service
+class AttendancePresenceServiceImpl implements AttendancePresenceService {
+
+    private final PresenceBoard presenceBoard;
+    private final EmployeeDirectory employeeDirectory;
+    private final OrgHierarchyIndex orgHierarchyIndex;
+    private final long streamTimeoutMillis;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Only touched by the scheduled push
+    private PresenceBoard.Snapshot lastPushed;
+
+    AttendancePresenceServiceImpl(PresenceBoard presenceBoard,
+                                  EmployeeDirectory employeeDirectory,
+                                  OrgHierarchyIndex orgHierarchyIndex,
+                                  @Value("${attendance.presence.stream-timeout-ms:1800000}") long streamTimeoutMillis) {
+        this.presenceBoard = presenceBoard;
+        this.employeeDirectory = employeeDirectory;
+        this.orgHierarchyIndex = orgHierarchyIndex;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @Override
+    public PresenceSummaryResponse getPresence(UUID departmentId, UUID managerId) {
+        return summarize(presenceBoard.snapshot(LocalDate.now()), new Scope(departmentId, managerId));
+    }
+
+    @Override
+    public PresenceSummaryResponse getMyTeamPresence(String managerEmail) {
+        UUID managerId = employeeDirectory.findIdByEmail(managerEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(managerEmail));
+        return getPresence(null, managerId);
+    }
+
+    @Override
+    public SseEmitter streamPresence(UUID departmentId, UUID managerId) {
+        SseEmitter emitter = newEmitter();
+        Subscription subscription = new Subscription(emitter, new Scope(departmentId, managerId));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+
+        PresenceSummaryResponse snapshot = summarize(presenceBoard.snapshot(LocalDate.now()), subscription.scope());
+        if (send(subscription, "snapshot", snapshot)) {
+            subscriptions.add(subscription);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${attendance.presence.push-interval-ms:1000}")
+    void pushDiffs() {
+        if (subscriptions.isEmpty()) {
+            lastPushed = null;
+            return;
+        }
+        PresenceBoard.Snapshot current = presenceBoard.snapshot(LocalDate.now());
+        PresenceBoard.Snapshot previous = lastPushed;
+        lastPushed = current;
+        if (previous == null) {
+            return;
+        }
+        if (!previous.date().equals(current.date())) {
+            // A new day starts from an empty board; resend it whole
+            for (Subscription subscription : subscriptions) {
+                send(subscription, "snapshot", summarize(current, subscription.scope()));
+            }
+            return;
+        }
+
+        BitSet newlyIn = difference(current.checkedIn(), previous.checkedIn());
+        BitSet newlyOut = difference(current.checkedOut(), previous.checkedOut());
+        BitSet cleared = difference(previous.checkedIn(), current.checkedIn());
+        // A check-out undone by an edit shows up as a fresh check-in
+        BitSet reopened = difference(previous.checkedOut(), current.checkedOut());
+        reopened.and(current.checkedIn());
+        newlyIn.or(reopened);
+        if (newlyIn.isEmpty() && newlyOut.isEmpty() && cleared.isEmpty()) {
+            return;
+        }
+
+        for (Subscription subscription : subscriptions) {
+            Scope scope = subscription.scope();
+            List<UUID> in = employeesIn(current, newlyIn, scope);
+            List<UUID> out = employeesIn(current, newlyOut, scope);
+            List<UUID> gone = employeesIn(current, cleared, scope);
+            if (in.isEmpty() && out.isEmpty() && gone.isEmpty()) {
+                continue;
+            }
+            BitSet scopedIn = scoped(current, current.checkedIn(), scope);
+            BitSet scopedOut = (BitSet) scopedIn.clone();
+            scopedOut.and(current.checkedOut());
+            send(subscription, "diff", PresenceDiffResponse.builder()
+                    .date(current.date())
+                    .checkedIn(in)
+                    .checkedOut(out)
+                    .cleared(gone)
+                    .checkedInCount(scopedIn.cardinality())
+                    .checkedOutCount(scopedOut.cardinality())
+                    .build());
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(streamTimeoutMillis);
+    }
+
+    private PresenceSummaryResponse summarize(PresenceBoard.Snapshot snapshot, Scope scope) {
+        BitSet in = scoped(snapshot, snapshot.checkedIn(), scope);
+        BitSet out = (BitSet) in.clone();
+        out.and(snapshot.checkedOut());
+
+        List<PresenceEmployeeResponse> employees = new ArrayList<>(in.cardinality());
+        for (int ordinal = in.nextSetBit(0); ordinal >= 0; ordinal = in.nextSetBit(ordinal + 1)) {
+            UUID employeeId = snapshot.employeeAt(ordinal);
+            String fullName = employeeDirectory.findById(employeeId).map(EmployeeDirectory.Entry::fullName).orElse(null);
+            employees.add(new PresenceEmployeeResponse(employeeId, fullName, out.get(ordinal)));
+        }
+        return PresenceSummaryResponse.builder()
+                .date(snapshot.date())
+                .checkedIn(in.cardinality())
+                .checkedOut(out.cardinality())
+                .onSite(in.cardinality() - out.cardinality())
+                .employees(employees)
+                .build();
+    }
+
+    private BitSet scoped(PresenceBoard.Snapshot snapshot, BitSet bits, Scope scope) {
+        if (scope.isEverything()) {
+            return (BitSet) bits.clone();
+        }
+        BitSet result = new BitSet(bits.length());
+        for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+            if (includes(scope, snapshot.employeeAt(ordinal))) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    private List<UUID> employeesIn(PresenceBoard.Snapshot snapshot, BitSet bits, Scope scope) {
+        List<UUID> employeeIds = new ArrayList<>();
+        for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+            UUID employeeId = snapshot.employeeAt(ordinal);
+            if (includes(scope, employeeId)) {
+                employeeIds.add(employeeId);
+            }
+        }
+        return employeeIds;
+    }
+
+    private boolean includes(Scope scope, UUID employeeId) {
+        if (scope.managerId() != null
+                && (scope.managerId().equals(employeeId) || !orgHierarchyIndex.isAncestorOrSelf(scope.managerId(), employeeId))) {
+            return false;
+        }
+        if (scope.departmentId() != null) {
+            return employeeDirectory.findById(employeeId)
+                    .map(entry -> scope.departmentId().equals(entry.departmentId()))
+                    .orElse(false);
+        }
+        return true;
+    }
+
+    private boolean send(Subscription subscription, String name, Object data) {
+        try {
+            subscription.emitter().send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away
+            log.debug("Dropping presence stream: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            return false;
+        }
+    }
+
+    private static BitSet difference(BitSet left, BitSet right) {
+        BitSet result = (BitSet) left.clone();
+        result.andNot(right);
+        return result;
+    }
+
+    private record Scope(UUID departmentId, UUID managerId) {
+
+        boolean isEverything() {
+            return departmentId == null && managerId == null;
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, Scope scope) {
+    }
+}
@@ -5,23 +5,33 @@ import com.furkanerd.hr_management_system.exception.custom.AttendanceNotFoundExc
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.mapper.AttendanceMapper;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.ListAttendanceResponse;
 import com.furkanerd.hr_management_system.model.entity.Attendance;
-import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
 import com.furkanerd.hr_management_system.repository.AttendanceRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.service.attendance.AttendanceQueryService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
 import com.furkanerd.hr_management_system.specification.AttendanceSpecification;
+import com.furkanerd.hr_management_system.specification.ListProjections;
+import com.furkanerd.hr_management_system.specification.ReportingSubtreeSpecification;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
 import com.furkanerd.hr_management_system.util.SortFieldValidator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,22 +42,30 @@ class AttendanceQueryServiceImpl implements AttendanceQueryService {
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
     private final AttendanceMapper attendanceMapper;
+    private final PageWindowRepository pageWindowRepository;
+    private final EmployeeDirectory employeeDirectory;
 
-    public AttendanceQueryServiceImpl(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository, AttendanceMapper attendanceMapper) {
+    public AttendanceQueryServiceImpl(AttendanceRepository attendanceRepository, EmployeeRepository employeeRepository, AttendanceMapper attendanceMapper, PageWindowRepository pageWindowRepository, EmployeeDirectory employeeDirectory) {
         this.attendanceRepository = attendanceRepository;
         this.employeeRepository = employeeRepository;
         this.attendanceMapper = attendanceMapper;
+        this.pageWindowRepository = pageWindowRepository;
+        this.employeeDirectory = employeeDirectory;
     }
 
     @Override
-    public PaginatedResponse<ListAttendanceResponse> listAllAttendance(int page, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest) {
+    public PaginatedResponse<ListAttendanceResponse> listAllAttendance(int page, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest, CountStrategyEnum countStrategy) {
         String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.ATTENDANCE_SORT_FIELD, sortBy);
         Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
 
         Specification<Attendance> specification = AttendanceSpecification.withFilters(filterRequest);
 
-        Page<Attendance> attendancePage = attendanceRepository.findAll(specification, pageable);
-        List<ListAttendanceResponse> responseList = attendanceMapper.attendancesToListAttendanceResponse(attendancePage.getContent());
+        if (countStrategy != CountStrategyEnum.EXACT) {
+            return findWindow(specification, pageable, countStrategy, filterRequest);
+        }
+
+        Page<ListAttendanceResponse> attendancePage = pageWindowRepository.findPage(ListProjections.ATTENDANCE, specification, pageable);
+        List<ListAttendanceResponse> responseList = attendancePage.getContent();
         return PaginatedResponse.of(
                 responseList,
                 attendancePage.getTotalElements(),
@@ -64,8 +82,8 @@ class AttendanceQueryServiceImpl implements AttendanceQueryService {
     }
 
     @Override
-    public PaginatedResponse<ListAttendanceResponse> getAttendanceByEmployee(String employeeEmail, int page, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest) {
-        Employee employee = employeeRepository.findByEmail(employeeEmail)
+    public PaginatedResponse<ListAttendanceResponse> getAttendanceByEmployee(String employeeEmail, int page, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest, CountStrategyEnum countStrategy) {
+        UUID employeeId = employeeDirectory.findIdByEmail(employeeEmail)
                 .orElseThrow(() -> new EmployeeNotFoundException(employeeEmail));
 
         String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.ATTENDANCE_SORT_FIELD, sortBy);
@@ -74,11 +92,15 @@ class AttendanceQueryServiceImpl implements AttendanceQueryService {
         Specification<Attendance> baseSpec = AttendanceSpecification.withFilters(filterRequest);
 
         Specification<Attendance> specification = (baseSpec != null)
-                ? baseSpec.and((root, query, cb) -> cb.equal(root.get(SortFieldConstants.EMPLOYEE_SORT_FIELD).get("id"), employee.getId()))
-                : (root, query, cb) -> cb.equal(root.get(SortFieldConstants.EMPLOYEE_SORT_FIELD).get("id"), employee.getId());
+                ? baseSpec.and((root, query, cb) -> cb.equal(root.get(SortFieldConstants.EMPLOYEE_SORT_FIELD).get("id"), employeeId))
+                : (root, query, cb) -> cb.equal(root.get(SortFieldConstants.EMPLOYEE_SORT_FIELD).get("id"), employeeId);
+
+        if (countStrategy != CountStrategyEnum.EXACT) {
+            return findWindow(specification, pageable, countStrategy, Arrays.asList(employeeId, filterRequest));
+        }
 
-        Page<Attendance> attendancePage = attendanceRepository.findAll(specification, pageable);
-        List<ListAttendanceResponse> responseList = attendanceMapper.attendancesToListAttendanceResponse(attendancePage.getContent());
+        Page<ListAttendanceResponse> attendancePage = pageWindowRepository.findPage(ListProjections.ATTENDANCE, specification, pageable);
+        List<ListAttendanceResponse> responseList = attendancePage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -104,8 +126,34 @@ class AttendanceQueryServiceImpl implements AttendanceQueryService {
                 ? baseSpec.and((root, query, cb) -> cb.equal(root.get("employee").get("id"), id))
                 : (root, query, cb) -> cb.equal(root.get("employee").get("id"), id);
 
-        Page<Attendance> attendancePage = attendanceRepository.findAll(specification, pageable);
-        List<ListAttendanceResponse> responseList = attendanceMapper.attendancesToListAttendanceResponse(attendancePage.getContent());
+        Page<ListAttendanceResponse> attendancePage = pageWindowRepository.findPage(ListProjections.ATTENDANCE, specification, pageable);
+        List<ListAttendanceResponse> responseList = attendancePage.getContent();
+
+        return PaginatedResponse.of(
+                responseList,
+                attendancePage.getTotalElements(),
+                page,
+                size
+        );
+    }
+
+    @Override
+    public PaginatedResponse<ListAttendanceResponse> getMyTeamAttendance(String managerEmail, int page, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest) {
+        UUID managerId = employeeDirectory.findIdByEmail(managerEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(managerEmail));
+
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.ATTENDANCE_SORT_FIELD, sortBy);
+        Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
+
+        Specification<Attendance> baseSpec = AttendanceSpecification.withFilters(filterRequest);
+        Specification<Attendance> teamSpec = ReportingSubtreeSpecification.attendanceUnder(managerId);
+
+        Specification<Attendance> specification = (baseSpec != null)
+                ? baseSpec.and(teamSpec)
+                : teamSpec;
+
+        Page<ListAttendanceResponse> attendancePage = pageWindowRepository.findPage(ListProjections.ATTENDANCE, specification, pageable);
+        List<ListAttendanceResponse> responseList = attendancePage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -114,4 +162,55 @@ class AttendanceQueryServiceImpl implements AttendanceQueryService {
                 size
         );
     }
+
+    @Override
+    public CursorPaginatedResponse<ListAttendanceResponse> listAllAttendanceByCursor(String cursor, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest) {
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.ATTENDANCE_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<Attendance> baseSpec = AttendanceSpecification.withFilters(filterRequest);
+        Specification<Attendance> seekSpec = SeekSpecification.after(pageCursor);
+
+        Specification<Attendance> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListAttendanceResponse> window = pageWindowRepository.findSeekWindow(ListProjections.ATTENDANCE, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
+    }
+
+    @Override
+    public CursorPaginatedResponse<ListAttendanceResponse> getAttendanceByEmployeeByCursor(String employeeEmail, String cursor, int size, String sortBy, String sortDirection, AttendanceFilterRequest filterRequest) {
+        UUID employeeId = employeeDirectory.findIdByEmail(employeeEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(employeeEmail));
+
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.ATTENDANCE_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<Attendance> baseSpec = AttendanceSpecification.withFilters(filterRequest);
+        Specification<Attendance> seekSpec = SeekSpecification.<Attendance>after(pageCursor)
+                .and((root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId));
+
+        Specification<Attendance> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListAttendanceResponse> window = pageWindowRepository.findSeekWindow(ListProjections.ATTENDANCE, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
+    }
+
+    private PaginatedResponse<ListAttendanceResponse> findWindow(Specification<Attendance> specification, Pageable pageable, CountStrategyEnum countStrategy, Object countKey) {
+        PageWindowRepository.Window<ListAttendanceResponse> window = pageWindowRepository.findWindow(ListProjections.ATTENDANCE, specification, pageable, countStrategy, countKey);
+
+        return PaginatedResponse.of(
+                window.content(),
+                window.total(),
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                window.hasNext(),
+                countStrategy
+        );
+    }
 }
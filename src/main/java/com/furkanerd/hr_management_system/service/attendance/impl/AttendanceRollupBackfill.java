@@ -0,0 +1,132 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository.AttendanceKey;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository.EmployeeDay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds attendance rollups from the attendance table, walking it in (date, id) order
+ * one chunk per transaction so no statement holds locks or memory for the whole table.
+ * Runs by itself at startup while the rollup table is still empty, and on demand for a
+ * date range after data was changed outside the application. Day rows of the range are
+ * deleted up front, so days whose attendance row is gone disappear too.
+ * <p>
+ * When the rollups already exist, startup instead catches up on the days written after
+ * the newest refresh, which covers changes still waiting for a flush when a process
+ * crashed. Deletions are not covered; the on-demand rebuild handles those.
+ */
+@Slf4j
+@Component
+class AttendanceRollupBackfill {
+
+    // Sorts after every other id, so a walk from the day before `from` starts at its first row
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private final AttendanceRollupBatchRepository rollupBatchRepository;
+    private final AttendanceRollupUpdater rollupUpdater;
+    private final int chunkSize;
+    private final boolean onStartup;
+    private final long catchUpLagMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    AttendanceRollupBackfill(AttendanceRollupBatchRepository rollupBatchRepository,
+                             AttendanceRollupUpdater rollupUpdater,
+                             @Value("${attendance.rollup.chunk-size:1000}") int chunkSize,
+                             @Value("${attendance.rollup.backfill-on-startup:true}") boolean onStartup,
+                             @Value("${attendance.rollup.catch-up-lag-ms:60000}") long catchUpLagMillis) {
+        this.rollupBatchRepository = rollupBatchRepository;
+        this.rollupUpdater = rollupUpdater;
+        this.chunkSize = chunkSize;
+        this.onStartup = onStartup;
+        this.catchUpLagMillis = catchUpLagMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOnStartup() {
+        if (!onStartup) {
+            return;
+        }
+        try {
+            if (rollupBatchRepository.isEmpty()) {
+                start(LocalDate.MIN, LocalDate.MAX);
+            } else {
+                catchUp();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not bring attendance rollups up to date at startup", e);
+        }
+    }
+
+    int catchUp() {
+        List<EmployeeDay> days = rollupBatchRepository.findDaysWrittenSinceLastRefresh(catchUpLagMillis);
+        for (int i = 0; i < days.size(); i += chunkSize) {
+            rollupUpdater.refresh(days.subList(i, Math.min(i + chunkSize, days.size())));
+        }
+        if (!days.isEmpty()) {
+            log.info("Caught up on attendance rollups of {} employee days", days.size());
+        }
+        return days.size();
+    }
+
+    /**
+     * Starts a backfill of [{@code from}, {@code to}] on its own thread.
+     *
+     * @return false when one is already running
+     */
+    boolean start(LocalDate from, LocalDate to) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("attendance-rollup-backfill").daemon().start(() -> {
+            try {
+                run(from, to);
+            } catch (RuntimeException e) {
+                log.error("Attendance rollup backfill failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    int run(LocalDate from, LocalDate to) {
+        long started = System.currentTimeMillis();
+        List<EmployeeDay> cleared = rollupBatchRepository.deleteDays(from, to);
+        LocalDate afterDate = from.equals(LocalDate.MIN) ? from : from.minusDays(1);
+        UUID afterId = MAX_ID;
+        int rows = 0;
+        while (true) {
+            List<AttendanceKey> keys = rollupBatchRepository.findKeysAfter(afterDate, afterId, to, chunkSize);
+            if (keys.isEmpty()) {
+                break;
+            }
+            List<EmployeeDay> days = new ArrayList<>(keys.size());
+            for (AttendanceKey key : keys) {
+                days.add(new EmployeeDay(key.employeeId(), key.date()));
+            }
+            rollupUpdater.refresh(days);
+            rows += keys.size();
+            AttendanceKey last = keys.get(keys.size() - 1);
+            afterDate = last.date();
+            afterId = last.id();
+        }
+        // Re-sums the weeks and months of the cleared days; days the walk rebuilt are simply refreshed twice
+        for (int i = 0; i < cleared.size(); i += chunkSize) {
+            rollupUpdater.refresh(cleared.subList(i, Math.min(i + chunkSize, cleared.size())));
+        }
+        log.info("Backfilled attendance rollups for {} attendance rows between {} and {} in {} ms",
+                rows, from, to, System.currentTimeMillis() - started);
+        return rows;
+    }
+}
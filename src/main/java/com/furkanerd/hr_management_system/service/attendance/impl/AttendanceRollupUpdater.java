@@ -0,0 +1,91 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.constants.AttendanceConstants;
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository.EmployeeDay;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps attendance rollups current. Every committed attendance write marks its employee
+ * day dirty; a short scheduled flush then refreshes the dirty days in chunks. A burst of
+ * check-ins therefore costs a handful of set-based statements instead of three upserts on
+ * every request, and rollups trail the attendance table by at most one flush interval.
+ * Dirty days are flushed once more on shutdown; days lost to a crash are picked up by the
+ * catch-up in {@link AttendanceRollupBackfill} on the next start.
+ */
+@Slf4j
+@Component
+class AttendanceRollupUpdater {
+
+    private final AttendanceRollupBatchRepository rollupBatchRepository;
+    private final LocalTime lateAfter;
+    private final int chunkSize;
+    private final Set<EmployeeDay> dirty = ConcurrentHashMap.newKeySet();
+
+    AttendanceRollupUpdater(AttendanceRollupBatchRepository rollupBatchRepository,
+                            @Value("${attendance.rollup.late-after:09:00}") String lateAfterText,
+                            @Value("${attendance.rollup.chunk-size:1000}") int chunkSize) {
+        LocalTime lateAfter = LocalTime.parse(lateAfterText);
+        if (lateAfter.isBefore(AttendanceConstants.CHECK_IN_START_TIME) || lateAfter.isAfter(AttendanceConstants.CHECK_IN_END_TIME)) {
+            throw new IllegalArgumentException("attendance.rollup.late-after must lie within the check-in window, got " + lateAfter);
+        }
+        this.rollupBatchRepository = rollupBatchRepository;
+        this.lateAfter = lateAfter;
+        this.chunkSize = chunkSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onAttendanceChanged(AttendanceChangedEvent event) {
+        dirty.add(new EmployeeDay(event.employeeId(), event.date()));
+    }
+
+    @Scheduled(fixedDelayString = "${attendance.rollup.flush-interval-ms:5000}")
+    void flush() {
+        while (!dirty.isEmpty()) {
+            List<EmployeeDay> chunk = new ArrayList<>(Math.min(chunkSize, dirty.size()));
+            Iterator<EmployeeDay> iterator = dirty.iterator();
+            while (iterator.hasNext() && chunk.size() < chunkSize) {
+                chunk.add(iterator.next());
+                // Removed before the refresh reads the row, so a write landing meanwhile marks it again
+                iterator.remove();
+            }
+            try {
+                refresh(chunk);
+            } catch (RuntimeException e) {
+                dirty.addAll(chunk);
+                log.error("Failed to refresh attendance rollups for {} employee days, will retry", chunk.size(), e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!dirty.isEmpty()) {
+            log.warn("{} employee days left without a rollup refresh at shutdown, the next start catches up on them", dirty.size());
+        }
+    }
+
+    void refresh(Collection<EmployeeDay> days) {
+        rollupBatchRepository.refresh(days, lateAfter, (int) AttendanceConstants.MIN_WORK_DURATION.toMinutes());
+    }
+
+    int pending() {
+        return dirty.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.RollupBackfillInProgressException;
+import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceTotalsResponse;
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import com.furkanerd.hr_management_system.model.projection.AttendanceTotalsView;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupRepository;
+import com.furkanerd.hr_management_system.service.attendance.AttendanceSummaryService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Attendance reports served from the rollup table: a company-wide month is one index
+ * range over attendance_rollup instead of a pass over every attendance row.
+ */
+@Service
+@Transactional(readOnly = true)
+class AttendanceSummaryServiceImpl implements AttendanceSummaryService {
+
+    private final AttendanceRollupRepository attendanceRollupRepository;
+    private final AttendanceRollupBackfill attendanceRollupBackfill;
+    private final EmployeeDirectory employeeDirectory;
+
+    public AttendanceSummaryServiceImpl(AttendanceRollupRepository attendanceRollupRepository, AttendanceRollupBackfill attendanceRollupBackfill, EmployeeDirectory employeeDirectory) {
+        this.attendanceRollupRepository = attendanceRollupRepository;
+        this.attendanceRollupBackfill = attendanceRollupBackfill;
+        this.employeeDirectory = employeeDirectory;
+    }
+
+    @Override
+    public PaginatedResponse<AttendanceSummaryResponse> listSummaries(RollupPeriodEnum period, LocalDate date, UUID departmentId, int page, int size) {
+        Page<AttendanceSummaryResponse> summaries = attendanceRollupRepository.findSummaries(period, period.startOf(date), departmentId, PageRequest.of(page, size));
+        return PaginatedResponse.of(summaries.getContent(), summaries.getTotalElements(), page, size);
+    }
+
+    @Override
+    public AttendanceTotalsResponse getTotals(RollupPeriodEnum period, LocalDate date, UUID departmentId) {
+        LocalDate periodStart = period.startOf(date);
+        AttendanceTotalsView totals = attendanceRollupRepository.findTotals(period, periodStart, departmentId);
+        return new AttendanceTotalsResponse(period, periodStart, totals.employees(), totals.daysPresent(),
+                totals.workedMinutes(), totals.lateArrivals(), totals.overtimeMinutes());
+    }
+
+    @Override
+    public List<AttendanceSummaryResponse> getMySummaries(String employeeEmail, RollupPeriodEnum period, LocalDate from, LocalDate to) {
+        UUID employeeId = employeeDirectory.findIdByEmail(employeeEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(employeeEmail));
+        return attendanceRollupRepository.findByEmployee(employeeId, period, period.startOf(from), to);
+    }
+
+    @Override
+    public void rebuildRollups(LocalDate from, LocalDate to) {
+        if (!attendanceRollupBackfill.start(from, to)) {
+            throw new RollupBackfillInProgressException();
+        }
+    }
+}
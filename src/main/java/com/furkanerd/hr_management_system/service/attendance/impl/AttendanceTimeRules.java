@@ -0,0 +1,74 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidAttendanceTimeException;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+import static com.furkanerd.hr_management_system.constants.AttendanceConstants.*;
+
+/**
+ * Check-in and check-out rules shared by every attendance write path.
+ */
+final class AttendanceTimeRules {
+
+    private AttendanceTimeRules() {
+    }
+
+    /**
+     * Checks if check-in time is within valid range
+     *
+     * @param time time to check
+     * @return true if valid, false otherwise
+     */
+    static boolean isValidCheckInTime(LocalTime time) {
+        if (time == null) {
+            return false;
+        }
+        return !time.isBefore(CHECK_IN_START_TIME) && !time.isAfter(CHECK_IN_END_TIME);
+    }
+
+    /**
+     * Checks if the check-in time is valid (between 06:00-10:00)
+     *
+     * @param time time to check
+     */
+    static void validateCheckInTime(LocalTime time) {
+        if (!isValidCheckInTime(time)) {
+            throw new InvalidAttendanceTimeException("Check-in time must be between 06:00 and 10:00");
+        }
+    }
+
+    /**
+     * Checks if the check-out time is valid
+     *
+     * @param checkInTime  Check-in time
+     * @param checkOutTime Check-out time
+     */
+    static void validateCheckOutTime(LocalTime checkInTime, LocalTime checkOutTime) {
+        if (checkInTime == null) {
+            throw new InvalidAttendanceTimeException("Check-in time cannot be null");
+        }
+        if (checkOutTime == null) {
+            throw new InvalidAttendanceTimeException("Check-out time cannot be null");
+        }
+        if (!checkOutTime.isAfter(checkInTime)) {
+            throw new InvalidAttendanceTimeException("Check-out time must be after check-in time");
+        }
+        if (!isMinimumWorkDurationMet(checkInTime, checkOutTime)) {
+            throw new InvalidAttendanceTimeException("Check-out time must be at least 8 hours after check-in time");
+        }
+    }
+
+    /**
+     * Checks: Has at least the minimum working time passed between check-in and check-out times?
+     *
+     * @param checkInTime  Check-in time
+     * @param checkOutTime Check-out time
+     * @return True if the minimum working time has passed, false otherwise
+     */
+    private static boolean isMinimumWorkDurationMet(LocalTime checkInTime, LocalTime checkOutTime) {
+        Duration duration = Duration.between(checkInTime, checkOutTime);
+        return duration.compareTo(MIN_WORK_DURATION) >= 0;
+    }
+}
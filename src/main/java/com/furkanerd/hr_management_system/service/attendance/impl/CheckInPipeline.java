@@ -0,0 +1,245 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.exception.custom.AttendanceAlreadyExistsException;
+import com.furkanerd.hr_management_system.exception.custom.CheckInUnavailableException;
+import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import com.furkanerd.hr_management_system.repository.CheckInBatchRepository;
+import com.furkanerd.hr_management_system.repository.CheckInBatchRepository.NewCheckIn;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Ingestion path for self-service check-ins, built for the burst at shift start. The
+ * duplicate check is answered from an in-memory set of the employees already checked in
+ * today, and accepted check-ins are handed to a single writer that group-commits whatever
+ * arrived within {@code window-ms} as one multi-row insert. The database constraint stays
+ * the authority: a row another instance wrote first is skipped by ON CONFLICT DO NOTHING
+ * and reported as a duplicate, never as a constraint violation.
+ * <p>
+ * Attendance written elsewhere reaches the set through {@link AttendanceChangedEvent}
+ * after commit, and only on this instance. A set hit is therefore confirmed against the
+ * database before the check-in is rejected, since the record may have been deleted
+ * through another instance.
+ */
+@Slf4j
+@Component
+class CheckInPipeline {
+
+    private final AttendanceRepository attendanceRepository;
+    private final CheckInBatchRepository checkInBatchRepository;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long writeTimeoutMillis;
+    private final BlockingQueue<PendingCheckIn> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    private volatile CheckedInDay day;
+    private volatile boolean running;
+    private Thread writer;
+
+    CheckInPipeline(AttendanceRepository attendanceRepository,
+                    CheckInBatchRepository checkInBatchRepository,
+                    MeterRegistry meterRegistry,
+                    @Value("${attendance.check-in.window-ms:5}") long windowMillis,
+                    @Value("${attendance.check-in.max-batch-size:500}") int maxBatchSize,
+                    @Value("${attendance.check-in.max-pending:20000}") int maxPending,
+                    @Value("${attendance.check-in.write-timeout-ms:2000}") long writeTimeoutMillis) {
+        this.attendanceRepository = attendanceRepository;
+        this.checkInBatchRepository = checkInBatchRepository;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(maxPending);
+        this.batchSizes = DistributionSummary.builder("attendance.check-in.batch.size")
+                .description("Check-ins written per insert statement")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("attendance.check-in.flush")
+                .description("Time spent writing one batch of check-ins")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("attendance.check-in.pending", queue, BlockingQueue::size)
+                .description("Check-ins waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("check-in-writer").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        // The writer drains what is already queued before it exits
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        checkedIn(LocalDate.now());
+    }
+
+    /**
+     * Records a check-in and waits for its batch to be written.
+     *
+     * @return id of the new attendance row
+     * @throws AttendanceAlreadyExistsException when the employee already checked in on {@code date}
+     */
+    UUID checkIn(UUID employeeId, LocalDate date, LocalTime checkInTime) {
+        Set<UUID> checkedIn = checkedIn(date);
+        if (!checkedIn.add(employeeId) && attendanceRepository.existsByEmployeeIdAndDate(employeeId, date)) {
+            throw new AttendanceAlreadyExistsException(employeeId, date);
+        }
+        PendingCheckIn pending = new PendingCheckIn(
+                new NewCheckIn(UUID.randomUUID(), employeeId, date, checkInTime, LocalDateTime.of(date, checkInTime)),
+                checkedIn,
+                new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            checkedIn.remove(employeeId);
+            throw new CheckInUnavailableException("Too many check-ins in progress, please retry");
+        }
+
+        boolean inserted;
+        try {
+            inserted = pending.result().get(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued; the writer settles the in-memory state when it gets to it
+            throw new CheckInUnavailableException("Check-in is taking longer than expected, please retry", e);
+        } catch (ExecutionException e) {
+            throw new CheckInUnavailableException("Check-in could not be saved", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckInUnavailableException("Check-in was interrupted", e);
+        }
+        if (!inserted) {
+            throw new AttendanceAlreadyExistsException(employeeId, date);
+        }
+        return pending.checkIn().id();
+    }
+
+    /**
+     * Keeps the set in step with attendance written outside this pipeline, once the
+     * write has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onAttendanceChanged(AttendanceChangedEvent event) {
+        if (event.checkedIn()) {
+            recordCheckIn(event.employeeId(), event.date());
+        } else {
+            forgetCheckIn(event.employeeId(), event.date());
+        }
+    }
+
+    void recordCheckIn(UUID employeeId, LocalDate date) {
+        CheckedInDay current = day;
+        if (current != null && current.date().equals(date)) {
+            current.employeeIds().add(employeeId);
+        }
+    }
+
+    void forgetCheckIn(UUID employeeId, LocalDate date) {
+        CheckedInDay current = day;
+        if (current != null && current.date().equals(date)) {
+            current.employeeIds().remove(employeeId);
+        }
+    }
+
+    private Set<UUID> checkedIn(LocalDate date) {
+        CheckedInDay current = day;
+        if (current != null && current.date().equals(date)) {
+            return current.employeeIds();
+        }
+        synchronized (this) {
+            current = day;
+            if (current == null || !current.date().equals(date)) {
+                Set<UUID> employeeIds = ConcurrentHashMap.newKeySet();
+                employeeIds.addAll(attendanceRepository.findEmployeeIdsByDate(date));
+                current = new CheckedInDay(date, employeeIds);
+                day = current;
+                log.info("Loaded {} check-ins for {}", employeeIds.size(), date);
+            }
+            return current.employeeIds();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingCheckIn> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCheckIn first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Whatever queued up during the previous write goes out without waiting
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingCheckIn next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCheckIn> batch) {
+        List<NewCheckIn> rows = new ArrayList<>(batch.size());
+        for (PendingCheckIn pending : batch) {
+            rows.add(pending.checkIn());
+        }
+        batchSizes.record(rows.size());
+        try {
+            Set<UUID> inserted = flushTimer.record(() -> checkInBatchRepository.insertIgnoringExisting(rows));
+            for (PendingCheckIn pending : batch) {
+                pending.result().complete(inserted.contains(pending.checkIn().id()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} check-ins", rows.size(), e);
+            for (PendingCheckIn pending : batch) {
+                // Let the employee try again
+                pending.checkedIn().remove(pending.checkIn().employeeId());
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private record CheckedInDay(LocalDate date, Set<UUID> employeeIds) {
+    }
+
+    private record PendingCheckIn(NewCheckIn checkIn, Set<UUID> checkedIn, CompletableFuture<Boolean> result) {
+    }
+}
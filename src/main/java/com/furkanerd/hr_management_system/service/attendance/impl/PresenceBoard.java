@@ -0,0 +1,123 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.model.projection.AttendancePresenceView;
+import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Who has checked in and out today, as two bitmaps indexed by a dense per-process
+ * employee ordinal. Ordinals are handed out on first sight and never reused, so a bit
+ * keeps meaning the same employee for the life of the process and snapshots can share
+ * the ordinal table instead of copying it.
+ * <p>
+ * Rebuilt from the attendance table at startup and when the first change of a new day
+ * arrives; in between it follows {@link AttendanceChangedEvent} after commit. Only
+ * changes dated today count, so a record entered for tomorrow never moves the board.
+ */
+@Slf4j
+@Component
+class PresenceBoard {
+
+    private final AttendanceRepository attendanceRepository;
+
+    // Guarded by this
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private UUID[] employeeIds = new UUID[1024];
+    private LocalDate date;
+    private BitSet checkedIn = new BitSet();
+    private BitSet checkedOut = new BitSet();
+
+    PresenceBoard(AttendanceRepository attendanceRepository) {
+        this.attendanceRepository = attendanceRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuild() {
+        snapshot(LocalDate.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onAttendanceChanged(AttendanceChangedEvent event) {
+        apply(event.employeeId(), event.date(), event.checkedIn(), event.checkedOut());
+    }
+
+    synchronized void apply(UUID employeeId, LocalDate day, boolean in, boolean out) {
+        LocalDate today = LocalDate.now();
+        if (!day.equals(today)) {
+            // Corrections to past days and entries made ahead of time are not on today's board
+            return;
+        }
+        if (date == null || today.isAfter(date)) {
+            // The first change of a new day; the rebuild already includes it
+            load(today);
+            return;
+        }
+        int ordinal = ordinalOf(employeeId);
+        checkedIn.set(ordinal, in);
+        checkedOut.set(ordinal, out);
+    }
+
+    /**
+     * Copies the bitmaps for {@code day}, starting a fresh board if the day has moved on.
+     */
+    synchronized Snapshot snapshot(LocalDate day) {
+        if (date == null || day.isAfter(date)) {
+            load(day);
+        }
+        return new Snapshot(date, (BitSet) checkedIn.clone(), (BitSet) checkedOut.clone(), employeeIds);
+    }
+
+    private void load(LocalDate day) {
+        BitSet in = new BitSet(ordinals.size());
+        BitSet out = new BitSet(ordinals.size());
+        for (AttendancePresenceView view : attendanceRepository.findPresenceByDate(day)) {
+            int ordinal = ordinalOf(view.employeeId());
+            in.set(ordinal);
+            if (view.checkOutTime() != null) {
+                out.set(ordinal);
+            }
+        }
+        date = day;
+        checkedIn = in;
+        checkedOut = out;
+        log.info("Loaded presence for {}: {} checked in, {} checked out", day, in.cardinality(), out.cardinality());
+    }
+
+    private int ordinalOf(UUID employeeId) {
+        Integer ordinal = ordinals.get(employeeId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = ordinals.size();
+        if (next == employeeIds.length) {
+            // Copy rather than grow in place, so snapshots already handed out stay valid
+            employeeIds = Arrays.copyOf(employeeIds, next * 2);
+        }
+        employeeIds[next] = employeeId;
+        ordinals.put(employeeId, next);
+        return next;
+    }
+
+    /**
+     * Point-in-time copy of the board. Slots of {@code employeeIds} below the highest set
+     * bit are never rewritten, so the array is shared with the board.
+     */
+    record Snapshot(LocalDate date, BitSet checkedIn, BitSet checkedOut, UUID[] employeeIds) {
+
+        UUID employeeAt(int ordinal) {
+            return employeeIds[ordinal];
+        }
+    }
+}
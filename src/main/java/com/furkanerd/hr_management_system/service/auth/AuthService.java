@@ -1,17 +1,29 @@
 package com.furkanerd.hr_management_system.service.auth;
 
 import com.furkanerd.hr_management_system.model.dto.request.LoginRequest;
+import com.furkanerd.hr_management_system.model.dto.request.RefreshTokenRequest;
 import com.furkanerd.hr_management_system.model.dto.request.RegisterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.auth.LoginResponse;
 import com.furkanerd.hr_management_system.model.dto.response.auth.RegisterResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
 
-    LoginResponse login(LoginRequest loginRequest);
+    /**
+     * Completes once the password has been checked on the login lane; fails with
+     * {@link com.furkanerd.hr_management_system.exception.custom.LoginThrottledException}
+     * right away when the lane's queue is full.
+     */
+    CompletableFuture<LoginResponse> login(LoginRequest loginRequest);
+
+    LoginResponse refresh(RefreshTokenRequest refreshTokenRequest);
 
     RegisterResponse register(RegisterRequest registerRequest);
 
     void changePassword(String email,String oldPassword,String newPassword);
 
+    void logout(String token, RefreshTokenRequest refreshTokenRequest);
+
     boolean isTokenValid(String token);
 }
@@ -1,7 +1,10 @@
 package com.furkanerd.hr_management_system.service.auth.impl;
 
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.model.dto.request.LoginRequest;
+import com.furkanerd.hr_management_system.model.dto.request.RefreshTokenRequest;
 import com.furkanerd.hr_management_system.model.dto.request.RegisterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.auth.LoginResponse;
 import com.furkanerd.hr_management_system.model.dto.response.auth.RegisterResponse;
@@ -11,14 +14,17 @@ import com.furkanerd.hr_management_system.model.entity.Position;
 import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
 import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.security.CredentialEpochRegistry;
 import com.furkanerd.hr_management_system.security.JwtUtil;
+import com.furkanerd.hr_management_system.security.TokenRevocationStore;
+import com.furkanerd.hr_management_system.security.UserDetailsServiceImpl;
 import com.furkanerd.hr_management_system.service.auth.AuthService;
 import com.furkanerd.hr_management_system.service.department.DepartmentService;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
 import com.furkanerd.hr_management_system.service.position.PositionService;
-import org.springframework.security.authentication.AuthenticationManager;
+import io.jsonwebtoken.Claims;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -29,12 +35,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 class AuthServiceImpl implements AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
@@ -42,9 +48,14 @@ class AuthServiceImpl implements AuthService {
     private final DepartmentService departmentService;
     private final PositionService positionService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CredentialEpochRegistry credentialEpochRegistry;
+    private final LoginLane loginLane;
+    private final TokenRevocationStore revocationStore;
+    private final RefreshTokenManager refreshTokenManager;
+    private volatile String dummyHash;
 
-    public AuthServiceImpl(AuthenticationManager authenticationManager, UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, EmployeeRepository employeeRepository, DepartmentService departmentService, PositionService positionService, NotificationService notificationService) {
-        this.authenticationManager = authenticationManager;
+    public AuthServiceImpl(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, EmployeeRepository employeeRepository, DepartmentService departmentService, PositionService positionService, NotificationService notificationService, ApplicationEventPublisher eventPublisher, CredentialEpochRegistry credentialEpochRegistry, LoginLane loginLane, TokenRevocationStore revocationStore, RefreshTokenManager refreshTokenManager) {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
@@ -52,41 +63,75 @@ class AuthServiceImpl implements AuthService {
         this.departmentService = departmentService;
         this.positionService = positionService;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.credentialEpochRegistry = credentialEpochRegistry;
+        this.loginLane = loginLane;
+        this.revocationStore = revocationStore;
+        this.refreshTokenManager = refreshTokenManager;
     }
 
     @Override
-    public LoginResponse login(LoginRequest loginRequest) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.email(),
-                            loginRequest.password()
-                    )
-            );
-
-            // Create jwt Token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.email());
-            String token = jwtUtil.generateToken(userDetails);
-
-            // Get Employee Information
-            Employee employee = employeeRepository.findByEmail(loginRequest.email())
-                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
-            return LoginResponse.builder()
-                    .token(token)
-                    .employeeId(employee.getId())
-                    .email(userDetails.getUsername())
-                    .firstName(employee.getFirstName())
-                    .lastName(employee.getLastName())
-                    .role(employee.getRole())
-                    .roles(userDetails.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .collect(Collectors.toList()))
-                    .mustChangePassword(employee.isMustChangePassword())
-                    .build();
-        } catch (BadCredentialsException e) {
-            throw new BadCredentialsException("Invalid username or password", e);
+    public CompletableFuture<LoginResponse> login(LoginRequest loginRequest) {
+        // Single lookup: the same row provides the hash, the authorities and the response fields
+        Employee employee = employeeRepository.findByEmail(loginRequest.email()).orElse(null);
+        return loginLane.submit(() -> verifyPassword(employee, loginRequest.password()))
+                .thenApply(verification -> {
+                    if (!verification.matches()) {
+                        throw new BadCredentialsException("Invalid username or password");
+                    }
+                    storeUpgradedHash(employee, verification.upgradedHash());
+                    return buildLoginResponse(employee, refreshTokenManager.issue(employee));
+                });
+    }
+
+    /**
+     * Outcome of a password check; the upgraded hash is set when the stored one used an
+     * outdated cost or format.
+     */
+    private record PasswordVerification(boolean matches, String upgradedHash) {
+    }
+
+    // Runs on the login lane, which also covers the rehash so it needs no second turn
+    private PasswordVerification verifyPassword(Employee employee, String rawPassword) {
+        if (employee == null) {
+            return new PasswordVerification(matchesDummyHash(rawPassword), null);
+        }
+        if (!passwordEncoder.matches(rawPassword, employee.getPassword())) {
+            return new PasswordVerification(false, null);
         }
+        // Rehashes with the current cost and format while the raw password is at hand
+        String upgradedHash = passwordEncoder.upgradeEncoding(employee.getPassword())
+                ? passwordEncoder.encode(rawPassword)
+                : null;
+        return new PasswordVerification(true, upgradedHash);
+    }
+
+    @Override
+    public LoginResponse refresh(RefreshTokenRequest refreshTokenRequest) {
+        // No password check here: possession of an unused refresh token is the credential
+        RefreshTokenManager.Rotation rotation = refreshTokenManager.rotate(refreshTokenRequest.refreshToken());
+        return buildLoginResponse(rotation.employee(), rotation.refreshToken());
+    }
+
+    private LoginResponse buildLoginResponse(Employee employee, String refreshToken) {
+        // Create jwt Token
+        UserDetails userDetails = UserDetailsServiceImpl.toUserDetails(employee);
+        String token = jwtUtil.generateToken(userDetails, employee);
+        credentialEpochRegistry.record(employee.getId(), employee.getCredentialEpoch());
+
+        return LoginResponse.builder()
+                .token(token)
+                .refreshToken(refreshToken)
+                .employeeId(employee.getId())
+                .email(userDetails.getUsername())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .role(employee.getRole())
+                .roles(userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()))
+                .mustChangePassword(employee.isMustChangePassword())
+                .build();
     }
 
     @Override
@@ -147,6 +192,7 @@ class AuthServiceImpl implements AuthService {
             employee.setManager(manager);
         }
         Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new ReportingLineChangedEvent(savedEmployee.getId(), registerRequest.managerId()));
 
         // SEND MAIL + NOTIFICATION
         String subject = "Welcome to HR Management System";
@@ -177,7 +223,25 @@ class AuthServiceImpl implements AuthService {
 
         employee.setPassword(passwordEncoder.encode(newPassword));
         employee.setMustChangePassword(false);
+        employee.setCredentialEpoch(employee.getCredentialEpoch() + 1);
         employeeRepository.save(employee);
+        // Sessions opened with the old password must log in again
+        refreshTokenManager.revokeAll(employee.getId());
+
+        eventPublisher.publishEvent(new EmployeeChangedEvent(employee.getId(), employee.getEmail()));
+    }
+
+    @Override
+    public void logout(String token, RefreshTokenRequest refreshTokenRequest) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        // Tokens issued before jti was added cannot be revoked individually and simply expire
+        if (claims.getId() != null) {
+            revocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+        }
+        // Otherwise the session could simply mint a new access token
+        if (refreshTokenRequest != null) {
+            refreshTokenManager.revokeFamily(refreshTokenRequest.refreshToken(), claims.getSubject());
+        }
     }
 
     public boolean isTokenValid(String token) {
@@ -190,6 +254,34 @@ class AuthServiceImpl implements AuthService {
         }
     }
 
+    /**
+     * Stores the hash rehashed during verification, so stored hashes converge on the
+     * calibrated setting without a reset.
+     */
+    private void storeUpgradedHash(Employee employee, String upgradedHash) {
+        if (upgradedHash == null) {
+            return;
+        }
+        // Touches the hash only, so changes made to the row since the login read it survive
+        if (employeeRepository.replacePasswordHash(employee.getId(), employee.getPassword(), upgradedHash) == 1) {
+            employee.setPassword(upgradedHash);
+        }
+    }
+
+    /**
+     * Spends the same hashing effort for unknown emails so response time does not reveal
+     * which addresses belong to employees.
+     */
+    private boolean matchesDummyHash(String password) {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("userNotFoundPassword");
+            dummyHash = hash;
+        }
+        passwordEncoder.matches(password, hash);
+        return false;
+    }
+
     private String generateTempPassword() {
         // Format: EMP + 4 digit random
         return "EMP" + String.format("%04d", new Random().nextInt(10000));
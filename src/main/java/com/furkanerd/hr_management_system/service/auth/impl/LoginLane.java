@@ -0,0 +1,117 @@
+package com.furkanerd.hr_management_system.service.auth.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for password verification. Hashes run on a dedicated pool of
+ * {@code maxConcurrent} threads, so a login burst never occupies request threads; callers
+ * wait in a bounded queue instead and are turned away with a Retry-After estimate only
+ * when the queue is full, or when their turn comes after the queue timeout.
+ */
+@Component
+class LoginLane {
+
+    private static final long DEFAULT_HASH_MILLIS = 100;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxConcurrent;
+    private final long queueTimeoutMillis;
+    private final Counter rejected;
+    private final Timer queueTimer;
+    private final Timer hashTimer;
+
+    LoginLane(MeterRegistry meterRegistry,
+              @Value("${auth.login.max-concurrent-hashes:0}") int maxConcurrent,
+              @Value("${auth.login.max-queue-depth:64}") int maxQueueDepth,
+              @Value("${auth.login.queue-timeout-ms:2000}") long queueTimeoutMillis) {
+        // BCrypt is CPU bound, more hashes in flight than cores only adds latency
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.executor = new ThreadPoolExecutor(this.maxConcurrent, this.maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueueDepth),
+                Thread.ofPlatform().name("login-hash-", 1).daemon().factory());
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins turned away because the password verification queue was full or too slow")
+                .register(meterRegistry);
+        this.queueTimer = Timer.builder("auth.login.queue")
+                .description("Time spent waiting for a password verification slot")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.login.hash")
+                .description("Time spent verifying or computing the password hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("auth.login.waiting", this, LoginLane::waiting)
+                .description("Logins waiting for a password verification slot")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.in-flight", this, LoginLane::inFlight)
+                .description("Password verifications currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a verification and returns at once; the future completes on the lane's thread.
+     *
+     * @throws LoginThrottledException when the queue is already full
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> verification) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long waitedNanos = System.nanoTime() - queuedAt;
+                queueTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis)) {
+                    // The client is likely about to give up; spend the slot on someone still waiting
+                    rejected.increment();
+                    result.completeExceptionally(throttled());
+                    return;
+                }
+                try {
+                    result.complete(hashTimer.record(verification));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw throttled();
+        }
+        return result;
+    }
+
+    int waiting() {
+        return executor.getQueue().size();
+    }
+
+    int inFlight() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private LoginThrottledException throttled() {
+        double hashMillis = hashTimer.count() > 0 ? hashTimer.mean(TimeUnit.MILLISECONDS) : DEFAULT_HASH_MILLIS;
+        // Time to drain the current queue through the available slots, rounded up to whole seconds
+        double drainMillis = (waiting() / (double) maxConcurrent + 1) * hashMillis;
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(drainMillis / 1000));
+        return new LoginThrottledException("Too many login attempts in progress, please retry shortly", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,117 @@
+package com.furkanerd.hr_management_system.service.auth.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidRefreshTokenException;
+import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.entity.RefreshToken;
+import com.furkanerd.hr_management_system.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens are random 256-bit values, so a
+ * single SHA-256 is enough to store them safely; BCrypt would only add the cost the
+ * refresh flow exists to avoid. Every refresh consumes the presented token, and
+ * presenting a consumed token again revokes the whole family it was rotated from.
+ */
+@Slf4j
+@Component
+class RefreshTokenManager {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    RefreshTokenManager(RefreshTokenRepository refreshTokenRepository,
+                        @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+    }
+
+    @Transactional
+    public String issue(Employee employee) {
+        return issue(employee, UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithEmployee(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token is invalid"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse detected for employee {}, revoking token family", current.getEmployee().getId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        Employee employee = current.getEmployee();
+        return new Rotation(employee, issue(employee, current.getFamilyId()));
+    }
+
+    /**
+     * Ends the session the token belongs to by deleting its whole family, so neither it
+     * nor anything rotated from it can be refreshed again. Tokens of another employee are
+     * left alone.
+     */
+    @Transactional
+    public void revokeFamily(String rawToken, String email) {
+        refreshTokenRepository.findByTokenHashWithEmployee(hash(rawToken))
+                .filter(token -> token.getEmployee().getEmail().equals(email))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(UUID employeeId) {
+        refreshTokenRepository.deleteByEmployeeId(employeeId);
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private String issue(Employee employee, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .employee(employee)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpirationMillis * 1_000_000))
+                .build());
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    record Rotation(Employee employee, String refreshToken) {
+    }
+}
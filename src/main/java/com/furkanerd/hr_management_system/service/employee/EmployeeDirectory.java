@@ -0,0 +1,366 @@
+package com.furkanerd.hr_management_system.service.employee;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+import com.furkanerd.hr_management_system.model.projection.EmployeeDirectoryView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the employee fields nearly every request needs to resolve
+ * its caller: id, email, names, role, status and the department, position and
+ * manager ids. Entries keep UUIDs as two longs, role and status as ordinals, and
+ * share one instance per distinct department/position id and per distinct name,
+ * which puts a directory of 100k employees at roughly 20 MB of heap (see
+ * EmployeeDirectoryFootprint in the tests).
+ * <p>
+ * The whole table is loaded on {@link ApplicationReadyEvent} while the application
+ * reports {@link ReadinessState#REFUSING_TRAFFIC}; misses before or after that read
+ * the single row and keep it. Entries are dropped after every committed employee
+ * write, so the next lookup reloads them.
+ */
+@Slf4j
+@Component
+public class EmployeeDirectory {
+
+    private static final EmployeeRoleEnum[] ROLES = EmployeeRoleEnum.values();
+    private static final EmployeeStatusEnum[] STATUSES = EmployeeStatusEnum.values();
+
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final IdTable byId = new IdTable();
+    private final Map<String, Entry> byEmail = new HashMap<>();
+    private final Map<UUID, UUID> sharedIds = new HashMap<>();
+    private final Map<String, String> sharedNames = new HashMap<>();
+    // Bumped on every eviction so a row read before it is not cached after it
+    private long generation;
+    private volatile boolean warm;
+
+    public EmployeeDirectory(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher) {
+        this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Optional<Entry> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Entry entry = read(() -> byEmail.get(email));
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        long seen = read(() -> generation);
+        return employeeRepository.findDirectoryViewByEmail(email).map(view -> cache(view, seen));
+    }
+
+    public Optional<Entry> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Entry entry = read(() -> byId.get(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        long seen = read(() -> generation);
+        return employeeRepository.findDirectoryViewById(id).map(view -> cache(view, seen));
+    }
+
+    public Optional<UUID> findIdByEmail(String email) {
+        return findByEmail(email).map(Entry::id);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int size() {
+        return read(byId::size);
+    }
+
+    public void evict(UUID id, String email) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            Entry removed = id != null ? byId.remove(id.getMostSignificantBits(), id.getLeastSignificantBits()) : null;
+            if (removed != null) {
+                byEmail.remove(removed.email());
+            }
+            if (email != null) {
+                Entry stale = byEmail.remove(email);
+                if (stale != null && stale != removed) {
+                    byId.remove(stale.idMostSigBits, stale.idLeastSigBits);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        try {
+            long seen = read(() -> generation);
+            load(employeeRepository.findAllDirectoryViews(), seen);
+            log.info("Employee directory warmed with {} employees", size());
+        } catch (RuntimeException e) {
+            // Lookups still read through to the database, so a failed warm-up only costs latency
+            log.error("Employee directory warm-up failed", e);
+        } finally {
+            warm = true;
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event) {
+        evict(event.employeeId(), event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onReportingLineChanged(ReportingLineChangedEvent event) {
+        evict(event.employeeId(), null);
+    }
+
+    void load(List<EmployeeDirectoryView> views, long seen) {
+        lock.writeLock().lock();
+        try {
+            for (EmployeeDirectoryView view : views) {
+                if (generation != seen) {
+                    // An employee was written mid-load; whatever is left reads through on demand
+                    return;
+                }
+                put(view);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Entry cache(EmployeeDirectoryView view, long seen) {
+        lock.writeLock().lock();
+        try {
+            return generation == seen ? put(view) : toEntry(view);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Entry put(EmployeeDirectoryView view) {
+        Entry entry = toEntry(view);
+        Entry previous = byId.put(entry);
+        if (previous != null && !previous.email().equals(entry.email())) {
+            byEmail.remove(previous.email());
+        }
+        byEmail.put(entry.email(), entry);
+        return entry;
+    }
+
+    private Entry toEntry(EmployeeDirectoryView view) {
+        UUID managerId = view.managerId();
+        return new Entry(
+                view.id().getMostSignificantBits(),
+                view.id().getLeastSignificantBits(),
+                view.email(),
+                share(sharedNames, view.firstName()),
+                share(sharedNames, view.lastName()),
+                (byte) view.role().ordinal(),
+                (byte) view.status().ordinal(),
+                share(sharedIds, view.departmentId()),
+                share(sharedIds, view.positionId()),
+                managerId != null ? managerId.getMostSignificantBits() : 0L,
+                managerId != null ? managerId.getLeastSignificantBits() : 0L,
+                managerId != null);
+    }
+
+    private static <T> T share(Map<T, T> pool, T value) {
+        return value == null ? null : pool.computeIfAbsent(value, key -> key);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One cached employee. Accessors rebuild UUIDs on demand, so hold on to the
+     * result rather than calling them in a loop.
+     */
+    public static final class Entry {
+
+        private final long idMostSigBits;
+        private final long idLeastSigBits;
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+        private final byte role;
+        private final byte status;
+        private final UUID departmentId;
+        private final UUID positionId;
+        private final long managerMostSigBits;
+        private final long managerLeastSigBits;
+        private final boolean hasManager;
+
+        private Entry(long idMostSigBits, long idLeastSigBits, String email, String firstName, String lastName,
+                      byte role, byte status, UUID departmentId, UUID positionId,
+                      long managerMostSigBits, long managerLeastSigBits, boolean hasManager) {
+            this.idMostSigBits = idMostSigBits;
+            this.idLeastSigBits = idLeastSigBits;
+            this.email = email;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.role = role;
+            this.status = status;
+            this.departmentId = departmentId;
+            this.positionId = positionId;
+            this.managerMostSigBits = managerMostSigBits;
+            this.managerLeastSigBits = managerLeastSigBits;
+            this.hasManager = hasManager;
+        }
+
+        public UUID id() {
+            return new UUID(idMostSigBits, idLeastSigBits);
+        }
+
+        public String email() {
+            return email;
+        }
+
+        public String firstName() {
+            return firstName;
+        }
+
+        public String lastName() {
+            return lastName;
+        }
+
+        public String fullName() {
+            return firstName + " " + lastName;
+        }
+
+        public EmployeeRoleEnum role() {
+            return ROLES[role];
+        }
+
+        public EmployeeStatusEnum status() {
+            return STATUSES[status];
+        }
+
+        public UUID departmentId() {
+            return departmentId;
+        }
+
+        public UUID positionId() {
+            return positionId;
+        }
+
+        public UUID managerId() {
+            return hasManager ? new UUID(managerMostSigBits, managerLeastSigBits) : null;
+        }
+    }
+
+    /**
+     * Open-addressing table keyed by the two halves of the employee id, probing
+     * linearly over a plain entry array so no UUID or map node is kept per employee.
+     */
+    private static final class IdTable {
+
+        private Entry[] slots = new Entry[64];
+        private int size;
+
+        Entry get(long most, long least) {
+            int mask = slots.length - 1;
+            for (int i = home(most, least, mask); slots[i] != null; i = (i + 1) & mask) {
+                if (slots[i].idMostSigBits == most && slots[i].idLeastSigBits == least) {
+                    return slots[i];
+                }
+            }
+            return null;
+        }
+
+        Entry put(Entry entry) {
+            // Keep the load factor at or below one half
+            if ((size + 1) * 2 > slots.length) {
+                resize();
+            }
+            int mask = slots.length - 1;
+            int i = home(entry.idMostSigBits, entry.idLeastSigBits, mask);
+            for (; slots[i] != null; i = (i + 1) & mask) {
+                if (slots[i].idMostSigBits == entry.idMostSigBits && slots[i].idLeastSigBits == entry.idLeastSigBits) {
+                    Entry previous = slots[i];
+                    slots[i] = entry;
+                    return previous;
+                }
+            }
+            slots[i] = entry;
+            size++;
+            return null;
+        }
+
+        Entry remove(long most, long least) {
+            int mask = slots.length - 1;
+            int hole = home(most, least, mask);
+            while (slots[hole] != null
+                    && (slots[hole].idMostSigBits != most || slots[hole].idLeastSigBits != least)) {
+                hole = (hole + 1) & mask;
+            }
+            Entry removed = slots[hole];
+            if (removed == null) {
+                return null;
+            }
+            // Shift later members of the probe run back so lookups never stop at the hole early
+            for (int i = (hole + 1) & mask; slots[i] != null; i = (i + 1) & mask) {
+                int home = home(slots[i].idMostSigBits, slots[i].idLeastSigBits, mask);
+                boolean reachable = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+                if (!reachable) {
+                    slots[hole] = slots[i];
+                    hole = i;
+                }
+            }
+            slots[hole] = null;
+            size--;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            Entry[] old = slots;
+            slots = new Entry[old.length * 2];
+            size = 0;
+            for (Entry entry : old) {
+                if (entry != null) {
+                    put(entry);
+                }
+            }
+        }
+
+        private static int home(long most, long least, int mask) {
+            long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.furkanerd.hr_management_system.service.employee;
 
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
 
@@ -10,5 +11,9 @@ public interface EmployeeQueryService {
 
     PaginatedResponse<ListEmployeeResponse> listAllEmployees(int page, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest);
 
+    CursorPaginatedResponse<ListEmployeeResponse> listAllEmployeesByCursor(String cursor, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest);
+
     PaginatedResponse<ListEmployeeResponse> getEmployeesByDepartment(UUID departmentId, int page, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest);
+
+    PaginatedResponse<ListEmployeeResponse> getMyTeam(String managerEmail, int page, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest);
 }
@@ -0,0 +1,188 @@
+package com.furkanerd.hr_management_system.service.employee;
+
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
+import com.furkanerd.hr_management_system.model.projection.ReportingLineView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * In-memory org chart. Parent pointers are kept up to date incrementally from
+ * {@link ReportingLineChangedEvent}; on top of them an Euler tour assigns every
+ * employee the interval [position, exit] of preorder positions covered by its subtree.
+ * An ancestor test is then two integer comparisons and "everyone under X" is a
+ * slice of the preorder array. The tour is recomputed in memory on the first query
+ * after a change, so a burst of reassignments costs one O(n) pass.
+ * <p>
+ * Only local events reach it, so it may miss changes made on another instance. It serves
+ * reads; checks that guard writes, such as the circular reporting line check, ask the
+ * database instead.
+ */
+@Slf4j
+@Component
+public class OrgHierarchyIndex {
+
+    private final EmployeeRepository employeeRepository;
+    // Guarded by this
+    private final Map<UUID, UUID> parents = new HashMap<>();
+    private boolean loaded;
+    private volatile Tour tour;
+
+    public OrgHierarchyIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Returns true when {@code ancestor} is {@code descendant} itself or appears
+     * anywhere above it in the reporting line.
+     */
+    public boolean isAncestorOrSelf(UUID ancestor, UUID descendant) {
+        if (ancestor == null || descendant == null) {
+            return false;
+        }
+        if (ancestor.equals(descendant)) {
+            return true;
+        }
+        Tour current = currentTour();
+        Integer a = current.positions().get(ancestor);
+        Integer d = current.positions().get(descendant);
+        // Positions are preorder indexes, so a node's subtree is the range [position, exit]
+        return a != null && d != null && a <= d && d <= current.exit()[a];
+    }
+
+    /**
+     * All direct and indirect reports of the given employee, in preorder.
+     */
+    public List<UUID> descendantsOf(UUID employeeId) {
+        Tour current = currentTour();
+        Integer node = current.positions().get(employeeId);
+        if (node == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(current.preorder()).subList(node + 1, current.exit()[node] + 1));
+    }
+
+    public synchronized UUID managerOf(UUID employeeId) {
+        ensureLoaded();
+        return parents.get(employeeId);
+    }
+
+    public synchronized void setManager(UUID employeeId, UUID managerId) {
+        if (!loaded) {
+            // The full load reads the committed state, which already includes this change
+            return;
+        }
+        parents.put(employeeId, managerId);
+        tour = null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadAll() {
+        currentTour();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onReportingLineChanged(ReportingLineChangedEvent event) {
+        setManager(event.employeeId(), event.managerId());
+    }
+
+    private Tour currentTour() {
+        Tour current = tour;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (tour == null) {
+                ensureLoaded();
+                tour = buildTour();
+            }
+            return tour;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        for (ReportingLineView line : employeeRepository.findAllReportingLines()) {
+            parents.put(line.employeeId(), line.managerId());
+        }
+        loaded = true;
+        log.info("Loaded org hierarchy for {} employees", parents.size());
+    }
+
+    private Tour buildTour() {
+        Map<UUID, List<UUID>> children = new HashMap<>();
+        List<UUID> roots = new ArrayList<>();
+        for (Map.Entry<UUID, UUID> entry : parents.entrySet()) {
+            UUID parent = entry.getValue();
+            if (parent == null || !parents.containsKey(parent)) {
+                roots.add(entry.getKey());
+            } else {
+                children.computeIfAbsent(parent, key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        int size = parents.size();
+        Map<UUID, Integer> positions = new HashMap<>(size * 2);
+        UUID[] preorder = new UUID[size];
+        int[] exit = new int[size];
+        int[] counter = {0};
+
+        for (UUID root : roots) {
+            visit(root, children, positions, preorder, exit, counter);
+        }
+        // Employees left unvisited sit on a manager cycle in the data; each cycle is cut at one node
+        for (UUID employeeId : parents.keySet()) {
+            if (!positions.containsKey(employeeId)) {
+                log.warn("Employee {} is part of a reporting cycle", employeeId);
+                visit(employeeId, children, positions, preorder, exit, counter);
+            }
+        }
+        return new Tour(positions, preorder, exit);
+    }
+
+    // Iterative preorder walk; org charts can be deep enough to make recursion risky
+    private static void visit(UUID root, Map<UUID, List<UUID>> children, Map<UUID, Integer> positions,
+                              UUID[] preorder, int[] exit, int[] counter) {
+        Deque<UUID> stack = new ArrayDeque<>();
+        Deque<Iterator<UUID>> iterators = new ArrayDeque<>();
+        enterNode(root, positions, preorder, counter);
+        stack.push(root);
+        iterators.push(children.getOrDefault(root, List.of()).iterator());
+
+        while (!stack.isEmpty()) {
+            Iterator<UUID> next = iterators.peek();
+            UUID child = null;
+            while (next.hasNext()) {
+                UUID candidate = next.next();
+                if (!positions.containsKey(candidate)) {
+                    child = candidate;
+                    break;
+                }
+            }
+            if (child == null) {
+                exit[positions.get(stack.pop())] = counter[0] - 1;
+                iterators.pop();
+            } else {
+                enterNode(child, positions, preorder, counter);
+                stack.push(child);
+                iterators.push(children.getOrDefault(child, List.of()).iterator());
+            }
+        }
+    }
+
+    private static void enterNode(UUID node, Map<UUID, Integer> positions, UUID[] preorder, int[] counter) {
+        int position = counter[0]++;
+        positions.put(node, position);
+        preorder[position] = node;
+    }
+
+    private record Tour(Map<UUID, Integer> positions, UUID[] preorder, int[] exit) {
+    }
+}
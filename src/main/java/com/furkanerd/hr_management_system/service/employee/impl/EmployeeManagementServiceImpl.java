@@ -1,5 +1,6 @@
 package com.furkanerd.hr_management_system.service.employee.impl;
 
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.CircularReferenceException;
 import com.furkanerd.hr_management_system.exception.custom.DepartmentNotFoundException;
 import com.furkanerd.hr_management_system.exception.custom.PositionNotFoundException;
@@ -11,13 +12,17 @@ import com.furkanerd.hr_management_system.model.entity.Department;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.Position;
 import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
 import com.furkanerd.hr_management_system.repository.DepartmentRepository;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
 import com.furkanerd.hr_management_system.repository.PositionRepository;
 import com.furkanerd.hr_management_system.service.employee.EmployeeManagementService;
 import com.furkanerd.hr_management_system.service.employee.EmployeeService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -26,12 +31,16 @@ class EmployeeManagementServiceImpl implements EmployeeManagementService {
     private final DepartmentRepository departmentRepository;
     private final PositionRepository positionRepository;
     private final EmployeeMapper employeeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeRepository employeeRepository;
 
-    EmployeeManagementServiceImpl(EmployeeService employeeCoreService, DepartmentRepository departmentRepository, PositionRepository positionRepository, EmployeeMapper employeeMapper) {
+    EmployeeManagementServiceImpl(EmployeeService employeeCoreService, DepartmentRepository departmentRepository, PositionRepository positionRepository, EmployeeMapper employeeMapper, ApplicationEventPublisher eventPublisher, EmployeeRepository employeeRepository) {
         this.employeeCoreService = employeeCoreService;
         this.departmentRepository = departmentRepository;
         this.positionRepository = positionRepository;
         this.employeeMapper = employeeMapper;
+        this.eventPublisher = eventPublisher;
+        this.employeeRepository = employeeRepository;
     }
 
     @Override
@@ -44,11 +53,22 @@ class EmployeeManagementServiceImpl implements EmployeeManagementService {
         Department department = findDepartment(updateRequest.departmentId());
         Position position = findPosition(updateRequest.positionId());
         Employee manager = validateAndGetManager(updateRequest.managerId(), toUpdate);
+        EmployeeStatusEnum previousStatus = toUpdate.getStatus();
         updateStatusIfAllowed(updater, toUpdate, updateRequest);
 
+        UUID previousManagerId = toUpdate.getManager() != null ? toUpdate.getManager().getId() : null;
         applyUpdates(toUpdate, updateRequest, department, position, manager);
 
-        return employeeMapper.toEmployeeDetailResponse(employeeCoreService.saveEntity(toUpdate));
+        if (previousStatus != toUpdate.getStatus()) {
+            toUpdate.setCredentialEpoch(toUpdate.getCredentialEpoch() + 1);
+        }
+        // Publishes EmployeeChangedEvent
+        Employee saved = employeeCoreService.saveEntity(toUpdate);
+        UUID managerId = manager != null ? manager.getId() : null;
+        if (!Objects.equals(previousManagerId, managerId)) {
+            eventPublisher.publishEvent(new ReportingLineChangedEvent(toUpdate.getId(), managerId));
+        }
+        return employeeMapper.toEmployeeDetailResponse(saved);
     }
 
     private void validateUpdatePermission(Employee updater, Employee toUpdate) {
@@ -79,7 +99,8 @@ class EmployeeManagementServiceImpl implements EmployeeManagementService {
 
     /**
      * Checks whether the given subordinate is in the hierarchy of the manager.
-     * This prevents the creation of a circular reference.
+     * This prevents the creation of a circular reference. Asks the database rather than
+     * the in-memory {@code OrgHierarchyIndex}, which may miss changes made on another instance.
      *
      * @param subordinate The subordinate employee (potential new manager)
      * @param manager     The employee whose manager is being changed
@@ -89,22 +110,9 @@ class EmployeeManagementServiceImpl implements EmployeeManagementService {
         if (subordinate == null || manager == null) {
             return false;
         }
-
-        if (subordinate.getId().equals(manager.getId())) {
-            return true;
-        }
-
-        Employee currentManager = subordinate.getManager();
-        while (currentManager != null) {
-            if (currentManager.getId().equals(manager.getId())) {
-                return true;
-            }
-            currentManager = currentManager.getManager();
-        }
-        return false;
+        return employeeRepository.existsInManagementChain(subordinate.getId(), manager.getId());
     }
 
-
     private void updateStatusIfAllowed(Employee updater, Employee toUpdate, EmployeeUpdateRequest updateRequest) {
         if (updateRequest.status() == null) return;
 
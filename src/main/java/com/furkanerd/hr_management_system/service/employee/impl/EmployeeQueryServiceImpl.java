@@ -2,38 +2,64 @@ package com.furkanerd.hr_management_system.service.employee.impl;
 
 import com.furkanerd.hr_management_system.constants.SortFieldConstants;
 import com.furkanerd.hr_management_system.exception.custom.DepartmentNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.mapper.EmployeeMapper;
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.repository.DatabaseExtensionRepository;
 import com.furkanerd.hr_management_system.repository.DepartmentRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
 import com.furkanerd.hr_management_system.service.employee.EmployeeQueryService;
 import com.furkanerd.hr_management_system.specification.EmployeeSpecification;
+import com.furkanerd.hr_management_system.specification.ListProjections;
+import com.furkanerd.hr_management_system.specification.ReportingSubtreeSpecification;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
 import com.furkanerd.hr_management_system.util.SortFieldValidator;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @Transactional(readOnly = true)
 class EmployeeQueryServiceImpl implements EmployeeQueryService {
 
+    private static final String TRIGRAM_EXTENSION = "pg_trgm";
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeMapper employeeMapper;
+    private final PageWindowRepository pageWindowRepository;
+    private final EmployeeDirectory employeeDirectory;
+    private final DatabaseExtensionRepository extensionRepository;
+
+    // Whether pg_trgm is installed, checked on the first search
+    private volatile Boolean similarityRanking;
 
-    public EmployeeQueryServiceImpl(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, EmployeeMapper employeeMapper) {
+    public EmployeeQueryServiceImpl(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, EmployeeMapper employeeMapper, PageWindowRepository pageWindowRepository, EmployeeDirectory employeeDirectory, DatabaseExtensionRepository extensionRepository) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.employeeMapper = employeeMapper;
+        this.pageWindowRepository = pageWindowRepository;
+        this.employeeDirectory = employeeDirectory;
+        this.extensionRepository = extensionRepository;
     }
 
     @Override
@@ -43,8 +69,8 @@ class EmployeeQueryServiceImpl implements EmployeeQueryService {
 
         Specification<Employee> specification = EmployeeSpecification.withFilters(filterRequest);
 
-        Page<Employee> employeePage = employeeRepository.findAll(specification, pageable);
-        List<ListEmployeeResponse> responseList = employeeMapper.employeestoListEmployeeResponseList(employeePage.getContent());
+        Page<ListEmployeeResponse> employeePage = findEmployees(specification, filterRequest, pageable);
+        List<ListEmployeeResponse> responseList = employeePage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -70,8 +96,8 @@ class EmployeeQueryServiceImpl implements EmployeeQueryService {
                 ? specification.and(departmentIdSpec)
                 : departmentIdSpec;
 
-        Page<Employee> employeePage = employeeRepository.findAll(combinedSpec, pageable);
-        List<ListEmployeeResponse> responseList = employeeMapper.employeestoListEmployeeResponseList(employeePage.getContent());
+        Page<ListEmployeeResponse> employeePage = findEmployees(combinedSpec, filterRequest, pageable);
+        List<ListEmployeeResponse> responseList = employeePage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -80,4 +106,69 @@ class EmployeeQueryServiceImpl implements EmployeeQueryService {
                 size
         );
     }
+
+    @Override
+    public PaginatedResponse<ListEmployeeResponse> getMyTeam(String managerEmail, int page, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest) {
+        UUID managerId = employeeDirectory.findIdByEmail(managerEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(managerEmail));
+
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.EMPLOYEE_SORT_FIELD, sortBy);
+        Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
+
+        Specification<Employee> baseSpec = EmployeeSpecification.withFilters(filterRequest);
+        Specification<Employee> teamSpec = ReportingSubtreeSpecification.employeesUnder(managerId);
+
+        Specification<Employee> specification = (baseSpec != null)
+                ? baseSpec.and(teamSpec)
+                : teamSpec;
+
+        Page<ListEmployeeResponse> employeePage = findEmployees(specification, filterRequest, pageable);
+        List<ListEmployeeResponse> responseList = employeePage.getContent();
+
+        return PaginatedResponse.of(
+                responseList,
+                employeePage.getTotalElements(),
+                page,
+                size
+        );
+    }
+
+    private Page<ListEmployeeResponse> findEmployees(Specification<Employee> specification, EmployeeFilterRequest filterRequest, Pageable pageable) {
+        if (filterRequest == null || !StringUtils.hasText(filterRequest.searchTerm()) || !isSimilarityRankingAvailable()) {
+            return pageWindowRepository.findPage(ListProjections.EMPLOYEE, specification, pageable);
+        }
+        // Search results are ranked by similarity, the requested sort only breaks ties
+        Specification<Employee> ranked = EmployeeSpecification.rankedBySimilarity(filterRequest.searchTerm(), pageable.getSort());
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return pageWindowRepository.findPage(ListProjections.EMPLOYEE, specification != null ? specification.and(ranked) : ranked, unsorted);
+    }
+
+    private boolean isSimilarityRankingAvailable() {
+        Boolean available = similarityRanking;
+        if (available == null) {
+            available = extensionRepository.isInstalled(TRIGRAM_EXTENSION);
+            if (!available) {
+                log.warn("{} is not installed, so employee search results are not ranked by similarity; see db/employee_search_trgm.sql", TRIGRAM_EXTENSION);
+            }
+            similarityRanking = available;
+        }
+        return available;
+    }
+
+    @Override
+    public CursorPaginatedResponse<ListEmployeeResponse> listAllEmployeesByCursor(String cursor, int size, String sortBy, String sortDirection, EmployeeFilterRequest filterRequest) {
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.EMPLOYEE_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<Employee> baseSpec = EmployeeSpecification.withFilters(filterRequest);
+        Specification<Employee> seekSpec = SeekSpecification.after(pageCursor);
+
+        Specification<Employee> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListEmployeeResponse> window = pageWindowRepository.findSeekWindow(ListProjections.EMPLOYEE, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
+    }
 }
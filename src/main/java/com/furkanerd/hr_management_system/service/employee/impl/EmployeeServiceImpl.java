@@ -1,11 +1,13 @@
 package com.furkanerd.hr_management_system.service.employee.impl;
 
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.mapper.EmployeeMapper;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
 import com.furkanerd.hr_management_system.service.employee.EmployeeService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -15,10 +17,12 @@ class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,7 +53,9 @@ class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public Employee saveEntity(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(saved.getId(), saved.getEmail()));
+        return saved;
     }
 }
 
@@ -1,9 +1,13 @@
 package com.furkanerd.hr_management_system.service.leaverequest;
 
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveAccrualRequest;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveDecisionItemRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestEditRequest;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveBatchDecisionResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface LeaveRequestManagementService {
@@ -15,5 +19,9 @@ public interface LeaveRequestManagementService {
 
     LeaveRequestDetailResponse rejectLeaveRequest(UUID leaveRequestId, String approverEmail);
 
+    LeaveBatchDecisionResponse decideLeaveRequests(List<LeaveDecisionItemRequest> decisions, String approverEmail);
+
     void cancelLeaveRequest(UUID leaveRequestId, String requesterEmail);
+
+    void accrueLeave(UUID employeeId, LeaveAccrualRequest accrualRequest);
 }
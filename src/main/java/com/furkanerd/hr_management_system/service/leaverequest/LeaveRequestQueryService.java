@@ -1,22 +1,36 @@
 package com.furkanerd.hr_management_system.service.leaverequest;
 
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeLeaveBalanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveCalendarResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 public interface LeaveRequestQueryService {
 
     PaginatedResponse<ListLeaveRequestResponse> listAllLeaveRequests(int page, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest);
 
+    CursorPaginatedResponse<ListLeaveRequestResponse> listAllLeaveRequestsByCursor(String cursor, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest);
+
     PaginatedResponse<ListLeaveRequestResponse> getMyLeaveRequests(String email, int page, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest);
 
+    PaginatedResponse<ListLeaveRequestResponse> getMyTeamLeaveRequests(String managerEmail, int page, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest);
+
     LeaveRequestDetailResponse getLeaveRequestById(UUID id);
 
     EmployeeLeaveBalanceResponse getMyLeaveBalance(String email);
 
     EmployeeLeaveBalanceResponse getEmployeeLeaveBalance(UUID employeeId);
+
+    /**
+     * Pending and approved leave of a department overlapping {@code [from, to]}; the
+     * caller's own department when {@code departmentId} is null. Employees may only see
+     * their own department.
+     */
+    LeaveCalendarResponse getLeaveCalendar(String email, UUID departmentId, LocalDate from, LocalDate to);
 }
@@ -0,0 +1,348 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.event.LeaveLedgerChangedEvent;
+import com.furkanerd.hr_management_system.model.entity.LeaveBalanceSnapshot;
+import com.furkanerd.hr_management_system.model.entity.LeaveLedgerEntry;
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveOpeningBalanceView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.LeaveBalanceSnapshotRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vacation and maternity balances of every employee, kept in memory so reading one is a
+ * map lookup. An account is loaded once from the opening balance, the snapshot and the
+ * ledger tail, then follows {@link LeaveLedgerChangedEvent} after commit.
+ * <p>
+ * Entries other instances commit raise no event here; a scheduled catch-up applies every
+ * entry above the highest settled id instead, so a balance trails them by at most the
+ * catch-up interval. Writers still check balances against the database through
+ * {@link LeaveLedger}.
+ */
+@Slf4j
+@Component
+class LeaveBalanceBook {
+
+    // Leave types with a balance; sick and unpaid leave are not counted
+    static final List<LeaveTypeEnum> TRACKED = List.of(LeaveTypeEnum.VACATION, LeaveTypeEnum.MATERNITY);
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveBalanceSnapshotRepository snapshotRepository;
+    private final LeaveLedgerRepository ledgerRepository;
+    private final TransactionTemplate readTransaction;
+    private final long lagMillis;
+    private final ConcurrentHashMap<UUID, Account> accounts = new ConcurrentHashMap<>();
+
+    // Entries up to this id are counted in every loaded account; set before the first load
+    private volatile Long caughtUpTo;
+    // Held by the warm-up too, whose accounts would miss a run that passes them before they are added
+    private final Object catchUpLock = new Object();
+
+    // Guarded by this; employees changed while the warm-up was reading are left to load lazily
+    private boolean warming;
+    private final Set<UUID> changedWhileWarming = new HashSet<>();
+
+    LeaveBalanceBook(EmployeeRepository employeeRepository,
+                     LeaveBalanceSnapshotRepository snapshotRepository,
+                     LeaveLedgerRepository ledgerRepository,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${leave.ledger.compaction-lag-ms:60000}") long lagMillis) {
+        this.employeeRepository = employeeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.lagMillis = lagMillis;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Loads see committed state only, never the uncommitted writes of the caller's transaction
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Snapshot and tail must come from the same point in time, or a compaction in between is counted twice or missed
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        synchronized (catchUpLock) {
+            warmUpAccounts();
+        }
+    }
+
+    private void warmUpAccounts() {
+        try {
+            synchronized (this) {
+                warming = true;
+            }
+            startCatchUp();
+            Map<UUID, Account> loaded = readTransaction.execute(status -> loadAll());
+            synchronized (this) {
+                for (Account account : loaded.values()) {
+                    if (!changedWhileWarming.contains(account.employeeId)) {
+                        accounts.putIfAbsent(account.employeeId, account);
+                    }
+                }
+                warming = false;
+                changedWhileWarming.clear();
+            }
+            log.info("Loaded leave balances of {} employees", loaded.size());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                warming = false;
+                changedWhileWarming.clear();
+            }
+            // Accounts are loaded on first use instead
+            log.error("Could not load leave balances at startup", e);
+        }
+    }
+
+    /**
+     * Current balances of an employee, or empty when there is no such employee.
+     */
+    Optional<Balance> get(UUID employeeId) {
+        return account(employeeId).map(Account::balance);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onLedgerChanged(LeaveLedgerChangedEvent event) {
+        Account account = accounts.get(event.employeeId());
+        if (account == null) {
+            synchronized (this) {
+                account = accounts.get(event.employeeId());
+                if (account == null) {
+                    if (warming) {
+                        changedWhileWarming.add(event.employeeId());
+                    }
+                    // Not loaded yet; a later load reads the committed entry
+                    return;
+                }
+            }
+        }
+        account.apply(event.entryId(), event.leaveType(), event.entryType(), event.days());
+    }
+
+    /**
+     * Applies the entries written since the last run, wherever they were committed.
+     */
+    @Scheduled(fixedDelayString = "${leave.ledger.catch-up-interval-ms:10000}")
+    void catchUp() {
+        synchronized (catchUpLock) {
+            catchUpAccounts();
+        }
+    }
+
+    private void catchUpAccounts() {
+        try {
+            Long from = caughtUpTo;
+            if (from == null) {
+                // Nothing loaded yet
+                return;
+            }
+            // Read before the entries, so every id up to it is among them
+            long settled = settledEntryId();
+            for (LeaveLedgerEntry entry : ledgerRepository.findByIdGreaterThanOrderByIdAsc(from)) {
+                Account account = accounts.get(entry.getEmployeeId());
+                if (account != null) {
+                    account.apply(entry.getId(), entry.getLeaveType(), entry.getEntryType(), entry.getDays());
+                }
+            }
+            if (settled > from) {
+                caughtUpTo = settled;
+                accounts.values().forEach(account -> account.forgetUpTo(settled));
+            }
+        } catch (RuntimeException e) {
+            // The next run reads the same entries again
+            log.error("Leave balance catch-up failed", e);
+        }
+    }
+
+    // An entry at or below the settled id was committed before this returns, so a later load sees it
+    private void startCatchUp() {
+        if (caughtUpTo == null) {
+            synchronized (this) {
+                if (caughtUpTo == null) {
+                    caughtUpTo = settledEntryId();
+                }
+            }
+        }
+    }
+
+    private long settledEntryId() {
+        Long id = ledgerRepository.findMaxIdCreatedBefore(LocalDateTime.now().minusNanos(lagMillis * 1_000_000));
+        return id == null ? 0 : id;
+    }
+
+    private Optional<Account> account(UUID employeeId) {
+        Account account = accounts.get(employeeId);
+        if (account != null) {
+            return Optional.of(account);
+        }
+        startCatchUp();
+        Account placeholder = new Account(employeeId);
+        // Locked and registered before reading, so events committed after the read wait for it instead of getting lost
+        synchronized (placeholder) {
+            Account existing = accounts.putIfAbsent(employeeId, placeholder);
+            if (existing != null) {
+                return Optional.of(existing);
+            }
+            boolean found = false;
+            try {
+                found = Boolean.TRUE.equals(readTransaction.execute(status -> load(placeholder)));
+            } finally {
+                if (!found) {
+                    accounts.remove(employeeId, placeholder);
+                }
+            }
+            return found ? Optional.of(placeholder) : Optional.empty();
+        }
+    }
+
+    private boolean load(Account account) {
+        Optional<LeaveOpeningBalanceView> opening = employeeRepository.findOpeningLeaveBalanceById(account.employeeId);
+        if (opening.isEmpty()) {
+            return false;
+        }
+        account.open(opening.get());
+        snapshotRepository.findByIdEmployeeId(account.employeeId).forEach(account::addSnapshot);
+        ledgerRepository.findTailByEmployeeId(account.employeeId).forEach(account::addTail);
+        account.loaded = true;
+        return true;
+    }
+
+    private Map<UUID, Account> loadAll() {
+        Map<UUID, Account> loaded = new HashMap<>();
+        for (LeaveOpeningBalanceView opening : employeeRepository.findAllOpeningLeaveBalances()) {
+            Account account = new Account(opening.employeeId());
+            account.open(opening);
+            account.loaded = true;
+            loaded.put(opening.employeeId(), account);
+        }
+        for (LeaveBalanceSnapshot snapshot : snapshotRepository.findAll()) {
+            Account account = loaded.get(snapshot.getId().getEmployeeId());
+            if (account != null) {
+                account.addSnapshot(snapshot);
+            }
+        }
+        for (LeaveLedgerEntry entry : ledgerRepository.findAllTail()) {
+            Account account = loaded.get(entry.getEmployeeId());
+            if (account != null) {
+                account.addTail(entry);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Balance and reserved days per tracked leave type, indexed like
+     * {@link #TRACKED}. All access is synchronized on the account.
+     */
+    private static final class Account {
+
+        private final UUID employeeId;
+        private final int[] balance = new int[TRACKED.size()];
+        private final int[] reserved = new int[TRACKED.size()];
+        private final long[] snapshotEntryId = new long[TRACKED.size()];
+        // Entries above the catch-up point already counted, as they may arrive both by event and by catch-up
+        private final Set<Long> counted = new HashSet<>();
+        private boolean loaded;
+
+        private Account(UUID employeeId) {
+            this.employeeId = employeeId;
+        }
+
+        private void open(LeaveOpeningBalanceView opening) {
+            balance[TRACKED.indexOf(LeaveTypeEnum.VACATION)] = opening.vacationBalance();
+            balance[TRACKED.indexOf(LeaveTypeEnum.MATERNITY)] = opening.maternityBalance();
+        }
+
+        private void addSnapshot(LeaveBalanceSnapshot snapshot) {
+            int type = TRACKED.indexOf(snapshot.getId().getLeaveType());
+            if (type >= 0) {
+                balance[type] += snapshot.getNetDays();
+                reserved[type] += snapshot.getReservedDays();
+                snapshotEntryId[type] = snapshot.getLastEntryId();
+            }
+        }
+
+        private void addTail(LeaveLedgerEntry entry) {
+            int type = TRACKED.indexOf(entry.getLeaveType());
+            if (type >= 0) {
+                add(type, entry.getEntryType(), entry.getDays());
+                counted.add(entry.getId());
+            }
+        }
+
+        private synchronized void apply(long entryId, LeaveTypeEnum leaveType, LeaveLedgerEntryTypeEnum entryType, int days) {
+            int type = TRACKED.indexOf(leaveType);
+            if (!loaded || type < 0) {
+                return;
+            }
+            if (entryId <= snapshotEntryId[type] || !counted.add(entryId)) {
+                return;
+            }
+            add(type, entryType, days);
+        }
+
+        // Entries up to the catch-up point are not read again
+        private synchronized void forgetUpTo(long entryId) {
+            counted.removeIf(id -> id <= entryId);
+        }
+
+        private void add(int type, LeaveLedgerEntryTypeEnum entryType, int days) {
+            switch (entryType) {
+                case ACCRUAL -> balance[type] += days;
+                case DEBIT -> balance[type] -= days;
+                case RESERVATION -> reserved[type] += days;
+                case RELEASE -> reserved[type] -= days;
+            }
+        }
+
+        private synchronized Balance balance() {
+            List<Integer> balances = new ArrayList<>(TRACKED.size());
+            List<Integer> reservations = new ArrayList<>(TRACKED.size());
+            for (int i = 0; i < TRACKED.size(); i++) {
+                balances.add(balance[i]);
+                reservations.add(reserved[i]);
+            }
+            return new Balance(employeeId, List.copyOf(balances), List.copyOf(reservations));
+        }
+    }
+
+    /**
+     * Committed balance and reserved days per tracked leave type, indexed like {@link #TRACKED}.
+     */
+    record Balance(UUID employeeId, List<Integer> balances, List<Integer> reservations) {
+
+        int balance(LeaveTypeEnum leaveType) {
+            return balances.get(TRACKED.indexOf(leaveType));
+        }
+
+        int reserved(LeaveTypeEnum leaveType) {
+            return reservations.get(TRACKED.indexOf(leaveType));
+        }
+
+        // What new requests can still take
+        int available(LeaveTypeEnum leaveType) {
+            return balance(leaveType) - reserved(leaveType);
+        }
+    }
+}
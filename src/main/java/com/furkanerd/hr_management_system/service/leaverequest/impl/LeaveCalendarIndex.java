@@ -0,0 +1,245 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.LeaveRequestChangedEvent;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveCalendarView;
+import com.furkanerd.hr_management_system.repository.LeaveCalendarRepository;
+import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pending and approved leave per department, as one interval tree each, so "who is off
+ * between these dates" visits only the requests that overlap instead of every request
+ * of the department. A tree is a sorted array whose implicit binary tree carries the
+ * latest end date below every node; it is rebuilt in memory on the first query after
+ * its department changed, so a burst of decisions costs one sort.
+ * <p>
+ * Holds requests ending at most {@code leave.calendar.history-days} before startup and
+ * follows {@link LeaveRequestChangedEvent} after commit. Queries reaching further back
+ * go to the database.
+ */
+@Slf4j
+@Component
+class LeaveCalendarIndex {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveCalendarRepository calendarRepository;
+    private final EmployeeDirectory employeeDirectory;
+    private final int historyDays;
+
+    // Guarded by this
+    private final Map<UUID, LeaveCalendarView> leaves = new HashMap<>();
+    private final Map<UUID, Department> departments = new HashMap<>();
+    private LocalDate horizon;
+
+    LeaveCalendarIndex(LeaveRequestRepository leaveRequestRepository,
+                       LeaveCalendarRepository calendarRepository,
+                       EmployeeDirectory employeeDirectory,
+                       @Value("${leave.calendar.history-days:400}") int historyDays) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.calendarRepository = calendarRepository;
+        this.employeeDirectory = employeeDirectory;
+        this.historyDays = historyDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    synchronized void loadAll() {
+        if (horizon != null) {
+            return;
+        }
+        LocalDate from = LocalDate.now().minusDays(historyDays);
+        for (LeaveCalendarView leave : leaveRequestRepository.findCalendarViewsEndingFrom(from)) {
+            add(leave);
+        }
+        horizon = from;
+        log.info("Loaded {} leave requests of {} departments into the leave calendar", leaves.size(), departments.size());
+    }
+
+    /**
+     * Pending and approved leave of the department sharing at least one day with
+     * {@code [from, to]}, ordered by start date.
+     */
+    List<LeaveCalendarView> overlapping(UUID departmentId, LocalDate from, LocalDate to) {
+        Tree tree;
+        synchronized (this) {
+            loadAll();
+            if (from.isBefore(horizon)) {
+                tree = null;
+            } else {
+                Department department = departments.get(departmentId);
+                tree = department != null ? department.tree() : Tree.EMPTY;
+            }
+        }
+        if (tree == null) {
+            List<LeaveCalendarView> found = new ArrayList<>(calendarRepository.findOverlapping(departmentId, from, to));
+            found.sort(Tree.BY_START);
+            return found;
+        }
+        return tree.overlapping(from.toEpochDay(), to.toEpochDay());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        apply(event);
+    }
+
+    synchronized void apply(LeaveRequestChangedEvent event) {
+        if (horizon == null) {
+            // The full load reads the committed state, which already includes this change
+            return;
+        }
+        remove(event.leaveRequestId());
+        if (event.status() == LeaveStatusEnum.PENDING || event.status() == LeaveStatusEnum.APPROVED) {
+            UUID departmentId = employeeDirectory.findById(event.employeeId())
+                    .map(EmployeeDirectory.Entry::departmentId)
+                    .orElse(null);
+            add(new LeaveCalendarView(event.leaveRequestId(), event.employeeId(), departmentId, event.leaveType(),
+                    event.status(), event.startDate(), event.endDate()));
+        }
+    }
+
+    // The employee may have changed departments; files their requests under the committed one
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event) {
+        moveEmployee(event.employeeId());
+    }
+
+    synchronized void moveEmployee(UUID employeeId) {
+        if (horizon == null) {
+            return;
+        }
+        List<UUID> current = leaves.values().stream()
+                .filter(leave -> leave.employeeId().equals(employeeId))
+                .map(LeaveCalendarView::leaveRequestId)
+                .toList();
+        current.forEach(this::remove);
+        for (LeaveCalendarView leave : leaveRequestRepository.findCalendarViewsByEmployeeIdEndingFrom(employeeId, horizon)) {
+            add(leave);
+        }
+    }
+
+    private void add(LeaveCalendarView leave) {
+        if (leave.departmentId() == null) {
+            // Not on any department's calendar
+            return;
+        }
+        leaves.put(leave.leaveRequestId(), leave);
+        departments.computeIfAbsent(leave.departmentId(), id -> new Department()).put(leave);
+    }
+
+    private void remove(UUID leaveRequestId) {
+        LeaveCalendarView removed = leaves.remove(leaveRequestId);
+        if (removed == null) {
+            return;
+        }
+        Department department = departments.get(removed.departmentId());
+        if (department.remove(leaveRequestId)) {
+            departments.remove(removed.departmentId());
+        }
+    }
+
+    private static final class Department {
+
+        private final Map<UUID, LeaveCalendarView> leaves = new HashMap<>();
+        private Tree tree;
+
+        private void put(LeaveCalendarView leave) {
+            leaves.put(leave.leaveRequestId(), leave);
+            tree = null;
+        }
+
+        // True when the department has no leave left
+        private boolean remove(UUID leaveRequestId) {
+            leaves.remove(leaveRequestId);
+            tree = null;
+            return leaves.isEmpty();
+        }
+
+        private Tree tree() {
+            if (tree == null) {
+                tree = Tree.of(leaves.values());
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * Leaves sorted by start day. The subtree rooted at index {@code mid} of the range
+     * {@code [lo, hi)} covers that whole range, with {@code (lo + hi) / 2} as root and the
+     * two halves as children; {@code maxEnd[mid]} is the latest end day within it.
+     * Immutable once built, so queries walk it outside the lock.
+     */
+    private record Tree(LeaveCalendarView[] leaves, long[] start, long[] end, long[] maxEnd) {
+
+        private static final Comparator<LeaveCalendarView> BY_START = Comparator.comparing(LeaveCalendarView::startDate)
+                .thenComparing(LeaveCalendarView::lastDay);
+        private static final Tree EMPTY = of(List.of());
+
+        private static Tree of(Collection<LeaveCalendarView> all) {
+            LeaveCalendarView[] leaves = all.toArray(new LeaveCalendarView[0]);
+            Arrays.sort(leaves, BY_START);
+            long[] start = new long[leaves.length];
+            long[] end = new long[leaves.length];
+            for (int i = 0; i < leaves.length; i++) {
+                start[i] = leaves[i].startDate().toEpochDay();
+                end[i] = leaves[i].lastDay().toEpochDay();
+            }
+            Tree tree = new Tree(leaves, start, end, new long[leaves.length]);
+            tree.computeMaxEnd(0, leaves.length);
+            return tree;
+        }
+
+        private long computeMaxEnd(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            maxEnd[mid] = Math.max(end[mid], Math.max(computeMaxEnd(lo, mid), computeMaxEnd(mid + 1, hi)));
+            return maxEnd[mid];
+        }
+
+        private List<LeaveCalendarView> overlapping(long from, long to) {
+            List<LeaveCalendarView> found = new ArrayList<>();
+            collect(0, leaves.length, from, to, found);
+            return found;
+        }
+
+        // In-order walk, so results come out sorted by start
+        private void collect(int lo, int hi, long from, long to, List<LeaveCalendarView> found) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < from) {
+                // Everything below ends before the window opens
+                return;
+            }
+            collect(lo, mid, from, to, found);
+            if (start[mid] > to) {
+                // So does everything to the right, which starts even later
+                return;
+            }
+            if (end[mid] >= from) {
+                found.add(leaves[mid]);
+            }
+            collect(mid + 1, hi, from, to, found);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.event.LeaveLedgerChangedEvent;
+import com.furkanerd.hr_management_system.model.entity.LeaveLedgerEntry;
+import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveReservedDaysView;
+import com.furkanerd.hr_management_system.repository.LeaveBalanceGuardRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerBatchRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerBatchRepository.InsertedEntry;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerBatchRepository.NewEntry;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes leave balance changes as ledger entries. Days leave a balance in two steps: a
+ * RESERVATION when the request is submitted, so pending requests cannot promise the same
+ * days twice, and a RELEASE plus DEBIT when it is approved. Each step only inserts rows,
+ * so nothing waits on a shared row. What keeps concurrent requests from overdrawing the
+ * balance is {@link LeaveBalanceGuardRepository}: a writer that takes days out locks the
+ * balance and checks it against the database before inserting, which holds across
+ * instances. {@link LeaveBalanceBook} only serves reads.
+ * <p>
+ * Must be called inside the transaction that changes the leave request.
+ */
+@Component
+class LeaveLedger {
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveLedgerBatchRepository batchRepository;
+    private final LeaveBalanceGuardRepository guardRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    LeaveLedger(LeaveLedgerRepository ledgerRepository, LeaveLedgerBatchRepository batchRepository, LeaveBalanceGuardRepository guardRepository, ApplicationEventPublisher eventPublisher) {
+        this.ledgerRepository = ledgerRepository;
+        this.batchRepository = batchRepository;
+        this.guardRepository = guardRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Reserves the request's days. Days this transaction has just released, e.g. by an
+     * edit, count as available, as the check reads within the transaction.
+     *
+     * @return false when the available balance does not cover the request
+     */
+    boolean reserve(LeaveRequest leaveRequest) {
+        if (!isTracked(leaveRequest.getLeaveType())) {
+            return true;
+        }
+        UUID employeeId = leaveRequest.getEmployee().getId();
+        int days = daysOf(leaveRequest);
+        if (lockAndReadAvailable(employeeId, leaveRequest.getLeaveType()) < days) {
+            return false;
+        }
+        write(employeeId, leaveRequest.getLeaveType(), LeaveLedgerEntryTypeEnum.RESERVATION, days, leaveRequest.getId());
+        return true;
+    }
+
+    /**
+     * Days of {@code leaveType} new requests of the employee can still take, as this
+     * transaction sees them.
+     */
+    int availableDays(UUID employeeId, LeaveTypeEnum leaveType) {
+        return guardRepository.findAvailableDays(employeeId, leaveType);
+    }
+
+    /**
+     * Gives back whatever is still reserved for the request.
+     *
+     * @return the days released
+     */
+    int release(LeaveRequest leaveRequest) {
+        if (!isTracked(leaveRequest.getLeaveType())) {
+            return 0;
+        }
+        int reserved = ledgerRepository.sumReservedDaysByLeaveRequestId(leaveRequest.getId());
+        if (reserved > 0) {
+            write(leaveRequest.getEmployee().getId(), leaveRequest.getLeaveType(), LeaveLedgerEntryTypeEnum.RELEASE, reserved, leaveRequest.getId());
+        }
+        return reserved;
+    }
+
+    /**
+     * Turns the request's reservation into a debit. Requests submitted before reservations
+     * existed have none and are checked against the available balance instead.
+     *
+     * @return false when the request was not reserved and the balance no longer covers it;
+     * whatever was reserved is released either way
+     */
+    boolean debit(LeaveRequest leaveRequest) {
+        if (!isTracked(leaveRequest.getLeaveType())) {
+            return true;
+        }
+        UUID employeeId = leaveRequest.getEmployee().getId();
+        int days = daysOf(leaveRequest);
+        int reserved = release(leaveRequest);
+        // The release above already counts towards what is available
+        if (reserved < days && lockAndReadAvailable(employeeId, leaveRequest.getLeaveType()) < days) {
+            return false;
+        }
+        write(employeeId, leaveRequest.getLeaveType(), LeaveLedgerEntryTypeEnum.DEBIT, days, leaveRequest.getId());
+        return true;
+    }
+
+    /**
+     * Settles many processed requests with one read of their reservations and one insert:
+     * approved requests are debited as by {@link #debit}, rejected ones released.
+     *
+     * @return ids of approved requests that were not reserved and no longer fit the
+     * balance; their reservations, if any, are released like a rejection's
+     */
+    Set<UUID> settle(List<LeaveRequest> approved, List<LeaveRequest> rejected) {
+        List<UUID> ids = new ArrayList<>(approved.size() + rejected.size());
+        for (LeaveRequest leaveRequest : approved) {
+            ids.add(leaveRequest.getId());
+        }
+        for (LeaveRequest leaveRequest : rejected) {
+            ids.add(leaveRequest.getId());
+        }
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Map<UUID, Long> reserved = new HashMap<>();
+        for (LeaveReservedDaysView view : ledgerRepository.sumReservedDaysByLeaveRequestIdIn(ids)) {
+            reserved.put(view.leaveRequestId(), view.reservedDays());
+        }
+
+        // Balances some approval has to be checked against, locked up front in one order so two batches cannot deadlock
+        Map<BalanceKey, Integer> available = new TreeMap<>();
+        for (LeaveRequest leaveRequest : approved) {
+            if (isTracked(leaveRequest.getLeaveType()) && reserved.getOrDefault(leaveRequest.getId(), 0L) < daysOf(leaveRequest)) {
+                available.put(new BalanceKey(leaveRequest.getEmployee().getId(), leaveRequest.getLeaveType()), 0);
+            }
+        }
+        available.replaceAll((key, days) -> lockAndReadAvailable(key.employeeId(), key.leaveType()));
+
+        // Entries of this batch are inserted together at the end, so the checks add them up as they go
+        List<NewEntry> entries = new ArrayList<>();
+        Set<UUID> notDebited = new HashSet<>();
+        for (LeaveRequest leaveRequest : rejected) {
+            addRelease(entries, leaveRequest, reserved, available);
+        }
+        for (LeaveRequest leaveRequest : approved) {
+            if (!isTracked(leaveRequest.getLeaveType())) {
+                continue;
+            }
+            int released = addRelease(entries, leaveRequest, reserved, available);
+            BalanceKey key = new BalanceKey(leaveRequest.getEmployee().getId(), leaveRequest.getLeaveType());
+            int days = daysOf(leaveRequest);
+            if (released < days && available.get(key) < days) {
+                notDebited.add(leaveRequest.getId());
+                continue;
+            }
+            available.computeIfPresent(key, (k, left) -> left - days);
+            entries.add(new NewEntry(key.employeeId(), key.leaveType(), LeaveLedgerEntryTypeEnum.DEBIT, days, leaveRequest.getId()));
+        }
+
+        for (InsertedEntry entry : batchRepository.insertAll(entries)) {
+            eventPublisher.publishEvent(new LeaveLedgerChangedEvent(entry.id(), entry.employeeId(), entry.leaveType(), entry.entryType(), entry.days()));
+        }
+        return notDebited;
+    }
+
+    void accrue(UUID employeeId, LeaveTypeEnum leaveType, int days) {
+        write(employeeId, leaveType, LeaveLedgerEntryTypeEnum.ACCRUAL, days, null);
+    }
+
+    static boolean isTracked(LeaveTypeEnum leaveType) {
+        return LeaveBalanceBook.TRACKED.contains(leaveType);
+    }
+
+    static int daysOf(LeaveRequest leaveRequest) {
+        if (leaveRequest.getEndDate() == null) {
+            return 1;
+        }
+        return (int) ChronoUnit.DAYS.between(leaveRequest.getStartDate(), leaveRequest.getEndDate()) + 1;
+    }
+
+    private static int addRelease(List<NewEntry> entries, LeaveRequest leaveRequest, Map<UUID, Long> reserved, Map<BalanceKey, Integer> available) {
+        int days = reserved.getOrDefault(leaveRequest.getId(), 0L).intValue();
+        if (days > 0 && isTracked(leaveRequest.getLeaveType())) {
+            UUID employeeId = leaveRequest.getEmployee().getId();
+            entries.add(new NewEntry(employeeId, leaveRequest.getLeaveType(), LeaveLedgerEntryTypeEnum.RELEASE, days, leaveRequest.getId()));
+            available.computeIfPresent(new BalanceKey(employeeId, leaveRequest.getLeaveType()), (key, left) -> left + days);
+            return days;
+        }
+        return 0;
+    }
+
+    private int lockAndReadAvailable(UUID employeeId, LeaveTypeEnum leaveType) {
+        guardRepository.lock(employeeId, leaveType);
+        return guardRepository.findAvailableDays(employeeId, leaveType);
+    }
+
+    private void write(UUID employeeId, LeaveTypeEnum leaveType, LeaveLedgerEntryTypeEnum entryType, int days, UUID leaveRequestId) {
+        LeaveLedgerEntry entry = ledgerRepository.save(LeaveLedgerEntry.builder()
+                .employeeId(employeeId)
+                .leaveType(leaveType)
+                .entryType(entryType)
+                .days(days)
+                .leaveRequestId(leaveRequestId)
+                .build());
+        eventPublisher.publishEvent(new LeaveLedgerChangedEvent(entry.getId(), employeeId, leaveType, entryType, days));
+    }
+
+    private record BalanceKey(UUID employeeId, LeaveTypeEnum leaveType) implements Comparable<BalanceKey> {
+
+        private static final Comparator<BalanceKey> ORDER = Comparator.comparing(BalanceKey::employeeId).thenComparing(BalanceKey::leaveType);
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.repository.LeaveLedgerCompactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically folds the leave ledger into balance snapshots, so loading a balance never
+ * sums more than the entries written since the last run.
+ */
+@Slf4j
+@Component
+class LeaveLedgerCompactor {
+
+    private final LeaveLedgerCompactionRepository compactionRepository;
+    private final long lagMillis;
+
+    LeaveLedgerCompactor(LeaveLedgerCompactionRepository compactionRepository,
+                         @Value("${leave.ledger.compaction-lag-ms:60000}") long lagMillis) {
+        this.compactionRepository = compactionRepository;
+        this.lagMillis = lagMillis;
+    }
+
+    @Scheduled(cron = "${leave.ledger.compaction-cron:0 0 * * * *}")
+    void compact() {
+        try {
+            int rows = compactionRepository.compact(lagMillis);
+            if (rows < 0) {
+                log.debug("Leave ledger compaction already running elsewhere, skipping");
+            } else {
+                log.info("Compacted leave ledger into {} balance snapshots", rows);
+            }
+        } catch (RuntimeException e) {
+            // Nothing is lost; the next run folds the same entries
+            log.error("Leave ledger compaction failed", e);
+        }
+    }
+}
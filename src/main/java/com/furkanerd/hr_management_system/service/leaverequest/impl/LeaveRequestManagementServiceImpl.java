@@ -1,48 +1,74 @@
 package com.furkanerd.hr_management_system.service.leaverequest.impl;
 
+import com.furkanerd.hr_management_system.event.LeaveRequestChangedEvent;
+import com.furkanerd.hr_management_system.exception.base.HrManagementException;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.mapper.LeaveRequestMapper;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveAccrualRequest;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveDecisionItemRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestEditRequest;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveBatchDecisionResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveDecisionResultResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.enums.LeaveDecisionEnum;
 import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
 import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
 import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
 import com.furkanerd.hr_management_system.service.leaverequest.LeaveRequestManagementService;
+import com.furkanerd.hr_management_system.service.notification.NotificationMessage;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService {
 
+    // SQLSTATE of an exclusion constraint violation in Postgres
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveRequestMapper leaveRequestMapper;
     private final EmployeeRepository employeeRepository;
     private final NotificationService notificationService;
+    private final LeaveLedger leaveLedger;
+    private final ApplicationEventPublisher eventPublisher;
 
-    LeaveRequestManagementServiceImpl(LeaveRequestRepository leaveRequestRepository, LeaveRequestMapper leaveRequestMapper, EmployeeRepository employeeRepository, NotificationService notificationService) {
+    LeaveRequestManagementServiceImpl(LeaveRequestRepository leaveRequestRepository, LeaveRequestMapper leaveRequestMapper, EmployeeRepository employeeRepository, NotificationService notificationService, LeaveLedger leaveLedger, ApplicationEventPublisher eventPublisher) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.leaveRequestMapper = leaveRequestMapper;
         this.employeeRepository = employeeRepository;
         this.notificationService = notificationService;
+        this.leaveLedger = leaveLedger;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public LeaveRequestDetailResponse createLeaveRequest(LeaveRequestCreateRequest createRequest, String requesterEmail) {
         Employee requester = getEmployeeByEmail(requesterEmail);
-        validateLeaveBalance(createRequest, requester);
 
-        LeaveRequest leaveRequest = buildLeaveRequest(createRequest, requester);
-        LeaveRequestDetailResponse response = saveAndMap(leaveRequest);
+        LeaveRequest leaveRequest = saveWithoutOverlap(buildLeaveRequest(createRequest, requester));
+        reserveLeaveBalance(leaveRequest);
+        publishChanged(leaveRequest, LeaveStatusEnum.PENDING);
+        LeaveRequestDetailResponse response = leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(leaveRequest);
 
         notificationService.notify(requester,
                 "Leave Request Submitted",
@@ -55,26 +81,51 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
     public LeaveRequestDetailResponse editLeaveRequest(UUID leaveRequestId, LeaveRequestEditRequest editRequest, String requesterEmail) {
         LeaveRequest leaveRequest = getPendingLeaveRequestForEmployee(leaveRequestId, requesterEmail);
 
+        // Released days of the same balance count towards the edited request, as the check reads within this transaction
+        leaveLedger.release(leaveRequest);
+
         leaveRequest.setLeaveType(editRequest.leaveType());
         leaveRequest.setStartDate(editRequest.startDate());
         leaveRequest.setEndDate(editRequest.endDate());
         leaveRequest.setReason(editRequest.reason());
+        saveWithoutOverlap(leaveRequest);
 
-        return saveAndMap(leaveRequest);
+        reserveLeaveBalance(leaveRequest);
+        publishChanged(leaveRequest, LeaveStatusEnum.PENDING);
+        return leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(leaveRequest);
     }
 
+    /**
+     * The status change is a conditional update, so of several concurrent approvals of one
+     * request only the first gets to debit it; the debit itself only appends ledger entries,
+     * so approvals of different requests never lock the employee row.
+     */
     @Override
     public LeaveRequestDetailResponse approveLeaveRequest(UUID leaveRequestId, String approverEmail) {
-        LeaveRequest leaveRequest = getPendingLeaveRequest(leaveRequestId);
+        getPendingLeaveRequest(leaveRequestId);
         Employee approver = getEmployeeByEmail(approverEmail);
 
-        processApproval(leaveRequest, approver);
-        LeaveRequestDetailResponse response = saveAndMap(leaveRequest);
-
-        notificationService.notify(leaveRequest.getEmployee(),
-                "Leave Request Approved",
-                "Your leave request from " + leaveRequest.getStartDate() + " to " + leaveRequest.getEndDate() + " has been approved by " + approver.getFirstName() + " " + approver.getLastName() + ".",
-                NotificationTypeEnum.LEAVE);
+        LeaveRequest processed = completePendingLeaveRequest(leaveRequestId, LeaveStatusEnum.APPROVED, approver);
+        LeaveStatusEnum outcome = LeaveStatusEnum.APPROVED;
+        if (!leaveLedger.debit(processed)) {
+            // Only requests submitted without a reservation can end up here
+            outcome = LeaveStatusEnum.REJECTED;
+            processed.setStatus(outcome);
+        }
+        publishChanged(processed, outcome);
+        LeaveRequestDetailResponse response = leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(processed);
+
+        if (outcome == LeaveStatusEnum.APPROVED) {
+            notificationService.notify(processed.getEmployee(),
+                    "Leave Request Approved",
+                    "Your leave request from " + processed.getStartDate() + " to " + processed.getEndDate() + " has been approved by " + approver.getFirstName() + " " + approver.getLastName() + ".",
+                    NotificationTypeEnum.LEAVE);
+        } else {
+            notificationService.notify(processed.getEmployee(),
+                    "Leave Request Rejected",
+                    "Your leave request from " + processed.getStartDate() + " to " + processed.getEndDate() + " has been rejected because your " + processed.getLeaveType() + " balance is insufficient.",
+                    NotificationTypeEnum.LEAVE);
+        }
 
         return response;
     }
@@ -84,20 +135,106 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
         LeaveRequest leaveRequest = getPendingLeaveRequest(leaveRequestId);
         Employee approver = getEmployeeByEmail(approverEmail);
 
-        leaveRequest.setStatus(LeaveStatusEnum.REJECTED);
-        leaveRequest.setApprover(approver);
-        leaveRequest.setApprovedAt(LocalDateTime.now());
+        leaveLedger.release(leaveRequest);
 
-        LeaveRequestDetailResponse response = saveAndMap(leaveRequest);
+        LeaveRequest processed = completePendingLeaveRequest(leaveRequestId, LeaveStatusEnum.REJECTED, approver);
+        publishChanged(processed, LeaveStatusEnum.REJECTED);
+        LeaveRequestDetailResponse response = leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(processed);
 
-        notificationService.notify(leaveRequest.getEmployee(),
+        notificationService.notify(processed.getEmployee(),
                 "Leave Request Rejected",
-                "Your leave request from " + leaveRequest.getStartDate() + " to " + leaveRequest.getEndDate() + " has been rejected by " + approver.getFirstName() + " " + approver.getLastName() + ".",
+                "Your leave request from " + processed.getStartDate() + " to " + processed.getEndDate() + " has been rejected by " + approver.getFirstName() + " " + approver.getLastName() + ".",
                 NotificationTypeEnum.LEAVE);
 
         return response;
     }
 
+    /**
+     * Decides many requests with a fixed number of statements: one load of the requests
+     * and their employees, one conditional status update per kind of decision, one ledger
+     * insert and one notification insert, with mails sent after commit. A decision that
+     * cannot apply is reported in its result and does not stop the others.
+     */
+    @Override
+    public LeaveBatchDecisionResponse decideLeaveRequests(List<LeaveDecisionItemRequest> decisions, String approverEmail) {
+        Employee approver = getEmployeeByEmail(approverEmail);
+        // Stored with microsecond precision, and compared again in claimPending
+        LocalDateTime processedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        Set<UUID> ids = new HashSet<>();
+        for (LeaveDecisionItemRequest item : decisions) {
+            ids.add(item.leaveRequestId());
+        }
+        Map<UUID, LeaveRequest> leaveRequests = new HashMap<>();
+        for (LeaveRequest leaveRequest : leaveRequestRepository.findAllWithEmployeeByIdIn(ids)) {
+            leaveRequests.put(leaveRequest.getId(), leaveRequest);
+        }
+
+        LeaveDecisionResultResponse[] results = new LeaveDecisionResultResponse[decisions.size()];
+        Map<LeaveDecisionEnum, List<LeaveRequest>> pending = new EnumMap<>(LeaveDecisionEnum.class);
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            LeaveDecisionItemRequest item = decisions.get(i);
+            LeaveRequest leaveRequest = leaveRequests.get(item.leaveRequestId());
+            if (!seen.add(item.leaveRequestId())) {
+                results[i] = failed(item, "DUPLICATE_DECISION", "Leave request " + item.leaveRequestId() + " appears more than once in the batch");
+            } else if (leaveRequest == null) {
+                results[i] = failed(item, new LeaveRequestNotFoundException(item.leaveRequestId()));
+            } else if (leaveRequest.getStatus() != LeaveStatusEnum.PENDING) {
+                results[i] = failed(item, new LeaveRequestAlreadyProcessedException(item.leaveRequestId(), leaveRequest.getStatus()));
+            } else {
+                pending.computeIfAbsent(item.decision(), decision -> new ArrayList<>()).add(leaveRequest);
+            }
+        }
+
+        List<LeaveRequest> approved = claimPending(pending.get(LeaveDecisionEnum.APPROVE), LeaveStatusEnum.APPROVED, approver, processedAt);
+        List<LeaveRequest> rejected = claimPending(pending.get(LeaveDecisionEnum.REJECT), LeaveStatusEnum.REJECTED, approver, processedAt);
+        Set<UUID> notDebited = leaveLedger.settle(approved, rejected);
+        if (!notDebited.isEmpty()) {
+            leaveRequestRepository.updateStatus(notDebited, LeaveStatusEnum.REJECTED);
+        }
+
+        // The loaded entities still read PENDING; the updates above bypassed them
+        Map<UUID, LeaveStatusEnum> outcomes = new HashMap<>();
+        List<NotificationMessage> notifications = new ArrayList<>(approved.size() + rejected.size());
+        for (LeaveRequest leaveRequest : approved) {
+            boolean debited = !notDebited.contains(leaveRequest.getId());
+            outcomes.put(leaveRequest.getId(), debited ? LeaveStatusEnum.APPROVED : LeaveStatusEnum.REJECTED);
+            publishChanged(leaveRequest, outcomes.get(leaveRequest.getId()));
+            notifications.add(debited
+                    ? decisionNotification(leaveRequest, "Leave Request Approved", "has been approved by " + approver.getFirstName() + " " + approver.getLastName() + ".")
+                    : decisionNotification(leaveRequest, "Leave Request Rejected", "has been rejected because your " + leaveRequest.getLeaveType() + " balance is insufficient."));
+        }
+        for (LeaveRequest leaveRequest : rejected) {
+            outcomes.put(leaveRequest.getId(), LeaveStatusEnum.REJECTED);
+            publishChanged(leaveRequest, LeaveStatusEnum.REJECTED);
+            notifications.add(decisionNotification(leaveRequest, "Leave Request Rejected", "has been rejected by " + approver.getFirstName() + " " + approver.getLastName() + "."));
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.notifyAll(notifications);
+        }
+
+        int processed = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            LeaveDecisionItemRequest item = decisions.get(i);
+            LeaveStatusEnum outcome = outcomes.get(item.leaveRequestId());
+            if (outcome == null) {
+                results[i] = failed(item, "LEAVE_REQUEST_ALREADY_PROCESSED", "LeaveRequest with ID " + item.leaveRequestId() + " was processed by someone else meanwhile");
+            } else {
+                results[i] = new LeaveDecisionResultResponse(item.leaveRequestId(), item.decision(), outcome, null, null);
+                processed++;
+            }
+        }
+        return LeaveBatchDecisionResponse.builder()
+                .processed(processed)
+                .failed(results.length - processed)
+                .results(List.of(results))
+                .build();
+    }
+
     @Override
     public void cancelLeaveRequest(UUID leaveRequestId, String requesterEmail) {
         LeaveRequest leaveRequest = getLeaveRequestEntity(leaveRequestId);
@@ -110,7 +247,9 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
             throw new UnauthorizedActionException("Only pending leave requests can be cancelled");
         }
 
+        leaveLedger.release(leaveRequest);
         leaveRequestRepository.delete(leaveRequest);
+        publishChanged(leaveRequest, null);
 
         notificationService.notify(leaveRequest.getEmployee(),
                 "Leave Request Cancelled",
@@ -118,6 +257,17 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
                 NotificationTypeEnum.LEAVE);
     }
 
+    @Override
+    public void accrueLeave(UUID employeeId, LeaveAccrualRequest accrualRequest) {
+        if (!LeaveLedger.isTracked(accrualRequest.leaveType())) {
+            throw new InvalidLeaveAccrualException(accrualRequest.leaveType() + " leave has no balance to accrue to");
+        }
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new EmployeeNotFoundException(employeeId);
+        }
+        leaveLedger.accrue(employeeId, accrualRequest.leaveType(), accrualRequest.days());
+    }
+
 
     private Employee getEmployeeByEmail(String email) {
         return employeeRepository.findByEmail(email)
@@ -145,20 +295,11 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
         return lr;
     }
 
-    private void validateLeaveBalance(LeaveRequestCreateRequest request, Employee employee) {
-        int totalDays = (int) ChronoUnit.DAYS.between(request.startDate(), request.endDate()) + 1;
-
-        switch (request.leaveType()) {
-            case VACATION -> {
-                if (employee.getVacationBalance() < totalDays) {
-                    throw new InsufficientLeaveBalanceException(request.leaveType().toString(), employee.getVacationBalance(), totalDays);
-                }
-            }
-            case MATERNITY -> {
-                if (employee.getMaternityBalance() < totalDays) {
-                    throw new InsufficientLeaveBalanceException(request.leaveType().toString(), employee.getVacationBalance(), totalDays);
-                }
-            }
+    private void reserveLeaveBalance(LeaveRequest leaveRequest) {
+        if (!leaveLedger.reserve(leaveRequest)) {
+            // Throwing rolls back the request and anything released for it
+            int available = leaveLedger.availableDays(leaveRequest.getEmployee().getId(), leaveRequest.getLeaveType());
+            throw new InsufficientLeaveBalanceException(leaveRequest.getLeaveType().toString(), available, LeaveLedger.daysOf(leaveRequest));
         }
     }
 
@@ -173,36 +314,68 @@ class LeaveRequestManagementServiceImpl implements LeaveRequestManagementService
                 .build();
     }
 
-    private void processApproval(LeaveRequest leaveRequest, Employee approver) {
-        Employee employee = leaveRequest.getEmployee();
-        int totalDays = leaveRequest.getTotalDays();
-
-        switch (leaveRequest.getLeaveType()) {
-            case VACATION -> {
-                if (employee.getVacationBalance() < totalDays) {
-                    leaveRequest.setStatus(LeaveStatusEnum.REJECTED);
-                } else {
-                    leaveRequest.setStatus(LeaveStatusEnum.APPROVED);
-                    employee.setVacationBalance(employee.getVacationBalance() - totalDays);
-                }
-            }
-            case MATERNITY -> {
-                if (employee.getMaternityBalance() < totalDays) {
-                    leaveRequest.setStatus(LeaveStatusEnum.REJECTED);
-                } else {
-                    leaveRequest.setStatus(LeaveStatusEnum.APPROVED);
-                    employee.setMaternityBalance(employee.getMaternityBalance() - totalDays);
-                }
+    private LeaveRequest completePendingLeaveRequest(UUID leaveRequestId, LeaveStatusEnum status, Employee approver) {
+        if (leaveRequestRepository.completePending(leaveRequestId, status, approver, LocalDateTime.now()) == 0) {
+            // Processed by someone else since it was read; throwing also rolls back the ledger entries
+            throw new LeaveRequestAlreadyProcessedException(leaveRequestId, getLeaveRequestEntity(leaveRequestId).getStatus());
+        }
+        // The update cleared the persistence context, so this reads the row as written
+        return getLeaveRequestEntity(leaveRequestId);
+    }
+
+    /**
+     * Moves the still pending {@code candidates} to {@code status} in one statement.
+     *
+     * @return the candidates this call moved; others were processed concurrently
+     */
+    private List<LeaveRequest> claimPending(List<LeaveRequest> candidates, LeaveStatusEnum status, Employee approver, LocalDateTime processedAt) {
+        if (candidates == null) {
+            return List.of();
+        }
+        List<UUID> ids = candidates.stream().map(LeaveRequest::getId).toList();
+        if (leaveRequestRepository.completeAllPending(ids, status, approver, processedAt) == ids.size()) {
+            return candidates;
+        }
+        // Rare: tell ours apart by approver and timestamp rather than lock every request up front
+        Set<UUID> claimed = new HashSet<>(leaveRequestRepository.findIdsCompletedBy(ids, approver, processedAt));
+        return candidates.stream().filter(leaveRequest -> claimed.contains(leaveRequest.getId())).toList();
+    }
+
+    /**
+     * Writes the request right away, so the exclusion constraint on (employee_id, period)
+     * checks it against the employee's other pending and approved requests with one probe
+     * of its GiST index. Concurrent submissions of the same employee wait on each other
+     * there and the later one fails; other employees' writes are not held up.
+     */
+    private LeaveRequest saveWithoutOverlap(LeaveRequest leaveRequest) {
+        try {
+            return leaveRequestRepository.saveAndFlush(leaveRequest);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation && EXCLUSION_VIOLATION.equals(violation.getSQLState())) {
+                throw new LeaveRequestOverlapException(leaveRequest.getStartDate(), leaveRequest.getEndDate());
             }
-            case SICK, UNPAID -> leaveRequest.setStatus(LeaveStatusEnum.APPROVED);
+            throw e;
         }
+    }
+
+    // status is the outcome rather than the entity's, which conditional updates leave stale; null once deleted
+    private void publishChanged(LeaveRequest leaveRequest, LeaveStatusEnum status) {
+        eventPublisher.publishEvent(new LeaveRequestChangedEvent(leaveRequest.getId(), leaveRequest.getEmployee().getId(),
+                leaveRequest.getLeaveType(), status, leaveRequest.getStartDate(), leaveRequest.getEndDate()));
+    }
+
+    private static NotificationMessage decisionNotification(LeaveRequest leaveRequest, String subject, String outcome) {
+        Employee employee = leaveRequest.getEmployee();
+        return new NotificationMessage(employee.getId(), employee.getEmail(), subject,
+                "Your leave request from " + leaveRequest.getStartDate() + " to " + leaveRequest.getEndDate() + " " + outcome,
+                NotificationTypeEnum.LEAVE);
+    }
 
-        leaveRequest.setApprover(approver);
-        leaveRequest.setApprovedAt(LocalDateTime.now());
-        employeeRepository.save(employee);
+    private static LeaveDecisionResultResponse failed(LeaveDecisionItemRequest item, HrManagementException exception) {
+        return failed(item, exception.getErrorCode(), exception.getMessage());
     }
 
-    private LeaveRequestDetailResponse saveAndMap(LeaveRequest leaveRequest) {
-        return leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(leaveRequestRepository.save(leaveRequest));
+    private static LeaveDecisionResultResponse failed(LeaveDecisionItemRequest item, String errorCode, String message) {
+        return new LeaveDecisionResultResponse(item.leaveRequestId(), item.decision(), null, errorCode, message);
     }
 }
@@ -2,27 +2,42 @@ package com.furkanerd.hr_management_system.service.leaverequest.impl;
 
 import com.furkanerd.hr_management_system.constants.SortFieldConstants;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.InvalidDateRangeException;
 import com.furkanerd.hr_management_system.exception.custom.LeaveRequestNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.UnauthorizedActionException;
 import com.furkanerd.hr_management_system.mapper.LeaveRequestMapper;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeLeaveBalanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveCalendarEntryResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveCalendarResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
-import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
-import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
 import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
 import com.furkanerd.hr_management_system.service.leaverequest.LeaveRequestQueryService;
 import com.furkanerd.hr_management_system.specification.LeaveRequestSpecification;
+import com.furkanerd.hr_management_system.specification.ListProjections;
+import com.furkanerd.hr_management_system.specification.ReportingSubtreeSpecification;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
 import com.furkanerd.hr_management_system.util.SortFieldValidator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,14 +45,23 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 class LeaveRequestQueryServiceImpl implements LeaveRequestQueryService {
 
+    // A year is the widest view the calendar offers
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final LeaveRequestRepository leaveRequestRepository;
-    private final EmployeeRepository employeeRepository;
     private final LeaveRequestMapper leaveRequestMapper;
+    private final PageWindowRepository pageWindowRepository;
+    private final EmployeeDirectory employeeDirectory;
+    private final LeaveBalanceBook leaveBalanceBook;
+    private final LeaveCalendarIndex leaveCalendarIndex;
 
-    public LeaveRequestQueryServiceImpl(LeaveRequestRepository leaveRequestRepository, EmployeeRepository employeeRepository, LeaveRequestMapper leaveRequestMapper) {
+    public LeaveRequestQueryServiceImpl(LeaveRequestRepository leaveRequestRepository, LeaveRequestMapper leaveRequestMapper, PageWindowRepository pageWindowRepository, EmployeeDirectory employeeDirectory, LeaveBalanceBook leaveBalanceBook, LeaveCalendarIndex leaveCalendarIndex) {
         this.leaveRequestRepository = leaveRequestRepository;
-        this.employeeRepository = employeeRepository;
         this.leaveRequestMapper = leaveRequestMapper;
+        this.pageWindowRepository = pageWindowRepository;
+        this.employeeDirectory = employeeDirectory;
+        this.leaveBalanceBook = leaveBalanceBook;
+        this.leaveCalendarIndex = leaveCalendarIndex;
     }
 
     @Override
@@ -47,11 +71,8 @@ class LeaveRequestQueryServiceImpl implements LeaveRequestQueryService {
 
         Specification<LeaveRequest> spec = LeaveRequestSpecification.withFilters(filterRequest);
 
-        Page<LeaveRequest> leaveRequestPage = (spec != null)
-                ? leaveRequestRepository.findAll(spec, pageable)
-                : leaveRequestRepository.findAll(pageable);
-
-        List<ListLeaveRequestResponse> responseList = leaveRequestMapper.leaveRequestsToListLeaveRequestResponse(leaveRequestPage.getContent());
+        Page<ListLeaveRequestResponse> leaveRequestPage = pageWindowRepository.findPage(ListProjections.LEAVE_REQUEST, spec, pageable);
+        List<ListLeaveRequestResponse> responseList = leaveRequestPage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -73,8 +94,8 @@ class LeaveRequestQueryServiceImpl implements LeaveRequestQueryService {
                 : (root, query, cb) -> cb.equal(root.get("employee").get("email"), email);
 
 
-        Page<LeaveRequest> leaveRequestPage = leaveRequestRepository.findAll(specification, pageable);
-        List<ListLeaveRequestResponse> responseList = leaveRequestMapper.leaveRequestsToListLeaveRequestResponse(leaveRequestPage.getContent());
+        Page<ListLeaveRequestResponse> leaveRequestPage = pageWindowRepository.findPage(ListProjections.LEAVE_REQUEST, specification, pageable);
+        List<ListLeaveRequestResponse> responseList = leaveRequestPage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -92,13 +113,99 @@ class LeaveRequestQueryServiceImpl implements LeaveRequestQueryService {
 
     @Override
     public EmployeeLeaveBalanceResponse getMyLeaveBalance(String email) {
-        Employee employee = employeeRepository.findByEmail(email).orElseThrow(() -> new EmployeeNotFoundException(email));
-        return leaveRequestMapper.toEmployeeLeaveBalanceResponse(employee);
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
+                .orElseThrow(() -> new EmployeeNotFoundException(email));
+        return getEmployeeLeaveBalance(employeeId);
     }
 
     @Override
     public EmployeeLeaveBalanceResponse getEmployeeLeaveBalance(UUID employeeId) {
-        Employee employee = employeeRepository.findById(employeeId).orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + employeeId));
-        return leaveRequestMapper.toEmployeeLeaveBalanceResponse(employee);
+        LeaveBalanceBook.Balance balance = leaveBalanceBook.get(employeeId)
+                .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
+        return EmployeeLeaveBalanceResponse.builder()
+                .employeeId(employeeId)
+                .vacationBalance(balance.balance(LeaveTypeEnum.VACATION))
+                .vacationReserved(balance.reserved(LeaveTypeEnum.VACATION))
+                .vacationAvailable(balance.available(LeaveTypeEnum.VACATION))
+                .maternityBalance(balance.balance(LeaveTypeEnum.MATERNITY))
+                .maternityReserved(balance.reserved(LeaveTypeEnum.MATERNITY))
+                .maternityAvailable(balance.available(LeaveTypeEnum.MATERNITY))
+                .build();
+    }
+
+    @Override
+    public PaginatedResponse<ListLeaveRequestResponse> getMyTeamLeaveRequests(String managerEmail, int page, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest) {
+        UUID managerId = employeeDirectory.findIdByEmail(managerEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(managerEmail));
+
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.LEAVE_REQUEST_SORT_FIELD, sortBy);
+        Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
+
+        Specification<LeaveRequest> baseSpec = LeaveRequestSpecification.withFilters(filterRequest);
+        Specification<LeaveRequest> teamSpec = ReportingSubtreeSpecification.leaveRequestsUnder(managerId);
+
+        Specification<LeaveRequest> specification = (baseSpec != null)
+                ? baseSpec.and(teamSpec)
+                : teamSpec;
+
+        Page<ListLeaveRequestResponse> leaveRequestPage = pageWindowRepository.findPage(ListProjections.LEAVE_REQUEST, specification, pageable);
+        List<ListLeaveRequestResponse> responseList = leaveRequestPage.getContent();
+
+        return PaginatedResponse.of(
+                responseList,
+                leaveRequestPage.getTotalElements(),
+                page,
+                size
+        );
+    }
+
+    @Override
+    public LeaveCalendarResponse getLeaveCalendar(String email, UUID departmentId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new InvalidDateRangeException("The calendar covers from 1 to " + MAX_CALENDAR_DAYS + " days, got " + from + " to " + to);
+        }
+        EmployeeDirectory.Entry caller = employeeDirectory.findByEmail(email)
+                .orElseThrow(() -> new EmployeeNotFoundException(email));
+        UUID calendarDepartmentId = departmentId != null ? departmentId : caller.departmentId();
+        if (calendarDepartmentId == null) {
+            throw new UnauthorizedActionException("You do not belong to a department; pass the department to show");
+        }
+        if (caller.role() == EmployeeRoleEnum.EMPLOYEE && !calendarDepartmentId.equals(caller.departmentId())) {
+            throw new UnauthorizedActionException("You can only view the leave calendar of your own department");
+        }
+
+        List<LeaveCalendarEntryResponse> leaves = leaveCalendarIndex.overlapping(calendarDepartmentId, from, to).stream()
+                .map(leave -> new LeaveCalendarEntryResponse(
+                        leave.leaveRequestId(),
+                        leave.employeeId(),
+                        employeeDirectory.findById(leave.employeeId()).map(EmployeeDirectory.Entry::fullName).orElse(null),
+                        leave.leaveType(),
+                        leave.status(),
+                        leave.startDate(),
+                        leave.endDate()))
+                .toList();
+        return LeaveCalendarResponse.builder()
+                .departmentId(calendarDepartmentId)
+                .from(from)
+                .to(to)
+                .leaves(leaves)
+                .build();
+    }
+
+    @Override
+    public CursorPaginatedResponse<ListLeaveRequestResponse> listAllLeaveRequestsByCursor(String cursor, int size, String sortBy, String sortDirection, LeaveRequestFilterRequest filterRequest) {
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.LEAVE_REQUEST_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<LeaveRequest> baseSpec = LeaveRequestSpecification.withFilters(filterRequest);
+        Specification<LeaveRequest> seekSpec = SeekSpecification.after(pageCursor);
+
+        Specification<LeaveRequest> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListLeaveRequestResponse> window = pageWindowRepository.findSeekWindow(ListProjections.LEAVE_REQUEST, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
     }
 }
@@ -0,0 +1,17 @@
+package com.furkanerd.hr_management_system.service.notification;
+
+import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
+
+import java.util.UUID;
+
+/**
+ * One notification to store and mail, for {@link NotificationService#notifyAll}.
+ */
+public record NotificationMessage(
+        UUID employeeId,
+        String email,
+        String subject,
+        String message,
+        NotificationTypeEnum type
+) {
+}
@@ -0,0 +1,36 @@
+package com.furkanerd.hr_management_system.service.notification.impl;
+
+import com.furkanerd.hr_management_system.event.NotificationMailRequestedEvent;
+import com.furkanerd.hr_management_system.service.email.MailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends notification mails after the notifications are committed and off the request
+ * thread, so a slow or failing SMTP server neither holds the transaction open nor delays
+ * the response. Mails of a rolled-back transaction are never sent.
+ */
+@Slf4j
+@Component
+class NotificationMailer {
+
+    private final MailService mailService;
+
+    NotificationMailer(MailService mailService) {
+        this.mailService = mailService;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    void onMailRequested(NotificationMailRequestedEvent event) {
+        for (NotificationMailRequestedEvent.Mail mail : event.mails()) {
+            try {
+                mailService.sendMail(mail.to(), mail.subject(), mail.text());
+            } catch (Exception e) {
+                log.error("Mail sending failed to {}: {}", mail.to(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,24 +1,41 @@
 package com.furkanerd.hr_management_system.service.notification.impl;
 
+import com.furkanerd.hr_management_system.constants.SortFieldConstants;
+import com.furkanerd.hr_management_system.event.NotificationMailRequestedEvent;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.exception.custom.NotificationException;
 import com.furkanerd.hr_management_system.mapper.NotificationMapper;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.notification.NotificationResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.Notification;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
 import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.NotificationBatchRepository;
+import com.furkanerd.hr_management_system.repository.NotificationBatchRepository.NewNotification;
 import com.furkanerd.hr_management_system.repository.NotificationRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.service.email.MailService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.service.notification.NotificationMessage;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
+import com.furkanerd.hr_management_system.util.SortFieldValidator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,12 +47,20 @@ class NotificationServiceImpl implements NotificationService {
     private final EmployeeRepository employeeRepository;
     private final MailService mailService;
     private final NotificationMapper notificationMapper;
+    private final PageWindowRepository pageWindowRepository;
+    private final EmployeeDirectory employeeDirectory;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public NotificationServiceImpl(NotificationRepository notificationRepository, EmployeeRepository employeeRepository, MailService mailService, NotificationMapper notificationMapper) {
+    public NotificationServiceImpl(NotificationRepository notificationRepository, EmployeeRepository employeeRepository, MailService mailService, NotificationMapper notificationMapper, PageWindowRepository pageWindowRepository, EmployeeDirectory employeeDirectory, NotificationBatchRepository notificationBatchRepository, ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.employeeRepository = employeeRepository;
         this.mailService = mailService;
         this.notificationMapper = notificationMapper;
+        this.pageWindowRepository = pageWindowRepository;
+        this.employeeDirectory = employeeDirectory;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -57,6 +82,22 @@ class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    /**
+     * Stores all notifications in one insert; their mails go out after commit.
+     */
+    @Override
+    @Transactional
+    public void notifyAll(List<NotificationMessage> messages) {
+        List<NewNotification> notifications = new ArrayList<>(messages.size());
+        List<NotificationMailRequestedEvent.Mail> mails = new ArrayList<>(messages.size());
+        for (NotificationMessage message : messages) {
+            notifications.add(new NewNotification(message.employeeId(), message.message(), message.type()));
+            mails.add(new NotificationMailRequestedEvent.Mail(message.email(), message.subject(), message.message()));
+        }
+        notificationBatchRepository.insertAll(notifications);
+        eventPublisher.publishEvent(new NotificationMailRequestedEvent(mails));
+    }
+
     @Override
     @Transactional
     public void notifyAllEmployeesForAnnouncement(String subject, String message) {
@@ -83,24 +124,51 @@ class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<NotificationResponse> getMyNotifications(String email, int page, int size, String sortBy, String sortDirection) {
-        Employee employee = employeeRepository.findByEmail(email)
+    public PaginatedResponse<NotificationResponse> getMyNotifications(String email, int page, int size, String sortBy, String sortDirection, CountStrategyEnum countStrategy) {
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
                 .orElseThrow(() -> new EmployeeNotFoundException(email));
+
+        if (countStrategy != CountStrategyEnum.EXACT) {
+            String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.NOTIFICATION_SORT_FIELD, sortBy);
+            Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
+            Specification<Notification> specification = (root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId);
+
+            PageWindowRepository.Window<Notification> window = pageWindowRepository.findWindow(Notification.class, specification, pageable, countStrategy, employeeId);
+            List<NotificationResponse> responseList = notificationMapper.notificationsToListNotificationResponse(window.content());
+            return PaginatedResponse.of(responseList, window.total(), page, size, window.hasNext(), countStrategy);
+        }
+
         Pageable pageable = PaginationUtils.buildPageable(page, size, sortBy, sortDirection);
 
-        Page<Notification> notificationPage = notificationRepository.findByEmployeeIdOrderByCreatedAtDesc(employee.getId(), pageable);
+        Page<Notification> notificationPage = notificationRepository.findByEmployeeIdOrderByCreatedAtDesc(employeeId, pageable);
         List<NotificationResponse> responseList = notificationMapper.notificationsToListNotificationResponse(notificationPage.getContent());
 
         return PaginatedResponse.of(responseList, notificationPage.getTotalElements(), page, size);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPaginatedResponse<NotificationResponse> getMyNotificationsByCursor(String email, String cursor, int size, String sortBy, String sortDirection) {
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
+                .orElseThrow(() -> new EmployeeNotFoundException(email));
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.NOTIFICATION_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<Notification> specification = SeekSpecification.<Notification>after(pageCursor)
+                .and((root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId));
+
+        List<Notification> notifications = notificationRepository.findBy(specification, query -> query.sortBy(sort).limit(size + 1).all());
+        return CursorPaginationUtils.toResponse(notifications, size, validatedSortBy, sortDirection, notificationMapper::notificationsToListNotificationResponse);
+    }
+
     @Override
     @Transactional
     public NotificationResponse markAsRead(UUID notificationId, String email) {
-        Employee employee = employeeRepository.findByEmail(email)
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
                 .orElseThrow(() -> new EmployeeNotFoundException(email));
         Notification notification = notificationRepository.findById(notificationId).orElseThrow(() -> new NotificationException("Notification not found: " + notificationId));
-        if (!notification.getEmployee().getId().equals(employee.getId())) {
+        if (!notification.getEmployee().getId().equals(employeeId)) {
             throw new NotificationException("You are not allowed to modify this notification");
         }
         notification.setRead(true);
@@ -110,9 +178,9 @@ class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void markAllAsRead(String email) {
-        Employee employee = employeeRepository.findByEmail(email)
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found: " + email));
-        List<Notification> notifications = notificationRepository.findByEmployeeIdAndReadFalse(employee.getId());
+        List<Notification> notifications = notificationRepository.findByEmployeeIdAndReadFalse(employeeId);
         notifications.forEach(n -> n.setRead(true));
         notificationRepository.saveAll(notifications);
 
@@ -121,11 +189,11 @@ class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void deleteNotification(UUID notificationId, String email) {
-        Employee employee = employeeRepository.findByEmail(email)
+        UUID employeeId = employeeDirectory.findIdByEmail(email)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found: " + email));
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationException("Notification not found: " + notificationId));
-        if (!notification.getEmployee().getId().equals(employee.getId())) {
+        if (!notification.getEmployee().getId().equals(employeeId)) {
             throw new NotificationException("You are not allowed to delete this notification");
         }
         notificationRepository.delete(notification);
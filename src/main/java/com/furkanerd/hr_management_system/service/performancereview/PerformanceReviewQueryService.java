@@ -1,6 +1,7 @@
 package com.furkanerd.hr_management_system.service.performancereview;
 
 import com.furkanerd.hr_management_system.model.dto.request.performancereview.PerformanceReviewFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.ListPerformanceReviewResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.PerformanceReviewDetailResponse;
@@ -11,10 +12,14 @@ public interface PerformanceReviewQueryService {
 
     PaginatedResponse<ListPerformanceReviewResponse> listAllPerformanceReviews(int page, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest);
 
+    CursorPaginatedResponse<ListPerformanceReviewResponse> listAllPerformanceReviewsByCursor(String cursor, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest);
+
     PerformanceReviewDetailResponse getPerformanceReview(UUID id);
 
     PaginatedResponse<ListPerformanceReviewResponse> getMyPerformanceReviews(String email, int page, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest);
 
     PaginatedResponse<ListPerformanceReviewResponse> getPerformanceReviewsByEmployee(UUID employeeId, int page, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest);
 
+    PaginatedResponse<ListPerformanceReviewResponse> getMyTeamPerformanceReviews(String managerEmail, int page, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest);
+
 }
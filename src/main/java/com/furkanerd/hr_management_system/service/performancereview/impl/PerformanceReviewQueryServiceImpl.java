@@ -5,18 +5,27 @@ import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundExcep
 import com.furkanerd.hr_management_system.exception.custom.PerformanceReviewNotFoundException;
 import com.furkanerd.hr_management_system.mapper.PerformanceReviewMapper;
 import com.furkanerd.hr_management_system.model.dto.request.performancereview.PerformanceReviewFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.ListPerformanceReviewResponse;
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.PerformanceReviewDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.PerformanceReview;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.repository.PerformanceReviewRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
 import com.furkanerd.hr_management_system.service.performancereview.PerformanceReviewQueryService;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import com.furkanerd.hr_management_system.specification.PerformanceReviewSpecification;
+import com.furkanerd.hr_management_system.specification.ReportingSubtreeSpecification;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
 import com.furkanerd.hr_management_system.util.SortFieldValidator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,11 +40,15 @@ public class PerformanceReviewQueryServiceImpl implements PerformanceReviewQuery
     private final PerformanceReviewRepository performanceReviewRepository;
     private final EmployeeRepository employeeRepository;
     private final PerformanceReviewMapper performanceReviewMapper;
+    private final PageWindowRepository pageWindowRepository;
+    private final EmployeeDirectory employeeDirectory;
 
-    public PerformanceReviewQueryServiceImpl(PerformanceReviewRepository performanceReviewRepository, EmployeeRepository employeeRepository, PerformanceReviewMapper performanceReviewMapper) {
+    public PerformanceReviewQueryServiceImpl(PerformanceReviewRepository performanceReviewRepository, EmployeeRepository employeeRepository, PerformanceReviewMapper performanceReviewMapper, PageWindowRepository pageWindowRepository, EmployeeDirectory employeeDirectory) {
         this.performanceReviewRepository = performanceReviewRepository;
         this.employeeRepository = employeeRepository;
         this.performanceReviewMapper = performanceReviewMapper;
+        this.pageWindowRepository = pageWindowRepository;
+        this.employeeDirectory = employeeDirectory;
     }
 
     @Override
@@ -45,8 +58,8 @@ public class PerformanceReviewQueryServiceImpl implements PerformanceReviewQuery
 
         Specification<PerformanceReview> specification = PerformanceReviewSpecification.withFilters(filterRequest);
 
-        Page<PerformanceReview> performanceReviewPage = performanceReviewRepository.findAll(specification, pageable);
-        List<ListPerformanceReviewResponse> responseList = performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(performanceReviewPage.getContent());
+        Page<ListPerformanceReviewResponse> performanceReviewPage = pageWindowRepository.findPage(ListProjections.PERFORMANCE_REVIEW, specification, pageable);
+        List<ListPerformanceReviewResponse> responseList = performanceReviewPage.getContent();
 
         return PaginatedResponse.of(responseList, performanceReviewPage.getTotalElements(), page, size);
     }
@@ -68,8 +81,8 @@ public class PerformanceReviewQueryServiceImpl implements PerformanceReviewQuery
 
         Specification<PerformanceReview> specification = (baseSpec != null) ? baseSpec.and((root, query, cb) -> cb.equal(root.get("employee").get("email"), email)) : (root, query, cb) -> cb.equal(root.get("employee").get("email"), email);
 
-        Page<PerformanceReview> performanceReviewPage = performanceReviewRepository.findAll(specification, pageable);
-        List<ListPerformanceReviewResponse> responseList = performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(performanceReviewPage.getContent());
+        Page<ListPerformanceReviewResponse> performanceReviewPage = pageWindowRepository.findPage(ListProjections.PERFORMANCE_REVIEW, specification, pageable);
+        List<ListPerformanceReviewResponse> responseList = performanceReviewPage.getContent();
 
         return PaginatedResponse.of(responseList, performanceReviewPage.getTotalElements(), page, size);
     }
@@ -88,9 +101,52 @@ public class PerformanceReviewQueryServiceImpl implements PerformanceReviewQuery
         Specification<PerformanceReview> specification = (baseSpecification != null) ? baseSpecification.and((root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId)) : (root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId);
 
 
-        Page<PerformanceReview> reviews = performanceReviewRepository.findAll(specification, pageable);
-        List<ListPerformanceReviewResponse> responseList = performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(reviews.getContent());
+        Page<ListPerformanceReviewResponse> reviews = pageWindowRepository.findPage(ListProjections.PERFORMANCE_REVIEW, specification, pageable);
+        List<ListPerformanceReviewResponse> responseList = reviews.getContent();
 
         return PaginatedResponse.of(responseList, reviews.getTotalElements(), page, size);
     }
+
+    @Override
+    public PaginatedResponse<ListPerformanceReviewResponse> getMyTeamPerformanceReviews(String managerEmail, int page, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest) {
+        UUID managerId = employeeDirectory.findIdByEmail(managerEmail)
+                .orElseThrow(() -> new EmployeeNotFoundException(managerEmail));
+
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.PERFORMANCE_REVIEW_SORT_FIELD, sortBy);
+        Pageable pageable = PaginationUtils.buildPageable(page, size, validatedSortBy, sortDirection);
+
+        Specification<PerformanceReview> baseSpec = PerformanceReviewSpecification.withFilters(filterRequest);
+        Specification<PerformanceReview> teamSpec = ReportingSubtreeSpecification.performanceReviewsUnder(managerId);
+
+        Specification<PerformanceReview> specification = (baseSpec != null)
+                ? baseSpec.and(teamSpec)
+                : teamSpec;
+
+        Page<ListPerformanceReviewResponse> performanceReviewPage = pageWindowRepository.findPage(ListProjections.PERFORMANCE_REVIEW, specification, pageable);
+        List<ListPerformanceReviewResponse> responseList = performanceReviewPage.getContent();
+
+        return PaginatedResponse.of(
+                responseList,
+                performanceReviewPage.getTotalElements(),
+                page,
+                size
+        );
+    }
+
+    @Override
+    public CursorPaginatedResponse<ListPerformanceReviewResponse> listAllPerformanceReviewsByCursor(String cursor, int size, String sortBy, String sortDirection, PerformanceReviewFilterRequest filterRequest) {
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.PERFORMANCE_REVIEW_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<PerformanceReview> baseSpec = PerformanceReviewSpecification.withFilters(filterRequest);
+        Specification<PerformanceReview> seekSpec = SeekSpecification.after(pageCursor);
+
+        Specification<PerformanceReview> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListPerformanceReviewResponse> window = pageWindowRepository.findSeekWindow(ListProjections.PERFORMANCE_REVIEW, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
+    }
 }
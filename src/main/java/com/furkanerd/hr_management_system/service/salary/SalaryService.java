@@ -2,6 +2,7 @@ package com.furkanerd.hr_management_system.service.salary;
 
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.ListSalaryResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.SalaryDetailResponse;
@@ -13,6 +14,8 @@ public interface SalaryService {
 
     PaginatedResponse<ListSalaryResponse> listAllSalaries(int page,int size,String sortBy,String sortDirection,SalaryFilterRequest filterRequest);
 
+    CursorPaginatedResponse<ListSalaryResponse> listAllSalariesByCursor(String cursor, int size, String sortBy, String sortDirection, SalaryFilterRequest filterRequest);
+
     SalaryDetailResponse getSalaryById(UUID id);
 
     SalaryDetailResponse createSalary(SalaryCreateRequest  createRequest);
@@ -6,19 +6,26 @@ import com.furkanerd.hr_management_system.exception.custom.ResourceNotFoundExcep
 import com.furkanerd.hr_management_system.mapper.SalaryMapper;
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.salary.SalaryFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.ListSalaryResponse;
 import com.furkanerd.hr_management_system.model.dto.response.salary.SalaryDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.Salary;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.repository.SalaryRepository;
 import com.furkanerd.hr_management_system.service.salary.SalaryService;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import com.furkanerd.hr_management_system.specification.SalarySpecification;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import com.furkanerd.hr_management_system.util.PaginationUtils;
 import com.furkanerd.hr_management_system.util.SortFieldValidator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,11 +39,13 @@ class SalaryServiceImpl implements SalaryService {
     private final SalaryRepository salaryRepository;
     private final EmployeeRepository employeeRepository;
     private final SalaryMapper salaryMapper;
+    private final PageWindowRepository pageWindowRepository;
 
-    public SalaryServiceImpl(SalaryRepository salaryRepository, SalaryMapper salaryMapper,EmployeeRepository employeeRepository) {
+    public SalaryServiceImpl(SalaryRepository salaryRepository, SalaryMapper salaryMapper,EmployeeRepository employeeRepository, PageWindowRepository pageWindowRepository) {
         this.salaryRepository = salaryRepository;
         this.salaryMapper = salaryMapper;
         this.employeeRepository = employeeRepository;
+        this.pageWindowRepository = pageWindowRepository;
     }
 
     @Override
@@ -46,8 +55,8 @@ class SalaryServiceImpl implements SalaryService {
 
         Specification<Salary> specification = SalarySpecification.withFilters(filterRequest);
 
-        Page<Salary> salaryPage = salaryRepository.findAll(specification, pageable);
-        List<ListSalaryResponse> responseList = salaryMapper.salariesToListSalaryResponses(salaryPage.getContent());
+        Page<ListSalaryResponse> salaryPage = pageWindowRepository.findPage(ListProjections.SALARY, specification, pageable);
+        List<ListSalaryResponse> responseList = salaryPage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -89,8 +98,8 @@ class SalaryServiceImpl implements SalaryService {
                 : (root, query, cb) -> cb.equal(root.get("employee").get("email"), employeeEmail);
 
 
-        Page<Salary> salaryPage = salaryRepository.findAll(specification, pageable);
-        List<ListSalaryResponse> responseList = salaryMapper.salariesToListSalaryResponses(salaryPage.getContent());
+        Page<ListSalaryResponse> salaryPage = pageWindowRepository.findPage(ListProjections.SALARY, specification, pageable);
+        List<ListSalaryResponse> responseList = salaryPage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -126,8 +135,8 @@ class SalaryServiceImpl implements SalaryService {
                 ? baseSpec.and((root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId))
                 : (root, query, cb) -> cb.equal(root.get("employee").get("id"), employeeId);
 
-        Page<Salary> salaryPage = salaryRepository.findAll(specification, pageable);
-        List<ListSalaryResponse> responseList = salaryMapper.salariesToListSalaryResponses(salaryPage.getContent());
+        Page<ListSalaryResponse> salaryPage = pageWindowRepository.findPage(ListProjections.SALARY, specification, pageable);
+        List<ListSalaryResponse> responseList = salaryPage.getContent();
 
         return PaginatedResponse.of(
                 responseList,
@@ -136,4 +145,21 @@ class SalaryServiceImpl implements SalaryService {
                 size
         );
     }
+
+    @Override
+    public CursorPaginatedResponse<ListSalaryResponse> listAllSalariesByCursor(String cursor, int size, String sortBy, String sortDirection, SalaryFilterRequest filterRequest) {
+        String validatedSortBy = SortFieldValidator.validate(SortFieldConstants.SALARY_SORT_FIELD, sortBy);
+        PageCursor pageCursor = CursorPaginationUtils.parseCursor(cursor, validatedSortBy, sortDirection);
+        Sort sort = CursorPaginationUtils.buildSort(validatedSortBy, sortDirection);
+
+        Specification<Salary> baseSpec = SalarySpecification.withFilters(filterRequest);
+        Specification<Salary> seekSpec = SeekSpecification.after(pageCursor);
+
+        Specification<Salary> specification = (baseSpec != null)
+                ? baseSpec.and(seekSpec)
+                : seekSpec;
+
+        PageWindowRepository.SeekWindow<ListSalaryResponse> window = pageWindowRepository.findSeekWindow(ListProjections.SALARY, specification, sort, size);
+        return CursorPaginatedResponse.of(window.content(), size, window.nextCursor());
+    }
 }
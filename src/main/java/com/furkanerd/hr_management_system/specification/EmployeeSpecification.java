@@ -2,8 +2,12 @@ package com.furkanerd.hr_management_system.specification;
 
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
@@ -11,6 +15,9 @@ import java.util.List;
 
 public class EmployeeSpecification {
 
+    private static final char ESCAPE_CHAR = '\\';
+    private static final String[] SEARCH_FIELDS = {"firstName", "lastName", "email"};
+
     private EmployeeSpecification() {
 
     }
@@ -30,12 +37,13 @@ public class EmployeeSpecification {
             // criteriaBuilder = WHERE, AND, OR, LIKE - SQL ops tools
 
             // != null , !isEmpty()
+            // lower(col) LIKE '%term%' is served by the gin_trgm_ops indexes on lower(col)
             if (StringUtils.hasText(filterRequest.searchTerm())) {
-                String searchPattern = "%" + filterRequest.searchTerm().toLowerCase() + "%";
+                String searchPattern = containsPattern(filterRequest.searchTerm());
                 Predicate globalSearch = criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")), searchPattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")), searchPattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), searchPattern)
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")), searchPattern, ESCAPE_CHAR),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")), searchPattern, ESCAPE_CHAR),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), searchPattern, ESCAPE_CHAR)
                 );
                 predicates.add(globalSearch);
             }
@@ -44,7 +52,8 @@ public class EmployeeSpecification {
             if (StringUtils.hasText(filterRequest.firstName())) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("firstName")),
-                        "%" + filterRequest.firstName().toLowerCase() + "%"
+                        containsPattern(filterRequest.firstName()),
+                        ESCAPE_CHAR
                 ));
             }
 
@@ -52,7 +61,8 @@ public class EmployeeSpecification {
             if (StringUtils.hasText(filterRequest.lastName())) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("lastName")),
-                        "%" + filterRequest.lastName().toLowerCase() + "%"
+                        containsPattern(filterRequest.lastName()),
+                        ESCAPE_CHAR
                 ));
             }
 
@@ -60,7 +70,8 @@ public class EmployeeSpecification {
             if (StringUtils.hasText(filterRequest.email())) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("email")),
-                        "%" + filterRequest.email().toLowerCase() + "%"
+                        containsPattern(filterRequest.email()),
+                        ESCAPE_CHAR
                 ));
             }
 
@@ -115,4 +126,39 @@ public class EmployeeSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Orders employees by pg_trgm similarity to the search term, best match first,
+     * falling back to {@code tieBreak} among equally similar rows. Adds no predicate,
+     * so it is meant to be combined with {@link #withFilters(EmployeeFilterRequest)}
+     * and a Pageable without its own sort. Needs the pg_trgm extension, which
+     * {@code db/employee_search_trgm.sql} installs.
+     */
+    public static Specification<Employee> rankedBySimilarity(String searchTerm, Sort tieBreak) {
+        String term = searchTerm.toLowerCase();
+        return (root, query, criteriaBuilder) -> {
+            // The count query of a page shares this specification and must stay unordered
+            if (Long.class != query.getResultType() && long.class != query.getResultType()) {
+                Expression<Double> similarity = null;
+                for (String field : SEARCH_FIELDS) {
+                    Expression<Double> fieldSimilarity = criteriaBuilder.function(
+                            "similarity", Double.class, criteriaBuilder.lower(root.get(field)), criteriaBuilder.literal(term));
+                    similarity = similarity == null ? fieldSimilarity : criteriaBuilder.sum(similarity, fieldSimilarity);
+                }
+                List<Order> orders = new ArrayList<>();
+                orders.add(criteriaBuilder.desc(similarity));
+                orders.addAll(QueryUtils.toOrders(tieBreak, root, criteriaBuilder));
+                query.orderBy(orders);
+            }
+            return null;
+        };
+    }
+
+    private static String containsPattern(String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
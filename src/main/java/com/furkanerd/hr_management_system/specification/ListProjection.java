@@ -0,0 +1,25 @@
+package com.furkanerd.hr_management_system.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.function.BiFunction;
+
+/**
+ * What a list query selects from its root entity. The selector adds the joins it needs
+ * and returns the selection, so Specification filters still apply to the same root.
+ */
+public record ListProjection<E, R>(
+        Class<E> entityType,
+        Class<R> resultType,
+        BiFunction<Root<E>, CriteriaBuilder, Selection<? extends R>> selector
+) {
+
+    /**
+     * Selects the managed entity itself.
+     */
+    public static <E> ListProjection<E, E> entity(Class<E> entityType) {
+        return new ListProjection<>(entityType, entityType, (root, cb) -> root);
+    }
+}
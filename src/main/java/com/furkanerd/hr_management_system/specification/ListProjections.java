@@ -0,0 +1,109 @@
+package com.furkanerd.hr_management_system.specification;
+
+import com.furkanerd.hr_management_system.model.dto.response.attendance.ListAttendanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
+import com.furkanerd.hr_management_system.model.dto.response.performancereview.ListPerformanceReviewResponse;
+import com.furkanerd.hr_management_system.model.dto.response.salary.ListSalaryResponse;
+import com.furkanerd.hr_management_system.model.entity.*;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.math.BigDecimal;
+
+/**
+ * Constructor projections for the List*Response records. Each one reads every column the
+ * record needs in a single joined select, replacing the per-row lazy loads the mappers
+ * trigger when they walk employee, department, position or reviewer associations.
+ */
+public class ListProjections {
+
+    public static final ListProjection<Employee, ListEmployeeResponse> EMPLOYEE = new ListProjection<>(
+            Employee.class,
+            ListEmployeeResponse.class,
+            (root, cb) -> {
+                Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+                Join<Employee, Position> position = root.join("position", JoinType.LEFT);
+                return cb.construct(ListEmployeeResponse.class,
+                        root.get("id"),
+                        fullName(cb, root),
+                        root.get("email"),
+                        root.get("phone"),
+                        department.get("name"),
+                        position.get("title"),
+                        root.get("status"));
+            });
+
+    public static final ListProjection<Attendance, ListAttendanceResponse> ATTENDANCE = new ListProjection<>(
+            Attendance.class,
+            ListAttendanceResponse.class,
+            (root, cb) -> {
+                Join<Attendance, Employee> employee = root.join("employee");
+                return cb.construct(ListAttendanceResponse.class,
+                        root.get("id"),
+                        employee.get("id"),
+                        fullName(cb, employee),
+                        root.get("date"),
+                        root.get("checkInTime"),
+                        root.get("checkOutTime"));
+            });
+
+    public static final ListProjection<LeaveRequest, ListLeaveRequestResponse> LEAVE_REQUEST = new ListProjection<>(
+            LeaveRequest.class,
+            ListLeaveRequestResponse.class,
+            (root, cb) -> {
+                Join<LeaveRequest, Employee> employee = root.join("employee");
+                return cb.construct(ListLeaveRequestResponse.class,
+                        root.get("id"),
+                        employee.get("id"),
+                        fullName(cb, employee),
+                        root.get("leaveType"),
+                        root.get("startDate"),
+                        root.get("endDate"),
+                        root.get("totalDays"),
+                        root.get("status"));
+            });
+
+    public static final ListProjection<Salary, ListSalaryResponse> SALARY = new ListProjection<>(
+            Salary.class,
+            ListSalaryResponse.class,
+            (root, cb) -> {
+                Join<Salary, Employee> employee = root.join("employee");
+                Expression<BigDecimal> salary = root.get("salary");
+                Expression<BigDecimal> bonus = root.get("bonus");
+                return cb.construct(ListSalaryResponse.class,
+                        root.get("id"),
+                        employee.get("id"),
+                        fullName(cb, employee),
+                        salary,
+                        bonus,
+                        cb.sum(salary, cb.coalesce(bonus, BigDecimal.ZERO)),
+                        root.get("effectiveDate"));
+            });
+
+    public static final ListProjection<PerformanceReview, ListPerformanceReviewResponse> PERFORMANCE_REVIEW = new ListProjection<>(
+            PerformanceReview.class,
+            ListPerformanceReviewResponse.class,
+            (root, cb) -> {
+                Join<PerformanceReview, Employee> employee = root.join("employee");
+                Join<PerformanceReview, Employee> reviewer = root.join("reviewer");
+                return cb.construct(ListPerformanceReviewResponse.class,
+                        root.get("id"),
+                        employee.get("id"),
+                        fullName(cb, employee),
+                        reviewer.get("id"),
+                        fullName(cb, reviewer),
+                        root.get("rating"),
+                        root.get("reviewDate"));
+            });
+
+    private ListProjections() {
+    }
+
+    private static Expression<String> fullName(CriteriaBuilder cb, From<?, Employee> employee) {
+        return cb.concat(cb.concat(employee.get("firstName"), " "), employee.get("lastName"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.furkanerd.hr_management_system.specification;
+
+import com.furkanerd.hr_management_system.config.ReportingSubtreeFunctionContributor;
+import com.furkanerd.hr_management_system.model.entity.Attendance;
+import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.entity.PerformanceReview;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Scopes queries to everyone reporting to a manager, directly or indirectly.
+ * The subtree is resolved by the database in the same statement, see
+ * {@link ReportingSubtreeFunctionContributor}.
+ */
+public class ReportingSubtreeSpecification {
+
+    private ReportingSubtreeSpecification() {
+
+    }
+
+    public static Specification<Employee> employeesUnder(UUID managerId) {
+        return (root, query, cb) -> inSubtree(cb, root.get("id"), managerId);
+    }
+
+    public static Specification<Attendance> attendanceUnder(UUID managerId) {
+        return (root, query, cb) -> inSubtree(cb, root.get("employee").get("id"), managerId);
+    }
+
+    public static Specification<LeaveRequest> leaveRequestsUnder(UUID managerId) {
+        return (root, query, cb) -> inSubtree(cb, root.get("employee").get("id"), managerId);
+    }
+
+    public static Specification<PerformanceReview> performanceReviewsUnder(UUID managerId) {
+        return (root, query, cb) -> inSubtree(cb, root.get("employee").get("id"), managerId);
+    }
+
+    private static Predicate inSubtree(CriteriaBuilder cb, Expression<UUID> employeeId, UUID managerId) {
+        return cb.isTrue(cb.function(
+                ReportingSubtreeFunctionContributor.IN_REPORTING_SUBTREE,
+                Boolean.class,
+                employeeId,
+                cb.literal(managerId)
+        ));
+    }
+}
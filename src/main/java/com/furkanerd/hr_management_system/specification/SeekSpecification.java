@@ -0,0 +1,91 @@
+package com.furkanerd.hr_management_system.specification;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidCursorException;
+import com.furkanerd.hr_management_system.util.PageCursor;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+public class SeekSpecification {
+
+    private SeekSpecification() {
+
+    }
+
+    /**
+     * Keeps only rows that come after the cursor in (sortBy, id) order. Without a cursor
+     * it adds no predicate, so it can always be combined with the module filters.
+     * Null sort values follow PostgreSQL defaults: last when ascending, first when descending.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(PageCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            boolean ascending = cursor.direction().isAscending();
+            Path<UUID> id = root.get("id");
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if ("id".equals(cursor.sortBy())) {
+                return afterId;
+            }
+
+            Path<Comparable> field = root.get(cursor.sortBy());
+            if (cursor.value() == null) {
+                return ascending
+                        ? cb.and(cb.isNull(field), afterId)
+                        : cb.or(cb.isNotNull(field), cb.and(cb.isNull(field), afterId));
+            }
+
+            Comparable value = parse(cursor.value(), field.getJavaType());
+            // The leading inclusive bound lets an index on (field, id) start the scan at the cursor
+            Predicate seek = ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(field, value), cb.or(cb.greaterThan(field, value), afterId))
+                    : cb.and(cb.lessThanOrEqualTo(field, value), cb.or(cb.lessThan(field, value), afterId));
+            return ascending ? cb.or(seek, cb.isNull(field)) : seek;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == LocalTime.class) {
+                return LocalTime.parse(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, value);
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+        throw new InvalidCursorException("Cursor pagination is not supported for this sort field");
+    }
+}
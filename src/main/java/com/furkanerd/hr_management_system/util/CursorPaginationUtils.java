@@ -0,0 +1,74 @@
+package com.furkanerd.hr_management_system.util;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidCursorException;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset counterpart of {@link PaginationUtils}. Rows are ordered by the sort field with
+ * the id as tie breaker and the next page starts strictly after the last row returned,
+ * so the database never has to skip preceding rows and no count query is issued.
+ */
+public class CursorPaginationUtils {
+
+    private static final String ID_FIELD = "id";
+
+    private CursorPaginationUtils() {
+
+    }
+
+    public static Sort buildSort(String sortBy, String sortDirection) {
+        Sort.Direction direction = toDirection(sortDirection);
+        Sort sort = Sort.by(direction, sortBy);
+        return ID_FIELD.equals(sortBy) ? sort : sort.and(Sort.by(direction, ID_FIELD));
+    }
+
+    /**
+     * Decodes the cursor sent by the client, null for the first page. A cursor can only
+     * continue the sort it was issued for.
+     */
+    public static PageCursor parseCursor(String cursor, String sortBy, String sortDirection) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (!pageCursor.sortBy().equals(sortBy) || pageCursor.direction() != toDirection(sortDirection)) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        return pageCursor;
+    }
+
+    /**
+     * Builds the response from a query limited to {@code size + 1} rows; the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <E, R> CursorPaginatedResponse<R> toResponse(List<E> rows, int size, String sortBy, String sortDirection,
+                                                               Function<List<E>, List<R>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BeanWrapper last = PropertyAccessorFactory.forBeanPropertyAccess(pageRows.getLast());
+            Object value = last.getPropertyValue(sortBy);
+            nextCursor = new PageCursor(
+                    sortBy,
+                    toDirection(sortDirection),
+                    value != null ? value.toString() : null,
+                    (UUID) last.getPropertyValue(ID_FIELD)
+            ).encode();
+        }
+        return CursorPaginatedResponse.of(mapper.apply(pageRows), size, nextCursor);
+    }
+
+    private static Sort.Direction toDirection(String sortDirection) {
+        return sortDirection.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+}
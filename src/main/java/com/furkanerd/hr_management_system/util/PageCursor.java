@@ -0,0 +1,37 @@
+package com.furkanerd.hr_management_system.util;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page: the sort it was produced with, the value
+ * of the sort field and the row id as tie breaker. Clients only see the opaque
+ * URL-safe token produced by {@link #encode()}.
+ */
+public record PageCursor(String sortBy, Sort.Direction direction, String value, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        // A missing value segment marks a null sort value, an empty one an empty string
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + id + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length < 3) {
+                throw new InvalidCursorException("Malformed pagination cursor");
+            }
+            return new PageCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts.length == 4 ? parts[3] : null, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed pagination cursor");
+        }
+    }
+}
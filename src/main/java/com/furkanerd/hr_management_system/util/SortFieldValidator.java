@@ -12,7 +12,8 @@ public class SortFieldValidator {
             "position", List.of("id", "title", "createdAt", "updatedAt"),
             "attendance", List.of("id", "date", "checkInTime", "checkOutTime", "createdAt", "updatedAt"),
             "performanceReview", List.of("id", "rating", "reviewDate", "createdAt", "updatedAt"),
-            "salary",List.of("id","salary","bonus","effectiveDate","createdAt", "updatedAt")
+            "salary",List.of("id","salary","bonus","effectiveDate","createdAt", "updatedAt"),
+            "notification", List.of("id", "createdAt")
     );
 
     private static final Map<String, String> DEFAULT_FIELDS = Map.of(
@@ -22,7 +23,8 @@ public class SortFieldValidator {
             "position", "title",
             "attendance", "date",
             "performanceReview", "reviewDate",
-            "salary","effectiveDate"
+            "salary","effectiveDate",
+            "notification", "createdAt"
     );
 
     private SortFieldValidator() {
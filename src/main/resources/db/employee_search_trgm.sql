@@ -0,0 +1,11 @@
+-- Adds the pg_trgm extension and the trigram indexes that employee search relies on to
+-- an existing database. Until the extension exists, search results fall back to the
+-- requested sort instead of being ranked by similarity; restart the application after
+-- running this to turn ranking on. Not wrapped in a transaction, as the indexes are
+-- built concurrently.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_first_name_trgm ON employee USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_last_name_trgm ON employee USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_email_trgm ON employee USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,17 @@
+-- Adds the exclusion constraint that keeps an employee's pending and approved leave
+-- requests from overlapping to an existing leaverequest table. Needs the period column
+-- from leaverequest_period.sql. The constraint's index is built while the table is
+-- locked, so run it in a maintenance window.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Requests that already overlap make the ALTER below fail; this lists them for HR to settle first:
+-- SELECT a.employee_id, a.id, b.id
+-- FROM leaverequest a
+--          JOIN leaverequest b ON b.employee_id = a.employee_id AND b.id > a.id AND b.period && a.period
+-- WHERE a.status IN ('PENDING', 'APPROVED')
+--   AND b.status IN ('PENDING', 'APPROVED');
+
+ALTER TABLE leaverequest
+    ADD CONSTRAINT leaverequest_no_overlap EXCLUDE USING gist (employee_id WITH =, period WITH &&)
+        WHERE (status IN ('PENDING', 'APPROVED'));
@@ -0,0 +1,10 @@
+-- Adds the period daterange that LeaveCalendarRepository queries to an existing
+-- leaverequest table. Adding a stored generated column rewrites the table under an
+-- exclusive lock, so run it in a maintenance window. Not wrapped in a transaction, as
+-- the index is built concurrently.
+
+ALTER TABLE leaverequest
+    ADD COLUMN IF NOT EXISTS period DATERANGE
+        GENERATED ALWAYS AS (daterange(start_date, coalesce(end_date, start_date), '[]')) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leaverequest_period ON leaverequest USING gist (period);
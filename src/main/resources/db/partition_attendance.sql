@@ -0,0 +1,51 @@
+-- One-off conversion of an existing, unpartitioned attendance table to monthly range
+-- partitions. Run during a maintenance window: the table is locked while rows are copied.
+-- Afterwards AttendancePartitionMaintainer keeps creating partitions ahead of time.
+
+BEGIN;
+
+LOCK TABLE attendance IN ACCESS EXCLUSIVE MODE;
+
+-- Built under a temporary name so its constraint and index names cannot clash with the old table's
+CREATE TABLE attendance_partitioned
+(
+    id             UUID      NOT NULL,
+    employee_id    UUID      NOT NULL REFERENCES employee (id),
+    date           DATE      NOT NULL,
+    check_in_time  TIME      NOT NULL,
+    check_out_time TIME,
+    created_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, date),
+    UNIQUE (employee_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE attendance_default PARTITION OF attendance_partitioned DEFAULT;
+
+-- One partition per month that already has rows, plus the current one
+DO
+$$
+    DECLARE
+        month DATE;
+    BEGIN
+        FOR month IN
+            SELECT DISTINCT date_trunc('month', date)::date FROM attendance
+            UNION
+            SELECT date_trunc('month', current_date)::date
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF attendance_partitioned FOR VALUES FROM (%L) TO (%L)',
+                               to_char(month, '"attendance_y"YYYY"m"MM'), month, (month + interval '1 month')::date);
+            END LOOP;
+    END
+$$;
+
+INSERT INTO attendance_partitioned (id, employee_id, date, check_in_time, check_out_time, created_at, updated_at)
+SELECT id, employee_id, date, check_in_time, check_out_time, created_at, updated_at
+FROM attendance;
+
+DROP TABLE attendance;
+ALTER TABLE attendance_partitioned RENAME TO attendance;
+
+CREATE INDEX idx_attendance_date_id ON attendance (date, id);
+
+COMMIT;
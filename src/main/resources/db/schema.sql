@@ -1,3 +1,8 @@
+-- Extensions
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+-- Lets the leave request exclusion constraint compare uuids with = in a GiST index
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 -- Enum Types
 CREATE TYPE role AS ENUM ('EMPLOYEE', 'MANAGER', 'HR');
 CREATE TYPE status AS ENUM ('ACTIVE', 'INACTIVE');
@@ -11,6 +16,7 @@ DROP TABLE IF EXISTS Notification CASCADE;
 DROP TABLE IF EXISTS PerformanceReview CASCADE;
 DROP TABLE IF EXISTS Salary CASCADE;
 DROP TABLE IF EXISTS LeaveRequest CASCADE;
+DROP TABLE IF EXISTS attendance_rollup CASCADE;
 DROP TABLE IF EXISTS Attendance CASCADE;
 DROP TABLE IF EXISTS Announcement CASCADE;
 DROP TABLE IF EXISTS Employee CASCADE;
@@ -52,22 +58,43 @@ CREATE TABLE Employee
     role                 role                NOT NULL,
     status               status              NOT NULL,
     must_change_password BOOLEAN             NOT NULL DEFAULT TRUE,
+    credential_epoch     INTEGER             NOT NULL DEFAULT 0,
     vacation_balance     INTEGER             NOT NULL DEFAULT 20,
     maternity_balance    INTEGER             NOT NULL DEFAULT 112,
     created_at           TIMESTAMP           NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at           TIMESTAMP           NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Partitioned by month on date; AttendancePartitionMaintainer creates the monthly partitions
+-- ahead of time. Unique keys on a partitioned table must include date, hence (id, date).
 CREATE TABLE Attendance
 (
-    id             UUID PRIMARY KEY,
+    id             UUID      NOT NULL,
     employee_id    UUID      NOT NULL REFERENCES Employee (id),
     date           DATE      NOT NULL,
     check_in_time  TIME      NOT NULL,
     check_out_time TIME,
     created_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, date),
     UNIQUE (employee_id, date)
+) PARTITION BY RANGE (date);
+
+-- Catches rows outside every monthly partition, such as back-dated manual entries
+CREATE TABLE attendance_default PARTITION OF Attendance DEFAULT;
+
+-- Per employee totals for each day, week (from Monday) and month, kept by AttendanceRollupUpdater
+CREATE TABLE attendance_rollup
+(
+    employee_id      UUID        NOT NULL REFERENCES Employee (id),
+    period_type      VARCHAR(10) NOT NULL,
+    period_start     DATE        NOT NULL,
+    days_present     INTEGER     NOT NULL,
+    worked_minutes   INTEGER     NOT NULL,
+    late_arrivals    INTEGER     NOT NULL,
+    overtime_minutes INTEGER     NOT NULL,
+    updated_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (employee_id, period_type, period_start)
 );
 
 CREATE TABLE LeaveRequest
@@ -83,7 +110,35 @@ CREATE TABLE LeaveRequest
     approved_by_id UUID REFERENCES Employee (id),
     approved_at    TIMESTAMP,
     created_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+    updated_at     TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Days the request covers, for overlap queries; not mapped by JPA
+    period         DATERANGE GENERATED ALWAYS AS (daterange(start_date, coalesce(end_date, start_date), '[]')) STORED,
+    -- An employee's pending and approved requests never share a day
+    CONSTRAINT leaverequest_no_overlap EXCLUDE USING gist (employee_id WITH =, period WITH &&)
+        WHERE (status IN ('PENDING', 'APPROVED'))
+);
+
+-- Append-only; a balance is the employee's opening balance plus these entries
+CREATE TABLE leave_ledger
+(
+    id               BIGSERIAL PRIMARY KEY,
+    employee_id      UUID        NOT NULL,
+    leave_type       VARCHAR(20) NOT NULL,
+    entry_type       VARCHAR(20) NOT NULL,
+    days             INTEGER     NOT NULL,
+    leave_request_id UUID,
+    created_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE leave_balance_snapshot
+(
+    employee_id   UUID        NOT NULL,
+    leave_type    VARCHAR(20) NOT NULL,
+    net_days      INTEGER     NOT NULL,
+    reserved_days INTEGER     NOT NULL,
+    last_entry_id BIGINT      NOT NULL,
+    compacted_at  TIMESTAMP   NOT NULL,
+    PRIMARY KEY (employee_id, leave_type)
 );
 
 CREATE TABLE Salary
@@ -128,4 +183,35 @@ CREATE TABLE Announcement
     type          announcementType NOT NULL,
     created_by_id UUID REFERENCES Employee (id),
     created_at    TIMESTAMP        NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
\ No newline at end of file
+);
+
+CREATE TABLE refresh_token
+(
+    id          UUID PRIMARY KEY,
+    employee_id UUID        NOT NULL REFERENCES Employee (id),
+    token_hash  VARCHAR(64) NOT NULL UNIQUE,
+    family_id   UUID        NOT NULL,
+    expires_at  TIMESTAMP   NOT NULL,
+    used_at     TIMESTAMP,
+    created_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_employee_manager ON employee (manager_id);
+
+-- Trigram indexes serve the lower(col) LIKE '%term%' predicates of the employee search
+CREATE INDEX idx_employee_first_name_trgm ON employee USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX idx_employee_last_name_trgm ON employee USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX idx_employee_email_trgm ON employee USING gin (lower(email) gin_trgm_ops);
+
+-- Keyset pagination seeks on (sort field, id)
+CREATE INDEX idx_attendance_date_id ON attendance (date, id);
+CREATE INDEX idx_attendance_rollup_period ON attendance_rollup (period_type, period_start);
+CREATE INDEX idx_notification_employee_created ON notification (employee_id, created_at, id);
+CREATE INDEX idx_leave_ledger_employee ON leave_ledger (employee_id, id);
+CREATE INDEX idx_leave_ledger_leave_request ON leave_ledger (leave_request_id);
+
+-- Serves the && overlap test of the leave calendar
+CREATE INDEX idx_leaverequest_period ON leaverequest USING gist (period);
+
+CREATE INDEX idx_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX idx_refresh_token_employee ON refresh_token (employee_id);
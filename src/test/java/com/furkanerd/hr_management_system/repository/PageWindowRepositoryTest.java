@@ -0,0 +1,197 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.mapper.EmployeeMapperImpl;
+import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.ListAttendanceResponse;
+import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
+import com.furkanerd.hr_management_system.model.dto.response.salary.ListSalaryResponse;
+import com.furkanerd.hr_management_system.model.entity.*;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+import com.furkanerd.hr_management_system.specification.EmployeeSpecification;
+import com.furkanerd.hr_management_system.specification.ListProjections;
+import com.furkanerd.hr_management_system.specification.SeekSpecification;
+import com.furkanerd.hr_management_system.util.CursorPaginationUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(PageWindowRepository.class)
+class PageWindowRepositoryTest {
+
+    private static final int EMPLOYEES_PER_DEPARTMENT = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PageWindowRepository pageWindowRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+    private final List<Department> departments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int d = 0; d < 3; d++) {
+            Department department = entityManager.persist(Department.builder().name("Department " + d).build());
+            Position position = entityManager.persist(Position.builder().title("Position " + d).build());
+            departments.add(department);
+            for (int e = 0; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+                Employee employee = entityManager.persist(employee("emp" + d + "_" + e, department, position));
+                entityManager.persist(Attendance.builder()
+                        .employee(employee)
+                        .date(LocalDate.of(2025, 1, 1))
+                        .checkInTime(LocalTime.of(9, 0))
+                        .build());
+                entityManager.persist(Salary.builder()
+                        .employee(employee)
+                        .salary(new BigDecimal("1000.00"))
+                        .bonus(e % 2 == 0 ? new BigDecimal("250.00") : null)
+                        .effectiveDate(LocalDate.of(2025, 1, 1))
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPage_employeeProjection_readsRowsAndCountInTwoStatements() {
+        Page<ListEmployeeResponse> page = pageWindowRepository.findPage(
+                ListProjections.EMPLOYEE, null, PageRequest.of(0, 20, Sort.by("email")));
+
+        assertEquals(20, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        assertEquals("Department 0", page.getContent().getFirst().departmentName());
+        assertEquals("Position 0", page.getContent().getFirst().positionTitle());
+        assertEquals("emp0_0 Last", page.getContent().getFirst().fullName());
+        // One select for the rows however many there are, one for the total
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPage_lastPartialPage_skipsCountQuery() {
+        Page<ListEmployeeResponse> page = pageWindowRepository.findPage(
+                ListProjections.EMPLOYEE, null, PageRequest.of(1, 20, Sort.by("email")));
+
+        assertEquals(10, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPage_composesWithSpecificationFilters() {
+        Department department = departments.get(1);
+        EmployeeFilterRequest filter = EmployeeFilterRequest.builder()
+                .departmentId(department.getId())
+                .build();
+
+        Page<ListEmployeeResponse> page = pageWindowRepository.findPage(
+                ListProjections.EMPLOYEE, EmployeeSpecification.withFilters(filter), PageRequest.of(0, 50, Sort.by("email")));
+
+        assertEquals(EMPLOYEES_PER_DEPARTMENT, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(row -> "Department 1".equals(row.departmentName())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPage_salaryProjection_computesTotalInQuery() {
+        Page<ListSalaryResponse> page = pageWindowRepository.findPage(
+                ListProjections.SALARY, null, PageRequest.of(0, 50, Sort.by("id")));
+
+        assertEquals(30, page.getContent().size());
+        for (ListSalaryResponse row : page.getContent()) {
+            BigDecimal expected = row.bonus() == null ? row.salary() : row.salary().add(row.bonus());
+            assertEquals(0, expected.compareTo(row.totalSalary()));
+            assertNotNull(row.employeeFullName());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findWindow_attendanceProjection_readsOneStatementWithoutCount() {
+        PageWindowRepository.Window<ListAttendanceResponse> window = pageWindowRepository.findWindow(
+                ListProjections.ATTENDANCE, null, PageRequest.of(0, 20, Sort.by("id")), CountStrategyEnum.NONE, null);
+
+        assertEquals(20, window.content().size());
+        assertTrue(window.hasNext());
+        assertNull(window.total());
+        assertTrue(window.content().stream().allMatch(row -> row.employeeFullName().endsWith(" Last")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSeekWindow_employeeProjection_continuesFromTheCursorInOneStatementPerPage() {
+        Sort sort = CursorPaginationUtils.buildSort("hireDate", "asc");
+
+        PageWindowRepository.SeekWindow<ListEmployeeResponse> first = pageWindowRepository.findSeekWindow(
+                ListProjections.EMPLOYEE, SeekSpecification.after(null), sort, 20);
+        PageWindowRepository.SeekWindow<ListEmployeeResponse> second = pageWindowRepository.findSeekWindow(
+                ListProjections.EMPLOYEE, SeekSpecification.after(first.next()), sort, 20);
+
+        assertEquals(20, first.content().size());
+        assertEquals("hireDate", first.next().sortBy());
+        assertEquals("2020-01-01", first.next().value());
+        assertEquals(first.content().getLast().id(), first.next().id());
+        assertEquals(10, second.content().size());
+        assertNull(second.nextCursor());
+        assertTrue(second.content().stream().noneMatch(first.content()::contains));
+        assertNotNull(second.content().getFirst().departmentName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void entityPageWithMapper_loadsAssociationsPerRow() {
+        Page<Employee> page = employeeRepository.findAll(PageRequest.of(0, 20, Sort.by("email")));
+        new EmployeeMapperImpl().employeestoListEmployeeResponseList(page.getContent());
+
+        // Rows and count, then a lazy load per distinct department and position on the page
+        assertTrue(statistics.getPrepareStatementCount() > 2);
+    }
+
+    private static Employee employee(String name, Department department, Position position) {
+        return Employee.builder()
+                .firstName(name)
+                .lastName("Last")
+                .email(name + "@example.com")
+                .password("hash")
+                .hireDate(LocalDate.of(2020, 1, 1))
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .department(department)
+                .position(position)
+                .role(EmployeeRoleEnum.EMPLOYEE)
+                .status(EmployeeStatusEnum.ACTIVE)
+                .vacationBalance(20)
+                .maternityBalance(112)
+                .build();
+    }
+}
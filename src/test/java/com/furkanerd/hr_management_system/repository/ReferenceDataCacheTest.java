@@ -0,0 +1,119 @@
+package com.furkanerd.hr_management_system.repository;
+
+import com.furkanerd.hr_management_system.config.SecondLevelCacheConfig;
+import com.furkanerd.hr_management_system.constants.CacheRegionConstants;
+import com.furkanerd.hr_management_system.model.entity.Department;
+import com.furkanerd.hr_management_system.model.entity.Position;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding test transaction: a session never reads cache entries written
+ * after it started, so every repository call here commits and the next one sees the cache.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PositionRepository positionRepository;
+
+    private Statistics statistics;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        // The cache manager outlives the context's data, so names never repeat
+        suffix = UUID.randomUUID().toString();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        departmentRepository.deleteAll();
+        positionRepository.deleteAll();
+    }
+
+    @Test
+    void findById_secondLoad_isServedFromCache() {
+        UUID id = createDepartment("Engineering").getId();
+        departmentRepository.findById(id);
+        statistics.clear();
+
+        Department department = departmentRepository.findById(id).orElseThrow();
+
+        assertEquals("Engineering " + suffix, department.getName());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheRegionConstants.DEPARTMENT).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByTitle_repeatedLookup_isServedFromQueryCache() {
+        Position position = positionRepository.save(Position.builder().title("Analyst " + suffix).build());
+        positionRepository.findByTitle(position.getTitle());
+        statistics.clear();
+
+        assertEquals(position.getId(), positionRepository.findByTitle(position.getTitle()).orElseThrow().getId());
+
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheRegionConstants.REFERENCE_QUERIES).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByName_afterCreate_doesNotServeCachedMiss() {
+        String name = "Sales " + suffix;
+        assertTrue(departmentRepository.findByName(name).isEmpty());
+
+        departmentRepository.save(Department.builder().name(name).build());
+
+        assertTrue(departmentRepository.findByName(name).isPresent());
+    }
+
+    @Test
+    void update_replacesCachedEntityAndQueryResult() {
+        Department department = createDepartment("Support");
+        String oldName = department.getName();
+        departmentRepository.findById(department.getId());
+        departmentRepository.findByName(oldName);
+
+        department.setName("Customer Care " + suffix);
+        departmentRepository.save(department);
+
+        assertEquals("Customer Care " + suffix, departmentRepository.findById(department.getId()).orElseThrow().getName());
+        assertTrue(departmentRepository.findByName(oldName).isEmpty());
+    }
+
+    @Test
+    void delete_evictsCachedEntity() {
+        UUID id = createDepartment("Legal").getId();
+        departmentRepository.findById(id);
+
+        departmentRepository.deleteById(id);
+
+        assertTrue(departmentRepository.findById(id).isEmpty());
+    }
+
+    private Department createDepartment(String name) {
+        return departmentRepository.save(Department.builder().name(name + " " + suffix).build());
+    }
+}
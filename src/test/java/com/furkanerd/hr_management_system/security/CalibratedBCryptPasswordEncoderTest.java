@@ -0,0 +1,34 @@
+package com.furkanerd.hr_management_system.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_onlyLowerCost_returnsTrue() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(BCrypt.hashpw("secret", BCrypt.gensalt(4))));
+        assertFalse(encoder.upgradeEncoding(BCrypt.hashpw("secret", BCrypt.gensalt(6))));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void upgradeEncoding_notBCrypt_returnsTrue() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding("plain"));
+        assertTrue(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void costFor_scalesByPowersOfTwoWithinBounds() {
+        assertEquals(BCryptCostCalibrator.MIN_COST, BCryptCostCalibrator.costFor(60, 50));
+        assertEquals(BCryptCostCalibrator.MIN_COST, BCryptCostCalibrator.costFor(60, 100));
+        assertEquals(BCryptCostCalibrator.MIN_COST + 2, BCryptCostCalibrator.costFor(60, 250));
+        assertEquals(BCryptCostCalibrator.MAX_COST, BCryptCostCalibrator.costFor(1, 100_000));
+    }
+}
@@ -0,0 +1,114 @@
+package com.furkanerd.hr_management_system.security;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.model.projection.CredentialEpochView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CredentialEpochRegistryTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private CredentialEpochRegistry registry;
+    private UUID employeeId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new CredentialEpochRegistry(employeeRepository, true, 60_000);
+        employeeId = UUID.randomUUID();
+    }
+
+    @Test
+    void isCurrent_afterLoadAll_answersWithoutRepository() {
+        when(employeeRepository.findAllCredentialEpochs())
+                .thenReturn(List.of(new CredentialEpochView(employeeId, 2, LocalDateTime.now())));
+        registry.loadAll();
+
+        assertTrue(registry.isCurrent(employeeId, 2));
+        assertFalse(registry.isCurrent(employeeId, 1));
+        verify(employeeRepository, never()).findCredentialEpochById(any());
+    }
+
+    @Test
+    void refresh_rereadsBehindTheWatermark() {
+        LocalDateTime latest = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(employeeRepository.findAllCredentialEpochs())
+                .thenReturn(List.of(new CredentialEpochView(employeeId, 0, latest)));
+        registry.loadAll();
+        // Stamped before the watermark but committed after the load
+        UUID lateCommit = UUID.randomUUID();
+        when(employeeRepository.findCredentialEpochsUpdatedSince(latest.minusMinutes(1)))
+                .thenReturn(List.of(new CredentialEpochView(lateCommit, 4, latest.minusSeconds(5))));
+
+        registry.refresh();
+
+        assertTrue(registry.isCurrent(lateCommit, 4));
+        verify(employeeRepository, never()).findCredentialEpochById(any());
+    }
+
+    @Test
+    void isCurrent_unknownEmployee_loadsOnce() {
+        when(employeeRepository.findCredentialEpochById(employeeId)).thenReturn(Optional.of(0));
+
+        assertTrue(registry.isCurrent(employeeId, 0));
+        assertTrue(registry.isCurrent(employeeId, 0));
+        verify(employeeRepository, times(1)).findCredentialEpochById(employeeId);
+    }
+
+    @Test
+    void isCurrent_newerEpochThanCached_rereadsIt() {
+        registry.record(employeeId, 1);
+        // Password changed and the user logged in again on another instance
+        when(employeeRepository.findCredentialEpochById(employeeId)).thenReturn(Optional.of(2));
+
+        assertTrue(registry.isCurrent(employeeId, 2));
+        assertFalse(registry.isCurrent(employeeId, 1));
+        verify(employeeRepository, times(1)).findCredentialEpochById(employeeId);
+    }
+
+    @Test
+    void isCurrent_epochNewerThanStored_isRejected() {
+        registry.record(employeeId, 1);
+        when(employeeRepository.findCredentialEpochById(employeeId)).thenReturn(Optional.of(1));
+
+        assertFalse(registry.isCurrent(employeeId, 5));
+    }
+
+    @Test
+    void isCurrent_missingClaims_returnsFalse() {
+        assertFalse(registry.isCurrent(null, 0));
+        assertFalse(registry.isCurrent(employeeId, null));
+    }
+
+    @Test
+    void record_neverMovesEpochBackwards() {
+        registry.record(employeeId, 3);
+        registry.record(employeeId, 1);
+
+        assertTrue(registry.isCurrent(employeeId, 3));
+    }
+
+    @Test
+    void onEmployeeChanged_rejectsTokensWithOlderEpoch() {
+        registry.record(employeeId, 0);
+        when(employeeRepository.findCredentialEpochById(employeeId)).thenReturn(Optional.of(1));
+
+        registry.onEmployeeChanged(new EmployeeChangedEvent(employeeId, "john@example.com"));
+
+        assertFalse(registry.isCurrent(employeeId, 0));
+        assertTrue(registry.isCurrent(employeeId, 1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.furkanerd.hr_management_system.security;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtPrincipalCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private JwtPrincipalCache cache;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtPrincipalCache(2);
+        userDetails = User.builder()
+                .username("john@example.com")
+                .password("encodedPass")
+                .authorities("ROLE_EMPLOYEE")
+                .build();
+    }
+
+    @Test
+    void get_afterPut_returnsCachedPrincipal() {
+        cache.put(TOKEN, "jti", userDetails, true, System.currentTimeMillis() + 60_000);
+
+        JwtPrincipalCache.CachedPrincipal cached = cache.get(TOKEN);
+
+        assertNotNull(cached);
+        assertEquals("john@example.com", cached.userDetails().getUsername());
+        assertTrue(cached.mustChangePassword());
+    }
+
+    @Test
+    void get_withSameSignatureButDifferentPayload_returnsNull() {
+        cache.put(TOKEN, "jti", userDetails, false, System.currentTimeMillis() + 60_000);
+
+        assertNull(cache.get("header.tampered.signature"));
+    }
+
+    @Test
+    void get_expiredEntry_returnsNullAndRemovesIt() {
+        cache.put(TOKEN, "jti", userDetails, false, System.currentTimeMillis() - 1);
+
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_whenFull_doesNotGrowBeyondLimit() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("a.b.one", "jti", userDetails, false, expiresAt);
+        cache.put("a.b.two", "jti", userDetails, false, expiresAt);
+
+        JwtPrincipalCache.CachedPrincipal principal = cache.put("a.b.three", "jti", userDetails, false, expiresAt);
+
+        assertNotNull(principal);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a.b.three"));
+    }
+
+    @Test
+    void onEmployeeChanged_evictsAllTokensOfThatUser() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("a.b.one", "jti", userDetails, false, expiresAt);
+        cache.put("a.b.two", "jti", userDetails, false, expiresAt);
+
+        cache.onEmployeeChanged(new EmployeeChangedEvent(UUID.randomUUID(), "john@example.com"));
+
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.furkanerd.hr_management_system.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "old-secret-old-secret-old-secret-old-secret-old-secret-old-secret";
+    private static final String NEW_SECRET = "new-secret-new-secret-new-secret-new-secret-new-secret-new-secret";
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        userDetails = User.builder()
+                .username("john@example.com")
+                .password("encodedPass")
+                .authorities("ROLE_EMPLOYEE")
+                .build();
+    }
+
+    @Test
+    void generateToken_signsWithActiveKeyId() {
+        JwtUtil jwtUtil = new JwtUtil(OLD_SECRET, 60_000, "v2:" + NEW_SECRET, "v2");
+
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertEquals("john@example.com", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    void extractAllClaims_afterRotation_acceptsTokensSignedWithPreviousKey() {
+        JwtUtil beforeRotation = new JwtUtil(OLD_SECRET, 60_000, "", JwtKeyRing.DEFAULT_KEY_ID);
+        JwtUtil afterRotation = new JwtUtil(OLD_SECRET, 60_000, "v2:" + NEW_SECRET, "v2");
+
+        String token = beforeRotation.generateToken(userDetails);
+
+        assertEquals("john@example.com", afterRotation.extractUsername(token));
+    }
+
+    @Test
+    void extractAllClaims_tokenWithoutKeyId_usesDefaultKey() {
+        String legacyToken = Jwts.builder()
+                .subject("john@example.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(OLD_SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+        JwtUtil jwtUtil = new JwtUtil(OLD_SECRET, 60_000, "", JwtKeyRing.DEFAULT_KEY_ID);
+
+        assertEquals("john@example.com", jwtUtil.extractUsername(legacyToken));
+    }
+
+    @Test
+    void extractAllClaims_unknownKeyId_throwsException() {
+        JwtUtil issuer = new JwtUtil(OLD_SECRET, 60_000, "v2:" + NEW_SECRET, "v2");
+        JwtUtil verifier = new JwtUtil(OLD_SECRET, 60_000, "", JwtKeyRing.DEFAULT_KEY_ID);
+
+        String token = issuer.generateToken(userDetails);
+
+        assertThrows(JwtException.class, () -> verifier.extractAllClaims(token));
+    }
+
+    @Test
+    void constructor_activeKeyIdMissing_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new JwtUtil(OLD_SECRET, 60_000, "", "v3"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.furkanerd.hr_management_system.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationStoreTest {
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(1_000, 0.01);
+    }
+
+    @Test
+    void isRevoked_afterRevoke_returnsTrue() {
+        store.revoke("jti-1", System.currentTimeMillis() + 60_000);
+
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        assertFalse(store.isRevoked(null));
+    }
+
+    @Test
+    void revoke_alreadyExpiredToken_isNotStored() {
+        store.revoke("jti-1", System.currentTimeMillis() - 1);
+
+        assertEquals(0, store.size());
+        assertFalse(store.isRevoked("jti-1"));
+    }
+
+    @Test
+    void prune_removesExpiredEntriesAndKeepsLiveOnes() throws InterruptedException {
+        store.revoke("short-lived", System.currentTimeMillis() + 20);
+        store.revoke("long-lived", System.currentTimeMillis() + 60_000);
+        Thread.sleep(40);
+
+        store.prune();
+
+        assertEquals(1, store.size());
+        assertFalse(store.isRevoked("short-lived"));
+        assertTrue(store.isRevoked("long-lived"));
+    }
+
+    @Test
+    void isRevoked_manyUnrevokedIds_hasNoFalseNegativesAndFewFalsePositives() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 1_000; i++) {
+            store.revoke("revoked-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(store.isRevoked("revoked-" + i));
+        }
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("revoked-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
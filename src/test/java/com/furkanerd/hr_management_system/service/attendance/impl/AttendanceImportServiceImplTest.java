@@ -0,0 +1,206 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.exception.custom.InvalidImportFileException;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportErrorResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceImportResponse;
+import com.furkanerd.hr_management_system.model.enums.AttendanceImportFormatEnum;
+import com.furkanerd.hr_management_system.model.projection.EmployeeEmailIdView;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository.ImportedAttendance;
+import com.furkanerd.hr_management_system.repository.AttendanceImportBatchRepository.UpsertedAttendance;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceImportServiceImplTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AttendanceImportBatchRepository importBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final UUID adaId = UUID.randomUUID();
+    private final UUID alanId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.findAllEmailIds()).thenReturn(List.of(
+                new EmployeeEmailIdView("ada@company.com", adaId),
+                new EmployeeEmailIdView("alan@company.com", alanId)));
+        lenient().when(importBatchRepository.upsert(anyList())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+    }
+
+    @Test
+    void importAttendance_csv_importsValidRowsAndReportsRejectedLines() {
+        String csv = """
+                date,email,check_in_time,check_out_time
+                2025-11-03,ada@company.com,08:00,16:30
+                2025-11-03,ghost@company.com,08:00,
+                03/11/2025,alan@company.com,08:00,
+                2025-11-03,alan@company.com,11:15,
+
+                2025-11-03,"alan@company.com",09:00,
+                2025-11-03,ada@company.com,08:10,17:00
+                2025-11-04,ada@company.com,08:00,12:00
+                """;
+
+        AttendanceImportResponse report = service(500, 1000).importAttendance(stream(csv), AttendanceImportFormatEnum.CSV);
+
+        assertEquals(7, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(5, report.failed());
+        assertEquals(List.of(3L, 4L, 5L, 8L, 9L), report.errors().stream().map(AttendanceImportErrorResponse::line).toList());
+        assertEquals("No employee with email ghost@company.com", report.errors().get(0).message());
+        assertEquals("Invalid date '03/11/2025', expected yyyy-MM-dd", report.errors().get(1).message());
+        assertEquals("Duplicate of line 2 for the same employee and date", report.errors().get(3).message());
+        assertFalse(report.errorsTruncated());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ImportedAttendance>> batch = ArgumentCaptor.forClass(List.class);
+        verify(importBatchRepository).upsert(batch.capture());
+        assertEquals(List.of(adaId, alanId), batch.getValue().stream().map(ImportedAttendance::employeeId).toList());
+        assertEquals(LocalTime.of(16, 30), batch.getValue().get(0).checkOutTime());
+        assertNull(batch.getValue().get(1).checkOutTime());
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(alanId, LocalDate.of(2025, 11, 3), true, false));
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(adaId, LocalDate.of(2025, 11, 3), true, true));
+    }
+
+    @Test
+    void importAttendance_ndjson_reportsMalformedLines() {
+        String ndjson = """
+                {"email":"ada@company.com","date":"2025-11-03","checkInTime":"08:00","checkOutTime":"16:00"}
+                {"email":"alan@company.com","date":"2025-11-03",
+                {"email":"alan@company.com","date":"2025-11-03","checkInTime":"09:30"}
+                """;
+
+        AttendanceImportResponse report = service(500, 1000).importAttendance(stream(ndjson), AttendanceImportFormatEnum.NDJSON);
+
+        assertEquals(3, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(2L, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importAttendance_writesOneUpsertPerBatch() {
+        StringBuilder csv = new StringBuilder("email,date,check_in_time\n");
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 1200; i++) {
+            csv.append("ada@company.com,").append(day.plusDays(i)).append(",08:00\n");
+        }
+
+        AttendanceImportResponse report = service(500, 1000).importAttendance(stream(csv.toString()), AttendanceImportFormatEnum.CSV);
+
+        assertEquals(1200, report.imported());
+        verify(importBatchRepository, times(3)).upsert(anyList());
+    }
+
+    @Test
+    void importAttendance_failedBatch_retriesRowByRow() {
+        String csv = """
+                email,date,check_in_time
+                ada@company.com,2025-11-03,08:00
+                alan@company.com,2025-11-03,08:00
+                """;
+        when(importBatchRepository.upsert(anyList())).thenAnswer(invocation -> {
+            List<ImportedAttendance> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).employeeId().equals(alanId)) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            return stored(rows);
+        });
+
+        AttendanceImportResponse report = service(500, 1000).importAttendance(stream(csv), AttendanceImportFormatEnum.CSV);
+
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new AttendanceImportErrorResponse(3, "Could not be saved: violates foreign key constraint")), report.errors());
+        verify(eventPublisher, times(1)).publishEvent(any(AttendanceChangedEvent.class));
+    }
+
+    @Test
+    void importAttendance_rowWithoutCheckOut_reportsTheStoredCheckOut() {
+        String csv = """
+                email,date,check_in_time
+                ada@company.com,2025-11-03,08:00
+                """;
+        when(importBatchRepository.upsert(anyList())).thenAnswer(invocation -> {
+            List<ImportedAttendance> rows = invocation.getArgument(0);
+            // The day already had a check-out, which the upsert keeps
+            return List.of(new UpsertedAttendance(rows.get(0).employeeId(), rows.get(0).date(), true));
+        });
+
+        service(500, 1000).importAttendance(stream(csv), AttendanceImportFormatEnum.CSV);
+
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(adaId, LocalDate.of(2025, 11, 3), true, true));
+    }
+
+    @Test
+    void importAttendance_capsReportedErrors() {
+        String csv = """
+                email,date,check_in_time
+                nobody@company.com,2025-11-03,08:00
+                nobody@company.com,2025-11-04,08:00
+                nobody@company.com,2025-11-05,08:00
+                """;
+
+        AttendanceImportResponse report = service(500, 2).importAttendance(stream(csv), AttendanceImportFormatEnum.CSV);
+
+        assertEquals(3, report.failed());
+        assertEquals(2, report.errors().size());
+        assertTrue(report.errorsTruncated());
+        verifyNoInteractions(importBatchRepository);
+    }
+
+    @Test
+    void importAttendance_csvWithoutRequiredColumn_throws() {
+        String csv = """
+                email,check_in_time
+                ada@company.com,08:00
+                """;
+
+        assertThrows(InvalidImportFileException.class,
+                () -> service(500, 1000).importAttendance(stream(csv), AttendanceImportFormatEnum.CSV));
+    }
+
+    private AttendanceImportServiceImpl service(int batchSize, int maxReportedErrors) {
+        return new AttendanceImportServiceImpl(employeeRepository, importBatchRepository, eventPublisher,
+                new ObjectMapper(), batchSize, maxReportedErrors);
+    }
+
+    // What the upsert returns when no day had attendance before
+    private static List<UpsertedAttendance> stored(List<ImportedAttendance> rows) {
+        return rows.stream()
+                .map(row -> new UpsertedAttendance(row.employeeId(), row.date(), row.checkOutTime() != null))
+                .toList();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
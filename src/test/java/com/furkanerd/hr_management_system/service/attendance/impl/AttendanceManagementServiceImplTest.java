@@ -1,5 +1,6 @@
 package com.furkanerd.hr_management_system.service.attendance.impl;
 
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.mapper.AttendanceMapper;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceCreateRequest;
@@ -8,7 +9,10 @@ import com.furkanerd.hr_management_system.model.dto.response.attendance.Attendan
 import com.furkanerd.hr_management_system.model.entity.Attendance;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import com.furkanerd.hr_management_system.repository.DepartmentRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PositionRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -39,6 +44,21 @@ class AttendanceManagementServiceImplTest {
     @Mock
     private AttendanceMapper attendanceMapper;
 
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @Mock
+    private CheckInPipeline checkInPipeline;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AttendanceManagementServiceImpl attendanceService;
 
@@ -101,6 +121,7 @@ class AttendanceManagementServiceImplTest {
         verify(attendanceRepository).existsByEmployeeIdAndDate(employee.getId(), createRequest.date());
         verify(attendanceRepository).save(any(Attendance.class));
         verify(attendanceMapper).attendanceToAttendanceDetailResponse(attendance);
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(employee.getId(), createRequest.date(), true, true));
     }
 
     @Test
@@ -168,22 +189,22 @@ class AttendanceManagementServiceImplTest {
             localDateMock.when(LocalDate::now).thenReturn(today);
             localTimeMock.when(LocalTime::now).thenReturn(validTime);
 
-            when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
-            when(attendanceRepository.existsByEmployeeIdAndDate(employee.getId(), today)).thenReturn(false);
-            when(attendanceRepository.save(any(Attendance.class))).thenReturn(attendance);
-            when(attendanceMapper.attendanceToAttendanceDetailResponse(attendance)).thenReturn(attendanceResponse);
+            EmployeeDirectory.Entry entry = directoryEntry();
+            when(employeeDirectory.findByEmail(employee.getEmail())).thenReturn(Optional.of(entry));
+            when(checkInPipeline.checkIn(employee.getId(), today, validTime)).thenReturn(attendance.getId());
 
             // When
             AttendanceDetailResponse result = attendanceService.autoCheckIn(employee.getEmail());
 
             // Then
             assertNotNull(result);
-            assertEquals(attendanceResponse.id(), result.id());
+            assertEquals(attendance.getId(), result.id());
+            assertEquals("John Doe", result.employeeFullName());
 
             // Verify
-            verify(employeeRepository).findByEmail(employee.getEmail());
-            verify(attendanceRepository).existsByEmployeeIdAndDate(employee.getId(), today);
-            verify(attendanceRepository).save(any(Attendance.class));
+            verify(employeeDirectory).findByEmail(employee.getEmail());
+            verify(checkInPipeline).checkIn(employee.getId(), today, validTime);
+            verify(attendanceRepository, never()).save(any());
         }
     }
 
@@ -199,15 +220,16 @@ class AttendanceManagementServiceImplTest {
             localDateMock.when(LocalDate::now).thenReturn(today);
             localTimeMock.when(LocalTime::now).thenReturn(invalidTime);
 
-            when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+            EmployeeDirectory.Entry entry = directoryEntry();
+            when(employeeDirectory.findByEmail(employee.getEmail())).thenReturn(Optional.of(entry));
 
             // When & Then
             assertThrows(InvalidAttendanceTimeException.class, () ->
                     attendanceService.autoCheckIn(employee.getEmail()));
 
             // Verify
-            verify(employeeRepository).findByEmail(employee.getEmail());
-            verify(attendanceRepository, never()).save(any());
+            verify(employeeDirectory).findByEmail(employee.getEmail());
+            verifyNoInteractions(checkInPipeline);
         }
     }
 
@@ -301,6 +323,7 @@ class AttendanceManagementServiceImplTest {
         verify(attendanceRepository).findById(attendanceId);
         verify(attendanceRepository).save(attendance);
         verify(attendanceMapper).attendanceToAttendanceDetailResponse(attendance);
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(employee.getId(), attendance.getDate(), true, true));
     }
 
     @Test
@@ -334,6 +357,7 @@ class AttendanceManagementServiceImplTest {
         // Then & Verify
         verify(attendanceRepository).findById(attendanceId);
         verify(attendanceRepository).delete(attendance);
+        verify(eventPublisher).publishEvent(new AttendanceChangedEvent(employee.getId(), attendance.getDate(), false, false));
     }
 
     @Test
@@ -350,4 +374,12 @@ class AttendanceManagementServiceImplTest {
         verify(attendanceRepository).findById(invalidId);
         verify(attendanceRepository, never()).delete((Attendance) any());
     }
-}
\ No newline at end of file
+
+    private EmployeeDirectory.Entry directoryEntry() {
+        EmployeeDirectory.Entry entry = mock(EmployeeDirectory.Entry.class);
+        lenient().when(entry.id()).thenReturn(employee.getId());
+        lenient().when(entry.email()).thenReturn(employee.getEmail());
+        lenient().when(entry.fullName()).thenReturn(employee.getFirstName() + " " + employee.getLastName());
+        return entry;
+    }
+}
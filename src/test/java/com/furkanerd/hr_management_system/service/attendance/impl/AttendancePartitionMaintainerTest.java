@@ -0,0 +1,73 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.repository.AttendancePartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendancePartitionMaintainerTest {
+
+    @Mock
+    private AttendancePartitionRepository partitionRepository;
+
+    private final YearMonth current = YearMonth.of(2025, 11);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(partitionRepository.isPartitioned()).thenReturn(true);
+    }
+
+    @Test
+    void maintain_createsMissingMonthsAheadAcrossYearEnd() {
+        when(partitionRepository.findMonths()).thenReturn(List.of(YearMonth.of(2025, 10), current));
+
+        new AttendancePartitionMaintainer(partitionRepository, 3, 0, 5000).maintain(current);
+
+        verify(partitionRepository).createMonth(YearMonth.of(2025, 12));
+        verify(partitionRepository).createMonth(YearMonth.of(2026, 1));
+        verify(partitionRepository).createMonth(YearMonth.of(2026, 2));
+        verify(partitionRepository, never()).createMonth(current);
+        verify(partitionRepository, never()).detachMonth(any(), anyLong());
+    }
+
+    @Test
+    void maintain_withRetention_detachesOnlyOlderMonths() {
+        when(partitionRepository.findMonths()).thenReturn(List.of(
+                YearMonth.of(2024, 12), YearMonth.of(2025, 4), YearMonth.of(2025, 5), current));
+
+        new AttendancePartitionMaintainer(partitionRepository, 0, 6, 5000).maintain(current);
+
+        verify(partitionRepository).detachMonth(YearMonth.of(2024, 12), 5000);
+        verify(partitionRepository).detachMonth(YearMonth.of(2025, 4), 5000);
+        verify(partitionRepository, never()).detachMonth(eq(YearMonth.of(2025, 5)), anyLong());
+        verify(partitionRepository, never()).createMonth(any());
+    }
+
+    @Test
+    void maintain_unpartitionedTable_changesNothing() {
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        new AttendancePartitionMaintainer(partitionRepository, 3, 6, 5000).maintain(current);
+
+        verify(partitionRepository, never()).findMonths();
+        verify(partitionRepository, never()).createMonth(any());
+        verify(partitionRepository, never()).detachMonth(any(), anyLong());
+    }
+
+    @Test
+    void partitionName_isZeroPadded() {
+        assertEquals("attendance_y2025m03",
+                AttendancePartitionRepository.partitionName(YearMonth.of(2025, 3)));
+    }
+}
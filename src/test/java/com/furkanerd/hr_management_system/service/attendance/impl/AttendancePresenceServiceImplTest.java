@@ -0,0 +1,199 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceDiffResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceEmployeeResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.PresenceSummaryResponse;
+import com.furkanerd.hr_management_system.model.projection.AttendancePresenceView;
+import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.service.employee.OrgHierarchyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AttendancePresenceServiceImplTest {
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @Mock
+    private OrgHierarchyIndex orgHierarchyIndex;
+
+    private PresenceBoard presenceBoard;
+    private AttendancePresenceServiceImpl presenceService;
+    private final List<Object> sent = new ArrayList<>();
+
+    private final LocalDate today = LocalDate.now();
+    private final UUID engineering = UUID.randomUUID();
+    private final UUID sales = UUID.randomUUID();
+    private final UUID manager = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Alice and Bob work in engineering under the manager; Carol is in sales
+        inDirectory(manager, engineering, "Mia Manager");
+        inDirectory(alice, engineering, "Alice Doe");
+        inDirectory(bob, engineering, "Bob Doe");
+        inDirectory(carol, sales, "Carol Doe");
+        when(orgHierarchyIndex.isAncestorOrSelf(any(), any())).thenReturn(false);
+        when(orgHierarchyIndex.isAncestorOrSelf(manager, manager)).thenReturn(true);
+        when(orgHierarchyIndex.isAncestorOrSelf(manager, alice)).thenReturn(true);
+        when(orgHierarchyIndex.isAncestorOrSelf(manager, bob)).thenReturn(true);
+        when(attendanceRepository.findPresenceByDate(today)).thenReturn(List.of(
+                new AttendancePresenceView(alice, null),
+                new AttendancePresenceView(carol, LocalTime.of(17, 0))));
+
+        presenceBoard = new PresenceBoard(attendanceRepository);
+        presenceService = new AttendancePresenceServiceImpl(presenceBoard, employeeDirectory, orgHierarchyIndex, 60_000) {
+            @Override
+            SseEmitter newEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        builder.build().forEach(part -> sent.add(part.getData()));
+                    }
+                };
+            }
+        };
+        presenceBoard.rebuild();
+    }
+
+    @Test
+    void getPresence_unscoped_countsFromStartupRebuild() {
+        PresenceSummaryResponse presence = presenceService.getPresence(null, null);
+
+        assertEquals(today, presence.date());
+        assertEquals(2, presence.checkedIn());
+        assertEquals(1, presence.checkedOut());
+        assertEquals(1, presence.onSite());
+        assertEquals(2, presence.employees().size());
+        verify(attendanceRepository, times(1)).findPresenceByDate(today);
+    }
+
+    @Test
+    void getPresence_followsAttendanceChanges() {
+        presenceBoard.onAttendanceChanged(new AttendanceChangedEvent(bob, today, true, false));
+        presenceBoard.onAttendanceChanged(new AttendanceChangedEvent(alice, today, true, true));
+        presenceBoard.onAttendanceChanged(new AttendanceChangedEvent(carol, today, false, false));
+
+        PresenceSummaryResponse presence = presenceService.getPresence(null, null);
+
+        assertEquals(2, presence.checkedIn());
+        assertEquals(1, presence.checkedOut());
+        assertEquals(List.of(alice, bob), presence.employees().stream().map(PresenceEmployeeResponse::employeeId).toList());
+    }
+
+    @Test
+    void getPresence_ignoresChangesToPastDays() {
+        presenceBoard.onAttendanceChanged(new AttendanceChangedEvent(bob, today.minusDays(1), true, false));
+
+        assertEquals(2, presenceService.getPresence(null, null).checkedIn());
+    }
+
+    @Test
+    void getPresence_ignoresChangesToFutureDays() {
+        presenceBoard.onAttendanceChanged(new AttendanceChangedEvent(bob, today.plusDays(1), true, false));
+
+        PresenceSummaryResponse presence = presenceService.getPresence(null, null);
+
+        assertEquals(today, presence.date());
+        assertEquals(2, presence.checkedIn());
+        verify(attendanceRepository, never()).findPresenceByDate(today.plusDays(1));
+    }
+
+    @Test
+    void getPresence_byDepartment_onlyCountsThatDepartment() {
+        PresenceSummaryResponse presence = presenceService.getPresence(sales, null);
+
+        assertEquals(1, presence.checkedIn());
+        assertEquals(1, presence.checkedOut());
+        assertEquals(carol, presence.employees().get(0).employeeId());
+        assertEquals("Carol Doe", presence.employees().get(0).employeeFullName());
+        assertTrue(presence.employees().get(0).checkedOut());
+    }
+
+    @Test
+    void getMyTeamPresence_countsReportsButNotTheManager() {
+        when(employeeDirectory.findIdByEmail("manager@example.com")).thenReturn(Optional.of(manager));
+        presenceBoard.apply(manager, today, true, false);
+        presenceBoard.apply(bob, today, true, false);
+
+        PresenceSummaryResponse presence = presenceService.getMyTeamPresence("manager@example.com");
+
+        assertEquals(2, presence.checkedIn());
+        assertEquals(0, presence.checkedOut());
+    }
+
+    @Test
+    void streamPresence_sendsSnapshotThenScopedDiffs() {
+        presenceService.streamPresence(engineering, null);
+        presenceService.pushDiffs();
+
+        presenceBoard.apply(bob, today, true, false);
+        presenceBoard.apply(carol, today, false, false);
+        presenceService.pushDiffs();
+        // Nothing changed since the last push
+        presenceService.pushDiffs();
+
+        List<PresenceSummaryResponse> snapshots = sentOfType(PresenceSummaryResponse.class);
+        List<PresenceDiffResponse> diffs = sentOfType(PresenceDiffResponse.class);
+        assertEquals(1, snapshots.size());
+        assertEquals(1, snapshots.get(0).checkedIn());
+        assertEquals(1, diffs.size());
+        assertEquals(List.of(bob), diffs.get(0).checkedIn());
+        // Carol's deletion is outside the engineering scope
+        assertEquals(List.of(), diffs.get(0).cleared());
+        assertEquals(2, diffs.get(0).checkedInCount());
+        assertEquals(0, diffs.get(0).checkedOutCount());
+    }
+
+    @Test
+    void streamPresence_reportsCheckOutsAndDeletions() {
+        presenceService.streamPresence(null, null);
+        presenceService.pushDiffs();
+
+        presenceBoard.apply(alice, today, true, true);
+        presenceBoard.apply(carol, today, false, false);
+        presenceService.pushDiffs();
+
+        PresenceDiffResponse diff = sentOfType(PresenceDiffResponse.class).get(0);
+        assertEquals(List.of(), diff.checkedIn());
+        assertEquals(List.of(alice), diff.checkedOut());
+        assertEquals(List.of(carol), diff.cleared());
+        assertEquals(1, diff.checkedInCount());
+        assertEquals(1, diff.checkedOutCount());
+    }
+
+    private void inDirectory(UUID employeeId, UUID departmentId, String fullName) {
+        EmployeeDirectory.Entry entry = mock(EmployeeDirectory.Entry.class);
+        when(entry.id()).thenReturn(employeeId);
+        when(entry.departmentId()).thenReturn(departmentId);
+        when(entry.fullName()).thenReturn(fullName);
+        when(employeeDirectory.findById(employeeId)).thenReturn(Optional.of(entry));
+    }
+
+    private <T> List<T> sentOfType(Class<T> type) {
+        return sent.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+}
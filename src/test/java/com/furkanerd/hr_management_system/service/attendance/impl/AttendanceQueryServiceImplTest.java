@@ -2,15 +2,22 @@ package com.furkanerd.hr_management_system.service.attendance.impl;
 
 import com.furkanerd.hr_management_system.exception.custom.AttendanceNotFoundException;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.InvalidCursorException;
 import com.furkanerd.hr_management_system.mapper.AttendanceMapper;
 import com.furkanerd.hr_management_system.model.dto.request.attendance.AttendanceFilterRequest;
+import com.furkanerd.hr_management_system.model.dto.response.CursorPaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceDetailResponse;
 import com.furkanerd.hr_management_system.model.dto.response.attendance.ListAttendanceResponse;
 import com.furkanerd.hr_management_system.model.entity.Attendance;
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
 import com.furkanerd.hr_management_system.repository.AttendanceRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.specification.ListProjections;
+import com.furkanerd.hr_management_system.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -45,6 +53,12 @@ class AttendanceQueryServiceImplTest {
     @Mock
     private AttendanceMapper attendanceMapper;
 
+    @Mock
+    private PageWindowRepository pageWindowRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
     @InjectMocks
     private AttendanceQueryServiceImpl attendanceQueryService;
 
@@ -91,16 +105,14 @@ class AttendanceQueryServiceImplTest {
     void listAllAttendance_WithValidParameters_ShouldReturnPaginatedResponse() {
         // Given
         AttendanceFilterRequest filterRequest = AttendanceFilterRequest.empty();
-        List<Attendance> attendances = Arrays.asList(attendance);
-        Page<Attendance> attendancePage = new PageImpl<>(attendances, Pageable.unpaged(), attendances.size());
         List<ListAttendanceResponse> responses = Arrays.asList(listAttendanceResponse);
+        Page<ListAttendanceResponse> attendancePage = new PageImpl<>(responses, Pageable.unpaged(), responses.size());
 
-        when(attendanceRepository.findAll(nullable(Specification.class), any(Pageable.class))).thenReturn(attendancePage);
-        when(attendanceMapper.attendancesToListAttendanceResponse(attendances)).thenReturn(responses);
+        when(pageWindowRepository.findPage(eq(ListProjections.ATTENDANCE), nullable(Specification.class), any(Pageable.class))).thenReturn(attendancePage);
 
         // When
         PaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.listAllAttendance(
-                0, 10, "date", "desc", filterRequest);
+                0, 10, "date", "desc", filterRequest, CountStrategyEnum.EXACT);
 
         // Then
         assertNotNull(result);
@@ -109,8 +121,7 @@ class AttendanceQueryServiceImplTest {
         assertEquals(listAttendanceResponse.id(), result.data().getFirst().id());
 
         // Verify
-        verify(attendanceRepository).findAll(nullable(Specification.class), any(Pageable.class));
-        verify(attendanceMapper).attendancesToListAttendanceResponse(attendances);
+        verify(pageWindowRepository).findPage(eq(ListProjections.ATTENDANCE), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -153,17 +164,15 @@ class AttendanceQueryServiceImplTest {
         // Given
         String employeeEmail = employee.getEmail();
         AttendanceFilterRequest filterRequest = AttendanceFilterRequest.empty();
-        List<Attendance> attendances = Arrays.asList(attendance);
-        Page<Attendance> attendancePage = new PageImpl<>(attendances, Pageable.unpaged(), attendances.size());
         List<ListAttendanceResponse> responses = Arrays.asList(listAttendanceResponse);
+        Page<ListAttendanceResponse> attendancePage = new PageImpl<>(responses, Pageable.unpaged(), responses.size());
 
-        when(employeeRepository.findByEmail(employeeEmail)).thenReturn(Optional.of(employee));
-        when(attendanceRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(attendancePage);
-        when(attendanceMapper.attendancesToListAttendanceResponse(attendances)).thenReturn(responses);
+        when(employeeDirectory.findIdByEmail(employeeEmail)).thenReturn(Optional.of(employee.getId()));
+        when(pageWindowRepository.findPage(eq(ListProjections.ATTENDANCE), any(Specification.class), any(Pageable.class))).thenReturn(attendancePage);
 
         // When
         PaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.getAttendanceByEmployee(
-                employeeEmail, 0, 10, "date", "desc", filterRequest);
+                employeeEmail, 0, 10, "date", "desc", filterRequest, CountStrategyEnum.EXACT);
 
         // Then
         assertNotNull(result);
@@ -171,9 +180,8 @@ class AttendanceQueryServiceImplTest {
         assertEquals(1, result.data().size());
 
         // Verify
-        verify(employeeRepository).findByEmail(employeeEmail);
-        verify(attendanceRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(attendanceMapper).attendancesToListAttendanceResponse(attendances);
+        verify(employeeDirectory).findIdByEmail(employeeEmail);
+        verify(pageWindowRepository).findPage(eq(ListProjections.ATTENDANCE), any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -181,14 +189,91 @@ class AttendanceQueryServiceImplTest {
         // Given
         String invalidEmail = "invalid@company.com";
         AttendanceFilterRequest filterRequest = AttendanceFilterRequest.empty();
-        when(employeeRepository.findByEmail(invalidEmail)).thenReturn(Optional.empty());
+        when(employeeDirectory.findIdByEmail(invalidEmail)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(EmployeeNotFoundException.class, () ->
-                attendanceQueryService.getAttendanceByEmployee(invalidEmail, 0, 10, "date", "desc", filterRequest));
+                attendanceQueryService.getAttendanceByEmployee(invalidEmail, 0, 10, "date", "desc", filterRequest, CountStrategyEnum.EXACT));
 
         // Verify
-        verify(employeeRepository).findByEmail(invalidEmail);
-        verify(attendanceRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(employeeDirectory).findIdByEmail(invalidEmail);
+        verify(pageWindowRepository, never()).findPage(any(), any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void listAllAttendance_WithCountStrategyNone_ShouldSkipCountQuery() {
+        // Given
+        when(pageWindowRepository.findWindow(eq(ListProjections.ATTENDANCE), isNull(), any(Pageable.class), eq(CountStrategyEnum.NONE), any()))
+                .thenReturn(new PageWindowRepository.Window<>(List.of(listAttendanceResponse), true, null));
+
+        // When
+        PaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.listAllAttendance(0, 1, "date", "desc", null, CountStrategyEnum.NONE);
+
+        // Then
+        assertEquals(-1, result.total());
+        assertEquals(-1, result.totalPages());
+        assertTrue(result.hasNext());
+        assertEquals(CountStrategyEnum.NONE, result.countStrategy());
+        verify(pageWindowRepository, never()).findPage(any(), nullable(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAttendanceByEmployee_WithEstimatedCount_ShouldReportEstimate() {
+        // Given
+        when(employeeDirectory.findIdByEmail(employee.getEmail())).thenReturn(Optional.of(employee.getId()));
+        when(pageWindowRepository.findWindow(eq(ListProjections.ATTENDANCE), any(Specification.class), any(Pageable.class), eq(CountStrategyEnum.ESTIMATED), any()))
+                .thenReturn(new PageWindowRepository.Window<>(List.of(listAttendanceResponse), true, 25L));
+
+        // When
+        PaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.getAttendanceByEmployee(employee.getEmail(), 0, 10, "date", "desc", null, CountStrategyEnum.ESTIMATED);
+
+        // Then
+        assertEquals(25, result.total());
+        assertEquals(3, result.totalPages());
+        assertEquals(CountStrategyEnum.ESTIMATED, result.countStrategy());
+    }
+
+    @Test
+    void listAllAttendanceByCursor_WhenMoreRowsThanSize_ShouldReturnPageAndNextCursor() {
+        // Given
+        PageCursor next = new PageCursor("date", Sort.Direction.DESC, attendance.getDate().toString(), attendance.getId());
+        when(pageWindowRepository.findSeekWindow(eq(ListProjections.ATTENDANCE), any(Specification.class), any(Sort.class), eq(1)))
+                .thenReturn(new PageWindowRepository.SeekWindow<>(List.of(listAttendanceResponse), next));
+
+        // When
+        CursorPaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.listAllAttendanceByCursor(null, 1, "date", "desc", null);
+
+        // Then
+        assertEquals(List.of(listAttendanceResponse), result.data());
+        assertTrue(result.hasNext());
+        assertEquals(next, PageCursor.decode(result.nextCursor()));
+        verify(pageWindowRepository).findSeekWindow(eq(ListProjections.ATTENDANCE), any(Specification.class),
+                eq(Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "id"))), eq(1));
+        verifyNoInteractions(attendanceMapper);
+    }
+
+    @Test
+    void listAllAttendanceByCursor_WhenLastPage_ShouldNotReturnCursor() {
+        // Given
+        when(pageWindowRepository.findSeekWindow(eq(ListProjections.ATTENDANCE), any(Specification.class), any(Sort.class), eq(10)))
+                .thenReturn(new PageWindowRepository.SeekWindow<>(List.of(listAttendanceResponse), null));
+
+        // When
+        CursorPaginatedResponse<ListAttendanceResponse> result = attendanceQueryService.listAllAttendanceByCursor(null, 10, "date", "desc", null);
+
+        // Then
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void listAllAttendanceByCursor_WhenCursorFromDifferentSort_ShouldThrowInvalidCursorException() {
+        // Given
+        String cursor = new PageCursor("checkInTime", Sort.Direction.ASC, "08:00", UUID.randomUUID()).encode();
+
+        // When & Then
+        assertThrows(InvalidCursorException.class,
+                () -> attendanceQueryService.listAllAttendanceByCursor(cursor, 10, "date", "desc", null));
+        verify(pageWindowRepository, never()).findSeekWindow(any(), any(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository.AttendanceKey;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupBatchRepository.EmployeeDay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceRollupUpdaterTest {
+
+    @Mock
+    private AttendanceRollupBatchRepository rollupBatchRepository;
+
+    private final LocalDate today = LocalDate.of(2025, 11, 10);
+
+    @Test
+    void flush_refreshesEachDirtyDayOnce() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 1000);
+        UUID employeeId = UUID.randomUUID();
+
+        updater.onAttendanceChanged(new AttendanceChangedEvent(employeeId, today, true, false));
+        updater.onAttendanceChanged(new AttendanceChangedEvent(employeeId, today, true, true));
+        updater.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<EmployeeDay>> days = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupBatchRepository).refresh(days.capture(), eq(LocalTime.of(9, 0)), eq(480));
+        assertEquals(List.of(new EmployeeDay(employeeId, today)), new ArrayList<>(days.getValue()));
+        assertEquals(0, updater.pending());
+    }
+
+    @Test
+    void flush_splitsDirtyDaysIntoChunks() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 2);
+        for (int i = 0; i < 5; i++) {
+            updater.onAttendanceChanged(new AttendanceChangedEvent(UUID.randomUUID(), today, true, false));
+        }
+
+        updater.flush();
+
+        verify(rollupBatchRepository, times(3)).refresh(any(), any(), anyInt());
+        assertEquals(0, updater.pending());
+    }
+
+    @Test
+    void flush_whenRefreshFails_keepsDaysForNextFlush() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 1000);
+        updater.onAttendanceChanged(new AttendanceChangedEvent(UUID.randomUUID(), today, true, false));
+        doThrow(new RuntimeException("connection reset"))
+                .doNothing()
+                .when(rollupBatchRepository).refresh(any(), any(), anyInt());
+
+        updater.flush();
+        assertEquals(1, updater.pending());
+
+        updater.flush();
+        assertEquals(0, updater.pending());
+    }
+
+    @Test
+    void flushOnShutdown_refreshesWhatIsStillDirty() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 1000);
+        updater.onAttendanceChanged(new AttendanceChangedEvent(UUID.randomUUID(), today, true, false));
+
+        updater.flushOnShutdown();
+
+        verify(rollupBatchRepository).refresh(any(), any(), anyInt());
+        assertEquals(0, updater.pending());
+    }
+
+    @Test
+    void constructor_lateAfterOutsideCheckInWindow_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AttendanceRollupUpdater(rollupBatchRepository, "11:30", 1000));
+    }
+
+    @Test
+    void backfillRun_walksAttendanceInChunksFromLastKey() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 2);
+        AttendanceRollupBackfill backfill = new AttendanceRollupBackfill(rollupBatchRepository, updater, 2, false, 60_000);
+        LocalDate from = LocalDate.of(2025, 11, 1);
+        LocalDate to = LocalDate.of(2025, 11, 30);
+        AttendanceKey first = new AttendanceKey(UUID.randomUUID(), UUID.randomUUID(), from);
+        AttendanceKey second = new AttendanceKey(UUID.randomUUID(), UUID.randomUUID(), from);
+        AttendanceKey third = new AttendanceKey(UUID.randomUUID(), UUID.randomUUID(), from.plusDays(1));
+        when(rollupBatchRepository.findKeysAfter(eq(from.minusDays(1)), any(), eq(to), eq(2))).thenReturn(List.of(first, second));
+        when(rollupBatchRepository.findKeysAfter(from, second.id(), to, 2)).thenReturn(List.of(third));
+        when(rollupBatchRepository.findKeysAfter(third.date(), third.id(), to, 2)).thenReturn(List.of());
+
+        int rows = backfill.run(from, to);
+
+        assertEquals(3, rows);
+        verify(rollupBatchRepository, times(2)).refresh(any(), any(), anyInt());
+    }
+
+    @Test
+    void backfillOnStartup_withRollups_refreshesDaysWrittenSinceTheLastRefresh() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 2);
+        AttendanceRollupBackfill backfill = new AttendanceRollupBackfill(rollupBatchRepository, updater, 2, true, 60_000);
+        List<EmployeeDay> written = List.of(new EmployeeDay(UUID.randomUUID(), today), new EmployeeDay(UUID.randomUUID(), today),
+                new EmployeeDay(UUID.randomUUID(), today));
+        when(rollupBatchRepository.isEmpty()).thenReturn(false);
+        when(rollupBatchRepository.findDaysWrittenSinceLastRefresh(60_000)).thenReturn(written);
+
+        backfill.backfillOnStartup();
+
+        verify(rollupBatchRepository, times(2)).refresh(any(), any(), anyInt());
+        verify(rollupBatchRepository, never()).deleteDays(any(), any());
+    }
+
+    @Test
+    void backfillRun_resumsPeriodsOfDaysWithoutAttendance() {
+        AttendanceRollupUpdater updater = new AttendanceRollupUpdater(rollupBatchRepository, "09:00", 1000);
+        AttendanceRollupBackfill backfill = new AttendanceRollupBackfill(rollupBatchRepository, updater, 1000, false, 60_000);
+        LocalDate from = LocalDate.of(2025, 11, 1);
+        LocalDate to = LocalDate.of(2025, 11, 30);
+        // The attendance row behind this day rollup was deleted outside the application
+        EmployeeDay orphan = new EmployeeDay(UUID.randomUUID(), from.plusDays(3));
+        when(rollupBatchRepository.deleteDays(from, to)).thenReturn(List.of(orphan));
+        when(rollupBatchRepository.findKeysAfter(eq(from.minusDays(1)), any(), eq(to), eq(1000))).thenReturn(List.of());
+
+        assertEquals(0, backfill.run(from, to));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<EmployeeDay>> days = ArgumentCaptor.forClass(Collection.class);
+        verify(rollupBatchRepository).refresh(days.capture(), any(), anyInt());
+        assertEquals(List.of(orphan), new ArrayList<>(days.getValue()));
+    }
+}
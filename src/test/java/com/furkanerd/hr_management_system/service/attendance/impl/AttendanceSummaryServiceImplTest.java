@@ -0,0 +1,91 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.RollupBackfillInProgressException;
+import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceSummaryResponse;
+import com.furkanerd.hr_management_system.model.dto.response.attendance.AttendanceTotalsResponse;
+import com.furkanerd.hr_management_system.model.enums.RollupPeriodEnum;
+import com.furkanerd.hr_management_system.model.projection.AttendanceTotalsView;
+import com.furkanerd.hr_management_system.repository.AttendanceRollupRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceSummaryServiceImplTest {
+
+    @Mock
+    private AttendanceRollupRepository attendanceRollupRepository;
+
+    @Mock
+    private AttendanceRollupBackfill attendanceRollupBackfill;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @InjectMocks
+    private AttendanceSummaryServiceImpl attendanceSummaryService;
+
+    private final LocalDate date = LocalDate.of(2025, 11, 13);
+
+    @Test
+    void listSummaries_queriesThePeriodContainingDate() {
+        UUID departmentId = UUID.randomUUID();
+        AttendanceSummaryResponse summary = new AttendanceSummaryResponse(UUID.randomUUID(), "Ada Lovelace",
+                RollupPeriodEnum.WEEK, LocalDate.of(2025, 11, 10), 4, 1980, 1, 60);
+        when(attendanceRollupRepository.findSummaries(RollupPeriodEnum.WEEK, LocalDate.of(2025, 11, 10), departmentId, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1));
+
+        PaginatedResponse<AttendanceSummaryResponse> result =
+                attendanceSummaryService.listSummaries(RollupPeriodEnum.WEEK, date, departmentId, 0, 10);
+
+        assertEquals(List.of(summary), result.data());
+        assertEquals(1, result.total());
+    }
+
+    @Test
+    void getTotals_mapsMonthTotals() {
+        LocalDate monthStart = LocalDate.of(2025, 11, 1);
+        when(attendanceRollupRepository.findTotals(RollupPeriodEnum.MONTH, monthStart, null))
+                .thenReturn(new AttendanceTotalsView(12, 200, 96000, 7, 1500));
+
+        AttendanceTotalsResponse totals = attendanceSummaryService.getTotals(RollupPeriodEnum.MONTH, date, null);
+
+        assertEquals(monthStart, totals.periodStart());
+        assertEquals(12, totals.employees());
+        assertEquals(96000, totals.workedMinutes());
+        assertEquals(7, totals.lateArrivals());
+    }
+
+    @Test
+    void getMySummaries_unknownEmail_throws() {
+        when(employeeDirectory.findIdByEmail("ghost@company.com")).thenReturn(Optional.empty());
+
+        assertThrows(EmployeeNotFoundException.class,
+                () -> attendanceSummaryService.getMySummaries("ghost@company.com", RollupPeriodEnum.DAY, date, date));
+        verifyNoInteractions(attendanceRollupRepository);
+    }
+
+    @Test
+    void rebuildRollups_whileRunning_throws() {
+        when(attendanceRollupBackfill.start(date, date)).thenReturn(false);
+
+        assertThrows(RollupBackfillInProgressException.class,
+                () -> attendanceSummaryService.rebuildRollups(date, date));
+    }
+}
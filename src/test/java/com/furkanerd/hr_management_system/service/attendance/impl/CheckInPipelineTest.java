@@ -0,0 +1,171 @@
+package com.furkanerd.hr_management_system.service.attendance.impl;
+
+import com.furkanerd.hr_management_system.event.AttendanceChangedEvent;
+import com.furkanerd.hr_management_system.exception.custom.AttendanceAlreadyExistsException;
+import com.furkanerd.hr_management_system.exception.custom.CheckInUnavailableException;
+import com.furkanerd.hr_management_system.repository.AttendanceRepository;
+import com.furkanerd.hr_management_system.repository.CheckInBatchRepository;
+import com.furkanerd.hr_management_system.repository.CheckInBatchRepository.NewCheckIn;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CheckInPipelineTest {
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private CheckInBatchRepository checkInBatchRepository;
+
+    private CheckInPipeline pipeline;
+
+    private final LocalDate today = LocalDate.of(2025, 3, 10);
+    private final LocalTime checkInTime = LocalTime.of(8, 30);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(attendanceRepository.findEmployeeIdsByDate(any())).thenReturn(List.of());
+        when(checkInBatchRepository.insertIgnoringExisting(anyList())).thenAnswer(invocation -> allIds(invocation.getArgument(0)));
+        pipeline = new CheckInPipeline(attendanceRepository, checkInBatchRepository, new SimpleMeterRegistry(),
+                5, 500, 20_000, 2_000);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void checkIn_newEmployee_returnsWrittenId() {
+        UUID id = pipeline.checkIn(UUID.randomUUID(), today, checkInTime);
+
+        assertNotNull(id);
+        verify(checkInBatchRepository).insertIgnoringExisting(argThat(rows -> rows.size() == 1 && rows.get(0).id().equals(id)));
+    }
+
+    @Test
+    void checkIn_alreadyCheckedInToday_isRejectedWithoutWriting() {
+        UUID employeeId = UUID.randomUUID();
+        when(attendanceRepository.findEmployeeIdsByDate(today)).thenReturn(List.of(employeeId));
+        when(attendanceRepository.existsByEmployeeIdAndDate(employeeId, today)).thenReturn(true);
+
+        assertThrows(AttendanceAlreadyExistsException.class, () -> pipeline.checkIn(employeeId, today, checkInTime));
+
+        verify(checkInBatchRepository, never()).insertIgnoringExisting(anyList());
+    }
+
+    @Test
+    void checkIn_deletedThroughAnotherInstance_isConfirmedAndAccepted() {
+        UUID employeeId = UUID.randomUUID();
+        when(attendanceRepository.findEmployeeIdsByDate(today)).thenReturn(List.of(employeeId));
+        when(attendanceRepository.existsByEmployeeIdAndDate(employeeId, today)).thenReturn(false);
+
+        assertNotNull(pipeline.checkIn(employeeId, today, checkInTime));
+    }
+
+    @Test
+    void checkIn_rowWrittenByAnotherInstance_isReportedAsDuplicate() {
+        when(checkInBatchRepository.insertIgnoringExisting(anyList())).thenReturn(Set.of());
+
+        assertThrows(AttendanceAlreadyExistsException.class, () -> pipeline.checkIn(UUID.randomUUID(), today, checkInTime));
+    }
+
+    @Test
+    void checkIn_writeFails_allowsRetry() {
+        UUID employeeId = UUID.randomUUID();
+        when(checkInBatchRepository.insertIgnoringExisting(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenAnswer(invocation -> allIds(invocation.getArgument(0)));
+
+        assertThrows(CheckInUnavailableException.class, () -> pipeline.checkIn(employeeId, today, checkInTime));
+
+        assertNotNull(pipeline.checkIn(employeeId, today, checkInTime));
+    }
+
+    @Test
+    void checkIn_newDay_reloadsCheckedInEmployees() {
+        UUID employeeId = UUID.randomUUID();
+        pipeline.checkIn(employeeId, today, checkInTime);
+
+        assertNotNull(pipeline.checkIn(employeeId, today.plusDays(1), checkInTime));
+
+        verify(attendanceRepository).findEmployeeIdsByDate(today);
+        verify(attendanceRepository).findEmployeeIdsByDate(today.plusDays(1));
+    }
+
+    @Test
+    void onAttendanceChanged_deleted_allowsCheckingInAgain() {
+        UUID employeeId = UUID.randomUUID();
+        pipeline.checkIn(employeeId, today, checkInTime);
+
+        pipeline.onAttendanceChanged(new AttendanceChangedEvent(employeeId, today, false, false));
+
+        assertNotNull(pipeline.checkIn(employeeId, today, checkInTime));
+        verify(attendanceRepository, never()).existsByEmployeeIdAndDate(any(), any());
+    }
+
+    @Test
+    void onAttendanceChanged_createdElsewhere_rejectsTheCheckIn() {
+        UUID employeeId = UUID.randomUUID();
+        pipeline.checkIn(UUID.randomUUID(), today, checkInTime);
+        when(attendanceRepository.existsByEmployeeIdAndDate(employeeId, today)).thenReturn(true);
+
+        pipeline.onAttendanceChanged(new AttendanceChangedEvent(employeeId, today, true, false));
+
+        assertThrows(AttendanceAlreadyExistsException.class, () -> pipeline.checkIn(employeeId, today, checkInTime));
+        verify(checkInBatchRepository, times(1)).insertIgnoringExisting(anyList());
+    }
+
+    @Test
+    void checkIn_burst_isGroupedIntoFewStatements() throws Exception {
+        int employees = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<UUID>> results = new ArrayList<>(employees);
+            for (int i = 0; i < employees; i++) {
+                UUID employeeId = UUID.randomUUID();
+                results.add(executor.submit(() -> pipeline.checkIn(employeeId, today, checkInTime)));
+            }
+            Set<UUID> ids = new HashSet<>();
+            for (Future<UUID> result : results) {
+                ids.add(result.get());
+            }
+
+            assertEquals(employees, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+        // One statement per window rather than one per employee
+        verify(checkInBatchRepository, atMost(employees / 10)).insertIgnoringExisting(anyList());
+    }
+
+    private static Set<UUID> allIds(List<NewCheckIn> rows) {
+        Set<UUID> ids = new HashSet<>();
+        for (NewCheckIn row : rows) {
+            ids.add(row.id());
+        }
+        return ids;
+    }
+}
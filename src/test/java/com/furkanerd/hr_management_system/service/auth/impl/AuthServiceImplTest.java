@@ -1,20 +1,28 @@
 package com.furkanerd.hr_management_system.service.auth.impl;
 
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.model.dto.request.LoginRequest;
+import com.furkanerd.hr_management_system.model.dto.request.RefreshTokenRequest;
 import com.furkanerd.hr_management_system.model.dto.request.RegisterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.auth.LoginResponse;
 import com.furkanerd.hr_management_system.model.dto.response.auth.RegisterResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.security.CredentialEpochRegistry;
 import com.furkanerd.hr_management_system.security.JwtUtil;
+import com.furkanerd.hr_management_system.security.TokenRevocationStore;
 import com.furkanerd.hr_management_system.service.department.DepartmentService;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
 import com.furkanerd.hr_management_system.service.position.PositionService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,6 +31,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,9 +41,6 @@ class AuthServiceImplTest {
     @InjectMocks
     private AuthServiceImpl service;
 
-    @Mock
-    private AuthenticationManager authenticationManager;
-
     @Mock
     private UserDetailsService userDetailsService;
 
@@ -56,6 +62,21 @@ class AuthServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CredentialEpochRegistry credentialEpochRegistry;
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    @Mock
+    private RefreshTokenManager refreshTokenManager;
+
+    @Spy
+    private LoginLane loginLane = new LoginLane(new SimpleMeterRegistry(), 2, 64, 2000);
+
     private Employee employee;
 
     @BeforeEach
@@ -78,39 +99,124 @@ class AuthServiceImplTest {
     void login_success() {
         LoginRequest loginRequest = new LoginRequest("john@example.com", "password");
 
-        UserDetails userDetails = mock(UserDetails.class);
-        when(userDetails.getUsername()).thenReturn(employee.getEmail());
-        when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
-
-        when(userDetailsService.loadUserByUsername(employee.getEmail())).thenReturn(userDetails);
-        when(jwtUtil.generateToken(userDetails)).thenReturn("jwtToken");
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", employee.getPassword())).thenReturn(true);
+        when(jwtUtil.generateToken(any(UserDetails.class), eq(employee))).thenReturn("jwtToken");
+        when(refreshTokenManager.issue(employee)).thenReturn("refreshToken");
 
-        LoginResponse response = service.login(loginRequest);
+        LoginResponse response = login(loginRequest);
         assertNotNull(response);
         assertEquals("jwtToken", response.token());
+        assertEquals("refreshToken", response.refreshToken());
+        assertEquals(List.of("ROLE_EMPLOYEE"), response.roles());
+        verify(employeeRepository, times(1)).findByEmail(employee.getEmail());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(credentialEpochRegistry).record(employee.getId(), employee.getCredentialEpoch());
+    }
+
+    @Test
+    void login_outdatedHash_rehashesWithCurrentEncoding() {
+        LoginRequest loginRequest = new LoginRequest("john@example.com", "password");
+
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", "encodedPass")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPass")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("{bcrypt}rehashed");
+        when(employeeRepository.replacePasswordHash(employee.getId(), "encodedPass", "{bcrypt}rehashed")).thenReturn(1);
+
+        login(loginRequest);
+
+        assertEquals("{bcrypt}rehashed", employee.getPassword());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void login_passwordChangedMeanwhile_keepsTheNewPassword() {
+        LoginRequest loginRequest = new LoginRequest("john@example.com", "password");
+
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", "encodedPass")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPass")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("{bcrypt}rehashed");
+        when(employeeRepository.replacePasswordHash(any(), any(), any())).thenReturn(0);
+
+        login(loginRequest);
+
+        assertEquals("encodedPass", employee.getPassword());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void login_currentHash_isNotRewritten() {
+        LoginRequest loginRequest = new LoginRequest("john@example.com", "password");
+
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", "encodedPass")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPass")).thenReturn(false);
+
+        login(loginRequest);
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(employeeRepository, never()).replacePasswordHash(any(), any(), any());
     }
 
     @Test
     void login_invalidPassword_throwsException() {
         LoginRequest loginRequest = new LoginRequest("john@example.com", "wrong");
 
-        doThrow(BadCredentialsException.class).when(authenticationManager)
-                .authenticate(any());
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("wrong", employee.getPassword())).thenReturn(false);
 
-        assertThrows(BadCredentialsException.class, () -> service.login(loginRequest));
+        assertThrows(BadCredentialsException.class, () -> login(loginRequest));
+        verify(jwtUtil, never()).generateToken(any(UserDetails.class), any(Employee.class));
     }
 
     @Test
     void login_userNotFound_throwsException() {
         LoginRequest loginRequest = new LoginRequest("unknown@example.com", "password");
 
-        when(authenticationManager.authenticate(any())).thenReturn(null);
-        when(userDetailsService.loadUserByUsername("unknown@example.com"))
-                .thenReturn(mock(UserDetails.class));
         when(employeeRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+
+        assertThrows(BadCredentialsException.class, () -> login(loginRequest));
+        // A hash is still checked so unknown emails take as long as wrong passwords
+        verify(passwordEncoder).matches("password", "dummyHash");
+    }
+
+    @Test
+    void login_queueFull_throwsLoginThrottledException() {
+        LoginRequest loginRequest = new LoginRequest("john@example.com", "password");
+        LoginThrottledException throttled = new LoginThrottledException("Too many login attempts", 1);
+
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        doThrow(throttled).when(loginLane).submit(any());
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class, () -> login(loginRequest));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    // REFRESH
+    @Test
+    void refresh_validToken_rotatesWithoutCheckingPassword() {
+        when(refreshTokenManager.rotate("oldRefresh"))
+                .thenReturn(new RefreshTokenManager.Rotation(employee, "newRefresh"));
+        when(jwtUtil.generateToken(any(UserDetails.class), eq(employee))).thenReturn("jwtToken");
+
+        LoginResponse response = service.refresh(new RefreshTokenRequest("oldRefresh"));
+
+        assertEquals("jwtToken", response.token());
+        assertEquals("newRefresh", response.refreshToken());
+        verifyNoInteractions(passwordEncoder, loginLane);
+    }
+
+    @Test
+    void refresh_invalidToken_throwsException() {
+        when(refreshTokenManager.rotate("bad"))
+                .thenThrow(new InvalidRefreshTokenException("Refresh token is invalid"));
 
-        assertThrows(RuntimeException.class, () -> service.login(loginRequest));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.refresh(new RefreshTokenRequest("bad")));
+        verify(jwtUtil, never()).generateToken(any(UserDetails.class), any(Employee.class));
     }
 
     // REGISTER
@@ -146,6 +252,7 @@ class AuthServiceImplTest {
         assertNotNull(response);
         assertEquals(employee.getEmail(), response.email());
         verify(notificationService).notify(any(Employee.class), anyString(), anyString(), any());
+        verify(eventPublisher).publishEvent(any(ReportingLineChangedEvent.class));
     }
 
     @Test
@@ -179,6 +286,9 @@ class AuthServiceImplTest {
         service.changePassword(employee.getEmail(), "oldPass", "newPass");
         assertFalse(employee.isMustChangePassword());
         assertEquals("newEncodedPass", employee.getPassword());
+        assertEquals(1, employee.getCredentialEpoch());
+        verify(refreshTokenManager).revokeAll(employee.getId());
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(employee.getId(), employee.getEmail()));
     }
 
     @Test
@@ -214,4 +324,48 @@ class AuthServiceImplTest {
 
         assertFalse(service.isTokenValid(token));
     }
+
+    // LOGOUT
+    @Test
+    void logout_revokesTokenIdUntilExpiry() {
+        Claims claims = mock(Claims.class);
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        when(claims.getId()).thenReturn("jti-1");
+        when(claims.getExpiration()).thenReturn(expiration);
+        when(jwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        service.logout("token", null);
+
+        verify(revocationStore).revoke("jti-1", expiration.getTime());
+    }
+
+    @Test
+    void logout_tokenWithoutId_doesNothing() {
+        Claims claims = mock(Claims.class);
+        when(jwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        service.logout("token", null);
+
+        verify(revocationStore, never()).revoke(any(), anyLong());
+    }
+
+    @Test
+    void logout_withRefreshToken_revokesItsFamily() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("john@example.com");
+        when(jwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        service.logout("token", new RefreshTokenRequest("refresh"));
+
+        verify(refreshTokenManager).revokeFamily("refresh", "john@example.com");
+    }
+
+    // Waits for the login lane and rethrows what the controller's exception handler would see
+    private LoginResponse login(LoginRequest loginRequest) {
+        try {
+            return service.login(loginRequest).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.furkanerd.hr_management_system.service.auth.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginLaneTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginLane lane;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (lane != null) {
+            lane.shutdown();
+        }
+    }
+
+    @Test
+    void submit_freeSlot_runsVerificationOffTheCallerThreadAndRecordsTimers() throws Exception {
+        lane = new LoginLane(meterRegistry, 1, 1, 2000);
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Boolean> result = lane.submit(() -> Thread.currentThread() != caller);
+
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("auth.login.hash").timer().count());
+        assertEquals(1, meterRegistry.get("auth.login.queue").timer().count());
+    }
+
+    @Test
+    void submit_slotBusy_queuesUntilTheSlotFrees() throws Exception {
+        lane = new LoginLane(meterRegistry, 1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = lane.submit(() -> {
+            started.countDown();
+            await(release);
+            return true;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> queued = lane.submit(() -> true);
+        assertEquals(1, lane.waiting());
+        assertFalse(queued.isDone());
+
+        release.countDown();
+        assertTrue(holder.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_queueFull_rejectsAtOnce() throws Exception {
+        lane = new LoginLane(meterRegistry, 1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = lane.submit(() -> {
+            started.countDown();
+            await(release);
+            return true;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = lane.submit(() -> true);
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class, () -> lane.submit(() -> true));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1, meterRegistry.get("auth.login.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(holder.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_waitedPastTheQueueTimeout_isRejectedWithoutHashing() throws Exception {
+        lane = new LoginLane(meterRegistry, 1, 1, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        lane.submit(() -> {
+            started.countDown();
+            await(release);
+            return true;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = lane.submit(() -> fail("must not hash"));
+
+        Thread.sleep(50);
+        release.countDown();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LoginThrottledException.class, ex.getCause());
+        assertEquals(1, meterRegistry.get("auth.login.hash").timer().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.furkanerd.hr_management_system.service.auth.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.InvalidRefreshTokenException;
+import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.entity.RefreshToken;
+import com.furkanerd.hr_management_system.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenManagerTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenManager manager;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        manager = new RefreshTokenManager(refreshTokenRepository, 60_000);
+        employee = Employee.builder()
+                .id(UUID.randomUUID())
+                .email("john@example.com")
+                .build();
+    }
+
+    @Test
+    void issue_storesHashOnly() {
+        String rawToken = manager.issue(employee);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertNotEquals(rawToken, stored.getTokenHash());
+        assertEquals(RefreshTokenManager.hash(rawToken), stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void rotate_unusedToken_issuesNewTokenInSameFamily() {
+        RefreshToken current = storedToken(LocalDateTime.now().plusMinutes(5));
+        when(refreshTokenRepository.findByTokenHashWithEmployee(RefreshTokenManager.hash("raw")))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(current.getId()), any())).thenReturn(1);
+
+        RefreshTokenManager.Rotation rotation = manager.rotate("raw");
+
+        assertEquals(employee, rotation.employee());
+        assertNotEquals("raw", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(current.getFamilyId(), captor.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotate_alreadyUsedToken_revokesFamily() {
+        RefreshToken current = storedToken(LocalDateTime.now().plusMinutes(5));
+        when(refreshTokenRepository.findByTokenHashWithEmployee(RefreshTokenManager.hash("raw")))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(current.getId()), any())).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> manager.rotate("raw"));
+        verify(refreshTokenRepository).deleteByFamilyId(current.getFamilyId());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_expiredToken_throwsException() {
+        RefreshToken current = storedToken(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHashWithEmployee(RefreshTokenManager.hash("raw")))
+                .thenReturn(Optional.of(current));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> manager.rotate("raw"));
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+
+    @Test
+    void rotate_unknownToken_throwsException() {
+        when(refreshTokenRepository.findByTokenHashWithEmployee(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> manager.rotate("unknown"));
+    }
+
+    @Test
+    void revokeFamily_ownToken_deletesItsFamily() {
+        RefreshToken current = storedToken(LocalDateTime.now().plusMinutes(5));
+        when(refreshTokenRepository.findByTokenHashWithEmployee(RefreshTokenManager.hash("raw")))
+                .thenReturn(Optional.of(current));
+
+        manager.revokeFamily("raw", "john@example.com");
+
+        verify(refreshTokenRepository).deleteByFamilyId(current.getFamilyId());
+    }
+
+    @Test
+    void revokeFamily_anotherEmployeesToken_isLeftAlone() {
+        when(refreshTokenRepository.findByTokenHashWithEmployee(RefreshTokenManager.hash("raw")))
+                .thenReturn(Optional.of(storedToken(LocalDateTime.now().plusMinutes(5))));
+
+        manager.revokeFamily("raw", "jane@example.com");
+
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    private RefreshToken storedToken(LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .employee(employee)
+                .tokenHash(RefreshTokenManager.hash("raw"))
+                .familyId(UUID.randomUUID())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
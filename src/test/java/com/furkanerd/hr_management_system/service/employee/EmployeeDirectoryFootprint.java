@@ -0,0 +1,99 @@
+package com.furkanerd.hr_management_system.service.employee;
+
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+import com.furkanerd.hr_management_system.model.projection.EmployeeDirectoryView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Retained heap of an {@link EmployeeDirectory} holding 100k synthetic employees spread
+ * over 50 departments and 400 positions. Not picked up by surefire; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.furkanerd.hr_management_system.service.employee.EmployeeDirectoryFootprint}
+ * or from the IDE. The figure is a used-heap delta after GC, so expect a few percent of noise.
+ */
+public class EmployeeDirectoryFootprint {
+
+    private static final int EMPLOYEES = 100_000;
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        UUID[] departments = randomIds(random, 50);
+        UUID[] positions = randomIds(random, 400);
+        String[] firstNames = names("First", 2_000);
+        String[] lastNames = names("Last", 5_000);
+        EmployeeDirectory directory = new EmployeeDirectory(Mockito.mock(EmployeeRepository.class),
+                Mockito.mock(ApplicationEventPublisher.class));
+        long before = usedHeap();
+
+        List<EmployeeDirectoryView> views = new ArrayList<>(EMPLOYEES);
+        UUID[] ids = randomIds(random, EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            // Fresh strings and UUIDs per row, as the JDBC driver hands them out
+            views.add(new EmployeeDirectoryView(
+                    ids[i],
+                    "employee" + i + "@example.com",
+                    new String(firstNames[random.nextInt(firstNames.length)]),
+                    new String(lastNames[random.nextInt(lastNames.length)]),
+                    EmployeeRoleEnum.EMPLOYEE,
+                    EmployeeStatusEnum.ACTIVE,
+                    copy(departments[random.nextInt(departments.length)]),
+                    copy(positions[random.nextInt(positions.length)]),
+                    i == 0 ? null : copy(ids[random.nextInt(i)])));
+        }
+
+        directory.load(views, 0);
+        views = null;
+        ids = null;
+        long after = usedHeap();
+        Reference.reachabilityFence(departments);
+        Reference.reachabilityFence(positions);
+        Reference.reachabilityFence(firstNames);
+        Reference.reachabilityFence(lastNames);
+
+        long bytes = after - before;
+        System.out.printf("%,d employees: %,d bytes retained, %.1f MB, %d bytes per employee%n",
+                directory.size(), bytes, bytes / (1024.0 * 1024.0), bytes / directory.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static UUID[] randomIds(Random random, int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return ids;
+    }
+
+    private static String[] names(String prefix, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = prefix + i;
+        }
+        return names;
+    }
+
+    private static UUID copy(UUID id) {
+        return new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,206 @@
+package com.furkanerd.hr_management_system.service.employee;
+
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+import com.furkanerd.hr_management_system.model.projection.EmployeeDirectoryView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class EmployeeDirectoryTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeDirectory directory;
+
+    private final UUID department = UUID.randomUUID();
+    private final UUID position = UUID.randomUUID();
+    private final EmployeeDirectoryView manager = view("manager@example.com", null);
+    private final EmployeeDirectoryView employee = view("employee@example.com", manager.id());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(employeeRepository.findAllDirectoryViews()).thenReturn(List.of(manager, employee));
+        directory = new EmployeeDirectory(employeeRepository, eventPublisher);
+    }
+
+    @Test
+    void warmUp_loadsEveryEmployeeBehindReadinessGate() {
+        assertFalse(directory.isWarm());
+
+        directory.warmUp();
+
+        assertTrue(directory.isWarm());
+        assertEquals(2, directory.size());
+        var order = inOrder(eventPublisher, employeeRepository);
+        order.verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> isReadiness(event, ReadinessState.REFUSING_TRAFFIC)));
+        order.verify(employeeRepository).findAllDirectoryViews();
+        order.verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> isReadiness(event, ReadinessState.ACCEPTING_TRAFFIC)));
+    }
+
+    @Test
+    void warmUp_whenLoadFails_stillAcceptsTraffic() {
+        when(employeeRepository.findAllDirectoryViews()).thenThrow(new IllegalStateException("db down"));
+
+        directory.warmUp();
+
+        assertTrue(directory.isWarm());
+        assertEquals(0, directory.size());
+        verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> isReadiness(event, ReadinessState.ACCEPTING_TRAFFIC)));
+    }
+
+    @Test
+    void lookups_afterWarmUp_doNotQueryPerRequest() {
+        directory.warmUp();
+
+        EmployeeDirectory.Entry entry = directory.findByEmail(employee.email()).orElseThrow();
+
+        assertEquals(employee.id(), entry.id());
+        assertEquals("Jane Doe", entry.fullName());
+        assertEquals(EmployeeRoleEnum.EMPLOYEE, entry.role());
+        assertEquals(EmployeeStatusEnum.ACTIVE, entry.status());
+        assertEquals(department, entry.departmentId());
+        assertEquals(position, entry.positionId());
+        assertEquals(manager.id(), entry.managerId());
+        assertNull(directory.findById(manager.id()).orElseThrow().managerId());
+        assertEquals(Optional.of(employee.id()), directory.findIdByEmail(employee.email()));
+        verify(employeeRepository, never()).findDirectoryViewByEmail(any());
+        verify(employeeRepository, never()).findDirectoryViewById(any());
+    }
+
+    @Test
+    void entries_shareDepartmentAndPositionIds() {
+        directory.warmUp();
+
+        EmployeeDirectory.Entry first = directory.findById(manager.id()).orElseThrow();
+        EmployeeDirectory.Entry second = directory.findById(employee.id()).orElseThrow();
+
+        assertSame(first.departmentId(), second.departmentId());
+        assertSame(first.positionId(), second.positionId());
+    }
+
+    @Test
+    void findByEmail_onMiss_readsThroughOnce() {
+        when(employeeRepository.findDirectoryViewByEmail(employee.email())).thenReturn(Optional.of(employee));
+
+        assertTrue(directory.findByEmail(employee.email()).isPresent());
+        assertTrue(directory.findByEmail(employee.email()).isPresent());
+        assertTrue(directory.findById(employee.id()).isPresent());
+
+        verify(employeeRepository, times(1)).findDirectoryViewByEmail(employee.email());
+        verify(employeeRepository, never()).findDirectoryViewById(any());
+    }
+
+    @Test
+    void findByEmail_unknownEmployee_isNotCached() {
+        when(employeeRepository.findDirectoryViewByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(directory.findByEmail("ghost@example.com").isEmpty());
+        assertTrue(directory.findByEmail("ghost@example.com").isEmpty());
+
+        verify(employeeRepository, times(2)).findDirectoryViewByEmail("ghost@example.com");
+    }
+
+    @Test
+    void onEmployeeChanged_evictsSoNextLookupReloads() {
+        directory.warmUp();
+        EmployeeDirectoryView promoted = new EmployeeDirectoryView(employee.id(), "jane.doe@example.com", "Jane", "Doe",
+                EmployeeRoleEnum.MANAGER, EmployeeStatusEnum.ACTIVE, department, position, manager.id());
+        when(employeeRepository.findDirectoryViewById(employee.id())).thenReturn(Optional.of(promoted));
+
+        directory.onEmployeeChanged(new EmployeeChangedEvent(employee.id(), promoted.email()));
+
+        assertEquals(1, directory.size());
+        assertEquals(EmployeeRoleEnum.MANAGER, directory.findById(employee.id()).orElseThrow().role());
+        // The renamed employee is no longer reachable under the old email
+        when(employeeRepository.findDirectoryViewByEmail(employee.email())).thenReturn(Optional.empty());
+        assertTrue(directory.findByEmail(employee.email()).isEmpty());
+        assertTrue(directory.findByEmail(promoted.email()).isPresent());
+    }
+
+    @Test
+    void onReportingLineChanged_evictsById() {
+        directory.warmUp();
+
+        directory.onReportingLineChanged(new ReportingLineChangedEvent(employee.id(), null));
+
+        assertEquals(1, directory.size());
+    }
+
+    @Test
+    void readThrough_startedBeforeEviction_isNotCached() {
+        when(employeeRepository.findDirectoryViewById(employee.id())).thenAnswer(invocation -> {
+            // A write commits while the row is being read
+            directory.evict(employee.id(), employee.email());
+            return Optional.of(employee);
+        });
+
+        assertTrue(directory.findById(employee.id()).isPresent());
+
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    void manyInsertsAndEvictions_keepBothIndexesConsistent() {
+        when(employeeRepository.findAllDirectoryViews()).thenReturn(List.of());
+        directory.warmUp();
+        Random random = new Random(42);
+        List<EmployeeDirectoryView> views = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Ids with equal halves all land on the same home slot, forcing long probe runs
+            UUID id = i % 2 == 0 ? new UUID(i, i) : new UUID(random.nextLong(), random.nextLong());
+            views.add(new EmployeeDirectoryView(id, "user" + i + "@example.com", "First", "Last",
+                    EmployeeRoleEnum.EMPLOYEE, EmployeeStatusEnum.ACTIVE, department, position, null));
+        }
+        directory.load(views, 0);
+        for (int i = 0; i < views.size(); i += 3) {
+            directory.evict(views.get(i).id(), null);
+        }
+
+        for (int i = 0; i < views.size(); i++) {
+            EmployeeDirectoryView view = views.get(i);
+            when(employeeRepository.findDirectoryViewById(view.id())).thenReturn(Optional.empty());
+            when(employeeRepository.findDirectoryViewByEmail(view.email())).thenReturn(Optional.empty());
+            boolean evicted = i % 3 == 0;
+            assertEquals(!evicted, directory.findById(view.id()).isPresent(), "by id " + i);
+            assertEquals(!evicted, directory.findByEmail(view.email()).isPresent(), "by email " + i);
+        }
+        assertEquals(views.size() - (views.size() + 2) / 3, directory.size());
+    }
+
+    private static boolean isReadiness(ApplicationEvent event, ReadinessState state) {
+        return event instanceof AvailabilityChangeEvent<?> change && change.getState() == state;
+    }
+
+    private EmployeeDirectoryView view(String email, UUID managerId) {
+        return new EmployeeDirectoryView(UUID.randomUUID(), email, "Jane", "Doe",
+                EmployeeRoleEnum.EMPLOYEE, EmployeeStatusEnum.ACTIVE,
+                new UUID(department.getMostSignificantBits(), department.getLeastSignificantBits()),
+                new UUID(position.getMostSignificantBits(), position.getLeastSignificantBits()),
+                managerId);
+    }
+}
@@ -0,0 +1,106 @@
+package com.furkanerd.hr_management_system.service.employee;
+
+import com.furkanerd.hr_management_system.model.projection.ReportingLineView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrgHierarchyIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private OrgHierarchyIndex index;
+
+    // ceo -> (cto -> (dev1, dev2), cfo -> accountant)
+    private final UUID ceo = UUID.randomUUID();
+    private final UUID cto = UUID.randomUUID();
+    private final UUID cfo = UUID.randomUUID();
+    private final UUID dev1 = UUID.randomUUID();
+    private final UUID dev2 = UUID.randomUUID();
+    private final UUID accountant = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(employeeRepository.findAllReportingLines()).thenReturn(List.of(
+                new ReportingLineView(ceo, null),
+                new ReportingLineView(cto, ceo),
+                new ReportingLineView(cfo, ceo),
+                new ReportingLineView(dev1, cto),
+                new ReportingLineView(dev2, cto),
+                new ReportingLineView(accountant, cfo)
+        ));
+        index = new OrgHierarchyIndex(employeeRepository);
+    }
+
+    @Test
+    void isAncestorOrSelf_answersFromIntervals() {
+        assertTrue(index.isAncestorOrSelf(ceo, dev1));
+        assertTrue(index.isAncestorOrSelf(cto, dev2));
+        assertTrue(index.isAncestorOrSelf(dev1, dev1));
+        assertFalse(index.isAncestorOrSelf(dev1, cto));
+        assertFalse(index.isAncestorOrSelf(cfo, dev1));
+        assertFalse(index.isAncestorOrSelf(ceo, UUID.randomUUID()));
+        verify(employeeRepository, times(1)).findAllReportingLines();
+    }
+
+    @Test
+    void descendantsOf_returnsWholeSubtree() {
+        assertEquals(Set.of(cto, cfo, dev1, dev2, accountant), Set.copyOf(index.descendantsOf(ceo)));
+        assertEquals(Set.of(dev1, dev2), Set.copyOf(index.descendantsOf(cto)));
+        assertTrue(index.descendantsOf(accountant).isEmpty());
+        assertTrue(index.descendantsOf(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void setManager_movesSubtreeWithoutReloading() {
+        index.loadAll();
+
+        index.setManager(cto, cfo);
+
+        assertTrue(index.isAncestorOrSelf(cfo, dev1));
+        assertEquals(cfo, index.managerOf(cto));
+        assertEquals(Set.of(accountant, cto, dev1, dev2), Set.copyOf(index.descendantsOf(cfo)));
+        verify(employeeRepository, times(1)).findAllReportingLines();
+    }
+
+    @Test
+    void setManager_newEmployee_isAddedUnderManager() {
+        index.loadAll();
+        UUID intern = UUID.randomUUID();
+
+        index.setManager(intern, dev1);
+
+        assertTrue(index.isAncestorOrSelf(cto, intern));
+        assertEquals(List.of(intern), index.descendantsOf(dev1));
+    }
+
+    @Test
+    void isAncestorOrSelf_deepChain_doesNotOverflow() {
+        List<ReportingLineView> lines = new ArrayList<>();
+        UUID top = UUID.randomUUID();
+        lines.add(new ReportingLineView(top, null));
+        UUID previous = top;
+        for (int i = 0; i < 50_000; i++) {
+            UUID next = UUID.randomUUID();
+            lines.add(new ReportingLineView(next, previous));
+            previous = next;
+        }
+        when(employeeRepository.findAllReportingLines()).thenReturn(lines);
+        OrgHierarchyIndex deep = new OrgHierarchyIndex(employeeRepository);
+
+        assertTrue(deep.isAncestorOrSelf(top, previous));
+        assertFalse(deep.isAncestorOrSelf(previous, top));
+    }
+}
@@ -1,5 +1,7 @@
 package com.furkanerd.hr_management_system.service.employee.impl;
 
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
+import com.furkanerd.hr_management_system.event.ReportingLineChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.mapper.EmployeeMapper;
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeUpdateRequest;
@@ -10,6 +12,7 @@ import com.furkanerd.hr_management_system.model.entity.Position;
 import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
 import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
 import com.furkanerd.hr_management_system.repository.DepartmentRepository;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
 import com.furkanerd.hr_management_system.repository.PositionRepository;
 import com.furkanerd.hr_management_system.service.employee.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +45,12 @@ class EmployeeManagementServiceImplTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
     @InjectMocks
     private EmployeeManagementServiceImpl employeeManagementService;
 
@@ -120,6 +130,7 @@ class EmployeeManagementServiceImplTest {
         assertNotNull(result);
         assertEquals(employeeDetailResponse.id(), result.id());
         assertEquals(employeeDetailResponse.fullName(), result.fullName());
+        assertEquals(1, regularEmployee.getCredentialEpoch());
 
         // Verify
         verify(employeeCoreService).getEmployeeEntityByEmail(hrEmployee.getEmail());
@@ -128,6 +139,9 @@ class EmployeeManagementServiceImplTest {
         verify(positionRepository).findById(position.getId());
         verify(employeeCoreService).saveEntity(regularEmployee);
         verify(employeeMapper).toEmployeeDetailResponse(regularEmployee);
+        // saveEntity publishes it, so it must not be published twice
+        verify(eventPublisher, never()).publishEvent(any(EmployeeChangedEvent.class));
+        verify(eventPublisher).publishEvent(new ReportingLineChangedEvent(regularEmployee.getId(), managerEmployee.getId()));
     }
 
     @Test
@@ -154,11 +168,37 @@ class EmployeeManagementServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(employeeDetailResponse.id(), result.id());
+        assertEquals(0, regularEmployee.getCredentialEpoch());
 
         // Verify
         verify(employeeCoreService).getEmployeeEntityByEmail(regularEmployee.getEmail());
         verify(employeeCoreService).getEmployeeEntityById(regularEmployee.getId());
         verify(employeeCoreService).saveEntity(regularEmployee);
+        verify(eventPublisher, never()).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void updateEmployee_WithUnchangedManager_ShouldNotPublishReportingLineChange() {
+        // Given
+        regularEmployee.setManager(managerEmployee);
+        when(employeeCoreService.getEmployeeEntityByEmail(regularEmployee.getEmail())).thenReturn(regularEmployee);
+        when(employeeCoreService.getEmployeeEntityById(regularEmployee.getId())).thenReturn(regularEmployee);
+        when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
+        when(positionRepository.findById(position.getId())).thenReturn(Optional.of(position));
+        when(employeeCoreService.getEmployeeEntityById(managerEmployee.getId())).thenReturn(managerEmployee);
+        when(employeeCoreService.saveEntity(any(Employee.class))).thenReturn(regularEmployee);
+
+        EmployeeUpdateRequest sameManager = new EmployeeUpdateRequest(
+                "UpdatedFirstName", "UpdatedLastName", "123456789", "Updated Address",
+                department.getId(), position.getId(), managerEmployee.getId(), null
+        );
+
+        // When
+        employeeManagementService.updateEmployee(regularEmployee.getId(), sameManager, regularEmployee.getEmail());
+
+        // Then
+        verify(employeeRepository).existsInManagementChain(managerEmployee.getId(), regularEmployee.getId());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -245,6 +285,7 @@ class EmployeeManagementServiceImplTest {
         when(departmentRepository.findById(department.getId())).thenReturn(Optional.of(department));
         when(positionRepository.findById(position.getId())).thenReturn(Optional.of(position));
         when(employeeCoreService.getEmployeeEntityById(subordinate.getId())).thenReturn(subordinate);
+        when(employeeRepository.existsInManagementChain(subordinate.getId(), regularEmployee.getId())).thenReturn(true);
 
         // When & Then
         assertThrows(CircularReferenceException.class, () ->
@@ -1,17 +1,23 @@
 package com.furkanerd.hr_management_system.service.employee.impl;
 
 import com.furkanerd.hr_management_system.exception.custom.DepartmentNotFoundException;
+import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.mapper.EmployeeMapper;
 import com.furkanerd.hr_management_system.model.dto.request.employee.EmployeeFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.ListEmployeeResponse;
 import com.furkanerd.hr_management_system.model.entity.Department;
 import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.repository.DatabaseExtensionRepository;
 import com.furkanerd.hr_management_system.repository.DepartmentRepository;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +35,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +50,15 @@ class EmployeeQueryServiceImplTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private PageWindowRepository pageWindowRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @Mock
+    private DatabaseExtensionRepository extensionRepository;
+
     @InjectMocks
     private EmployeeQueryServiceImpl employeeQueryService;
 
@@ -51,7 +67,7 @@ class EmployeeQueryServiceImplTest {
     private ListEmployeeResponse listEmployeeResponse;
     private EmployeeFilterRequest filterRequest;
     private Pageable pageable;
-    private Page<Employee> employeePage;
+    private Page<ListEmployeeResponse> employeePage;
     private UUID departmentId;
 
     @BeforeEach
@@ -86,15 +102,14 @@ class EmployeeQueryServiceImplTest {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         pageable = PageRequest.of(page, size, sort);
 
-        employeePage = new PageImpl<>(List.of(employee), pageable, 1);
+        employeePage = new PageImpl<>(List.of(listEmployeeResponse), pageable, 1);
     }
 
 
     @Test
     void listAllEmployees_ShouldReturnPaginatedListOfEmployees() {
         // Given
-        when(employeeRepository.findAll(nullable(Specification.class), any(Pageable.class))).thenReturn(employeePage);
-        when(employeeMapper.employeestoListEmployeeResponseList(List.of(employee))).thenReturn(List.of(listEmployeeResponse));
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class))).thenReturn(employeePage);
 
         // When -
         PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.listAllEmployees(0, 10, "firstName", "ASC", filterRequest);
@@ -107,16 +122,14 @@ class EmployeeQueryServiceImplTest {
         assertEquals(listEmployeeResponse.id(), result.data().getFirst().id());
 
         // Verify
-        verify(employeeRepository).findAll(nullable(Specification.class), any(Pageable.class));
-        verify(employeeMapper).employeestoListEmployeeResponseList(List.of(employee));
+        verify(pageWindowRepository).findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
     void listAllEmployees_WhenNoEmployeesFound_ShouldReturnEmptyPaginatedResponse() {
         // Given
-        Page<Employee> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        when(employeeRepository.findAll(nullable(Specification.class), any(Pageable.class))).thenReturn(emptyPage);
-        when(employeeMapper.employeestoListEmployeeResponseList(Collections.emptyList())).thenReturn(Collections.emptyList());
+        Page<ListEmployeeResponse> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class))).thenReturn(emptyPage);
 
         // When
         PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.listAllEmployees(0, 10, "firstName", "ASC", filterRequest);
@@ -128,18 +141,50 @@ class EmployeeQueryServiceImplTest {
         assertTrue(result.data().isEmpty());
 
         // Verify
-        verify(employeeRepository).findAll(nullable(Specification.class), any(Pageable.class));
-        verify(employeeMapper).employeestoListEmployeeResponseList(Collections.emptyList());
+        verify(pageWindowRepository).findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class));
     }
 
 
 
+    @Test
+    void listAllEmployees_WithSearchTerm_ShouldLeaveOrderingToSimilarityRanking() {
+        // Given
+        EmployeeFilterRequest searchRequest = EmployeeFilterRequest.builder().searchTerm("furk").build();
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        when(extensionRepository.isInstalled("pg_trgm")).thenReturn(true);
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), any(Specification.class), pageableCaptor.capture())).thenReturn(employeePage);
+
+        // When
+        PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.listAllEmployees(0, 10, "firstName", "ASC", searchRequest);
+
+        // Then
+        assertEquals(1, result.total());
+        assertTrue(pageableCaptor.getValue().getSort().isUnsorted());
+        assertEquals(10, pageableCaptor.getValue().getPageSize());
+    }
+
+    @Test
+    void listAllEmployees_WithSearchTermWithoutTrigramExtension_ShouldKeepRequestedSort() {
+        // Given
+        EmployeeFilterRequest searchRequest = EmployeeFilterRequest.builder().searchTerm("furk").build();
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        when(extensionRepository.isInstalled("pg_trgm")).thenReturn(false);
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), any(Specification.class), pageableCaptor.capture())).thenReturn(employeePage);
+
+        // When
+        employeeQueryService.listAllEmployees(0, 10, "firstName", "ASC", searchRequest);
+        employeeQueryService.listAllEmployees(0, 10, "firstName", "ASC", searchRequest);
+
+        // Then
+        assertEquals(Sort.by(Sort.Direction.ASC, "firstName"), pageableCaptor.getValue().getSort());
+        verify(extensionRepository, times(1)).isInstalled("pg_trgm");
+    }
+
     @Test
     void getEmployeesByDepartment_WhenDepartmentExists_ShouldReturnPaginatedListOfEmployees() {
         // Given
         when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(department));
-        when(employeeRepository.findAll(nullable(Specification.class), any(Pageable.class))).thenReturn(employeePage);
-        when(employeeMapper.employeestoListEmployeeResponseList(List.of(employee))).thenReturn(List.of(listEmployeeResponse));
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class))).thenReturn(employeePage);
 
         // When
         PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.getEmployeesByDepartment(departmentId, 0, 10, "firstName", "ASC", filterRequest);
@@ -153,8 +198,7 @@ class EmployeeQueryServiceImplTest {
 
         // Verify
         verify(departmentRepository).findById(departmentId);
-        verify(employeeRepository).findAll(nullable(Specification.class), any(Pageable.class));
-        verify(employeeMapper).employeestoListEmployeeResponseList(List.of(employee));
+        verify(pageWindowRepository).findPage(eq(ListProjections.EMPLOYEE), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -176,7 +220,39 @@ class EmployeeQueryServiceImplTest {
 
         // Verify
         verify(departmentRepository).findById(nonExistentDepartmentId);
-        verify(employeeRepository, never()).findAll(nullable(Specification.class), any(Pageable.class));
+        verify(pageWindowRepository, never()).findPage(any(), nullable(Specification.class), any(Pageable.class));
+
+    }
+
+    @Test
+    void getMyTeam_WhenManagerExists_ShouldReturnSubtreePage() {
+        // Given
+        UUID managerId = UUID.randomUUID();
+        when(employeeDirectory.findIdByEmail("manager@example.com")).thenReturn(Optional.of(managerId));
+        when(pageWindowRepository.findPage(eq(ListProjections.EMPLOYEE), any(Specification.class), any(Pageable.class))).thenReturn(employeePage);
 
+        // When
+        PaginatedResponse<ListEmployeeResponse> result = employeeQueryService.getMyTeam("manager@example.com", 0, 10, "firstName", "ASC", filterRequest);
+
+        // Then
+        assertEquals(1, result.total());
+        assertEquals(listEmployeeResponse.id(), result.data().getFirst().id());
+
+        // Verify
+        verify(employeeDirectory).findIdByEmail("manager@example.com");
+        verify(pageWindowRepository).findPage(eq(ListProjections.EMPLOYEE), any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getMyTeam_WhenManagerNotFound_ShouldThrowEmployeeNotFoundException() {
+        // Given
+        when(employeeDirectory.findIdByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(EmployeeNotFoundException.class,
+                () -> employeeQueryService.getMyTeam("ghost@example.com", 0, 10, "firstName", "ASC", filterRequest));
+
+        // Verify
+        verify(pageWindowRepository, never()).findPage(any(), nullable(Specification.class), any(Pageable.class));
     }
-}
\ No newline at end of file
+}
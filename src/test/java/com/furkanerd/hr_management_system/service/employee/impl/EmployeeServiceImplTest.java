@@ -1,5 +1,6 @@
 package com.furkanerd.hr_management_system.service.employee.impl;
 
+import com.furkanerd.hr_management_system.event.EmployeeChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.mapper.EmployeeMapper;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeDetailResponse;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +31,9 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -182,5 +187,6 @@ class EmployeeServiceImplTest {
         // then
         assertThat(result).isEqualTo(savedEmployee);
         then(employeeRepository).should().save(employeeToSave);
+        then(eventPublisher).should().publishEvent(new EmployeeChangedEvent(savedEmployee.getId(), savedEmployee.getEmail()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.exception.custom.InsufficientLeaveBalanceException;
+import com.furkanerd.hr_management_system.exception.custom.LeaveRequestAlreadyProcessedException;
+import com.furkanerd.hr_management_system.mapper.LeaveRequestMapperImpl;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestCreateRequest;
+import com.furkanerd.hr_management_system.model.entity.Employee;
+import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.EmployeeStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.LeaveBalanceGuardRepository;
+import com.furkanerd.hr_management_system.repository.LeaveBalanceSnapshotRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerBatchRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerRepository;
+import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
+import com.furkanerd.hr_management_system.service.leaverequest.LeaveRequestManagementService;
+import com.furkanerd.hr_management_system.service.notification.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Submits and approves leave from many threads at once against a real database, each call
+ * in its own transaction as in production, and checks that no reservation or debit is
+ * lost, applied twice or allowed past the balance.
+ * <p>
+ * H2 has no advisory locks, so {@code pg_advisory_xact_lock} is stood in for by a row lock
+ * held until commit. It serializes every balance check rather than one balance's, which
+ * only makes the test stricter.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({LeaveRequestManagementServiceImpl.class, LeaveRequestMapperImpl.class, LeaveLedger.class, LeaveBalanceBook.class, LeaveLedgerBatchRepository.class, LeaveBalanceGuardRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeaveApprovalConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private LeaveRequestManagementService leaveRequestManagementService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveLedgerRepository leaveLedgerRepository;
+
+    @Autowired
+    private LeaveBalanceSnapshotRepository leaveBalanceSnapshotRepository;
+
+    @Autowired
+    private LeaveBalanceBook leaveBalanceBook;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    private Employee approver;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("create table if not exists advisory_lock (id int primary key)");
+        jdbcTemplate.execute("merge into advisory_lock key (id) values (0)");
+        jdbcTemplate.execute("create alias if not exists pg_advisory_xact_lock for '" + AdvisoryLock.class.getName() + ".xactLock'");
+        approver = createEmployee("approver", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaveLedgerRepository.deleteAll();
+        leaveRequestRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentApprovals_neverSpendMoreThanTheBalance() throws Exception {
+        Employee employee = createEmployee("employee", 10);
+        List<UUID> requestIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requestIds.add(createVacation(employee, LocalDate.of(2026, 1, 1).plusDays(i), 1).getId());
+        }
+
+        runConcurrently(requestIds, requestId -> leaveRequestManagementService.approveLeaveRequest(requestId, approver.getEmail()));
+
+        List<LeaveRequest> processed = leaveRequestRepository.findAll();
+        assertEquals(10, processed.stream().filter(lr -> lr.getStatus() == LeaveStatusEnum.APPROVED).count());
+        assertEquals(20, processed.stream().filter(lr -> lr.getStatus() == LeaveStatusEnum.REJECTED).count());
+        assertVacation(employee, 0, 0);
+    }
+
+    @Test
+    void concurrentSubmissions_neverReserveMoreThanTheBalance() throws Exception {
+        Employee employee = createEmployee("employee", 10);
+        List<LocalDate> startDates = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            startDates.add(LocalDate.of(2026, 3, 1).plusDays(i));
+        }
+
+        List<Throwable> failures = runConcurrently(startDates, startDate -> leaveRequestManagementService.createLeaveRequest(
+                new LeaveRequestCreateRequest(LeaveTypeEnum.VACATION, startDate, startDate, "Vacation"), employee.getEmail()));
+
+        assertEquals(20, failures.size());
+        failures.forEach(failure -> assertInstanceOf(InsufficientLeaveBalanceException.class, failure));
+        assertEquals(10, leaveRequestRepository.count());
+        assertVacation(employee, 10, 10);
+    }
+
+    @Test
+    void concurrentApprovalsOfOneRequest_debitItOnce() throws Exception {
+        Employee employee = createEmployee("employee", 10);
+        UUID requestId = createVacation(employee, LocalDate.of(2026, 1, 5), 3).getId();
+        List<UUID> requestIds = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            requestIds.add(requestId);
+        }
+
+        List<Throwable> failures = runConcurrently(requestIds, id -> leaveRequestManagementService.approveLeaveRequest(id, approver.getEmail()));
+
+        assertEquals(requestIds.size() - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(LeaveRequestAlreadyProcessedException.class, failure));
+        assertEquals(LeaveStatusEnum.APPROVED, leaveRequestRepository.findById(requestId).orElseThrow().getStatus());
+        assertVacation(employee, 7, 0);
+    }
+
+    @Test
+    void concurrentApprovalsAcrossEmployees_allSucceed() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        List<UUID> requestIds = new ArrayList<>();
+        for (int e = 0; e < THREADS; e++) {
+            Employee employee = createEmployee("employee" + e, 5);
+            employees.add(employee);
+            for (int i = 0; i < 5; i++) {
+                requestIds.add(createVacation(employee, LocalDate.of(2026, 2, 1).plusDays(i), 1).getId());
+            }
+        }
+
+        List<Throwable> failures = runConcurrently(requestIds, requestId -> leaveRequestManagementService.approveLeaveRequest(requestId, approver.getEmail()));
+
+        assertEquals(List.of(), failures);
+        for (Employee employee : employees) {
+            assertVacation(employee, 0, 0);
+        }
+    }
+
+    // Public so H2 may call it for pg_advisory_xact_lock
+    public static final class AdvisoryLock {
+
+        // The updated row stays locked until the caller's transaction ends
+        public static void xactLock(Connection connection, int namespace, int key) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set lock_timeout 30000");
+                statement.executeUpdate("update advisory_lock set id = id where id = 0");
+            }
+        }
+    }
+
+    /**
+     * Checks the balance served from memory, and that a book loaded afresh from the ledger
+     * agrees with it.
+     */
+    private void assertVacation(Employee employee, int balance, int reserved) {
+        LeaveBalanceBook fresh = new LeaveBalanceBook(employeeRepository, leaveBalanceSnapshotRepository, leaveLedgerRepository, transactionManager, 60_000);
+        for (LeaveBalanceBook book : List.of(leaveBalanceBook, fresh)) {
+            LeaveBalanceBook.Balance current = book.get(employee.getId()).orElseThrow();
+            assertEquals(balance, current.balance(LeaveTypeEnum.VACATION));
+            assertEquals(reserved, current.reserved(LeaveTypeEnum.VACATION));
+        }
+    }
+
+    /**
+     * Runs {@code action} once per input from a pool of threads released together.
+     *
+     * @return the exceptions thrown by calls that failed
+     */
+    private <T> List<Throwable> runConcurrently(List<T> inputs, Consumer<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.accept(input);
+                    return null;
+                }));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Employee createEmployee(String name, int vacationBalance) {
+        return employeeRepository.save(Employee.builder()
+                .firstName(name)
+                .lastName("Test")
+                .email(name + "-" + UUID.randomUUID() + "@company.com")
+                .hireDate(LocalDate.of(2020, 1, 1))
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .role(EmployeeRoleEnum.EMPLOYEE)
+                .status(EmployeeStatusEnum.ACTIVE)
+                .vacationBalance(vacationBalance)
+                .maternityBalance(0)
+                .build());
+    }
+
+    private LeaveRequest createVacation(Employee employee, LocalDate startDate, int days) {
+        return leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .leaveType(LeaveTypeEnum.VACATION)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(days - 1))
+                .status(LeaveStatusEnum.PENDING)
+                .build());
+    }
+}
@@ -0,0 +1,173 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.event.LeaveLedgerChangedEvent;
+import com.furkanerd.hr_management_system.model.entity.LeaveBalanceSnapshot;
+import com.furkanerd.hr_management_system.model.entity.LeaveBalanceSnapshotId;
+import com.furkanerd.hr_management_system.model.entity.LeaveLedgerEntry;
+import com.furkanerd.hr_management_system.model.enums.LeaveLedgerEntryTypeEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveOpeningBalanceView;
+import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.LeaveBalanceSnapshotRepository;
+import com.furkanerd.hr_management_system.repository.LeaveLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaveBalanceBookTest {
+
+    private final UUID employeeId = UUID.randomUUID();
+
+    private EmployeeRepository employeeRepository;
+    private LeaveBalanceSnapshotRepository snapshotRepository;
+    private LeaveLedgerRepository ledgerRepository;
+    private LeaveBalanceBook book;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        snapshotRepository = mock(LeaveBalanceSnapshotRepository.class);
+        ledgerRepository = mock(LeaveLedgerRepository.class);
+        book = new LeaveBalanceBook(employeeRepository, snapshotRepository, ledgerRepository, mock(PlatformTransactionManager.class), 60_000);
+
+        when(employeeRepository.findOpeningLeaveBalanceById(employeeId))
+                .thenReturn(Optional.of(new LeaveOpeningBalanceView(employeeId, 20, 112)));
+    }
+
+    @Test
+    void get_addsSnapshotAndTailToTheOpeningBalance() {
+        when(snapshotRepository.findByIdEmployeeId(employeeId)).thenReturn(List.of(snapshot(LeaveTypeEnum.VACATION, -5, 2, 10)));
+        when(ledgerRepository.findTailByEmployeeId(employeeId)).thenReturn(List.of(
+                entry(11, LeaveLedgerEntryTypeEnum.ACCRUAL, 3),
+                entry(12, LeaveLedgerEntryTypeEnum.RESERVATION, 4)));
+
+        LeaveBalanceBook.Balance balance = book.get(employeeId).orElseThrow();
+
+        assertEquals(18, balance.balance(LeaveTypeEnum.VACATION));
+        assertEquals(6, balance.reserved(LeaveTypeEnum.VACATION));
+        assertEquals(12, balance.available(LeaveTypeEnum.VACATION));
+        assertEquals(112, balance.available(LeaveTypeEnum.MATERNITY));
+    }
+
+    @Test
+    void get_loadsAnEmployeeOnlyOnce() {
+        book.get(employeeId);
+        book.get(employeeId);
+
+        verify(employeeRepository, times(1)).findOpeningLeaveBalanceById(employeeId);
+    }
+
+    @Test
+    void get_unknownEmployee_returnsEmpty() {
+        UUID unknown = UUID.randomUUID();
+        when(employeeRepository.findOpeningLeaveBalanceById(unknown)).thenReturn(Optional.empty());
+
+        assertTrue(book.get(unknown).isEmpty());
+    }
+
+    @Test
+    void onLedgerChanged_countsTheReservation() {
+        book.get(employeeId);
+
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(1, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.RESERVATION, 5));
+
+        assertEquals(15, book.get(employeeId).orElseThrow().available(LeaveTypeEnum.VACATION));
+    }
+
+    @Test
+    void onLedgerChanged_skipsEntriesTheLoadAlreadyCounted() {
+        when(snapshotRepository.findByIdEmployeeId(employeeId)).thenReturn(List.of(snapshot(LeaveTypeEnum.VACATION, 0, 0, 10)));
+        when(ledgerRepository.findTailByEmployeeId(employeeId)).thenReturn(List.of(entry(12, LeaveLedgerEntryTypeEnum.DEBIT, 4)));
+        book.get(employeeId);
+
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(9, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.DEBIT, 2));
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(12, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.DEBIT, 4));
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(13, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.DEBIT, 1));
+
+        assertEquals(15, book.get(employeeId).orElseThrow().balance(LeaveTypeEnum.VACATION));
+    }
+
+    @Test
+    void onLedgerChanged_beforeTheEmployeeWasLoaded_isLeftToTheLoad() {
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(1, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.ACCRUAL, 5));
+        when(ledgerRepository.findTailByEmployeeId(employeeId)).thenReturn(List.of(entry(1, LeaveLedgerEntryTypeEnum.ACCRUAL, 5)));
+
+        assertEquals(25, book.get(employeeId).orElseThrow().balance(LeaveTypeEnum.VACATION));
+    }
+
+    @Test
+    void catchUp_appliesEntriesCommittedElsewhereOnce() {
+        when(ledgerRepository.findMaxIdCreatedBefore(any())).thenReturn(10L);
+        book.get(employeeId);
+        when(ledgerRepository.findByIdGreaterThanOrderByIdAsc(10L)).thenReturn(List.of(
+                entry(11, LeaveLedgerEntryTypeEnum.DEBIT, 3),
+                entry(12, LeaveLedgerEntryTypeEnum.RESERVATION, 2)));
+        book.onLedgerChanged(new LeaveLedgerChangedEvent(12, employeeId, LeaveTypeEnum.VACATION, LeaveLedgerEntryTypeEnum.RESERVATION, 2));
+
+        book.catchUp();
+
+        LeaveBalanceBook.Balance balance = book.get(employeeId).orElseThrow();
+        assertEquals(17, balance.balance(LeaveTypeEnum.VACATION));
+        assertEquals(2, balance.reserved(LeaveTypeEnum.VACATION));
+    }
+
+    @Test
+    void catchUp_continuesFromTheSettledId() {
+        when(ledgerRepository.findMaxIdCreatedBefore(any())).thenReturn(10L, 11L);
+        book.get(employeeId);
+        when(ledgerRepository.findByIdGreaterThanOrderByIdAsc(10L)).thenReturn(List.of(
+                entry(11, LeaveLedgerEntryTypeEnum.DEBIT, 3),
+                entry(12, LeaveLedgerEntryTypeEnum.DEBIT, 1)));
+        when(ledgerRepository.findByIdGreaterThanOrderByIdAsc(11L)).thenReturn(List.of(entry(12, LeaveLedgerEntryTypeEnum.DEBIT, 1)));
+
+        book.catchUp();
+        book.catchUp();
+
+        assertEquals(16, book.get(employeeId).orElseThrow().balance(LeaveTypeEnum.VACATION));
+        verify(ledgerRepository).findByIdGreaterThanOrderByIdAsc(11L);
+    }
+
+    @Test
+    void warmUp_loadsEveryEmployee() {
+        UUID other = UUID.randomUUID();
+        when(employeeRepository.findAllOpeningLeaveBalances()).thenReturn(List.of(
+                new LeaveOpeningBalanceView(employeeId, 20, 112),
+                new LeaveOpeningBalanceView(other, 10, 0)));
+        when(snapshotRepository.findAll()).thenReturn(List.of());
+        when(ledgerRepository.findAllTail()).thenReturn(List.of(entry(1, LeaveLedgerEntryTypeEnum.DEBIT, 2)));
+
+        book.warmUp();
+
+        assertEquals(18, book.get(employeeId).orElseThrow().balance(LeaveTypeEnum.VACATION));
+        assertEquals(10, book.get(other).orElseThrow().balance(LeaveTypeEnum.VACATION));
+        verify(employeeRepository, never()).findOpeningLeaveBalanceById(any());
+    }
+
+    private LeaveBalanceSnapshot snapshot(LeaveTypeEnum leaveType, int netDays, int reservedDays, long lastEntryId) {
+        return LeaveBalanceSnapshot.builder()
+                .id(new LeaveBalanceSnapshotId(employeeId, leaveType))
+                .netDays(netDays)
+                .reservedDays(reservedDays)
+                .lastEntryId(lastEntryId)
+                .compactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private LeaveLedgerEntry entry(long id, LeaveLedgerEntryTypeEnum entryType, int days) {
+        return LeaveLedgerEntry.builder()
+                .id(id)
+                .employeeId(employeeId)
+                .leaveType(LeaveTypeEnum.VACATION)
+                .entryType(entryType)
+                .days(days)
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.furkanerd.hr_management_system.service.leaverequest.impl;
+
+import com.furkanerd.hr_management_system.event.LeaveRequestChangedEvent;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveCalendarView;
+import com.furkanerd.hr_management_system.repository.LeaveCalendarRepository;
+import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaveCalendarIndexTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final UUID departmentId = UUID.randomUUID();
+    private final UUID employeeId = UUID.randomUUID();
+
+    private LeaveRequestRepository leaveRequestRepository;
+    private LeaveCalendarRepository calendarRepository;
+    private EmployeeDirectory employeeDirectory;
+    private LeaveCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        leaveRequestRepository = mock(LeaveRequestRepository.class);
+        calendarRepository = mock(LeaveCalendarRepository.class);
+        employeeDirectory = mock(EmployeeDirectory.class);
+        index = new LeaveCalendarIndex(leaveRequestRepository, calendarRepository, employeeDirectory, 30);
+
+        EmployeeDirectory.Entry entry = mock(EmployeeDirectory.Entry.class);
+        when(entry.departmentId()).thenReturn(departmentId);
+        when(employeeDirectory.findById(employeeId)).thenReturn(Optional.of(entry));
+    }
+
+    @Test
+    void overlapping_matchesAScanOfEveryLeave() {
+        Random random = new Random(42);
+        List<LeaveCalendarView> all = new ArrayList<>();
+        // A 2,000 person department with a dozen requests each
+        for (int employee = 0; employee < 2000; employee++) {
+            UUID id = UUID.randomUUID();
+            for (int i = 0; i < 12; i++) {
+                LocalDate start = today.plusDays(random.nextInt(365));
+                LocalDate end = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(20));
+                all.add(view(UUID.randomUUID(), id, departmentId, LeaveStatusEnum.APPROVED, start, end));
+            }
+        }
+        when(leaveRequestRepository.findCalendarViewsEndingFrom(today.minusDays(30))).thenReturn(all);
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate from = today.plusDays(random.nextInt(365));
+            LocalDate to = from.plusDays(random.nextInt(31));
+            List<LeaveCalendarView> expected = all.stream()
+                    .filter(leave -> !leave.startDate().isAfter(to) && !leave.lastDay().isBefore(from))
+                    .sorted(Comparator.comparing(LeaveCalendarView::startDate).thenComparing(LeaveCalendarView::lastDay))
+                    .toList();
+
+            List<LeaveCalendarView> found = index.overlapping(departmentId, from, to);
+
+            assertEquals(expected.size(), found.size());
+            assertTrue(found.containsAll(expected));
+            for (int j = 1; j < found.size(); j++) {
+                assertFalse(found.get(j).startDate().isBefore(found.get(j - 1).startDate()));
+            }
+        }
+        verifyNoInteractions(calendarRepository);
+    }
+
+    @Test
+    void overlapping_otherDepartment_isEmpty() {
+        when(leaveRequestRepository.findCalendarViewsEndingFrom(any()))
+                .thenReturn(List.of(view(UUID.randomUUID(), employeeId, departmentId, LeaveStatusEnum.PENDING, today, today)));
+
+        assertTrue(index.overlapping(UUID.randomUUID(), today, today).isEmpty());
+    }
+
+    @Test
+    void overlapping_beforeTheHorizon_readsTheDatabase() {
+        LeaveCalendarView old = view(UUID.randomUUID(), employeeId, departmentId, LeaveStatusEnum.APPROVED, today.minusDays(90), today.minusDays(88));
+        when(calendarRepository.findOverlapping(departmentId, today.minusDays(100), today)).thenReturn(List.of(old));
+
+        assertEquals(List.of(old), index.overlapping(departmentId, today.minusDays(100), today));
+    }
+
+    @Test
+    void apply_followsTheRequestThroughItsDecision() {
+        UUID leaveRequestId = UUID.randomUUID();
+        index.loadAll();
+
+        index.apply(event(leaveRequestId, LeaveStatusEnum.PENDING, today, today.plusDays(2)));
+        assertEquals(LeaveStatusEnum.PENDING, index.overlapping(departmentId, today, today).get(0).status());
+
+        index.apply(event(leaveRequestId, LeaveStatusEnum.APPROVED, today, today.plusDays(2)));
+        List<LeaveCalendarView> found = index.overlapping(departmentId, today, today.plusDays(5));
+        assertEquals(1, found.size());
+        assertEquals(LeaveStatusEnum.APPROVED, found.get(0).status());
+
+        index.apply(event(leaveRequestId, LeaveStatusEnum.REJECTED, today, today.plusDays(2)));
+        assertTrue(index.overlapping(departmentId, today, today.plusDays(5)).isEmpty());
+    }
+
+    @Test
+    void apply_editedDates_moveTheRequest() {
+        UUID leaveRequestId = UUID.randomUUID();
+        index.loadAll();
+
+        index.apply(event(leaveRequestId, LeaveStatusEnum.PENDING, today, today));
+        index.apply(event(leaveRequestId, LeaveStatusEnum.PENDING, today.plusDays(10), today.plusDays(12)));
+
+        assertTrue(index.overlapping(departmentId, today, today).isEmpty());
+        assertEquals(1, index.overlapping(departmentId, today.plusDays(11), today.plusDays(11)).size());
+    }
+
+    @Test
+    void apply_deletedRequest_isRemoved() {
+        UUID leaveRequestId = UUID.randomUUID();
+        index.loadAll();
+
+        index.apply(event(leaveRequestId, LeaveStatusEnum.PENDING, today, today));
+        index.apply(event(leaveRequestId, null, today, today));
+
+        assertTrue(index.overlapping(departmentId, today, today).isEmpty());
+    }
+
+    @Test
+    void apply_beforeTheLoad_isLeftToTheLoad() {
+        index.apply(event(UUID.randomUUID(), LeaveStatusEnum.PENDING, today, today));
+
+        verifyNoInteractions(employeeDirectory);
+    }
+
+    @Test
+    void moveEmployee_filesTheirLeaveUnderTheNewDepartment() {
+        UUID leaveRequestId = UUID.randomUUID();
+        UUID newDepartmentId = UUID.randomUUID();
+        when(leaveRequestRepository.findCalendarViewsEndingFrom(any()))
+                .thenReturn(List.of(view(leaveRequestId, employeeId, departmentId, LeaveStatusEnum.APPROVED, today, today)));
+        when(leaveRequestRepository.findCalendarViewsByEmployeeIdEndingFrom(eq(employeeId), any()))
+                .thenReturn(List.of(view(leaveRequestId, employeeId, newDepartmentId, LeaveStatusEnum.APPROVED, today, today)));
+        index.loadAll();
+
+        index.moveEmployee(employeeId);
+
+        assertTrue(index.overlapping(departmentId, today, today).isEmpty());
+        assertEquals(1, index.overlapping(newDepartmentId, today, today).size());
+    }
+
+    private LeaveRequestChangedEvent event(UUID leaveRequestId, LeaveStatusEnum status, LocalDate start, LocalDate end) {
+        return new LeaveRequestChangedEvent(leaveRequestId, employeeId, LeaveTypeEnum.VACATION, status, start, end);
+    }
+
+    private static LeaveCalendarView view(UUID leaveRequestId, UUID employeeId, UUID departmentId, LeaveStatusEnum status, LocalDate start, LocalDate end) {
+        return new LeaveCalendarView(leaveRequestId, employeeId, departmentId, LeaveTypeEnum.VACATION, status, start, end);
+    }
+}
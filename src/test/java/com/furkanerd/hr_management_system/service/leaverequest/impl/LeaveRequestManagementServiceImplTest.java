@@ -1,12 +1,18 @@
 package com.furkanerd.hr_management_system.service.leaverequest.impl;
 
+import com.furkanerd.hr_management_system.event.LeaveRequestChangedEvent;
 import com.furkanerd.hr_management_system.exception.custom.*;
 import com.furkanerd.hr_management_system.mapper.LeaveRequestMapper;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveAccrualRequest;
+import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveDecisionItemRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestCreateRequest;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestEditRequest;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveBatchDecisionResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveDecisionResultResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
+import com.furkanerd.hr_management_system.model.enums.LeaveDecisionEnum;
 import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
 import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
@@ -14,11 +20,17 @@ import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
 import com.furkanerd.hr_management_system.service.notification.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +53,12 @@ class LeaveRequestManagementServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private LeaveLedger leaveLedger;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Employee employee;
     private LeaveRequest leaveRequest;
 
@@ -63,6 +81,7 @@ class LeaveRequestManagementServiceImplTest {
                 .leaveType(LeaveTypeEnum.VACATION)
                 .startDate(LocalDate.now())
                 .endDate(LocalDate.now().plusDays(2))
+                .totalDays(3)
                 .status(LeaveStatusEnum.PENDING)
                 .build();
     }
@@ -74,13 +93,15 @@ class LeaveRequestManagementServiceImplTest {
                 LeaveTypeEnum.VACATION, LocalDate.now(), LocalDate.now().plusDays(2), "Vacation"
         );
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
-        when(leaveRequestRepository.save(any())).thenReturn(leaveRequest);
+        when(leaveRequestRepository.saveAndFlush(any())).thenReturn(leaveRequest);
+        when(leaveLedger.reserve(leaveRequest)).thenReturn(true);
         when(leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(leaveRequest))
                 .thenReturn(mock(LeaveRequestDetailResponse.class));
 
         LeaveRequestDetailResponse response = service.createLeaveRequest(request, employee.getEmail());
 
         assertNotNull(response);
+        verify(leaveLedger).reserve(leaveRequest);
         verify(notificationService).notify(eq(employee), anyString(), anyString(), any());
     }
 
@@ -90,9 +111,38 @@ class LeaveRequestManagementServiceImplTest {
                 LeaveTypeEnum.VACATION, LocalDate.now(), LocalDate.now().plusDays(20), "Vacation"
         );
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.saveAndFlush(any())).thenReturn(leaveRequest);
+        when(leaveLedger.reserve(leaveRequest)).thenReturn(false);
+        when(leaveLedger.availableDays(employee.getId(), LeaveTypeEnum.VACATION)).thenReturn(0);
 
         assertThrows(InsufficientLeaveBalanceException.class,
                 () -> service.createLeaveRequest(request, employee.getEmail()));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void createLeaveRequest_overlapsAnotherRequest_throwsException() {
+        LeaveRequestCreateRequest request = new LeaveRequestCreateRequest(
+                LeaveTypeEnum.VACATION, LocalDate.now(), LocalDate.now().plusDays(2), "Vacation"
+        );
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.saveAndFlush(any())).thenThrow(violation("23P01"));
+
+        assertThrows(LeaveRequestOverlapException.class,
+                () -> service.createLeaveRequest(request, employee.getEmail()));
+        verifyNoInteractions(leaveLedger, notificationService, eventPublisher);
+    }
+
+    @Test
+    void createLeaveRequest_otherIntegrityViolation_isRethrown() {
+        LeaveRequestCreateRequest request = new LeaveRequestCreateRequest(
+                LeaveTypeEnum.VACATION, LocalDate.now(), LocalDate.now().plusDays(2), "Vacation"
+        );
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.saveAndFlush(any())).thenThrow(violation("23503"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> service.createLeaveRequest(request, employee.getEmail()));
     }
 
     // EDIT
@@ -102,12 +152,46 @@ class LeaveRequestManagementServiceImplTest {
                 LocalDate.now(), LocalDate.now().plusDays(1), LeaveTypeEnum.VACATION, "Edited reason"
         );
         when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
+        when(leaveLedger.release(leaveRequest)).thenReturn(3);
+        when(leaveLedger.reserve(leaveRequest)).thenReturn(true);
         when(leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(any())).thenReturn(mock(LeaveRequestDetailResponse.class));
 
         LeaveRequestDetailResponse response = service.editLeaveRequest(leaveRequest.getId(), editRequest, employee.getEmail());
 
         assertNotNull(response);
         assertEquals(editRequest.leaveType(), leaveRequest.getLeaveType());
+        // Released first, so the check counts the released days
+        InOrder inOrder = inOrder(leaveLedger);
+        inOrder.verify(leaveLedger).release(leaveRequest);
+        inOrder.verify(leaveLedger).reserve(leaveRequest);
+    }
+
+    @Test
+    void editLeaveRequest_insufficientBalance_throwsException() {
+        LeaveRequestEditRequest editRequest = new LeaveRequestEditRequest(
+                LocalDate.now(), LocalDate.now().plusDays(1), LeaveTypeEnum.MATERNITY, "Edited reason"
+        );
+        when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
+        when(leaveLedger.release(leaveRequest)).thenReturn(3);
+        when(leaveLedger.reserve(leaveRequest)).thenReturn(false);
+        when(leaveLedger.availableDays(employee.getId(), LeaveTypeEnum.MATERNITY)).thenReturn(0);
+
+        assertThrows(InsufficientLeaveBalanceException.class,
+                () -> service.editLeaveRequest(leaveRequest.getId(), editRequest, employee.getEmail()));
+        verify(leaveRequestRepository, never()).save(any());
+    }
+
+    @Test
+    void editLeaveRequest_overlapsAnotherRequest_throwsException() {
+        LeaveRequestEditRequest editRequest = new LeaveRequestEditRequest(
+                LocalDate.now().plusDays(5), LocalDate.now().plusDays(6), LeaveTypeEnum.VACATION, "Edited reason"
+        );
+        when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
+        when(leaveRequestRepository.saveAndFlush(leaveRequest)).thenThrow(violation("23P01"));
+
+        assertThrows(LeaveRequestOverlapException.class,
+                () -> service.editLeaveRequest(leaveRequest.getId(), editRequest, employee.getEmail()));
+        verify(leaveLedger, never()).reserve(any());
     }
 
     @Test
@@ -138,24 +222,46 @@ class LeaveRequestManagementServiceImplTest {
     void approveLeaveRequest_success() {
         when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveLedger.debit(leaveRequest)).thenReturn(true);
+        when(leaveRequestRepository.completePending(eq(leaveRequest.getId()), eq(LeaveStatusEnum.APPROVED), eq(employee), any()))
+                .thenReturn(1);
         when(leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(any())).thenReturn(mock(LeaveRequestDetailResponse.class));
 
         LeaveRequestDetailResponse response = service.approveLeaveRequest(leaveRequest.getId(), employee.getEmail());
 
         assertNotNull(response);
-        assertEquals(LeaveStatusEnum.APPROVED, leaveRequest.getStatus());
+        verify(notificationService).notify(eq(employee), eq("Leave Request Approved"), anyString(), any());
+        verify(eventPublisher).publishEvent(new LeaveRequestChangedEvent(leaveRequest.getId(), employee.getId(),
+                LeaveTypeEnum.VACATION, LeaveStatusEnum.APPROVED, leaveRequest.getStartDate(), leaveRequest.getEndDate()));
+        verify(employeeRepository, never()).save(any());
     }
 
     @Test
     void approveLeaveRequest_insufficientVacationBalance_rejects() {
         leaveRequest.setEndDate(leaveRequest.getStartDate().plusDays(20)); // more than balance
+        leaveRequest.setTotalDays(21);
         when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveLedger.debit(leaveRequest)).thenReturn(false);
+        when(leaveRequestRepository.completePending(eq(leaveRequest.getId()), eq(LeaveStatusEnum.APPROVED), eq(employee), any()))
+                .thenReturn(1);
         when(leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(any())).thenReturn(mock(LeaveRequestDetailResponse.class));
 
-        LeaveRequestDetailResponse response = service.approveLeaveRequest(leaveRequest.getId(), employee.getEmail());
+        service.approveLeaveRequest(leaveRequest.getId(), employee.getEmail());
 
         assertEquals(LeaveStatusEnum.REJECTED, leaveRequest.getStatus());
+        verify(notificationService).notify(eq(employee), eq("Leave Request Rejected"), anyString(), any());
+    }
+
+    @Test
+    void approveLeaveRequest_processedConcurrently_throwsException() {
+        when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.completePending(any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(LeaveRequestAlreadyProcessedException.class,
+                () -> service.approveLeaveRequest(leaveRequest.getId(), employee.getEmail()));
+        verifyNoInteractions(notificationService, leaveLedger);
     }
 
     // REJECT
@@ -163,11 +269,15 @@ class LeaveRequestManagementServiceImplTest {
     void rejectLeaveRequest_success() {
         when(leaveRequestRepository.findById(leaveRequest.getId())).thenReturn(Optional.of(leaveRequest));
         when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.completePending(eq(leaveRequest.getId()), eq(LeaveStatusEnum.REJECTED), eq(employee), any()))
+                .thenReturn(1);
         when(leaveRequestMapper.leaveRequestToLeaveRequestDetailResponse(any())).thenReturn(mock(LeaveRequestDetailResponse.class));
 
         LeaveRequestDetailResponse response = service.rejectLeaveRequest(leaveRequest.getId(), employee.getEmail());
 
-        assertEquals(LeaveStatusEnum.REJECTED, leaveRequest.getStatus());
+        assertNotNull(response);
+        verify(leaveLedger).release(leaveRequest);
+        verify(notificationService).notify(eq(employee), eq("Leave Request Rejected"), anyString(), any());
     }
 
     // CANCEL
@@ -177,8 +287,11 @@ class LeaveRequestManagementServiceImplTest {
 
         service.cancelLeaveRequest(leaveRequest.getId(), employee.getEmail());
 
+        verify(leaveLedger).release(leaveRequest);
         verify(leaveRequestRepository).delete(leaveRequest);
         verify(notificationService).notify(eq(employee), anyString(), anyString(), any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof LeaveRequestChangedEvent changed
+                && changed.leaveRequestId().equals(leaveRequest.getId()) && changed.status() == null));
     }
 
     @Test
@@ -197,4 +310,114 @@ class LeaveRequestManagementServiceImplTest {
         assertThrows(UnauthorizedActionException.class,
                 () -> service.cancelLeaveRequest(leaveRequest.getId(), employee.getEmail()));
     }
-}
\ No newline at end of file
+
+    // ACCRUE
+    @Test
+    void accrueLeave_success() {
+        when(employeeRepository.existsById(employee.getId())).thenReturn(true);
+
+        service.accrueLeave(employee.getId(), new LeaveAccrualRequest(LeaveTypeEnum.VACATION, 5));
+
+        verify(leaveLedger).accrue(employee.getId(), LeaveTypeEnum.VACATION, 5);
+    }
+
+    @Test
+    void accrueLeave_untrackedLeaveType_throwsException() {
+        assertThrows(InvalidLeaveAccrualException.class,
+                () -> service.accrueLeave(employee.getId(), new LeaveAccrualRequest(LeaveTypeEnum.SICK, 5)));
+        verifyNoInteractions(leaveLedger);
+    }
+
+    // BATCH DECISIONS
+    @Test
+    void decideLeaveRequests_mixedBatch_reportsEachItem() {
+        LeaveRequest toReject = LeaveRequest.builder()
+                .id(UUID.randomUUID())
+                .employee(employee)
+                .leaveType(LeaveTypeEnum.SICK)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now())
+                .status(LeaveStatusEnum.PENDING)
+                .build();
+        LeaveRequest processed = LeaveRequest.builder()
+                .id(UUID.randomUUID())
+                .employee(employee)
+                .leaveType(LeaveTypeEnum.VACATION)
+                .status(LeaveStatusEnum.APPROVED)
+                .build();
+        UUID unknownId = UUID.randomUUID();
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.findAllWithEmployeeByIdIn(any())).thenReturn(List.of(leaveRequest, toReject, processed));
+        when(leaveRequestRepository.completeAllPending(eq(List.of(leaveRequest.getId())), eq(LeaveStatusEnum.APPROVED), eq(employee), any()))
+                .thenReturn(1);
+        when(leaveRequestRepository.completeAllPending(eq(List.of(toReject.getId())), eq(LeaveStatusEnum.REJECTED), eq(employee), any()))
+                .thenReturn(1);
+        when(leaveLedger.settle(List.of(leaveRequest), List.of(toReject))).thenReturn(Set.of());
+
+        LeaveBatchDecisionResponse response = service.decideLeaveRequests(List.of(
+                new LeaveDecisionItemRequest(leaveRequest.getId(), LeaveDecisionEnum.APPROVE),
+                new LeaveDecisionItemRequest(unknownId, LeaveDecisionEnum.APPROVE),
+                new LeaveDecisionItemRequest(toReject.getId(), LeaveDecisionEnum.REJECT),
+                new LeaveDecisionItemRequest(processed.getId(), LeaveDecisionEnum.REJECT),
+                new LeaveDecisionItemRequest(leaveRequest.getId(), LeaveDecisionEnum.REJECT)
+        ), employee.getEmail());
+
+        assertEquals(2, response.processed());
+        assertEquals(3, response.failed());
+        List<LeaveDecisionResultResponse> results = response.results();
+        assertEquals(LeaveStatusEnum.APPROVED, results.get(0).status());
+        assertEquals("LEAVE_REQUEST_NOT_FOUND", results.get(1).errorCode());
+        assertEquals(LeaveStatusEnum.REJECTED, results.get(2).status());
+        assertEquals("LEAVE_REQUEST_ALREADY_PROCESSED", results.get(3).errorCode());
+        assertEquals("DUPLICATE_DECISION", results.get(4).errorCode());
+        verify(leaveRequestRepository, never()).updateStatus(any(), any());
+        verify(notificationService).notifyAll(argThat(messages -> messages.size() == 2
+                && messages.get(0).subject().equals("Leave Request Approved")
+                && messages.get(1).subject().equals("Leave Request Rejected")));
+    }
+
+    @Test
+    void decideLeaveRequests_insufficientBalance_rejectsThatRequest() {
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.findAllWithEmployeeByIdIn(any())).thenReturn(List.of(leaveRequest));
+        when(leaveRequestRepository.completeAllPending(any(), eq(LeaveStatusEnum.APPROVED), eq(employee), any())).thenReturn(1);
+        when(leaveLedger.settle(List.of(leaveRequest), List.of())).thenReturn(Set.of(leaveRequest.getId()));
+
+        LeaveBatchDecisionResponse response = service.decideLeaveRequests(
+                List.of(new LeaveDecisionItemRequest(leaveRequest.getId(), LeaveDecisionEnum.APPROVE)), employee.getEmail());
+
+        assertEquals(LeaveStatusEnum.REJECTED, response.results().get(0).status());
+        verify(leaveRequestRepository).updateStatus(Set.of(leaveRequest.getId()), LeaveStatusEnum.REJECTED);
+        verify(notificationService).notifyAll(argThat(messages -> messages.get(0).subject().equals("Leave Request Rejected")));
+    }
+
+    @Test
+    void decideLeaveRequests_processedConcurrently_reportsTheLostItems() {
+        LeaveRequest other = LeaveRequest.builder()
+                .id(UUID.randomUUID())
+                .employee(employee)
+                .leaveType(LeaveTypeEnum.SICK)
+                .startDate(LocalDate.now())
+                .status(LeaveStatusEnum.PENDING)
+                .build();
+        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
+        when(leaveRequestRepository.findAllWithEmployeeByIdIn(any())).thenReturn(List.of(leaveRequest, other));
+        when(leaveRequestRepository.completeAllPending(any(), eq(LeaveStatusEnum.APPROVED), eq(employee), any())).thenReturn(1);
+        when(leaveRequestRepository.findIdsCompletedBy(any(), eq(employee), any())).thenReturn(List.of(other.getId()));
+        when(leaveLedger.settle(List.of(other), List.of())).thenReturn(Set.of());
+
+        LeaveBatchDecisionResponse response = service.decideLeaveRequests(List.of(
+                new LeaveDecisionItemRequest(leaveRequest.getId(), LeaveDecisionEnum.APPROVE),
+                new LeaveDecisionItemRequest(other.getId(), LeaveDecisionEnum.APPROVE)
+        ), employee.getEmail());
+
+        assertEquals("LEAVE_REQUEST_ALREADY_PROCESSED", response.results().get(0).errorCode());
+        assertEquals(LeaveStatusEnum.APPROVED, response.results().get(1).status());
+        assertEquals(1, response.processed());
+    }
+
+    private static DataIntegrityViolationException violation(String sqlState) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation", sqlState), null));
+    }
+}
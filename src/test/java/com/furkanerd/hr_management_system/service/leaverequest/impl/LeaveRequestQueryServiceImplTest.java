@@ -1,21 +1,31 @@
 package com.furkanerd.hr_management_system.service.leaverequest.impl;
 
+import com.furkanerd.hr_management_system.exception.custom.InvalidDateRangeException;
+import com.furkanerd.hr_management_system.exception.custom.UnauthorizedActionException;
 import com.furkanerd.hr_management_system.mapper.LeaveRequestMapper;
 import com.furkanerd.hr_management_system.model.dto.request.leaverequest.LeaveRequestFilterRequest;
 import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.employee.EmployeeLeaveBalanceResponse;
-import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveCalendarResponse;
 import com.furkanerd.hr_management_system.model.dto.response.leaverequest.LeaveRequestDetailResponse;
+import com.furkanerd.hr_management_system.model.dto.response.leaverequest.ListLeaveRequestResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.LeaveRequest;
-import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.model.enums.EmployeeRoleEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveStatusEnum;
+import com.furkanerd.hr_management_system.model.enums.LeaveTypeEnum;
+import com.furkanerd.hr_management_system.model.projection.LeaveCalendarView;
 import com.furkanerd.hr_management_system.repository.LeaveRequestRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,10 +42,19 @@ class LeaveRequestQueryServiceImplTest {
     private LeaveRequestRepository leaveRequestRepository;
 
     @Mock
-    private EmployeeRepository employeeRepository;
+    private LeaveRequestMapper leaveRequestMapper;
 
     @Mock
-    private LeaveRequestMapper leaveRequestMapper;
+    private PageWindowRepository pageWindowRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @Mock
+    private LeaveBalanceBook leaveBalanceBook;
+
+    @Mock
+    private LeaveCalendarIndex leaveCalendarIndex;
 
     private LeaveRequest leaveRequest;
     private Employee employee;
@@ -78,10 +97,8 @@ class LeaveRequestQueryServiceImplTest {
 
     @Test
     void listAllLeaveRequests_success() {
-        Page<LeaveRequest> page = new PageImpl<>(List.of(leaveRequest));
-        when(leaveRequestRepository.findAll(any(Pageable.class))).thenReturn(page);
-        when(leaveRequestMapper.leaveRequestsToListLeaveRequestResponse(anyList()))
-                .thenReturn(List.of(mock(ListLeaveRequestResponse.class)));
+        Page<ListLeaveRequestResponse> page = new PageImpl<>(List.of(mock(ListLeaveRequestResponse.class)));
+        when(pageWindowRepository.findPage(eq(ListProjections.LEAVE_REQUEST), isNull(), any(Pageable.class))).thenReturn(page);
 
         PaginatedResponse<ListLeaveRequestResponse> response = service.listAllLeaveRequests(0, 10, "createdAt", "desc", null);
         assertEquals(1, response.data().size());
@@ -89,38 +106,113 @@ class LeaveRequestQueryServiceImplTest {
 
     @Test
     void getMyLeaveRequests_success() {
-        Page<LeaveRequest> page = new PageImpl<>(List.of(leaveRequest));
-        when(leaveRequestRepository.findAll(nullable(Specification.class), any(Pageable.class))).thenReturn(page);
-        when(leaveRequestMapper.leaveRequestsToListLeaveRequestResponse(anyList()))
-                .thenReturn(List.of(mock(ListLeaveRequestResponse.class)));
+        Page<ListLeaveRequestResponse> page = new PageImpl<>(List.of(mock(ListLeaveRequestResponse.class)));
+        when(pageWindowRepository.findPage(eq(ListProjections.LEAVE_REQUEST), nullable(Specification.class), any(Pageable.class))).thenReturn(page);
 
         PaginatedResponse<ListLeaveRequestResponse> response = service.getMyLeaveRequests(employee.getEmail(), 0, 10, "createdAt", "desc", null);
         assertEquals(1, response.data().size());
     }
 
+    @Test
+    void getMyTeamLeaveRequests_success() {
+        UUID managerId = UUID.randomUUID();
+        Page<ListLeaveRequestResponse> page = new PageImpl<>(List.of(mock(ListLeaveRequestResponse.class)));
+        when(employeeDirectory.findIdByEmail("manager@example.com")).thenReturn(Optional.of(managerId));
+        when(pageWindowRepository.findPage(eq(ListProjections.LEAVE_REQUEST), any(Specification.class), any(Pageable.class))).thenReturn(page);
+
+        PaginatedResponse<ListLeaveRequestResponse> response = service.getMyTeamLeaveRequests("manager@example.com", 0, 10, "createdAt", "desc", null);
+        assertEquals(1, response.data().size());
+    }
+
     @Test
     void getMyLeaveBalance_success() {
-        when(employeeRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
-        when(leaveRequestMapper.toEmployeeLeaveBalanceResponse(employee)).thenReturn(mock(EmployeeLeaveBalanceResponse.class));
+        when(employeeDirectory.findIdByEmail(employee.getEmail())).thenReturn(Optional.of(employee.getId()));
+        when(leaveBalanceBook.get(employee.getId()))
+                .thenReturn(Optional.of(new LeaveBalanceBook.Balance(employee.getId(), List.of(20, 112), List.of(5, 0))));
 
         EmployeeLeaveBalanceResponse response = service.getMyLeaveBalance(employee.getEmail());
-        assertNotNull(response);
+
+        assertEquals(20, response.vacationBalance());
+        assertEquals(5, response.vacationReserved());
+        assertEquals(15, response.vacationAvailable());
+        assertEquals(112, response.maternityAvailable());
     }
 
     @Test
     void getEmployeeLeaveBalance_success() {
-        when(employeeRepository.findById(employee.getId())).thenReturn(Optional.of(employee));
-        when(leaveRequestMapper.toEmployeeLeaveBalanceResponse(employee)).thenReturn(mock(EmployeeLeaveBalanceResponse.class));
+        when(leaveBalanceBook.get(employee.getId()))
+                .thenReturn(Optional.of(new LeaveBalanceBook.Balance(employee.getId(), List.of(10, 0), List.of(0, 0))));
 
         EmployeeLeaveBalanceResponse response = service.getEmployeeLeaveBalance(employee.getId());
-        assertNotNull(response);
+
+        assertEquals(employee.getId(), response.employeeId());
+        assertEquals(10, response.vacationAvailable());
     }
 
     @Test
     void getEmployeeLeaveBalance_notFound_throwsException() {
         UUID id = UUID.randomUUID();
-        when(employeeRepository.findById(id)).thenReturn(Optional.empty());
+        when(leaveBalanceBook.get(id)).thenReturn(Optional.empty());
 
         assertThrows(Exception.class, () -> service.getEmployeeLeaveBalance(id));
     }
+
+    @Test
+    void getLeaveCalendar_defaultsToTheCallersDepartment() {
+        UUID departmentId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        EmployeeDirectory.Entry caller = directoryEntry(EmployeeRoleEnum.EMPLOYEE, departmentId);
+        when(caller.fullName()).thenReturn("John Doe");
+        when(employeeDirectory.findByEmail(employee.getEmail())).thenReturn(Optional.of(caller));
+        when(employeeDirectory.findById(employee.getId())).thenReturn(Optional.of(caller));
+        LeaveCalendarView leave = new LeaveCalendarView(leaveRequest.getId(), employee.getId(), departmentId,
+                LeaveTypeEnum.VACATION, LeaveStatusEnum.APPROVED, from.plusDays(3), from.plusDays(5));
+        when(leaveCalendarIndex.overlapping(departmentId, from, to)).thenReturn(List.of(leave));
+
+        LeaveCalendarResponse response = service.getLeaveCalendar(employee.getEmail(), null, from, to);
+
+        assertEquals(departmentId, response.departmentId());
+        assertEquals(1, response.leaves().size());
+        assertEquals("John Doe", response.leaves().get(0).employeeFullName());
+        assertEquals(LeaveStatusEnum.APPROVED, response.leaves().get(0).status());
+    }
+
+    @Test
+    void getLeaveCalendar_employeeAskingForAnotherDepartment_throwsException() {
+        EmployeeDirectory.Entry caller = directoryEntry(EmployeeRoleEnum.EMPLOYEE, UUID.randomUUID());
+        when(employeeDirectory.findByEmail(employee.getEmail())).thenReturn(Optional.of(caller));
+
+        assertThrows(UnauthorizedActionException.class, () -> service.getLeaveCalendar(employee.getEmail(),
+                UUID.randomUUID(), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+        verifyNoInteractions(leaveCalendarIndex);
+    }
+
+    @Test
+    void getLeaveCalendar_managerMayViewAnyDepartment() {
+        UUID departmentId = UUID.randomUUID();
+        EmployeeDirectory.Entry caller = directoryEntry(EmployeeRoleEnum.MANAGER, UUID.randomUUID());
+        when(employeeDirectory.findByEmail(employee.getEmail())).thenReturn(Optional.of(caller));
+
+        LeaveCalendarResponse response = service.getLeaveCalendar(employee.getEmail(), departmentId,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+        assertEquals(departmentId, response.departmentId());
+        verify(leaveCalendarIndex).overlapping(departmentId, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    void getLeaveCalendar_invalidRange_throwsException() {
+        assertThrows(InvalidDateRangeException.class, () -> service.getLeaveCalendar(employee.getEmail(),
+                null, LocalDate.of(2026, 3, 31), LocalDate.of(2026, 3, 1)));
+        assertThrows(InvalidDateRangeException.class, () -> service.getLeaveCalendar(employee.getEmail(),
+                null, LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 2)));
+    }
+
+    private EmployeeDirectory.Entry directoryEntry(EmployeeRoleEnum role, UUID departmentId) {
+        EmployeeDirectory.Entry entry = mock(EmployeeDirectory.Entry.class);
+        when(entry.role()).thenReturn(role);
+        when(entry.departmentId()).thenReturn(departmentId);
+        return entry;
+    }
 }
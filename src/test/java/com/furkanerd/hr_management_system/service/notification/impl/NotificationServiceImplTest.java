@@ -1,5 +1,6 @@
 package com.furkanerd.hr_management_system.service.notification.impl;
 
+import com.furkanerd.hr_management_system.event.NotificationMailRequestedEvent;
 import com.furkanerd.hr_management_system.exception.custom.EmployeeNotFoundException;
 import com.furkanerd.hr_management_system.exception.custom.NotificationException;
 import com.furkanerd.hr_management_system.mapper.NotificationMapper;
@@ -7,10 +8,16 @@ import com.furkanerd.hr_management_system.model.dto.response.PaginatedResponse;
 import com.furkanerd.hr_management_system.model.dto.response.notification.NotificationResponse;
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.Notification;
+import com.furkanerd.hr_management_system.model.enums.CountStrategyEnum;
 import com.furkanerd.hr_management_system.model.enums.NotificationTypeEnum;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.NotificationBatchRepository;
+import com.furkanerd.hr_management_system.repository.NotificationBatchRepository.NewNotification;
 import com.furkanerd.hr_management_system.repository.NotificationRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.service.email.MailService;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.service.notification.NotificationMessage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +26,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -49,6 +57,18 @@ class NotificationServiceImplTest {
     @Mock
     private NotificationMapper notificationMapper;
 
+    @Mock
+    private PageWindowRepository pageWindowRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
+    @Mock
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -120,6 +140,32 @@ class NotificationServiceImplTest {
         then(mailService).should().sendMail(employee.getEmail(), subject, message);
     }
 
+    @Test
+    @DisplayName("Should insert all notifications at once and leave their mails to after commit")
+    void notifyAll_ShouldInsertNotificationsInOneBatchAndPublishMails() {
+        // given
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        List<NotificationMessage> messages = List.of(
+                new NotificationMessage(firstId, "emp1@company.com", "Leave Request Approved", "Approved", NotificationTypeEnum.LEAVE),
+                new NotificationMessage(secondId, "emp2@company.com", "Leave Request Rejected", "Rejected", NotificationTypeEnum.LEAVE)
+        );
+
+        // when
+        notificationService.notifyAll(messages);
+
+        // then
+        then(notificationBatchRepository).should().insertAll(List.of(
+                new NewNotification(firstId, "Approved", NotificationTypeEnum.LEAVE),
+                new NewNotification(secondId, "Rejected", NotificationTypeEnum.LEAVE)
+        ));
+        then(eventPublisher).should().publishEvent(new NotificationMailRequestedEvent(List.of(
+                new NotificationMailRequestedEvent.Mail("emp1@company.com", "Leave Request Approved", "Approved"),
+                new NotificationMailRequestedEvent.Mail("emp2@company.com", "Leave Request Rejected", "Rejected")
+        )));
+        then(mailService).shouldHaveNoInteractions();
+    }
+
     @Test
     @DisplayName("Should notify all employees for announcement")
     void notifyAllEmployeesForAnnouncement_ShouldCreateNotificationsForAllEmployees() {
@@ -166,18 +212,18 @@ class NotificationServiceImplTest {
                 NotificationResponse.builder().id(UUID.randomUUID()).build()
         );
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findByEmployeeIdOrderByCreatedAtDesc(eq(employee.getId()), any(Pageable.class)))
                 .willReturn(notificationPage);
         given(notificationMapper.notificationsToListNotificationResponse(notifications)).willReturn(responses);
 
         // when
         PaginatedResponse<NotificationResponse> result = notificationService
-                .getMyNotifications(email, 0, 10, "createdAt", "desc");
+                .getMyNotifications(email, 0, 10, "createdAt", "desc", CountStrategyEnum.EXACT);
 
         // then
         assertThat(result.data()).hasSize(2);
-        then(employeeRepository).should().findByEmail(email);
+        then(employeeDirectory).should().findIdByEmail(email);
         then(notificationRepository).should()
                 .findByEmployeeIdOrderByCreatedAtDesc(eq(employee.getId()), any(Pageable.class));
     }
@@ -187,12 +233,12 @@ class NotificationServiceImplTest {
     void getMyNotifications_WhenEmployeeNotFound_ShouldThrowException() {
         // given
         String email = "nonexistent@company.com";
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.empty());
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.empty());
 
         // when & then
-        assertThatThrownBy(() -> notificationService.getMyNotifications(email, 0, 10, "createdAt", "desc"))
+        assertThatThrownBy(() -> notificationService.getMyNotifications(email, 0, 10, "createdAt", "desc", CountStrategyEnum.EXACT))
                 .isInstanceOf(EmployeeNotFoundException.class);
-        then(employeeRepository).should().findByEmail(email);
+        then(employeeDirectory).should().findIdByEmail(email);
     }
 
     @Test
@@ -209,7 +255,7 @@ class NotificationServiceImplTest {
                 .isRead(true)
                 .build();
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findById(notificationId)).willReturn(Optional.of(notification));
         given(notificationRepository.save(notification)).willReturn(notification);
         given(notificationMapper.toNotificationResponse(notification)).willReturn(expectedResponse);
@@ -233,7 +279,7 @@ class NotificationServiceImplTest {
         Employee anotherEmployee = createTestEmployeeWithEmail("another@company.com");
         Notification notification = createTestNotification(anotherEmployee);
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findById(notificationId)).willReturn(Optional.of(notification));
 
         // when & then
@@ -254,7 +300,7 @@ class NotificationServiceImplTest {
         );
         notifications.forEach(n -> n.setRead(false));
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findByEmployeeIdAndReadFalse(employee.getId())).willReturn(notifications);
 
         // when
@@ -274,7 +320,7 @@ class NotificationServiceImplTest {
         Employee employee = createTestEmployeeWithEmail(email);
         Notification notification = createTestNotification(employee);
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findById(notificationId)).willReturn(Optional.of(notification));
 
         // when
@@ -294,7 +340,7 @@ class NotificationServiceImplTest {
         Employee anotherEmployee = createTestEmployeeWithEmail("another@company.com");
         Notification notification = createTestNotification(anotherEmployee);
 
-        given(employeeRepository.findByEmail(email)).willReturn(Optional.of(employee));
+        given(employeeDirectory.findIdByEmail(email)).willReturn(Optional.of(employee.getId()));
         given(notificationRepository.findById(notificationId)).willReturn(Optional.of(notification));
 
         // when & then
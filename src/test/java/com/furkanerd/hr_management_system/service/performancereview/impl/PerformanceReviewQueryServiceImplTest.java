@@ -9,7 +9,10 @@ import com.furkanerd.hr_management_system.model.dto.response.performancereview.L
 import com.furkanerd.hr_management_system.model.dto.response.performancereview.PerformanceReviewDetailResponse;
 import com.furkanerd.hr_management_system.model.entity.PerformanceReview;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.repository.PerformanceReviewRepository;
+import com.furkanerd.hr_management_system.service.employee.EmployeeDirectory;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +32,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -45,6 +49,12 @@ class PerformanceReviewQueryServiceImplTest {
     @Mock
     private PerformanceReviewMapper performanceReviewMapper;
 
+    @Mock
+    private PageWindowRepository pageWindowRepository;
+
+    @Mock
+    private EmployeeDirectory employeeDirectory;
+
     @InjectMocks
     private PerformanceReviewQueryServiceImpl performanceReviewQueryService;
 
@@ -53,20 +63,14 @@ class PerformanceReviewQueryServiceImplTest {
     void listAllPerformanceReviews_WhenValidRequest_ShouldReturnPaginatedResponse() {
         // given
         PerformanceReviewFilterRequest filterRequest =PerformanceReviewFilterRequest.empty();
-        List<PerformanceReview> reviews = Arrays.asList(
-                createTestPerformanceReview(),
-                createTestPerformanceReview()
-        );
-        Page<PerformanceReview> reviewPage = new PageImpl<>(reviews);
         List<ListPerformanceReviewResponse> responses = Arrays.asList(
                 ListPerformanceReviewResponse.builder().id(UUID.randomUUID()).build(),
                 ListPerformanceReviewResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListPerformanceReviewResponse> reviewPage = new PageImpl<>(responses);
 
-        given(performanceReviewRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(reviewPage);
-        given(performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(reviews))
-                .willReturn(responses);
 
         // when
         PaginatedResponse<ListPerformanceReviewResponse> result = performanceReviewQueryService
@@ -75,10 +79,8 @@ class PerformanceReviewQueryServiceImplTest {
         // then
         assertThat(result.data()).hasSize(2);
         assertThat(result.total()).isEqualTo(2);
-        then(performanceReviewRepository).should()
-                .findAll(nullable(Specification.class), any(Pageable.class));
-        then(performanceReviewMapper).should()
-                .performanceReviewsToListPerformanceReviewListResponse(reviews);
+        then(pageWindowRepository).should()
+                .findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -126,16 +128,13 @@ class PerformanceReviewQueryServiceImplTest {
         // given
         String email = "employee@company.com";
         PerformanceReviewFilterRequest filterRequest =PerformanceReviewFilterRequest.empty();
-        List<PerformanceReview> reviews = Arrays.asList(createTestPerformanceReview());
-        Page<PerformanceReview> reviewPage = new PageImpl<>(reviews);
         List<ListPerformanceReviewResponse> responses = Arrays.asList(
                 ListPerformanceReviewResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListPerformanceReviewResponse> reviewPage = new PageImpl<>(responses);
 
-        given(performanceReviewRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(reviewPage);
-        given(performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(reviews))
-                .willReturn(responses);
 
         // when
         PaginatedResponse<ListPerformanceReviewResponse> result = performanceReviewQueryService
@@ -144,8 +143,8 @@ class PerformanceReviewQueryServiceImplTest {
         // then
         assertThat(result.data()).hasSize(1);
         assertThat(result.total()).isEqualTo(1);
-        then(performanceReviewRepository).should()
-                .findAll(nullable(Specification.class), any(Pageable.class));
+        then(pageWindowRepository).should()
+                .findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -154,17 +153,14 @@ class PerformanceReviewQueryServiceImplTest {
         // given
         UUID employeeId = UUID.randomUUID();
         PerformanceReviewFilterRequest filterRequest =PerformanceReviewFilterRequest.empty();
-        List<PerformanceReview> reviews = Arrays.asList(createTestPerformanceReview());
-        Page<PerformanceReview> reviewPage = new PageImpl<>(reviews);
         List<ListPerformanceReviewResponse> responses = Arrays.asList(
                 ListPerformanceReviewResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListPerformanceReviewResponse> reviewPage = new PageImpl<>(responses);
 
         given(employeeRepository.existsById(employeeId)).willReturn(true);
-        given(performanceReviewRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(reviewPage);
-        given(performanceReviewMapper.performanceReviewsToListPerformanceReviewListResponse(reviews))
-                .willReturn(responses);
 
         // when
         PaginatedResponse<ListPerformanceReviewResponse> result = performanceReviewQueryService
@@ -173,8 +169,8 @@ class PerformanceReviewQueryServiceImplTest {
         // then
         assertThat(result.data()).hasSize(1);
         then(employeeRepository).should().existsById(employeeId);
-        then(performanceReviewRepository).should()
-                .findAll(nullable(Specification.class), any(Pageable.class));
+        then(pageWindowRepository).should()
+                .findPage(eq(ListProjections.PERFORMANCE_REVIEW), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -11,7 +11,9 @@ import com.furkanerd.hr_management_system.model.dto.response.salary.SalaryDetail
 import com.furkanerd.hr_management_system.model.entity.Employee;
 import com.furkanerd.hr_management_system.model.entity.Salary;
 import com.furkanerd.hr_management_system.repository.EmployeeRepository;
+import com.furkanerd.hr_management_system.repository.PageWindowRepository;
 import com.furkanerd.hr_management_system.repository.SalaryRepository;
+import com.furkanerd.hr_management_system.specification.ListProjections;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +37,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -51,6 +54,9 @@ class SalaryServiceImplTest {
     @Mock
     private SalaryMapper salaryMapper;
 
+    @Mock
+    private PageWindowRepository pageWindowRepository;
+
     @InjectMocks
     private SalaryServiceImpl salaryService;
 
@@ -62,19 +68,14 @@ class SalaryServiceImplTest {
     void listAllSalaries_WhenValidRequest_ShouldReturnPaginatedResponse() {
         // given
         SalaryFilterRequest filterRequest = SalaryFilterRequest.empty();
-        List<Salary> salaries = Arrays.asList(
-                createTestSalary(),
-                createTestSalary()
-        );
-        Page<Salary> salaryPage = new PageImpl<>(salaries);
         List<ListSalaryResponse> responses = Arrays.asList(
                 ListSalaryResponse.builder().id(UUID.randomUUID()).build(),
                 ListSalaryResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListSalaryResponse> salaryPage = new PageImpl<>(responses);
 
-        given(salaryRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(salaryPage);
-        given(salaryMapper.salariesToListSalaryResponses(salaries)).willReturn(responses);
 
         // when
         PaginatedResponse<ListSalaryResponse> result = salaryService
@@ -83,8 +84,7 @@ class SalaryServiceImplTest {
         // then
         assertThat(result.data()).hasSize(2);
         assertThat(result.total()).isEqualTo(2);
-        then(salaryRepository).should().findAll(nullable(Specification.class), any(Pageable.class));
-        then(salaryMapper).should().salariesToListSalaryResponses(salaries);
+        then(pageWindowRepository).should().findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -196,15 +196,13 @@ class SalaryServiceImplTest {
         // given
         String employeeEmail = "employee@company.com";
         SalaryFilterRequest filterRequest = SalaryFilterRequest.empty();
-        List<Salary> salaries = Arrays.asList(createTestSalary());
-        Page<Salary> salaryPage = new PageImpl<>(salaries);
         List<ListSalaryResponse> responses = Arrays.asList(
                 ListSalaryResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListSalaryResponse> salaryPage = new PageImpl<>(responses);
 
-        given(salaryRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(salaryPage);
-        given(salaryMapper.salariesToListSalaryResponses(salaries)).willReturn(responses);
 
         // when
         PaginatedResponse<ListSalaryResponse> result = salaryService
@@ -212,8 +210,7 @@ class SalaryServiceImplTest {
 
         // then
         assertThat(result.data()).hasSize(1);
-        then(salaryRepository).should().findAll(nullable(Specification.class), any(Pageable.class));
-        then(salaryMapper).should().salariesToListSalaryResponses(salaries);
+        then(pageWindowRepository).should().findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -251,16 +248,14 @@ class SalaryServiceImplTest {
         // given
         UUID employeeId = UUID.randomUUID();
         SalaryFilterRequest filterRequest = SalaryFilterRequest.empty();
-        List<Salary> salaries = Arrays.asList(createTestSalary());
-        Page<Salary> salaryPage = new PageImpl<>(salaries);
         List<ListSalaryResponse> responses = Arrays.asList(
                 ListSalaryResponse.builder().id(UUID.randomUUID()).build()
         );
+        Page<ListSalaryResponse> salaryPage = new PageImpl<>(responses);
 
         given(employeeRepository.existsById(employeeId)).willReturn(true);
-        given(salaryRepository.findAll(nullable(Specification.class), any(Pageable.class)))
+        given(pageWindowRepository.findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class)))
                 .willReturn(salaryPage);
-        given(salaryMapper.salariesToListSalaryResponses(salaries)).willReturn(responses);
 
         // when
         PaginatedResponse<ListSalaryResponse> result = salaryService
@@ -269,7 +264,7 @@ class SalaryServiceImplTest {
         // then
         assertThat(result.data()).hasSize(1);
         then(employeeRepository).should().existsById(employeeId);
-        then(salaryRepository).should().findAll(nullable(Specification.class), any(Pageable.class));
+        then(pageWindowRepository).should().findPage(eq(ListProjections.SALARY), nullable(Specification.class), any(Pageable.class));
     }
 
     @Test